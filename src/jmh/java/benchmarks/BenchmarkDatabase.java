@@ -0,0 +1,133 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import optionMenu.MenuSelect;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+/**
+ * The BenchmarkDatabase class creates a throwaway SQLite database with every
+ * table, for benchmarks that read from or write to a database. The database is
+ * created in the temporary folder and deleted by {@link #delete()}.
+ *
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+public class BenchmarkDatabase {
+
+	private final String folder;
+	private final String dbName;
+	private final Database DB;
+	private final TableInbound tI;
+	private final TableOutbound tO;
+	private final TableCategory tC;
+	private final TablePendingCategory tP;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Creates a database with every table, empty.
+	 *
+	 * @param dbName - the name of the database
+	 */
+
+	public BenchmarkDatabase(String dbName) {
+		this.folder = System.getProperty("java.io.tmpdir");
+		this.dbName = dbName + "-" + ProcessHandle.current().pid();
+		delete();
+		DB = new Database(this.dbName, folder);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		tP = new TablePendingCategory(DB);
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, tP);
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public Database getDB() {
+		return DB;
+	}
+
+	public TableInbound getTI() {
+		return tI;
+	}
+
+	public TableOutbound getTO() {
+		return tO;
+	}
+
+	public TableCategory getTC() {
+		return tC;
+	}
+
+	public TablePendingCategory getTP() {
+		return tP;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Records the category of every description the generator may generate.
+	 *
+	 * @param generator - the generator transactions come from
+	 */
+
+	public void insertCategories(SyntheticStatementGenerator generator) {
+		TableCategoryWriter tCW = new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false,
+				false);
+		generator.insertCategories(tCW);
+		tC.refreshCategoryOptions();
+	}
+
+	/**
+	 * Imports transactions into the Inbound and Outbound tables.
+	 *
+	 * @param transactions - the transactions to import
+	 */
+
+	public void importTransactions(Transaction[] transactions) {
+		new TableInboundWriter(tI).importData(transactions);
+		new TableOutboundWriter(tO).importData(transactions);
+	}
+
+	/**
+	 * Closes the database's connections and deletes its files.
+	 */
+
+	public void delete() {
+		if (DB != null) {
+			DB.closeConnections();
+		}
+		for (String suffix : new String[] { ".db", ".db-wal", ".db-shm" }) {
+			// Database paths are built with a Windows separator
+			Path path = Paths.get(folder + "\\" + dbName + suffix);
+			try {
+				Files.deleteIfExists(path);
+			} catch (IOException e) {
+				System.err.println("Failed to delete " + path + ". " + e.getMessage());
+			}
+		}
+	}
+}
@@ -0,0 +1,90 @@
+package benchmarks;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import statementReaders.CSVTokenizer;
+import statementReaders.NationwideCSVReader;
+import syntheticData.SyntheticStatementGenerator;
+
+/**
+ * Compares splitting a Nationwide CSV statement into fields with the
+ * CSVTokenizer against the previous BufferedReader and
+ * {@code line.split("\",\"")} path. Both read the same ISO-8859-1 file from
+ * disk and decode the six fields of every transaction.
+ *
+ * @see CSVTokenizer
+ * @see NationwideCSVReader
+ * @author LORD GABRIEL
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CSVTokenizerBenchmark {
+
+	@Param({ "1000", "10000" })
+	public int rows;
+
+	private File statement;
+
+	@Setup(Level.Trial)
+	public void writeStatement() throws IOException {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(42);
+		statement = File.createTempFile("nationwide", ".csv");
+		generator.writeNationwideCSV(generator.generateTransactions(rows, 2023), statement);
+	}
+
+	@TearDown(Level.Trial)
+	public void deleteStatement() throws IOException {
+		Files.deleteIfExists(statement.toPath());
+	}
+
+	@Benchmark
+	public void bufferedReaderSplit(Blackhole blackhole) throws IOException {
+		try (BufferedReader reader = new BufferedReader(new FileReader(statement))) {
+			for (int i = 0; i < 5; i++) {
+				reader.readLine();
+			}
+			String line;
+			while ((line = reader.readLine()) != null) {
+				for (String field : line.split("\",\"")) {
+					blackhole.consume(field);
+				}
+			}
+		}
+	}
+
+	@Benchmark
+	public void csvTokenizer(Blackhole blackhole) throws IOException {
+		CSVTokenizer csv = new CSVTokenizer(statement, NationwideCSVReader.NATIONWIDE_CHARSET);
+		csv.skipRecords(5);
+		while (csv.nextRecord()) {
+			for (String field : csv.getFields(6)) {
+				blackhole.consume(field);
+			}
+		}
+	}
+}
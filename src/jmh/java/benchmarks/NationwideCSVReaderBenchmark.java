@@ -0,0 +1,91 @@
+package benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import config.AppConfig;
+import optionMenu.MenuSelect;
+import regex.RegexMethods;
+import sqliteData.tables.CategoryResolver;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.writers.TableCategoryWriter;
+import statementReaders.NationwideCSVReader;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+/**
+ * Benchmarks converting a generated Nationwide CSV statement into transactions,
+ * with every description already categorised so no input is needed.
+ *
+ * @see NationwideCSVReader
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NationwideCSVReaderBenchmark {
+
+	@Param({ "1000", "10000" })
+	public int rows;
+
+	private BenchmarkDatabase database;
+	private File statement;
+	private File configFolder;
+	private AppConfig config;
+	private TableCategoryReader tCR;
+	private TableCategoryWriter tCW;
+	private CategoryResolver resolver;
+	private final RegexMethods regex = new RegexMethods();
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(42);
+		statement = File.createTempFile("nationwide", ".csv");
+		generator.writeNationwideCSV(generator.generateTransactions(rows, 2023), statement);
+		database = new BenchmarkDatabase("readerBenchmark");
+		database.insertCategories(generator);
+		tCR = new TableCategoryReader(database.getTC());
+		tCW = new TableCategoryWriter(database.getTC(), new MenuSelect(database.getTC().getCategoryMenu()), false,
+				false, false);
+		resolver = new CategoryResolver(tCR);
+		resolver.load();
+		configFolder = Files.createTempDirectory("config").toFile();
+		config = new AppConfig(configFolder.toPath().resolve("config.properties"));
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		database.delete();
+		Files.deleteIfExists(statement.toPath());
+		Files.deleteIfExists(configFolder.toPath().resolve("config.properties"));
+		Files.deleteIfExists(configFolder.toPath());
+	}
+
+	@Benchmark
+	public Transaction[] convertStatement() {
+		NationwideCSVReader reader = new NationwideCSVReader(config);
+		reader.setCategoryResolver(resolver);
+		return reader.convertStatement(statement, tCR, tCW, regex);
+	}
+}
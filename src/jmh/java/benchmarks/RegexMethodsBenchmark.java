@@ -0,0 +1,81 @@
+package benchmarks;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import regex.RegexMethods;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+/**
+ * Benchmarks the RegexMethods used on every transaction of an imported
+ * statement: normalising the description, converting the date and generating
+ * the ID. Each call takes the next of a fixed set of generated transactions.
+ *
+ * @see RegexMethods
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RegexMethodsBenchmark {
+
+	private static final int SAMPLES = 1024;
+	private static final DateTimeFormatter NATIONWIDE_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy",
+			Locale.ENGLISH);
+
+	private final RegexMethods regex = new RegexMethods();
+	private Transaction[] transactions;
+	private String[] nationwideDates;
+	private int next;
+
+	@Setup
+	public void generate() {
+		transactions = new SyntheticStatementGenerator(42).generateTransactions(SAMPLES, 2023);
+		nationwideDates = new String[SAMPLES];
+		for (int i = 0; i < SAMPLES; i++) {
+			nationwideDates[i] = LocalDate.parse(transactions[i].getDate()).format(NATIONWIDE_DATE_FORMATTER);
+		}
+	}
+
+	private int nextSample() {
+		next = (next + 1) & (SAMPLES - 1);
+		return next;
+	}
+
+	@Benchmark
+	public String processDescription() {
+		return regex.processDescription(transactions[nextSample()].getRawDescription());
+	}
+
+	@Benchmark
+	public String convertDDMMYYYYDate() {
+		return regex.convertDDMMYYYYDate(nationwideDates[nextSample()]);
+	}
+
+	@Benchmark
+	public String generateTransactionUUID() {
+		Transaction transaction = transactions[nextSample()];
+		return regex.generateTransactionUUID(transaction.getDate(), transaction.getTrType(),
+				transaction.getRawDescription(), transaction.getPaidOut(), transaction.getPaidIn(),
+				transaction.getBalance());
+	}
+}
@@ -0,0 +1,79 @@
+package benchmarks;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqliteData.ConnectionLease;
+import sqliteData.tables.writers.ImportResult;
+import sqliteData.tables.writers.TableInboundWriter;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+/**
+ * Benchmarks importing generated transactions into an empty Inbound table.
+ * Every transaction generated is made incoming, so each is inserted.
+ *
+ * @see TableInboundWriter
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class TableInboundWriterBenchmark {
+
+	@Param({ "1000", "10000", "100000" })
+	public int rows;
+
+	private BenchmarkDatabase database;
+	private TableInboundWriter tIW;
+	private Transaction[] transactions;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		transactions = new SyntheticStatementGenerator(42).generateTransactions(rows, 2023);
+		for (Transaction transaction : transactions) {
+			transaction.setPaidInPence(transaction.getPaidInPence() + transaction.getPaidOutPence());
+			transaction.setPaidOutPence(0);
+		}
+		database = new BenchmarkDatabase("inboundWriterBenchmark");
+		tIW = new TableInboundWriter(database.getTI());
+	}
+
+	@Setup(Level.Iteration)
+	public void emptyTable() throws SQLException {
+		try (ConnectionLease lease = database.getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			stmt.execute("DELETE FROM " + database.getTI().getTableName() + ";");
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		database.delete();
+	}
+
+	@Benchmark
+	public ImportResult importData() {
+		return tIW.importData(transactions);
+	}
+}
@@ -0,0 +1,80 @@
+package benchmarks;
+
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sqliteData.tables.TableUtils;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+/**
+ * Benchmarks reading a year of one category's outgoing transactions grouped by
+ * month, as done for every category sheet of an export, against visiting the
+ * same rows through a cursor that reuses one Transaction.
+ *
+ * @see TableUtils
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableUtilsBenchmark {
+
+	@Param({ "10000", "100000" })
+	public int rows;
+
+	private BenchmarkDatabase database;
+	private TableUtils util;
+	private String query;
+	private Object[] parameters;
+
+	@Setup(Level.Trial)
+	public void setup() {
+		database = new BenchmarkDatabase("tableUtilsBenchmark");
+		database.importTransactions(new SyntheticStatementGenerator(42).generateTransactions(rows, 2023));
+		util = new TableUtils(LogManager.getLogger(TableUtilsBenchmark.class));
+		util.setDB(database.getDB());
+		String table = database.getTO().getTableName();
+		query = util.buildTransactionQuery(table);
+		parameters = util.buildTransactionQueryParameters("2023-01-01", "2023-12-31", "Groceries");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		database.delete();
+	}
+
+	@Benchmark
+	public Map<YearMonth, List<Transaction>> executeTransactionQueryByMonth() {
+		return util.executeTransactionQueryByMonth(query, parameters);
+	}
+
+	@Benchmark
+	public long visitTransactionsReusingRow() {
+		long[] total = new long[1];
+		util.visitTransactions(query, transaction -> total[0] += transaction.getPaidOutPence(), parameters);
+		return total[0];
+	}
+}
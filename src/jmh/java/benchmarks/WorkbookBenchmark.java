@@ -0,0 +1,138 @@
+package benchmarks;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import config.AppConfig;
+import config.color.ColorCodingConfig;
+import config.export.ExportConfig;
+import excelWriter.process.WriteDBToExcel;
+import regex.RegexMethods;
+import sqliteData.tables.TableUtils;
+import syntheticData.SyntheticStatementGenerator;
+
+/**
+ * Benchmarks a full export: building the category sheets and summary sheet of a
+ * year's workbook from the database, then writing the workbook out. The
+ * workbook is written to a stream that discards it, so disk speed is not
+ * measured. Exporting the summary sheet on its own, from totals summed by the
+ * database, is benchmarked for comparison.
+ *
+ * @see WriteDBToExcel
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class WorkbookBenchmark {
+
+	@Param({ "10000", "100000" })
+	public int rows;
+
+	@Param({ "IN_MEMORY", "STREAMING" })
+	public String exportMode;
+
+	private BenchmarkDatabase database;
+	private Path configFolder;
+	private WriteDBToExcel dbToXL;
+
+	@Setup(Level.Trial)
+	public void setup() throws IOException {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(42);
+		database = new BenchmarkDatabase("workbookBenchmark");
+		database.insertCategories(generator);
+		database.importTransactions(generator.generateTransactions(rows, 2023));
+
+		configFolder = Files.createTempDirectory("config");
+		AppConfig config = new AppConfig(configFolder.resolve("config.properties"));
+		config.setProperty(ExportConfig.EXPORT_MODE, exportMode);
+		TableUtils tU = new TableUtils(LogManager.getLogger(WorkbookBenchmark.class));
+		dbToXL = new WriteDBToExcel(null, new RegexMethods(), new FixedColorCodingConfig(config),
+				new ExportConfig(config), database.getTO(), database.getTI(), database.getTC(), tU);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws IOException {
+		database.delete();
+		Files.deleteIfExists(configFolder.resolve("config.properties"));
+		Files.deleteIfExists(configFolder);
+	}
+
+	@Benchmark
+	public Workbook buildWorkbook() throws IOException {
+		dbToXL.workbookSetup("2023-01-01", "2023-12-31");
+		dbToXL.writeCategorySheets();
+		dbToXL.writeSummarySheet();
+		Workbook workbook = dbToXL.getTransactionWorkbook().getWorkbook();
+		workbook.write(OutputStream.nullOutputStream());
+		if (workbook instanceof SXSSFWorkbook) {
+			((SXSSFWorkbook) workbook).dispose();
+		}
+		workbook.close();
+		return workbook;
+	}
+
+	@Benchmark
+	public Workbook buildSummaryOnlyWorkbook() throws IOException {
+		dbToXL.summaryWorkbookSetup("2023-01-01", "2023-12-31");
+		dbToXL.writeSummaryOnlySheet();
+		Workbook workbook = dbToXL.getTransactionWorkbook().getWorkbook();
+		workbook.write(OutputStream.nullOutputStream());
+		workbook.close();
+		return workbook;
+	}
+
+	/**
+	 * Colours every sheet the same, so no colours need be saved to the config.
+	 */
+	private static final class FixedColorCodingConfig extends ColorCodingConfig {
+
+		private final XSSFColor color = new XSSFColor(new Color(200, 100, 50), null);
+
+		FixedColorCodingConfig(AppConfig config) {
+			super(config);
+		}
+
+		@Override
+		public XSSFColor checkCategoryXSSFColor(String category) {
+			return color;
+		}
+
+		@Override
+		public XSSFColor checkSumXSSFColor() {
+			return color;
+		}
+
+		@Override
+		public XSSFColor checkSummarySheetMonthColorXSSFColor() {
+			return color;
+		}
+	}
+}
@@ -1,5 +1,10 @@
 package applicationStart;
 
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
 import java.util.Scanner;
 
 import config.AppConfig;
@@ -9,14 +14,17 @@ import config.statement.*;
 import config.category.*;
 import config.output.*;
 import config.color.*;
+import config.export.*;
 import config.settings.Settings;
 import config.settings.SettingsCommand;
 import excelWriter.process.WriteDBToExcel;
 import excelWriter.process.commands.WriteDBToExcelCommand;
+import metrics.jfr.FlightRecording;
 import sqliteData.Database;
 import sqliteData.tables.TableCategory;
 import sqliteData.tables.TableInbound;
 import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
 import sqliteData.tables.TableUtils;
 import optionMenu.Input;
 import optionMenu.Command;
@@ -31,6 +39,7 @@ import java.util.LinkedHashMap;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.apache.logging.log4j.core.config.Configurator;
 
 import applicationStart.commands.ExitCommand;
 import applicationStart.commands.FileOpener;
@@ -46,13 +55,33 @@ public class Main {
 
 	private final static String VERSION = "0.0.1-SNAPSHOT";
 	private final static String HELP_FILE_PATH = System.getProperty("user.dir") + "//config//Guide"+VERSION+".pdf";
+	private final static String QUIET_FLAG = "--quiet";
+	private final static String QUIET_LOG_CONFIG = "/log4j2-quiet.xml";
+	private final static String JFR_FLAG = "--jfr";
+	private final static String DEFAULT_JFR_FILE = "bankStatement.jfr";
 	
 	public static void main(String[] args) {
+		// Log warnings only, and a single line per export stage, when started with --quiet
+		if (Arrays.asList(args).contains(QUIET_FLAG)) {
+			useQuietLogging();
+		}
+		// Record the run with Java Flight Recorder when started with --jfr[=file]
+		Path jfrFile = jfrDestination(args);
+		if (jfrFile != null) {
+			startFlightRecording(jfrFile);
+		}
+
 		// Initialise PrintMessage object
 		PrintMessage printMessage = new PrintMessage(VERSION);
 		
 		// Initialise config objects
 		AppConfig config = new AppConfig();
+		// Reload settings when config.properties is edited while the application runs
+		config.startWatching();
+		Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+			config.stopWatching();
+			logger.info(config.statistics());
+		}));
 		
 		DBNameConfig 	dbNameConfig 	   = new DBNameConfig(config);
 		DBFolderConfig 	dbFolderConfig 	   = new DBFolderConfig(config);
@@ -72,6 +101,8 @@ public class Main {
 		String dbName = config.checkProperty("dbName");
 		String dbFolder = config.checkProperty("dbFolder");
 		Database DB = new Database(dbName, dbFolder);
+		// Close pooled connections to the .db file when the application exits
+		Runtime.getRuntime().addShutdownHook(new Thread(DB::closeConnections));
 
 		// Checks whether DB loaded.
 		LoadDatabase loadDatabase = new LoadDatabase();
@@ -85,6 +116,9 @@ public class Main {
 		String[] options = new String[0];
 		Menu categoryMenu = new Menu("CategoryMenu", options, input);
 		TableCategory tC = new TableCategory(DB, categoryMenu);
+
+		// Initialise queue of transactions awaiting a category
+		TablePendingCategory tP = new TablePendingCategory(DB);
 		
 		//Initialise tableUtils
 		TableUtils tU = new TableUtils(logger);
@@ -96,7 +130,7 @@ public class Main {
 		// Check Tables have already been created. If they haven't been they are
 		// initially created
 		LoadTables loadTables = new LoadTables();
-		loadTables.checkAndCreateTables(DB, tI, tO, tC);
+		loadTables.checkAndCreateTables(DB, tI, tO, tC, tP);
 
 		//Checks whether category assign checks in place
 		CategoryConfig catConfig 		   = new CategoryConfig(config);
@@ -118,17 +152,22 @@ public class Main {
 		ColorPalette colPalette 		    = new ColorPalette();
 		LoadColorConfig loadColorConfig		= new LoadColorConfig();
 		loadColorConfig.checkAndCreateColorCodingConfigProperties(colCodingConfig, colPalette, tC);
+
+		// Checks whether ExportConfig settings assigned
+		ExportConfig exportConfig 		   = new ExportConfig(config);
+		LoadExportConfig loadExportConfig = new LoadExportConfig();
+		loadExportConfig.checkAndCreateExportConfigProperties(exportConfig);
 		
 		//Load WriteBankStatementToDB options
-		WriteBankStatementToDB stToDB = new WriteBankStatementToDB(config, regex, input, tI,tO,tC);
+		WriteBankStatementToDB stToDB = new WriteBankStatementToDB(config, regex, input, tI,tO,tC,tP);
 		WriteBankStatementToDBCommand stToDBCommand = new WriteBankStatementToDBCommand(stToDB);
 		
 		//Load WriteDBToExcel option
-		WriteDBToExcel DBToXls = new WriteDBToExcel(input, regex, colCodingConfig, tO, tI, tC, tU);
+		WriteDBToExcel DBToXls = new WriteDBToExcel(input, regex, colCodingConfig, exportConfig, tO, tI, tC, tU);
 		WriteDBToExcelCommand DBToXlsCommand = new WriteDBToExcelCommand(DBToXls);
 		
 		//Load Settings menu
-		Settings settings = new Settings(input,tC,catConfig,colCodingConfig);
+		Settings settings = new Settings(input,tC,catConfig,colCodingConfig,exportConfig);
 		SettingsCommand settingCommand = new SettingsCommand(settings);
 		
 		//Load exit command
@@ -157,4 +196,59 @@ public class Main {
 			titleMenuBlock.getMenu().getCommandChoice().execute();
 		}
 	}
+
+	/**
+	 * Returns the file to record a run to, given with --jfr=file, or the default
+	 * file within the working directory if only --jfr is given.
+	 * 
+	 * @param args - the command line arguments
+	 * @return the file to record to, or null if recording was not asked for
+	 */
+	private static Path jfrDestination(String[] args) {
+		for (String arg : args) {
+			if (arg.equals(JFR_FLAG)) {
+				return Paths.get(System.getProperty("user.dir"), DEFAULT_JFR_FILE);
+			}
+			if (arg.startsWith(JFR_FLAG + "=") && arg.length() > JFR_FLAG.length() + 1) {
+				return Paths.get(arg.substring(JFR_FLAG.length() + 1));
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Starts a flight recording of the run, written to the file when the
+	 * application exits.
+	 * 
+	 * @param jfrFile - the file to record to
+	 */
+	private static void startFlightRecording(Path jfrFile) {
+		FlightRecording recording = new FlightRecording(jfrFile);
+		if (recording.start()) {
+			System.out.println("Recording this run with Java Flight Recorder to " + jfrFile.toAbsolutePath());
+			Runtime.getRuntime().addShutdownHook(new Thread(recording::stop));
+		} else {
+			System.out.println("Could not start Java Flight Recorder, see the logs for details");
+		}
+	}
+
+	/**
+	 * Reconfigures logging with the quiet profile, log4j2-quiet.xml, where every
+	 * package logs warnings and errors only, and each stage of an export logs one
+	 * line with its timing.
+	 */
+	private static void useQuietLogging() {
+		URL quietConfig = Main.class.getResource(QUIET_LOG_CONFIG);
+		if (quietConfig == null) {
+			logger.error("Quiet logging configuration {} not found.", QUIET_LOG_CONFIG);
+			return;
+		}
+		try {
+			Configurator.reconfigure(quietConfig.toURI());
+		} catch (URISyntaxException e) {
+			String log = String.format("Failed to load quiet logging configuration %s. %s", quietConfig,
+					e.getMessage());
+			logger.error(log);
+		}
+	}
 }
@@ -4,14 +4,19 @@ import sqliteData.Database;
 import sqliteData.tables.Table;
 import sqliteData.tables.TableCategory;
 import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableMonthlyTotals;
 import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.writers.TableMonthlyTotalsWriter;
 
 import java.util.List;
 
 /**
  * The front-end class LoadTables class is responsible for checking and creating
  * database tables if they do not exist or if the table structure needs to be
- * updated.
+ * updated. Indexes are also created for existing tables that are missing them.
+ * The MonthlyTotals table is rebuilt from the Inbound and Outbound tables
+ * whenever it, or either of those tables, is created or replaced.
  */
 
 public class LoadTables {
@@ -27,25 +32,68 @@ public class LoadTables {
 	 * @param tC The TableCategory object representing the categories table.
 	 */
 
-	
-	//Could break this up into smaller methods.
 	public void checkAndCreateTables(Database DB, TableInbound tI, TableOutbound tO, TableCategory tC) {
-		Table[] tables = new Table[3];
-		tables[0] = tI;
-		tables[1] = tO;
-		tables[2] = tC;
+		boolean transactionsChanged = checkAndCreateTables(DB, new Table[] { tI, tO });
+		checkAndCreateTables(DB, new Table[] { tC });
+		checkMonthlyTotals(DB, tI, tO, transactionsChanged);
+	}
 
+	/**
+	 * Checks the tables in the database, including the queue of transactions
+	 * awaiting a category, and creates or updates them if necessary.
+	 *
+	 * @param DB The Database object representing the SQLite database.
+	 * @param tI The TableInbound object representing the inbound transactions
+	 *           table.
+	 * @param tO The TableOutbound object representing the outbound transactions
+	 *           table.
+	 * @param tC The TableCategory object representing the categories table.
+	 * @param tP The TablePendingCategory object representing the queue of
+	 *           transactions awaiting a category.
+	 */
+
+	public void checkAndCreateTables(Database DB, TableInbound tI, TableOutbound tO, TableCategory tC,
+			TablePendingCategory tP) {
+		boolean transactionsChanged = checkAndCreateTables(DB, new Table[] { tI, tO });
+		checkAndCreateTables(DB, new Table[] { tC, tP });
+		checkMonthlyTotals(DB, tI, tO, transactionsChanged);
+	}
+
+	//Could break this up into smaller methods.
+	private boolean checkAndCreateTables(Database DB, Table[] tables) {
+		boolean changed = false;
 		for (Table table : tables) {
 			String tableName = table.getTableName();
 			if (!DB.checkTable(tableName)) {
 				table.createTable();
 				System.out.println("Created table:" + tableName);
+				changed = true;
 			} else {
 				List<String> columns = table.tableColumns();
 				if (!columns.equals(table.getHeaders())) {
 					table.replaceTable();
+					changed = true;
+				} else {
+					// Migrates columns and adds any indexes missing from databases created by
+					// earlier versions
+					table.migrateSchema();
+					table.createIndexes();
 				}
 			}
 		}
+		return changed;
+	}
+
+	/**
+	 * Checks the MonthlyTotals table, rebuilding it from the Inbound and Outbound
+	 * tables if it, or either of them, was just created or replaced.
+	 */
+
+	private void checkMonthlyTotals(Database DB, TableInbound tI, TableOutbound tO, boolean transactionsChanged) {
+		TableMonthlyTotals tM = new TableMonthlyTotals(DB);
+		boolean totalsChanged = checkAndCreateTables(DB, new Table[] { tM });
+		if (totalsChanged || transactionsChanged) {
+			new TableMonthlyTotalsWriter(tM, tI, tO).rebuild();
+		}
 	}
 }
@@ -1,41 +1,97 @@
 package config;
 
 import java.io.File;
-import java.io.FileOutputStream;
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Properties;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 /**
- * 
+ *
  * The AppConfig class handles the configuration properties of the application.
  * It manages the configuration folder and file, and provides methods for
  * checking and retrieving properties from the configuration file.
- * 
+ *
  * The configuration properties are stored in a "config.properties" file within
  * the application's configuration folder.
- * 
+ *
+ * Properties are read from an immutable in-memory snapshot of the file rather
+ * than from disk. The snapshot is reloaded when the file's modification time or
+ * size changes, which is checked on each read, or, once
+ * {@link #startWatching()} has been called, when a WatchService reports that
+ * the file has changed. All writes go through {@link #setProperties(Map)},
+ * which updates the snapshot and replaces the file atomically, so a reader
+ * never sees a half-written file. Several changes can be written together
+ * through a {@link ConfigEditor}, begun with {@link #edit()}.
+ *
  * @author LORD GABRIEL
  */
 
 public class AppConfig {
 
 	protected static final Logger logger = LogManager.getLogger(AppConfig.class.getName());
-	private static final String CONFIG_FILE_PATH = System.getProperty("user.dir") + "//config//config.properties";
+	private static final Path CONFIG_FILE_PATH = Paths.get(System.getProperty("user.dir"), "config",
+			"config.properties");
+	private final Path configPath;
 	private File config;
 
+	/**
+	 * Current contents of the configuration file, replaced as a whole on reload or
+	 * write
+	 */
+	private volatile ConfigSnapshot snapshot = ConfigSnapshot.EMPTY;
+
+	private final AtomicLong readCount = new AtomicLong();
+	private final AtomicLong reloadCount = new AtomicLong();
+	private final AtomicLong writeCount = new AtomicLong();
+
+	private WatchService watchService;
+	private volatile Thread watchThread;
+
 	/*
 	 * ===================CONSTRUCTORS ====================
 	 */
 
 	/**
-	 * Constructs a new AppConfig instance.
+	 * Constructs a new AppConfig instance, using config.properties within the
+	 * config folder of the working directory.
 	 */
 
 	public AppConfig() {
+		this(CONFIG_FILE_PATH);
+	}
+
+	/**
+	 * Constructs a new AppConfig instance using the given configuration file. The
+	 * file and its folder are created if they do not exist.
+	 *
+	 * @param configPath - path of the .properties file
+	 */
+
+	public AppConfig(Path configPath) {
+		this.configPath = configPath.toAbsolutePath();
 		checkFolderFile();
 	}
 
@@ -45,7 +101,7 @@ public class AppConfig {
 
 	/**
 	 * Retrieves the configuration file.
-	 * 
+	 *
 	 * @return the configuration file
 	 */
 
@@ -57,13 +113,41 @@ public class AppConfig {
 		return logger;
 	}
 
+	/**
+	 * @return the number of properties read through {@link #checkProperty(String)}
+	 */
+	public long getReadCount() {
+		return readCount.get();
+	}
+
+	/**
+	 * @return the number of times the snapshot was reloaded from the file
+	 */
+	public long getReloadCount() {
+		return reloadCount.get();
+	}
+
+	/**
+	 * @return the number of times the file was written through this AppConfig
+	 */
+	public long getWriteCount() {
+		return writeCount.get();
+	}
+
+	/**
+	 * @return true if a WatchService is pushing reloads of the file
+	 */
+	public boolean isWatching() {
+		return watchThread != null;
+	}
+
 	/*
 	 * ================== SETTERS =================
 	 */
 
 	/**
 	 * Sets the configuration file.
-	 * 
+	 *
 	 * @param config the configuration file to set
 	 */
 
@@ -77,7 +161,7 @@ public class AppConfig {
 
 	/**
 	 * Checks if the configuration folder and file both exist.
-	 * 
+	 *
 	 * @return true if the folder and file both exist, false otherwise
 	 */
 
@@ -94,62 +178,54 @@ public class AppConfig {
 			}
 		}
 		// assign config file
-		this.setConfigFile(new File(CONFIG_FILE_PATH));
-		logger.info("config.properties file found: " + CONFIG_FILE_PATH.toString());
-
+		this.setConfigFile(configPath.toFile());
+		logger.info("config.properties file found: " + configPath.toString());
+		reloadIfModified();
 	}
 
 	/**
 	 * Checks if the configuration folder exists.
-	 * 
+	 *
 	 * @return true if the folder exists, false otherwise
 	 */
 
 	public boolean checkFolder() {
-		String relativePath = "config";
-		String absolutePath = System.getProperty("user.dir") + File.separator + relativePath;
-		File file = new File(absolutePath);
-		;
-		return file.exists();
+		return Files.isDirectory(configPath.getParent());
 	}
 
 	/**
 	 * Checks if the configuration file exists.
-	 * 
+	 *
 	 * @return true if the file exists, false otherwise
 	 */
 	public boolean checkFile() {
-		String relativePath = "config//config.properties";
-		String absolutePath = System.getProperty("user.dir") + File.separator + relativePath;
-		File file = new File(absolutePath);
-		return file.exists();
+		return Files.isRegularFile(configPath);
 	}
 
 	/**
 	 * Creates the configuration folder if it does not exist.
 	 */
 	public void createFolder() {
-		String relativePath = "config";
-		String absolutePath = System.getProperty("user.dir") + File.separator + relativePath;
-
-		File folder = new File(absolutePath);
-		folder.mkdir();
+		try {
+			Files.createDirectories(configPath.getParent());
+		} catch (IOException e) {
+			String log = String.format("Failed to create config folder %s", e.getMessage());
+			logger.error(log);
+		}
 	}
 
 	/**
-	 * Creates the configuration file if it does not exist.
-	 * 
+	 * Creates an empty configuration file, replacing any existing file.
+	 *
 	 * @return true if the file was created, false otherwise
 	 */
-	public boolean createFile() {
-		String relativePath = "config\\config.properties";
-		String absolutePath = System.getProperty("user.dir") + File.separator + relativePath;
-		try (FileOutputStream fileOutputStream = new FileOutputStream(absolutePath)) {
-			String log = String.format("Config file created at %s", absolutePath);
-			logger.info(log);
+	public synchronized boolean createFile() {
+		try {
 			// Store an empty properties entry to format .properties file.
-			Properties properties = new Properties();
-			properties.store(fileOutputStream, null);
+			writeAtomically(new Properties());
+			snapshot = ConfigSnapshot.EMPTY.withStamp(readStamp());
+			String log = String.format("Config file created at %s", configPath);
+			logger.info(log);
 			// Return true as file created
 			return true;
 		} catch (IOException e) {
@@ -161,27 +237,273 @@ public class AppConfig {
 
 	/**
 	 * Checks a specific property in the configuration file and retrieves its value.
-	 * 
+	 *
 	 * @param property - the setting to check in configuration file
 	 * @return the String value of the setting, or null if not found
 	 */
 
 	public String checkProperty(String property) {
-		try (FileInputStream fis = new FileInputStream(CONFIG_FILE_PATH)) {
-			Properties properties = new Properties();
-			properties.load(fis);
-
-			String propertyValue = properties.getProperty(property);
-			if (propertyValue != null) {
-				logger.info("Setting \"" + property + "\" found.");
-			} else {
-				logger.info("Setting \"" + property + "\" not found.");
+		readCount.incrementAndGet();
+		// While watching, reloads are pushed by the watcher, so the file is not checked
+		if (!isWatching()) {
+			reloadIfModified();
+		}
+		String propertyValue = snapshot.properties.get(property);
+		if (propertyValue != null) {
+			logger.debug("Setting \"" + property + "\" found.");
+		} else {
+			logger.debug("Setting \"" + property + "\" not found.");
+		}
+		return propertyValue;
+	}
+
+	/**
+	 * Begins a batch of property changes, which are written together when the
+	 * returned editor is committed.
+	 *
+	 * @return a new, empty ConfigEditor
+	 */
+
+	public ConfigEditor edit() {
+		return new ConfigEditor(this);
+	}
+
+	/**
+	 * Sets a single property, see {@link #setProperties(Map)}.
+	 *
+	 * @param property - the name of the property
+	 * @param value    - the value of the property
+	 * @return true if the file was written, false otherwise
+	 */
+
+	public boolean setProperty(String property, String value) {
+		return setProperties(Collections.singletonMap(property, value));
+	}
+
+	/**
+	 * Sets the given properties, adding any that do not already exist, and writes
+	 * the configuration file once. Any change made to the file by another program
+	 * is picked up first, so it is not overwritten. The file is written to a
+	 * temporary file and moved over the configuration file, so it is replaced
+	 * atomically. If the write fails the snapshot is left unchanged.
+	 *
+	 * @param changes - property names mapped to their new values
+	 * @return true if the file was written, false otherwise
+	 */
+
+	public synchronized boolean setProperties(Map<String, String> changes) {
+		reloadIfModified();
+		Properties properties = new Properties();
+		properties.putAll(snapshot.properties);
+		properties.putAll(changes);
+		try {
+			writeAtomically(properties);
+		} catch (IOException e) {
+			String log = String.format("Failed to write properties %s to config file. %s", changes.keySet(),
+					e.getMessage());
+			logger.error(log);
+			return false;
+		}
+		snapshot = new ConfigSnapshot(toMap(properties), readStamp());
+		writeCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Reloads the snapshot if the configuration file's modification time or size
+	 * has changed since it was last read or written.
+	 *
+	 * @return true if the snapshot was reloaded
+	 */
+
+	public boolean reloadIfModified() {
+		if (Objects.equals(readStamp(), snapshot.stamp)) {
+			return false;
+		}
+		return reload();
+	}
+
+	private synchronized boolean reload() {
+		// Checked again, the file may have been reloaded or written by another thread
+		FileStamp stamp = readStamp();
+		if (Objects.equals(stamp, snapshot.stamp)) {
+			return false;
+		}
+		Properties properties = new Properties();
+		if (stamp != null) {
+			try (InputStream inputStream = Files.newInputStream(configPath)) {
+				properties.load(inputStream);
+			} catch (IOException e) {
+				logger.error("Error occurred while reading properties. " + e.getMessage());
+				return false;
 			}
-			return propertyValue;
+		}
+		snapshot = new ConfigSnapshot(toMap(properties), stamp);
+		reloadCount.incrementAndGet();
+		String log = String.format("Loaded %d properties from %s", snapshot.properties.size(), configPath);
+		logger.info(log);
+		return true;
+	}
+
+	/**
+	 * Starts a daemon thread that watches the config folder, reloading the
+	 * snapshot when the configuration file changes. While watching, reads no
+	 * longer check the file's modification time. Does nothing if already
+	 * watching.
+	 */
+
+	public synchronized void startWatching() {
+		if (watchThread != null) {
+			return;
+		}
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			configPath.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+					StandardWatchEventKinds.ENTRY_MODIFY);
 		} catch (IOException e) {
-			logger.info("Error occurred while reading properties");
+			String log = String.format("Failed to watch config folder, changes will be checked on read. %s",
+					e.getMessage());
+			logger.error(log);
+			return;
+		}
+		// Pick up any change made before the watcher was registered
+		reloadIfModified();
+		WatchService service = watchService;
+		watchThread = new Thread(() -> watch(service), "config-watcher");
+		watchThread.setDaemon(true);
+		watchThread.start();
+		logger.info("Watching for changes to " + configPath);
+	}
+
+	/**
+	 * Stops the watcher started by {@link #startWatching()}, returning to checking
+	 * the file's modification time on each read.
+	 */
+
+	public synchronized void stopWatching() {
+		if (watchThread == null) {
+			return;
+		}
+		try {
+			watchService.close();
+		} catch (IOException e) {
+			logger.error("Failed to close config watcher. " + e.getMessage());
+		}
+		watchService = null;
+		watchThread = null;
+	}
+
+	/**
+	 * @return a summary of the read, reload and write counters, for logging
+	 */
+
+	public String statistics() {
+		return String.format("Config %s: %d reads, %d reloads, %d writes", configPath.getFileName(), getReadCount(),
+				getReloadCount(), getWriteCount());
+	}
+
+	private void watch(WatchService service) {
+		Path fileName = configPath.getFileName();
+		try {
+			while (true) {
+				WatchKey key = service.take();
+				for (WatchEvent<?> event : key.pollEvents()) {
+					// Overflow events have no context, so reload to be safe
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context())) {
+						reloadIfModified();
+					}
+				}
+				if (!key.reset()) {
+					logger.error("Config folder is no longer accessible, stopped watching " + configPath);
+					return;
+				}
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// Watcher stopped
+		}
+	}
+
+	private void writeAtomically(Properties properties) throws IOException {
+		Path tempFile = Files.createTempFile(configPath.getParent(), "config", ".tmp");
+		try {
+			try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+				properties.store(outputStream, null);
+			}
+			try {
+				Files.move(tempFile, configPath, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(tempFile, configPath, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	private FileStamp readStamp() {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(configPath, BasicFileAttributes.class);
+			return new FileStamp(attributes.lastModifiedTime(), attributes.size());
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			logger.error("Failed to read attributes of config file. " + e.getMessage());
 			return null;
 		}
 	}
 
+	private static Map<String, String> toMap(Properties properties) {
+		Map<String, String> map = new HashMap<>();
+		for (String name : properties.stringPropertyNames()) {
+			map.put(name, properties.getProperty(name));
+		}
+		return Collections.unmodifiableMap(map);
+	}
+
+	/**
+	 * Modification time and size of the configuration file when a snapshot was
+	 * taken. The size is compared as well, as some file systems only record the
+	 * modification time to the second.
+	 */
+	private static final class FileStamp {
+		private final FileTime lastModified;
+		private final long size;
+
+		FileStamp(FileTime lastModified, long size) {
+			this.lastModified = lastModified;
+			this.size = size;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof FileStamp)) {
+				return false;
+			}
+			FileStamp other = (FileStamp) obj;
+			return size == other.size && lastModified.equals(other.lastModified);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(lastModified, size);
+		}
+	}
+
+	/**
+	 * Immutable copy of the configuration file's properties.
+	 */
+	private static final class ConfigSnapshot {
+		static final ConfigSnapshot EMPTY = new ConfigSnapshot(Collections.emptyMap(), null);
+
+		private final Map<String, String> properties;
+		private final FileStamp stamp;
+
+		ConfigSnapshot(Map<String, String> properties, FileStamp stamp) {
+			this.properties = properties;
+			this.stamp = stamp;
+		}
+
+		ConfigSnapshot withStamp(FileStamp newStamp) {
+			return new ConfigSnapshot(properties, newStamp);
+		}
+	}
 }
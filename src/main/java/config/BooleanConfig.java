@@ -1,10 +1,5 @@
 package config;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.Properties;
-
 /**
  * The BooleanConfig class is an abstract class that extends the BaseConfig
  * class and provides functionalities for managing boolean configuration
@@ -71,23 +66,10 @@ public abstract class BooleanConfig extends BaseConfig {
 	 */
 
 	public void saveBooleanProperty(String propertyName, Boolean property) {
-		try {
-			// Loading pre-existing properties within config file
-			Properties properties = new Properties();
-			FileInputStream inputStream = new FileInputStream(getConfigFile().getAbsolutePath());
-			properties.load(inputStream);
-
-			// Set boolean property
-			properties.setProperty(propertyName, String.valueOf(property));
-
-			// Save updated properties
-			FileOutputStream outputStream = new FileOutputStream(getConfigFile().getAbsolutePath());
-			properties.store(outputStream, null);
-			outputStream.close();
+		if (getConfig().setProperty(propertyName, String.valueOf(property))) {
 			logger.info(String.format("Property %s updated: %s", propertyName, String.valueOf(property)));
-
-		} catch (IOException e) {
-			logger.error(String.format("Failed to update property %s: %s", propertyName, e.getMessage()));
+		} else {
+			logger.error(String.format("Failed to update property %s", propertyName));
 		}
 	}
 
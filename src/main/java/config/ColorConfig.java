@@ -1,10 +1,7 @@
 package config;
 
 import java.io.File;
-import java.util.Properties;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.io.FileInputStream;
+import java.util.Arrays;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.xssf.usermodel.DefaultIndexedColorMap;
@@ -173,41 +170,68 @@ public class ColorConfig {
 	 */
 
 	public void savePropertyColor(String property, Color color) {
-		try {
-			// Load existing properties within config file
-			Properties properties = new Properties();
-			FileInputStream inputStream = new FileInputStream(CONFIG_FILE.getAbsolutePath());
-			properties.load(inputStream);
-			// convert XSSFColor to hexcolor so can be stored as string
-			int red = color.getRed();
-			int green = color.getGreen();
-			int blue = color.getBlue();
-
-			// Setting RGB values of categories
-			properties.setProperty(property + ".red", String.valueOf(red));
-			properties.setProperty(property + ".green", String.valueOf(green));
-			properties.setProperty(property + ".blue", String.valueOf(blue));
-			// save updated properties
-			FileOutputStream outputStream = new FileOutputStream(CONFIG_FILE.getAbsoluteFile());
-			properties.store(outputStream, null);
-			outputStream.close();
-			String log = String.format("Updated RGBColor for property: %s, RGB:(%d,%d,%d)", property, red, green, blue);
+		ConfigEditor editor = config.edit();
+		editPropertyColor(editor, property, color);
+		if (editor.commit()) {
+			String log = String.format("Updated RGBColor for property: %s, RGB:(%d,%d,%d)", property, color.getRed(),
+					color.getGreen(), color.getBlue());
 			logger.info(log);
-		} catch (IOException e) {
-			String log = String.format("Failed to update RGBColor for property: %s. %s", property, e.getMessage());
+		} else {
+			String log = String.format("Failed to update RGBColor for property: %s", property);
 			logger.error(log);
 		}
 	}
 
+	/**
+	 * 
+	 * Sets the color setting for the given setting name on a ConfigEditor, to be
+	 * written to the configuration file when the editor is committed.
+	 * 
+	 * @param editor   - the editor collecting changes to the configuration file
+	 * @param property - the name of the setting
+	 * @param color    - the Color object representing the color setting
+	 */
+
+	public void editPropertyColor(ConfigEditor editor, String property, Color color) {
+		// Setting RGB values of categories
+		editor.set(property + ".red", String.valueOf(color.getRed()));
+		editor.set(property + ".green", String.valueOf(color.getGreen()));
+		editor.set(property + ".blue", String.valueOf(color.getBlue()));
+	}
+
 	/**
 	 * 
 	 * Automatically assigns colors to an array of settings based on the
-	 * autoAssigncolors in the ColorPalette instance.
+	 * autoAssigncolors in the ColorPalette instance. All settings are written to
+	 * the configuration file at once.
 	 * 
-	 * @param settings - the array of setting names
+	 * @param settings     - the array of setting names
+	 * @param colorPalette - the ColorPalette the colors are taken from
 	 */
 
 	public void autoAssignSettingColors(String[] settings, ColorPalette colorPalette) {
+		ConfigEditor editor = config.edit();
+		autoAssignSettingColors(editor, settings, colorPalette);
+		if (editor.commit()) {
+			String log = String.format("Auto assigned RGBColors for %d properties", settings.length);
+			logger.info(log);
+		} else {
+			String log = String.format("Failed to auto assign RGBColors for properties: %s", Arrays.toString(settings));
+			logger.error(log);
+		}
+	}
+
+	/**
+	 * 
+	 * Automatically assigns colors to an array of settings on a ConfigEditor, to be
+	 * written to the configuration file when the editor is committed.
+	 * 
+	 * @param editor       - the editor collecting changes to the configuration file
+	 * @param settings     - the array of setting names
+	 * @param colorPalette - the ColorPalette the colors are taken from
+	 */
+
+	public void autoAssignSettingColors(ConfigEditor editor, String[] settings, ColorPalette colorPalette) {
 		int numCategories = settings.length;
 		Color[] colors = colorPalette.returnAutoAssigncolors();
 		int numAutoColors = colors.length;
@@ -215,7 +239,7 @@ public class ColorConfig {
 		// assign properly
 		for (int i = 0; i < numCategories; i++) {
 			Color autoColor = colors[i % numAutoColors];
-			savePropertyColor(settings[i], autoColor);
+			editPropertyColor(editor, settings[i], autoColor);
 		}
 	}
 
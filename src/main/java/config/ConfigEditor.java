@@ -0,0 +1,117 @@
+package config;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ *
+ * The ConfigEditor class collects changes to several properties so they can be
+ * written to the configuration file together. An editor is begun with
+ * {@link AppConfig#edit()}, properties are set on it, and {@link #commit()}
+ * writes them all in a single pass through a temporary file and atomic rename.
+ * Until it is committed, no change is visible to
+ * {@link AppConfig#checkProperty(String)}.
+ *
+ * An editor can be committed once; a committed or discarded editor cannot be
+ * used again.
+ *
+ * @see AppConfig
+ * @see ColorConfig
+ * @author LORD GABRIEL
+ */
+
+public class ConfigEditor {
+
+	private final AppConfig config;
+	private final Map<String, String> changes = new LinkedHashMap<>();
+	private boolean closed;
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	/**
+	 * Constructs a ConfigEditor, see {@link AppConfig#edit()}.
+	 *
+	 * @param config - the AppConfig the changes are committed to
+	 */
+
+	ConfigEditor(AppConfig config) {
+		this.config = config;
+	}
+
+	/*
+	 * ============ GETTERS ====================
+	 */
+
+	/**
+	 * @return the properties set so far, in the order they were first set
+	 */
+	public Map<String, String> getChanges() {
+		return Collections.unmodifiableMap(changes);
+	}
+
+	/**
+	 * @return the number of properties set so far
+	 */
+	public int size() {
+		return changes.size();
+	}
+
+	/**
+	 * @return true if no property has been set
+	 */
+	public boolean isEmpty() {
+		return changes.isEmpty();
+	}
+
+	/*
+	 * ============ METHODS ======================
+	 */
+
+	/**
+	 * Sets a property, replacing any value set earlier in this editor.
+	 *
+	 * @param property - the name of the property
+	 * @param value    - the value of the property
+	 * @return this editor, so calls can be chained
+	 */
+
+	public ConfigEditor set(String property, String value) {
+		checkOpen();
+		changes.put(property, value);
+		return this;
+	}
+
+	/**
+	 * Writes every property set on this editor to the configuration file at once.
+	 * Nothing is written if no property was set.
+	 *
+	 * @return true if the properties were written, false if the write failed
+	 */
+
+	public boolean commit() {
+		checkOpen();
+		closed = true;
+		if (changes.isEmpty()) {
+			return true;
+		}
+		return config.setProperties(changes);
+	}
+
+	/**
+	 * Discards every property set on this editor without writing them.
+	 */
+
+	public void discard() {
+		closed = true;
+		changes.clear();
+	}
+
+	private void checkOpen() {
+		if (closed) {
+			throw new IllegalStateException("ConfigEditor has already been committed or discarded");
+		}
+	}
+}
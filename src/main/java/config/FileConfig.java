@@ -2,10 +2,6 @@
 package config;
 
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.Properties;
 
 /**
  * The FileConfig class is an abstract class that extends the BaseConfig class
@@ -54,23 +50,10 @@ public abstract class FileConfig extends BaseConfig {
 	 */
 
 	public void saveFilePath(String propertyName, File propertyFile) {
-		try {
-			// Load existing properties within config file
-			Properties properties = new Properties();
-			FileInputStream inputStream = new FileInputStream(getConfigFile().getAbsolutePath());
-			properties.load(inputStream);
-
-			// set FolderPath
-			properties.setProperty(propertyName, propertyFile.getAbsolutePath());
-
-			// save updated properties
-			FileOutputStream outputStream = new FileOutputStream(getConfigFile().getAbsolutePath());
-			properties.store(outputStream, null);
-			outputStream.close();
-
+		if (getConfig().setProperty(propertyName, propertyFile.getAbsolutePath())) {
 			logger.info(String.format("Folder property updated: %s, path: %s", propertyName,
 					propertyFile.getAbsolutePath()));
-		} catch (IOException e) {
+		} else {
 			logger.error(String.format("Failed to update property: %s", propertyName));
 		}
 	}
@@ -1,10 +1,5 @@
 package config;
 
-import java.io.FileInputStream;
-import java.io.FileOutputStream;
-import java.io.IOException;
-import java.util.Properties;
-
 /**
  * The StringConfig class is an abstract class that extends the BaseConfig class
  * and provides functionalities for managing string-related configuration
@@ -47,22 +42,10 @@ public abstract class StringConfig extends BaseConfig {
 	 */
 
 	public void saveStringProperty(String propertyName, String property) {
-		try {
-			// Loading pre-existing properties within config file
-			Properties properties = new Properties();
-			FileInputStream inputStream = new FileInputStream(getConfigFile().getAbsolutePath());
-			properties.load(inputStream);
-
-			// Set boolean property
-			properties.setProperty(propertyName, property);
-
-			// Save updated properties
-			FileOutputStream outputStream = new FileOutputStream(getConfigFile().getAbsolutePath());
-			properties.store(outputStream, null);
-			outputStream.close();
+		if (getConfig().setProperty(propertyName, property)) {
 			logger.info(String.format("Property %s updated: %s", propertyName, property));
-		} catch (IOException e) {
-			logger.error(String.format("Failed to update property %s: %s. %s", propertyName, property, e.getMessage()));
+		} else {
+			logger.error(String.format("Failed to update property %s: %s", propertyName, property));
 		}
 	}
 
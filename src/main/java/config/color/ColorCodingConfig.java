@@ -2,6 +2,7 @@ package config.color;
 
 import config.ColorConfig;
 import config.AppConfig;
+import config.ConfigEditor;
 import java.awt.Color;
 
 import org.apache.poi.xssf.usermodel.XSSFColor;
@@ -182,4 +183,24 @@ public class ColorCodingConfig extends ColorConfig {
 	public void saveCategoryColor(String category) {
 		savePropertyColor(category, categoryColor);
 	}
+
+	/*
+	 * ========= EDIT PROPERTY METHODS ===============
+	 */
+
+	/*
+	 * Set the color on a ConfigEditor, written when the editor is committed.
+	 */
+
+	public void editSummarySheetMonthColor(ConfigEditor editor) {
+		editPropertyColor(editor, "summarySheetMonthColor", summarySheetMonthColor);
+	}
+
+	public void editSumColor(ConfigEditor editor) {
+		editPropertyColor(editor, "sumColor", sumColor);
+	}
+
+	public void editCategoryColor(ConfigEditor editor, String category) {
+		editPropertyColor(editor, category, categoryColor);
+	}
 }
@@ -1,6 +1,9 @@
 package config.color;
 
+import config.ColorPalette;
+import config.ConfigEditor;
 import config.color.commands.CategoryColorCommand;
+import config.color.commands.ResetCategoryColorsCommand;
 import config.color.commands.StatementSheetSumColorCommand;
 import config.color.commands.SummarySheetMonthColorCommand;
 import config.settings.Settings;
@@ -56,6 +59,7 @@ public class ColorConfigProcess extends ProcessBlock {
 
 	Command summarySheetMonthColor = new SummarySheetMonthColorCommand(this);
 	Command sumColor = new StatementSheetSumColorCommand(this);
+	Command resetCategoryColors = new ResetCategoryColorsCommand(this);
 	Command settingsMenu;
 
 	/*
@@ -101,6 +105,7 @@ public class ColorConfigProcess extends ProcessBlock {
 					+ ". Within excel document, currently set to:" + Arrays.toString(categoriesRGBMap.get(category)),
 					categoryColorCommand);
 		}
+		tempMap.put("Reset the color coding of every category to the default colours", resetCategoryColors);
 		tempMap.put("Go back to Settings menu", settingsMenu);
 		tempMap.put("Go Back to Main Menu", getGoBack());
 		setMenuCommandMap(tempMap);
@@ -178,7 +183,12 @@ public class ColorConfigProcess extends ProcessBlock {
 			return;
 		}
 		colConfig.setSummarySheetMonthColor(color);
-		colConfig.saveSummarySheetMonthColor();
+		ConfigEditor editor = colConfig.getConfig().edit();
+		colConfig.editSummarySheetMonthColor(editor);
+		if (!editor.commit()) {
+			System.out.println("Failed to save the new colour, please try again");
+			return;
+		}
 		System.out.println("New RGB assigned for summarySheetMonthColor:"
 				+ Arrays.toString(colConfig.checkSummarySheetMonthColorRGB()));
 	}
@@ -196,7 +206,12 @@ public class ColorConfigProcess extends ProcessBlock {
 			return;
 		}
 		colConfig.setSumColor(color);
-		colConfig.saveSumColor();
+		ConfigEditor editor = colConfig.getConfig().edit();
+		colConfig.editSumColor(editor);
+		if (!editor.commit()) {
+			System.out.println("Failed to save the new colour, please try again");
+			return;
+		}
 		System.out.println("New RGB assigned for sum cell:" + Arrays.toString(colConfig.checkSumColorRGB()));
 	}
 
@@ -215,9 +230,32 @@ public class ColorConfigProcess extends ProcessBlock {
 			return;
 		}
 		colConfig.setCategoryColor(color);
-		colConfig.saveCategoryColor(category);
+		ConfigEditor editor = colConfig.getConfig().edit();
+		colConfig.editCategoryColor(editor, category);
+		if (!editor.commit()) {
+			System.out.println("Failed to save the new colour, please try again");
+			return;
+		}
 		System.out.println("New RGB color coding assigned for category:" + category + ". RGB:"
 				+ Arrays.toString(colConfig.checkCategoryRGB(category)));
 	}
 
+	/**
+	 * Resets the color coding of every category to the default auto assigned
+	 * colours. All categories are saved to the config file at once.
+	 */
+
+	public void resetCategoryColors() {
+		String[] categories = categoriesRGBMap.keySet().toArray(new String[0]);
+		Arrays.sort(categories);
+		ConfigEditor editor = colConfig.getConfig().edit();
+		colConfig.autoAssignSettingColors(editor, categories, new ColorPalette());
+		if (!editor.commit()) {
+			System.out.println("Failed to reset category colours, please try again");
+			return;
+		}
+		loadCategoryOptions();
+		System.out.println("Default colours assigned to " + categories.length + " categories");
+	}
+
 }
@@ -3,6 +3,7 @@ package config.color;
 import java.util.List;
 
 import config.ColorPalette;
+import config.ConfigEditor;
 import sqliteData.tables.TableCategory;
 
 import java.util.ArrayList;
@@ -60,45 +61,48 @@ public class LoadColorConfig {
 	 * =========== ASSIGN DEFAULT PROPERTIES ============
 	 */
 
-	private void assignDefaultSummarySheetMonthColor(ColorCodingConfig config, ColorPalette colorPalette) {
+	private void assignDefaultSummarySheetMonthColor(ColorCodingConfig config, ColorPalette colorPalette,
+			ConfigEditor editor) {
 		config.setSummarySheetMonthColor(colorPalette.getGrey());
-		config.saveSummarySheetMonthColor();
+		config.editSummarySheetMonthColor(editor);
 	}
 
-	private void assignDefaultSumColor(ColorCodingConfig config, ColorPalette colorPalette) {
+	private void assignDefaultSumColor(ColorCodingConfig config, ColorPalette colorPalette, ConfigEditor editor) {
 		config.setSumColor(colorPalette.getGold());
-		config.saveSumColor();
+		config.editSumColor(editor);
 	}
 
 	/*
 	 * ========== CHECK AND ASSIGN ALL COLOR PROPERTIES =========
 	 */
 
-	private void checkAndAssignSummarySheetMonthColorProperty(ColorCodingConfig config, ColorPalette colorPalette) {
+	private void checkAndAssignSummarySheetMonthColorProperty(ColorCodingConfig config, ColorPalette colorPalette,
+			ConfigEditor editor) {
 		if (!checkSummarySheetMonthColor(config)) {
 			System.out.println("Assigning default color coding of Summary Sheet columns");
-			assignDefaultSummarySheetMonthColor(config, colorPalette);
+			assignDefaultSummarySheetMonthColor(config, colorPalette, editor);
 		}
 	}
 
-	private void checkAndAssignSumColorProperty(ColorCodingConfig config, ColorPalette colorPalette) {
+	private void checkAndAssignSumColorProperty(ColorCodingConfig config, ColorPalette colorPalette,
+			ConfigEditor editor) {
 		if (!checkSumColor(config)) {
 			System.out.println("Assigning default color coding of Summary Sheet columns");
-			assignDefaultSumColor(config, colorPalette);
+			assignDefaultSumColor(config, colorPalette, editor);
 		}
 	}
 
 	private void checkAndAssignCategoryColorProperties(ColorCodingConfig config, ColorPalette colorPalette,
-			TableCategory tC) {
+			TableCategory tC, ConfigEditor editor) {
 		String[] unsetCategories = checkAllCategories(config, tC);
 		if (unsetCategories != null) {
-			config.autoAssignSettingColors(unsetCategories, colorPalette);
+			config.autoAssignSettingColors(editor, unsetCategories, colorPalette);
 		}
 	}
 
 	/**
 	 * Checks and assigns all color coding properties in the ColorCodingConfig that
-	 * are not set.
+	 * are not set. Every default assigned is written to the config file at once.
 	 *
 	 * @param config      -  the ColorCodingConfig instance to check and assign the
 	 *                     default colors
@@ -109,8 +113,12 @@ public class LoadColorConfig {
 
 	public void checkAndCreateColorCodingConfigProperties(ColorCodingConfig config, ColorPalette colorPalette,
 			TableCategory tC) {
-		checkAndAssignSummarySheetMonthColorProperty(config, colorPalette);
-		checkAndAssignSumColorProperty(config, colorPalette);
-		checkAndAssignCategoryColorProperties(config, colorPalette, tC);
+		ConfigEditor editor = config.getConfig().edit();
+		checkAndAssignSummarySheetMonthColorProperty(config, colorPalette, editor);
+		checkAndAssignSumColorProperty(config, colorPalette, editor);
+		checkAndAssignCategoryColorProperties(config, colorPalette, tC, editor);
+		if (!editor.commit()) {
+			System.out.println("Failed to save default colours, they will be assigned again next time.");
+		}
 	}
 }
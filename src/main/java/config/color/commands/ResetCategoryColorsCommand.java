@@ -0,0 +1,29 @@
+package config.color.commands;
+
+import config.color.ColorConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The ResetCategoryColorsCommand class is a command responsible for executing the process to reset the color coding
+ * of every category within an Excel document to the default colours. When executed, the default colours are
+ * assigned and saved to the color coding configuration together using the ColorConfigProcess.
+ *
+ * @see config.color.ColorConfigProcess
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+
+public class ResetCategoryColorsCommand implements Command {
+
+	private ColorConfigProcess colProcess;
+
+	public ResetCategoryColorsCommand(ColorConfigProcess colProcess) {
+		this.colProcess = colProcess;
+	}
+
+	public void execute() {
+		colProcess.resetCategoryColors();
+		colProcess.chooseProcessFirstRun("Color Coding Settings menu", colProcess.getSettings().getInput(),
+				"Please review options for color coding", false);
+	}
+}
@@ -0,0 +1,281 @@
+package config.export;
+
+import config.AppConfig;
+import config.StringConfig;
+
+/**
+ * The ExportConfig class handles the configuration settings related to how
+ * excel workbooks are built when exporting from the SQLite Database. It
+ * provides methods for reading and saving the export mode, and the settings
+ * used by streaming workbooks:
+ * <ul>
+ * <li>exportMode - AUTO, IN_MEMORY or STREAMING, see {@link ExportMode}</li>
+ * <li>streamingRowThreshold - in AUTO mode, the number of transactions above
+ * which a streaming workbook is used</li>
+ * <li>streamingRowWindow - the number of rows per sheet a streaming workbook
+ * keeps in memory</li>
+ * <li>streamingCompressTempFiles - whether a streaming workbook compresses the
+ * temporary files rows are flushed to</li>
+ * <li>metricsReportJson - whether the metrics report of an export is also
+ * written as JSON next to the workbook</li>
+ * <li>categorySheetParallelism - the number of threads category sheets are
+ * prepared on, 0 for one per available processor</li>
+ * </ul>
+ *
+ * @see config.StringConfig
+ * @see config.AppConfig
+ * @see ExportMode
+ * @see excelWriter.process.WriteDBToExcel
+ * @author LORD GABRIEL
+ */
+
+public class ExportConfig extends StringConfig {
+
+	public static final String EXPORT_MODE = "exportMode";
+	public static final String STREAMING_ROW_THRESHOLD = "streamingRowThreshold";
+	public static final String STREAMING_ROW_WINDOW = "streamingRowWindow";
+	public static final String STREAMING_COMPRESS_TEMP_FILES = "streamingCompressTempFiles";
+	public static final String METRICS_REPORT_JSON = "metricsReportJson";
+	public static final String CATEGORY_SHEET_PARALLELISM = "categorySheetParallelism";
+
+	public static final ExportMode DEFAULT_EXPORT_MODE = ExportMode.AUTO;
+	public static final int DEFAULT_STREAMING_ROW_THRESHOLD = 50000;
+	public static final int DEFAULT_STREAMING_ROW_WINDOW = 100;
+	public static final boolean DEFAULT_STREAMING_COMPRESS_TEMP_FILES = true;
+	public static final boolean DEFAULT_METRICS_REPORT_JSON = false;
+	public static final int DEFAULT_CATEGORY_SHEET_PARALLELISM = 0;
+
+	private ExportMode exportMode = DEFAULT_EXPORT_MODE;
+	private int streamingRowThreshold = DEFAULT_STREAMING_ROW_THRESHOLD;
+	private int streamingRowWindow = DEFAULT_STREAMING_ROW_WINDOW;
+	private boolean streamingCompressTempFiles = DEFAULT_STREAMING_COMPRESS_TEMP_FILES;
+	private boolean metricsReportJson = DEFAULT_METRICS_REPORT_JSON;
+	private int categorySheetParallelism = DEFAULT_CATEGORY_SHEET_PARALLELISM;
+
+	/*
+	 * ============== CONSTRUCTORS ================
+	 */
+
+	/**
+	 * Constructs a new ExportConfig instance.
+	 *
+	 * @param config - the AppConfig instance
+	 */
+
+	public ExportConfig(AppConfig config) {
+		super(config);
+	}
+
+	/*
+	 * ============== GETTERS ================
+	 */
+
+	/**
+	 * Retrieves the export mode saved to this object. NOTE: this will not return
+	 * the value saved to config.properties file
+	 *
+	 * @return the export mode
+	 */
+
+	public ExportMode getExportMode() {
+		return exportMode;
+	}
+
+	public int getStreamingRowThreshold() {
+		return streamingRowThreshold;
+	}
+
+	public int getStreamingRowWindow() {
+		return streamingRowWindow;
+	}
+
+	public boolean getStreamingCompressTempFiles() {
+		return streamingCompressTempFiles;
+	}
+
+	public boolean getMetricsReportJson() {
+		return metricsReportJson;
+	}
+
+	public int getCategorySheetParallelism() {
+		return categorySheetParallelism;
+	}
+
+	/*
+	 * ============== SETTERS ================
+	 */
+
+	public void setExportMode(ExportMode exportMode) {
+		this.exportMode = exportMode;
+	}
+
+	/**
+	 * Sets the number of transactions above which AUTO mode uses a streaming
+	 * workbook.
+	 *
+	 * @param streamingRowThreshold - the threshold, at least 0
+	 */
+
+	public void setStreamingRowThreshold(int streamingRowThreshold) {
+		this.streamingRowThreshold = Math.max(0, streamingRowThreshold);
+	}
+
+	/**
+	 * Sets the number of rows per sheet a streaming workbook keeps in memory.
+	 *
+	 * @param streamingRowWindow - the window size, at least 1
+	 */
+
+	public void setStreamingRowWindow(int streamingRowWindow) {
+		this.streamingRowWindow = Math.max(1, streamingRowWindow);
+	}
+
+	public void setStreamingCompressTempFiles(boolean streamingCompressTempFiles) {
+		this.streamingCompressTempFiles = streamingCompressTempFiles;
+	}
+
+	public void setMetricsReportJson(boolean metricsReportJson) {
+		this.metricsReportJson = metricsReportJson;
+	}
+
+	/**
+	 * Sets the number of threads category sheets are prepared on.
+	 *
+	 * @param categorySheetParallelism - the number of threads, 0 for one per
+	 *                                 available processor
+	 */
+
+	public void setCategorySheetParallelism(int categorySheetParallelism) {
+		this.categorySheetParallelism = Math.max(0, categorySheetParallelism);
+	}
+
+	/*
+	 * ============= PROPERTY CONFIG CHECK METHODS ==============
+	 */
+
+	/**
+	 * Reads the export mode from the config.properties file.
+	 *
+	 * @return the saved export mode, or the default if none is saved or it is not
+	 *         valid
+	 */
+
+	public ExportMode checkExportMode() {
+		ExportMode mode = ExportMode.fromProperty(getConfig().checkProperty(EXPORT_MODE));
+		return (mode == null) ? DEFAULT_EXPORT_MODE : mode;
+	}
+
+	/**
+	 * Reads the streaming row threshold from the config.properties file.
+	 *
+	 * @return the saved threshold, or the default if none is saved or it is not
+	 *         valid
+	 */
+
+	public int checkStreamingRowThreshold() {
+		return checkIntegerProperty(STREAMING_ROW_THRESHOLD, DEFAULT_STREAMING_ROW_THRESHOLD, 0);
+	}
+
+	/**
+	 * Reads the streaming row window from the config.properties file.
+	 *
+	 * @return the saved window, or the default if none is saved or it is not valid
+	 */
+
+	public int checkStreamingRowWindow() {
+		return checkIntegerProperty(STREAMING_ROW_WINDOW, DEFAULT_STREAMING_ROW_WINDOW, 1);
+	}
+
+	/**
+	 * Reads whether streaming temp files are compressed from the config.properties
+	 * file.
+	 *
+	 * @return the saved value, or the default if none is saved
+	 */
+
+	public boolean checkStreamingCompressTempFiles() {
+		String property = getConfig().checkProperty(STREAMING_COMPRESS_TEMP_FILES);
+		return (property == null) ? DEFAULT_STREAMING_COMPRESS_TEMP_FILES : Boolean.parseBoolean(property);
+	}
+
+	/**
+	 * Reads whether the metrics report of an export is written as JSON from the
+	 * config.properties file.
+	 *
+	 * @return the saved value, or the default if none is saved
+	 */
+
+	public boolean checkMetricsReportJson() {
+		String property = getConfig().checkProperty(METRICS_REPORT_JSON);
+		return (property == null) ? DEFAULT_METRICS_REPORT_JSON : Boolean.parseBoolean(property);
+	}
+
+	/**
+	 * Reads the category sheet parallelism from the config.properties file.
+	 *
+	 * @return the saved parallelism, or the default if none is saved or it is not
+	 *         valid
+	 */
+
+	public int checkCategorySheetParallelism() {
+		return checkIntegerProperty(CATEGORY_SHEET_PARALLELISM, DEFAULT_CATEGORY_SHEET_PARALLELISM, 0);
+	}
+
+	/**
+	 * Reads an integer property from the config.properties file.
+	 *
+	 * @param propertyName - the name of the property
+	 * @param defaultValue - the value returned if the property is missing or not
+	 *                     valid
+	 * @param minimum      - the smallest valid value
+	 * @return the saved value, or defaultValue
+	 */
+
+	private int checkIntegerProperty(String propertyName, int defaultValue, int minimum) {
+		String property = getConfig().checkProperty(propertyName);
+		if (property == null) {
+			return defaultValue;
+		}
+		try {
+			int value = Integer.parseInt(property.trim());
+			if (value >= minimum) {
+				return value;
+			}
+		} catch (NumberFormatException e) {
+			// Falls through to the default below
+		}
+		String log = String.format("Invalid value for property %s: %s. Using default: %d", propertyName, property,
+				defaultValue);
+		logger.warn(log);
+		return defaultValue;
+	}
+
+	/*
+	 * ============== SAVE PROPERTY METHODS ==================
+	 */
+
+	public void saveExportMode() {
+		saveStringProperty(EXPORT_MODE, exportMode.name());
+	}
+
+	public void saveStreamingRowThreshold() {
+		saveStringProperty(STREAMING_ROW_THRESHOLD, Integer.toString(streamingRowThreshold));
+	}
+
+	public void saveStreamingRowWindow() {
+		saveStringProperty(STREAMING_ROW_WINDOW, Integer.toString(streamingRowWindow));
+	}
+
+	public void saveStreamingCompressTempFiles() {
+		saveStringProperty(STREAMING_COMPRESS_TEMP_FILES, Boolean.toString(streamingCompressTempFiles));
+	}
+
+	public void saveMetricsReportJson() {
+		saveStringProperty(METRICS_REPORT_JSON, Boolean.toString(metricsReportJson));
+	}
+
+	public void saveCategorySheetParallelism() {
+		saveStringProperty(CATEGORY_SHEET_PARALLELISM, Integer.toString(categorySheetParallelism));
+	}
+
+}
@@ -0,0 +1,204 @@
+package config.export;
+
+import optionMenu.ProcessBlock;
+import optionMenu.Command;
+
+import java.util.Map;
+
+import config.export.commands.CategorySheetParallelismCommand;
+import config.export.commands.ExportModeCommand;
+import config.export.commands.MetricsReportJsonCommand;
+import config.export.commands.StreamingCompressTempFilesCommand;
+import config.export.commands.StreamingRowThresholdCommand;
+import config.export.commands.StreamingRowWindowCommand;
+import config.settings.Settings;
+import config.settings.SettingsCommand;
+
+import java.util.LinkedHashMap;
+
+/**
+ * The ExportConfigProcess class is a subclass of ProcessBlock and handles the
+ * changing of configuration properties related to how excel workbooks are
+ * built when exporting from the SQLite Database.
+ *
+ * This class includes command objects that represent the export configuration
+ * options, as well as methods to load and change these properties.
+ *
+ * @see ExportConfig
+ * @see config.settings.Settings
+ * @see optionMenu.ProcessBlock
+ * @author LORD GABRIEL
+ */
+public class ExportConfigProcess extends ProcessBlock {
+
+	public static final String MENU_NAME = "Excel Export Settings";
+	public static final String MENU_PROMPT = "Select an option to change it. Export mode cycles between AUTO, IN_MEMORY and STREAMING. "
+			+ "AUTO uses a streaming workbook when the number of transactions exported is above the streaming row threshold.";
+
+	private Settings settings;
+	private ExportConfig exportConfig;
+
+	private ExportMode exportMode;
+	private int streamingRowThreshold;
+	private int streamingRowWindow;
+	private boolean streamingCompressTempFiles;
+	private boolean metricsReportJson;
+	private int categorySheetParallelism;
+
+	/*
+	 * ============== COMMAND OBJECTS ================
+	 */
+
+	Command exportModeCommand = new ExportModeCommand(this);
+	Command streamingRowThresholdCommand = new StreamingRowThresholdCommand(this);
+	Command streamingRowWindowCommand = new StreamingRowWindowCommand(this);
+	Command streamingCompressTempFilesCommand = new StreamingCompressTempFilesCommand(this);
+	Command metricsReportJsonCommand = new MetricsReportJsonCommand(this);
+	Command categorySheetParallelismCommand = new CategorySheetParallelismCommand(this);
+	Command settingsMenu;
+
+	/*
+	 * ============== CONSTRUCTORS =================
+	 */
+
+	/**
+	 * Constructs a new ExportConfigProcess instance with the provided Settings
+	 * object.
+	 *
+	 * @param settings the Settings object used for configuration management
+	 */
+
+	public ExportConfigProcess(Settings settings) {
+		this.settings = settings;
+	}
+
+	/*
+	 * ============== GETTERS ==================
+	 */
+
+	public Settings getSettings() {
+		return settings;
+	}
+
+	/*
+	 * ============== ABSTRACT IMPLEMENTATIONS ================
+	 */
+
+	@Override
+	protected void loadMenuCommandMap() {
+		Map<String, Command> tempMap = new LinkedHashMap<>();
+		settingsMenu = new SettingsCommand(settings);
+		tempMap.put("Export mode: " + exportMode, exportModeCommand);
+		tempMap.put("Streaming row threshold (AUTO mode): " + streamingRowThreshold, streamingRowThresholdCommand);
+		tempMap.put("Streaming rows held in memory per sheet: " + streamingRowWindow, streamingRowWindowCommand);
+		tempMap.put("Compress streaming temp files toggle: " + streamingCompressTempFiles,
+				streamingCompressTempFilesCommand);
+		tempMap.put("Write metrics report as JSON toggle: " + metricsReportJson, metricsReportJsonCommand);
+		tempMap.put("Threads preparing category sheets (0 = all processors): " + categorySheetParallelism,
+				categorySheetParallelismCommand);
+		tempMap.put("Go back to Settings menu", settingsMenu);
+		tempMap.put("Go Back to Main Menu", getGoBack());
+		setMenuCommandMap(tempMap);
+	}
+
+	/*
+	 * =============== LOAD METHODS =====================
+	 */
+
+	private void loadExportConfig() {
+		this.exportConfig = settings.getExportConfig();
+	}
+
+	private void loadExportSettings() {
+		exportMode = exportConfig.checkExportMode();
+		streamingRowThreshold = exportConfig.checkStreamingRowThreshold();
+		streamingRowWindow = exportConfig.checkStreamingRowWindow();
+		streamingCompressTempFiles = exportConfig.checkStreamingCompressTempFiles();
+		metricsReportJson = exportConfig.checkMetricsReportJson();
+		categorySheetParallelism = exportConfig.checkCategorySheetParallelism();
+	}
+
+	@Override
+	public void additionalSetup() {
+		loadExportConfig();
+		loadExportSettings();
+	}
+
+	/*
+	 * ============== CONFIG CHANGE METHODS ==============
+	 */
+
+	/**
+	 * Changes the export mode to the next mode, AUTO, IN_MEMORY then STREAMING.
+	 */
+
+	public void changeExportMode() {
+		exportConfig.setExportMode(exportMode.next());
+		exportConfig.saveExportMode();
+		loadExportSettings();
+	}
+
+	/**
+	 * Prompts the user for a new streaming row threshold and saves it.
+	 */
+
+	public void changeStreamingRowThreshold() {
+		int threshold = settings.getInput().inputInteger(
+				"Please enter the number of transactions above which AUTO mode streams the workbook", true);
+		exportConfig.setStreamingRowThreshold(threshold);
+		exportConfig.saveStreamingRowThreshold();
+		loadExportSettings();
+	}
+
+	/**
+	 * Prompts the user for a new streaming row window and saves it.
+	 */
+
+	public void changeStreamingRowWindow() {
+		int window = settings.getInput()
+				.inputInteger("Please enter the number of rows per sheet a streaming workbook keeps in memory", true);
+		exportConfig.setStreamingRowWindow(window);
+		exportConfig.saveStreamingRowWindow();
+		loadExportSettings();
+	}
+
+	/**
+	 * Toggles whether streaming temp files are compressed.
+	 */
+
+	public void changeStreamingCompressTempFiles() {
+		exportConfig.setStreamingCompressTempFiles(!streamingCompressTempFiles);
+		exportConfig.saveStreamingCompressTempFiles();
+		loadExportSettings();
+	}
+
+	/**
+	 * Toggles whether the metrics report of an export is written as JSON.
+	 */
+
+	public void changeMetricsReportJson() {
+		exportConfig.setMetricsReportJson(!metricsReportJson);
+		exportConfig.saveMetricsReportJson();
+		loadExportSettings();
+	}
+
+	/**
+	 * Prompts the user for a new category sheet parallelism and saves it.
+	 */
+
+	public void changeCategorySheetParallelism() {
+		int parallelism = settings.getInput().inputInteger(
+				"Please enter the number of threads category sheets are prepared on, 0 for all processors", true);
+		exportConfig.setCategorySheetParallelism(parallelism);
+		exportConfig.saveCategorySheetParallelism();
+		loadExportSettings();
+	}
+
+	/**
+	 * Re-runs the export settings menu, reflecting any changed settings.
+	 */
+
+	public void rerunMenu() {
+		chooseProcessFirstRun(MENU_NAME, settings.getInput(), MENU_PROMPT, false);
+	}
+}
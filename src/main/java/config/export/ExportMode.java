@@ -0,0 +1,54 @@
+package config.export;
+
+/**
+ * The ExportMode enum lists the ways an excel workbook can be built when
+ * exporting from the SQLite Database.
+ * <ul>
+ * <li>IN_MEMORY - every cell is held in memory until the workbook is
+ * written.</li>
+ * <li>STREAMING - only a window of recent rows per sheet is held in memory,
+ * older rows are flushed to temporary files.</li>
+ * <li>AUTO - STREAMING is used when the number of transactions in the export
+ * date range is above a threshold, IN_MEMORY otherwise.</li>
+ * </ul>
+ *
+ * @see ExportConfig
+ * @see excelWriter.process.WriteDBToExcel
+ * @author LORD GABRIEL
+ */
+
+public enum ExportMode {
+
+	AUTO, IN_MEMORY, STREAMING;
+
+	/**
+	 * Returns the ExportMode with the given name, ignoring case.
+	 *
+	 * @param property - the name of the ExportMode, as saved to config.properties
+	 * @return the matching ExportMode, or null if there is no match
+	 */
+
+	public static ExportMode fromProperty(String property) {
+		if (property == null) {
+			return null;
+		}
+		for (ExportMode mode : values()) {
+			if (mode.name().equalsIgnoreCase(property.trim())) {
+				return mode;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the ExportMode after this one, wrapping back to the first. Used to
+	 * cycle through the modes from the settings menu.
+	 *
+	 * @return the next ExportMode
+	 */
+
+	public ExportMode next() {
+		ExportMode[] modes = values();
+		return modes[(ordinal() + 1) % modes.length];
+	}
+}
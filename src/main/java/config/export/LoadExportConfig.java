@@ -0,0 +1,71 @@
+package config.export;
+
+/**
+ * The LoadExportConfig class is responsible for checking and assigning default
+ * values to export-related configuration properties in the application. It
+ * ensures that the export mode and streaming workbook properties are present
+ * in the configuration file and assigns default values to them if they are
+ * missing.
+ *
+ * @see config.AppConfig
+ * @see ExportConfig
+ * @author LORD GABRIEL
+ */
+
+public class LoadExportConfig {
+
+	/*
+	 * ============ PROPERTY CONFIG CHECKS ================
+	 */
+
+	/**
+	 * Checks if the given property exists in the specified config file.
+	 *
+	 * @param config       - the ExportConfig object to check
+	 * @param propertyName - the name of the property
+	 * @return true if the property exists, false otherwise
+	 */
+
+	private boolean checkProperty(ExportConfig config, String propertyName) {
+		return config.getConfig().checkProperty(propertyName) != null;
+	}
+
+	/*
+	 * ============== CHECK AND ASSIGN EMPTY PROPERTIES METHOD ===========
+	 */
+
+	/**
+	 * Checks and creates the export configuration properties in the specified
+	 * ExportConfig, assigning the defaults to any that are missing.
+	 *
+	 * @param config - the ExportConfig object to check and update
+	 */
+
+	public void checkAndCreateExportConfigProperties(ExportConfig config) {
+		if (!checkProperty(config, ExportConfig.EXPORT_MODE)) {
+			System.out.println("No exportMode found, setting to " + ExportConfig.DEFAULT_EXPORT_MODE + " as default.");
+			config.setExportMode(ExportConfig.DEFAULT_EXPORT_MODE);
+			config.saveExportMode();
+		}
+		if (!checkProperty(config, ExportConfig.STREAMING_ROW_THRESHOLD)) {
+			config.setStreamingRowThreshold(ExportConfig.DEFAULT_STREAMING_ROW_THRESHOLD);
+			config.saveStreamingRowThreshold();
+		}
+		if (!checkProperty(config, ExportConfig.STREAMING_ROW_WINDOW)) {
+			config.setStreamingRowWindow(ExportConfig.DEFAULT_STREAMING_ROW_WINDOW);
+			config.saveStreamingRowWindow();
+		}
+		if (!checkProperty(config, ExportConfig.STREAMING_COMPRESS_TEMP_FILES)) {
+			config.setStreamingCompressTempFiles(ExportConfig.DEFAULT_STREAMING_COMPRESS_TEMP_FILES);
+			config.saveStreamingCompressTempFiles();
+		}
+		if (!checkProperty(config, ExportConfig.METRICS_REPORT_JSON)) {
+			config.setMetricsReportJson(ExportConfig.DEFAULT_METRICS_REPORT_JSON);
+			config.saveMetricsReportJson();
+		}
+		if (!checkProperty(config, ExportConfig.CATEGORY_SHEET_PARALLELISM)) {
+			config.setCategorySheetParallelism(ExportConfig.DEFAULT_CATEGORY_SHEET_PARALLELISM);
+			config.saveCategorySheetParallelism();
+		}
+	}
+}
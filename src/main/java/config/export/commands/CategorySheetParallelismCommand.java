@@ -0,0 +1,33 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The CategorySheetParallelismCommand class implements the Command interface and represents a
+ * command that allows users to change the number of threads category sheets are prepared on.
+ *
+ * After the change, the command re-runs the export settings menu to reflect the
+ * updated configuration.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class CategorySheetParallelismCommand implements Command {
+
+	private ExportConfigProcess process;
+
+	public CategorySheetParallelismCommand(ExportConfigProcess process) {
+		this.process = process;
+	}
+
+	/**
+	 * Executes the CategorySheetParallelismCommand, prompting for a new parallelism.
+	 */
+
+	public void execute() {
+		process.changeCategorySheetParallelism();
+		process.rerunMenu();
+	}
+}
@@ -0,0 +1,32 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import config.settings.Settings;
+import optionMenu.Command;
+
+/**
+ * The ExportConfigCommand class implements the Command interface and
+ * represents a command that allows users to access and modify the excel export
+ * configuration settings of the application.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class ExportConfigCommand implements Command {
+
+	private ExportConfigProcess exportConfigProcess;
+
+	public ExportConfigCommand(Settings setting) {
+		exportConfigProcess = new ExportConfigProcess(setting);
+	}
+
+	/**
+	 * Executes the ExportConfigCommand, displaying the export settings menu.
+	 */
+
+	public void execute() {
+		exportConfigProcess.rerunMenu();
+	}
+
+}
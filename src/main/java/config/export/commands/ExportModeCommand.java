@@ -0,0 +1,33 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The ExportModeCommand class implements the Command interface and represents a
+ * command that allows users to cycle the export mode between AUTO, IN_MEMORY and STREAMING.
+ *
+ * After the change, the command re-runs the export settings menu to reflect the
+ * updated configuration.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class ExportModeCommand implements Command {
+
+	private ExportConfigProcess process;
+
+	public ExportModeCommand(ExportConfigProcess process) {
+		this.process = process;
+	}
+
+	/**
+	 * Executes the ExportModeCommand, moving to the next export mode.
+	 */
+
+	public void execute() {
+		process.changeExportMode();
+		process.rerunMenu();
+	}
+}
@@ -0,0 +1,34 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The MetricsReportJsonCommand class implements the Command interface and represents a
+ * command that allows users to toggle whether the metrics report of an export is also
+ * written as JSON next to the workbook.
+ *
+ * After the change, the command re-runs the export settings menu to reflect the
+ * updated configuration.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class MetricsReportJsonCommand implements Command {
+
+	private ExportConfigProcess process;
+
+	public MetricsReportJsonCommand(ExportConfigProcess process) {
+		this.process = process;
+	}
+
+	/**
+	 * Executes the MetricsReportJsonCommand, toggling the JSON metrics report.
+	 */
+
+	public void execute() {
+		process.changeMetricsReportJson();
+		process.rerunMenu();
+	}
+}
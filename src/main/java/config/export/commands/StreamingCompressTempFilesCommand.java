@@ -0,0 +1,33 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The StreamingCompressTempFilesCommand class implements the Command interface and represents a
+ * command that allows users to toggle whether a streaming workbook compresses its temporary files.
+ *
+ * After the change, the command re-runs the export settings menu to reflect the
+ * updated configuration.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class StreamingCompressTempFilesCommand implements Command {
+
+	private ExportConfigProcess process;
+
+	public StreamingCompressTempFilesCommand(ExportConfigProcess process) {
+		this.process = process;
+	}
+
+	/**
+	 * Executes the StreamingCompressTempFilesCommand, toggling temp file compression.
+	 */
+
+	public void execute() {
+		process.changeStreamingCompressTempFiles();
+		process.rerunMenu();
+	}
+}
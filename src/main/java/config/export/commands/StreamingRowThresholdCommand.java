@@ -0,0 +1,33 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The StreamingRowThresholdCommand class implements the Command interface and represents a
+ * command that allows users to change the number of transactions above which AUTO mode uses a streaming workbook.
+ *
+ * After the change, the command re-runs the export settings menu to reflect the
+ * updated configuration.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class StreamingRowThresholdCommand implements Command {
+
+	private ExportConfigProcess process;
+
+	public StreamingRowThresholdCommand(ExportConfigProcess process) {
+		this.process = process;
+	}
+
+	/**
+	 * Executes the StreamingRowThresholdCommand, prompting for a new streaming row threshold.
+	 */
+
+	public void execute() {
+		process.changeStreamingRowThreshold();
+		process.rerunMenu();
+	}
+}
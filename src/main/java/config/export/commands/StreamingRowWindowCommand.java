@@ -0,0 +1,33 @@
+package config.export.commands;
+
+import config.export.ExportConfigProcess;
+import optionMenu.Command;
+
+/**
+ * The StreamingRowWindowCommand class implements the Command interface and represents a
+ * command that allows users to change the number of rows per sheet a streaming workbook keeps in memory.
+ *
+ * After the change, the command re-runs the export settings menu to reflect the
+ * updated configuration.
+ *
+ * @see optionMenu.Command
+ * @see config.export.ExportConfigProcess
+ * @author LORD GABRIEL
+ */
+public class StreamingRowWindowCommand implements Command {
+
+	private ExportConfigProcess process;
+
+	public StreamingRowWindowCommand(ExportConfigProcess process) {
+		this.process = process;
+	}
+
+	/**
+	 * Executes the StreamingRowWindowCommand, prompting for a new streaming row window.
+	 */
+
+	public void execute() {
+		process.changeStreamingRowWindow();
+		process.rerunMenu();
+	}
+}
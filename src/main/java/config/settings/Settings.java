@@ -6,6 +6,8 @@ import config.category.CategoryConfig;
 import config.category.commands.CategoryConfigCommand;
 import config.color.ColorCodingConfig;
 import config.color.commands.ColorCodingCommand;
+import config.export.ExportConfig;
+import config.export.commands.ExportConfigCommand;
 import java.util.LinkedHashMap;
 
 import optionMenu.Command;
@@ -36,6 +38,7 @@ public class Settings extends ProcessBlock {
 	private Input input;
 	private CategoryConfig catConfig;
 	private ColorCodingConfig colConfig;
+	private ExportConfig exportConfig;
 	private TableCategory tC;
 
 	/*
@@ -44,6 +47,7 @@ public class Settings extends ProcessBlock {
 
 	private Command colorCodingCommand = new ColorCodingCommand(this);
 	private Command categoryConfigCommand = new CategoryConfigCommand(this);
+	private Command exportConfigCommand = new ExportConfigCommand(this);
 	private Command goBackCommand = new GoBack();
 
 	/*
@@ -61,13 +65,16 @@ public class Settings extends ProcessBlock {
 	 *                  settings
 	 * @param colConfig the ColorCodingConfig object for color coding configuration
 	 *                  settings
+	 * @param exportConfig the ExportConfig object for excel export settings
 	 */
 
-	public Settings(Input input, TableCategory tC, CategoryConfig catConfig, ColorCodingConfig colConfig) {
+	public Settings(Input input, TableCategory tC, CategoryConfig catConfig, ColorCodingConfig colConfig,
+			ExportConfig exportConfig) {
 		this.input = input;
 		this.tC = tC;
 		this.catConfig = catConfig;
 		this.colConfig = colConfig;
+		this.exportConfig = exportConfig;
 	}
 
 	/*
@@ -90,6 +97,10 @@ public class Settings extends ProcessBlock {
 		return colConfig;
 	}
 
+	public ExportConfig getExportConfig() {
+		return exportConfig;
+	}
+
 	/*
 	 * ==================== LOAD METHODS ================
 	 */
@@ -111,6 +122,8 @@ public class Settings extends ProcessBlock {
 				categoryConfigCommand);
 		tempMap.put("Color Coding Selection Settings: alter color coding of Cells within excel sheet output",
 				colorCodingCommand);
+		tempMap.put("Excel Export Settings: choose between in-memory and streaming workbooks for large exports",
+				exportConfigCommand);
 		tempMap.put("Go Back", goBackCommand);
 
 		setMenuCommandMap(tempMap);
@@ -0,0 +1,77 @@
+package excelWriter.process;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The ExportStageTimer class times each stage of an export to an excel
+ * workbook, e.g. writing the category sheets, and logs a single line per stage
+ * with the time it took.
+ * <p>
+ * The per-row and per-cell messages of an export are logged at debug level.
+ * With the quiet logging configuration, log4j2-quiet.xml, the lines logged by
+ * this class are the only info messages of an export.
+ *
+ * @see WriteDBToExcel
+ * @author LORD GABRIEL
+ */
+
+public class ExportStageTimer {
+
+	private static final Logger logger = LogManager.getLogger(ExportStageTimer.class.getName());
+
+	private long totalMillis;
+	private int stageCount;
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	/**
+	 * @return the total time taken by every stage timed so far, in milliseconds
+	 */
+	public long getTotalMillis() {
+		return totalMillis;
+	}
+
+	/**
+	 * @return the number of stages timed so far
+	 */
+	public int getStageCount() {
+		return stageCount;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Runs a stage of an export, logging the time it took once it has finished,
+	 * or failed.
+	 *
+	 * @param stage - the name of the stage, used in the log message
+	 * @param work  - the work done by the stage
+	 * @return the time taken by the stage, in milliseconds
+	 */
+	public long time(String stage, Runnable work) {
+		long start = System.nanoTime();
+		boolean finished = false;
+		long millis;
+		try {
+			work.run();
+			finished = true;
+		} finally {
+			millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+			totalMillis += millis;
+			stageCount++;
+			if (finished) {
+				logger.info("Export stage {} finished in {} ms", stage, millis);
+			} else {
+				logger.error("Export stage {} failed after {} ms", stage, millis);
+			}
+		}
+		return millis;
+	}
+}
@@ -1,22 +1,31 @@
 package excelWriter.process;
 
 import java.io.FileOutputStream;
-import java.io.OutputStreamWriter;
-import java.io.Writer;
-import java.nio.charset.StandardCharsets;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Paths;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
 
 import config.AppConfig;
 import config.color.ColorCodingConfig;
+import config.export.ExportConfig;
+import config.export.ExportMode;
 import excelWriter.process.commands.WriteExcelDocCommand;
+import excelWriter.process.commands.WriteSummaryExcelDocCommand;
 import excelWriter.workbook.TransactionWorkbook;
 import excelWriter.workbook.load.TransactionWorkbookCategoryLoader;
 import excelWriter.workbook.load.TransactionWorkbookSummaryLoader;
+import metrics.MetricsRegistry;
+import metrics.MetricsReport;
+import metrics.Timer;
+import metrics.jfr.WorkbookSerialisedEvent;
 import optionMenu.Command;
 import optionMenu.GoBack;
 import optionMenu.Input;
@@ -27,6 +36,7 @@ import sqliteData.tables.TableCategory;
 import sqliteData.tables.TableInbound;
 import sqliteData.tables.TableOutbound;
 import sqliteData.tables.TableUtils;
+import sqliteData.tables.readers.MonthlyTotalsReader;
 import sqliteData.tables.readers.TableCategoryReader;
 import sqliteData.tables.readers.TableInboundReader;
 import sqliteData.tables.readers.TableOutboundReader;
@@ -52,6 +62,8 @@ public class WriteDBToExcel extends ProcessBlock {
 	private Input input;
 	private RegexMethods regex;
 	private ColorCodingConfig colConfig;
+	private ExportConfig exportConfig;
+	private ExportMode exportMode;
 
 	private TransactionWorkbook workbook;
 
@@ -68,12 +80,17 @@ public class WriteDBToExcel extends ProcessBlock {
 
 	private TableUtils tU;
 
+	private ExportStageTimer stageTimer = new ExportStageTimer();
+
+	private static final Logger logger = LogManager.getLogger(WriteDBToExcel.class.getName());
+
 	/*
 	 * ================ COMMAND OBJECTS ==============
 	 */
 
 	Map<String, Command> menuCommandMap;
 	private Command writeExcelDocCommand = new WriteExcelDocCommand(this);
+	private Command writeSummaryExcelDocCommand = new WriteSummaryExcelDocCommand(this);
 	private Command goBackCommand = new GoBack();
 
 	/*
@@ -87,17 +104,20 @@ public class WriteDBToExcel extends ProcessBlock {
 	 * @param regex     - the RegexMethods instance for handling regular expressions
 	 * @param colConfig - the ColorCodingConfig instance for managing color coding
 	 *                  configuration
+	 * @param exportConfig - the ExportConfig instance for choosing how the
+	 *                  workbook is built
 	 * @param tO        - the TableOutbound instance for outbound transaction data
 	 * @param tI        - the TableInbound instance for inbound transaction data
 	 * @param tC        - the TableCategory instance for managing categories
 	 * @param tU        - the TableUtils instance for database utilities
 	 */
 
-	public WriteDBToExcel(Input input, RegexMethods regex, ColorCodingConfig colConfig, TableOutbound tO,
-			TableInbound tI, TableCategory tC, TableUtils tU) {
+	public WriteDBToExcel(Input input, RegexMethods regex, ColorCodingConfig colConfig, ExportConfig exportConfig,
+			TableOutbound tO, TableInbound tI, TableCategory tC, TableUtils tU) {
 		this.input = input;
 		this.regex = regex;
 		this.colConfig = colConfig;
+		this.exportConfig = exportConfig;
 		this.tO = tO;
 		this.tI = tI;
 		this.tC = tC;
@@ -119,14 +139,35 @@ public class WriteDBToExcel extends ProcessBlock {
 	public Input getInput() {
 		return input;
 	}
+
+	public ExportStageTimer getStageTimer() {
+		return stageTimer;
+	}
+
+	public TransactionWorkbookCategoryLoader getWorkbookCategoryLoader() {
+		return workbookCategoryLoader;
+	}
+
+	/**
+	 * Returns the mode used to build the current workbook, either IN_MEMORY or
+	 * STREAMING.
+	 * 
+	 * @return the export mode of the current workbook
+	 */
+
+	public ExportMode getExportMode() {
+		return exportMode;
+	}
 	/*
 	 * ================= LOAD METHODS ======================
 	 */
 
 	@Override
 	protected void loadMenuCommandMap() {
-		Map<String, Command> tempMap = new HashMap<>();
+		Map<String, Command> tempMap = new LinkedHashMap<>();
 		tempMap.put("Write DB to Excel document", writeExcelDocCommand);
+		tempMap.put("Write DB summary to Excel document - Summary sheet only, totalled by the database",
+				writeSummaryExcelDocCommand);
 		tempMap.put("Go Back", goBackCommand);
 
 		setMenuCommandMap(tempMap);
@@ -164,15 +205,60 @@ public class WriteDBToExcel extends ProcessBlock {
 	public void loadTransactionWorkbook(String startDate, String endDate) {
 		workbook = new TransactionWorkbook(excelWorkbook, colConfig, startDate, endDate, tOR, tIR, tC);
 		workbookCategoryLoader = new TransactionWorkbookCategoryLoader(workbook, 2, 2, regex);
+		if (exportConfig != null) {
+			workbookCategoryLoader.setParallelism(exportConfig.checkCategorySheetParallelism());
+		}
 		workbookSummaryLoader = new TransactionWorkbookSummaryLoader(workbook, 2, 2);
 	}
 
 	/**
-	 * Loads the Excel workbook by creating a new XSSFWorkbook instance.
+	 * Loads the Excel workbook. An in-memory XSSFWorkbook is used unless the export
+	 * mode is STREAMING, or the export mode is AUTO and the number of transactions
+	 * between startDate and endDate is above the streaming row threshold. A
+	 * streaming SXSSFWorkbook only keeps a window of rows per sheet in memory,
+	 * flushing older rows to temporary files.
+	 *
+	 * @param startDate the start date of the transaction data
+	 * @param endDate   the end date of the transaction data
 	 */
 
-	public void loadExcelFile() {
-		excelWorkbook = new XSSFWorkbook();
+	public void loadExcelFile(String startDate, String endDate) {
+		exportMode = chooseExportMode(startDate, endDate);
+		if (exportMode == ExportMode.STREAMING) {
+			int rowWindow = exportConfig.checkStreamingRowWindow();
+			SXSSFWorkbook streamingWorkbook = new SXSSFWorkbook(rowWindow);
+			streamingWorkbook.setCompressTempFiles(exportConfig.checkStreamingCompressTempFiles());
+			excelWorkbook = streamingWorkbook;
+			String log = String.format("Loaded streaming workbook, keeping %d rows per sheet in memory.", rowWindow);
+			logger.info(log);
+		} else {
+			excelWorkbook = new XSSFWorkbook();
+			logger.info("Loaded in-memory workbook.");
+		}
+	}
+
+	/**
+	 * Resolves the configured export mode to either IN_MEMORY or STREAMING. In
+	 * AUTO mode the transactions within the date range are counted and compared to
+	 * the streaming row threshold.
+	 *
+	 * @param startDate the start date of the transaction data
+	 * @param endDate   the end date of the transaction data
+	 * @return IN_MEMORY or STREAMING
+	 */
+
+	public ExportMode chooseExportMode(String startDate, String endDate) {
+		ExportMode mode = (exportConfig == null) ? ExportMode.IN_MEMORY : exportConfig.checkExportMode();
+		if (mode != ExportMode.AUTO) {
+			return mode;
+		}
+		int threshold = exportConfig.checkStreamingRowThreshold();
+		int numTransactions = tU.countTransactionsInRange(tI.getTableName(), startDate, endDate)
+				+ tU.countTransactionsInRange(tO.getTableName(), startDate, endDate);
+		String log = String.format("%d transactions found between %s and %s, streaming row threshold: %d",
+				numTransactions, startDate, endDate, threshold);
+		logger.info(log);
+		return (numTransactions > threshold) ? ExportMode.STREAMING : ExportMode.IN_MEMORY;
 	}
 
 	/**
@@ -184,21 +270,51 @@ public class WriteDBToExcel extends ProcessBlock {
 	 */
 
 	public void workbookSetup(String startDate, String endDate) {
-		loadExcelFile();
-		loadTableCategoryReader();
-		loadTableInboundOutboundReaders();
-		loadTransactionWorkbook(startDate, endDate);
+		stageTimer.time("Workbook setup", () -> {
+			loadTableCategoryReader();
+			loadTableInboundOutboundReaders();
+			loadExcelFile(startDate, endDate);
+			loadTransactionWorkbook(startDate, endDate);
+		});
+	}
+
+	/**
+	 * Sets up a workbook holding only the Summary sheet. The workbook is always
+	 * in-memory, as the Summary sheet has one row per category.
+	 *
+	 * @param startDate the start date of the transaction data
+	 * @param endDate   the end date of the transaction data
+	 */
+
+	public void summaryWorkbookSetup(String startDate, String endDate) {
+		stageTimer.time("Summary workbook setup", () -> {
+			loadTableCategoryReader();
+			loadTableInboundOutboundReaders();
+			exportMode = ExportMode.IN_MEMORY;
+			excelWorkbook = new XSSFWorkbook();
+			loadTransactionWorkbook(startDate, endDate);
+			workbook.loadEmptyCategorySheets();
+		});
 	}
 
 	// ========================= EXPORT EXCEL SHEETS ==============================
 
 	/**
-	 * Writes category sheets to the Excel file.
+	 * Writes category sheets to the Excel file. If the transactions of a category
+	 * cannot be read, the stage is reported as failed.
+	 *
+	 * @return true if every category sheet was written, false otherwise
 	 */
 
-	public void writeCategorySheets() {
+	public boolean writeCategorySheets() {
 		System.out.println("Writing categorySheets to file");
-		workbookCategoryLoader.loadCategorySheets(5);
+		try {
+			stageTimer.time("Category sheets", () -> workbookCategoryLoader.loadCategorySheets(5));
+			return true;
+		} catch (IllegalStateException e) {
+			System.out.println("Failed to write categorySheets, no excel file will be written");
+			return false;
+		}
 	}
 
 	/**
@@ -207,9 +323,27 @@ public class WriteDBToExcel extends ProcessBlock {
 
 	public void writeSummarySheet() {
 		System.out.println("Writing summarySheet to file");
-		workbookSummaryLoader.initialiseSummarySheet();
-		workbookSummaryLoader.loadSummarySheetWriter();
-		workbookSummaryLoader.loadSummaryTable();
+		stageTimer.time("Summary sheet", () -> {
+			workbookSummaryLoader.initialiseSummarySheet();
+			workbookSummaryLoader.loadSummarySheetWriter();
+			workbookSummaryLoader.loadSummaryTable();
+		});
+	}
+
+	/**
+	 * Writes the summary sheet to the Excel file from totals summed by the
+	 * database, without any category sheets.
+	 */
+
+	public void writeSummaryOnlySheet() {
+		System.out.println("Writing summarySheet to file");
+		MonthlyTotalsReader totals = new MonthlyTotalsReader(tIR, tOR);
+		stageTimer.time("Monthly totals", () -> totals.load(workbook.getStartDate(), workbook.getEndDate()));
+		stageTimer.time("Summary sheet", () -> {
+			workbookSummaryLoader.initialiseSummarySheet();
+			workbookSummaryLoader.loadSummarySheetWriter();
+			workbookSummaryLoader.loadSummaryTable(tC.getCategoryMenu().getOptions(), totals);
+		});
 	}
 
 	/**
@@ -232,9 +366,9 @@ public class WriteDBToExcel extends ProcessBlock {
 
 	public boolean chooseDateRange() {
 		System.out.println(
-				"Please insert your requested date range for these storing the data of these transactions. These excel sheets are intended to be organised by year.");
-		System.out
-				.println("Because of this, we do not reccomend inputting a date range which is greater than one year.");
+				"Please insert your requested date range for these storing the data of these transactions. These excel sheets are organised by year.");
+		System.out.println(
+				"A date range spanning more than one year is given one Summary table per year, and each month's tables are titled with their year.");
 		startDate = input
 				.inputDateRange("Please insert the start date of your transaction data, in format (YYYY-MM-DD)", true);
 		endDate = input.inputDateRange("Please insert the end date of your transaction data, in format (YYYY-MM-DD)",
@@ -247,6 +381,9 @@ public class WriteDBToExcel extends ProcessBlock {
 
 	/**
 	 * Imports the SQLite database data and creates the Excel workbook.
+	 *
+	 * @return true if the workbook was created, false if no date range was chosen
+	 *         or the category sheets could not be written
 	 */
 
 	public boolean importDBCreateExcel() {
@@ -257,27 +394,107 @@ public class WriteDBToExcel extends ProcessBlock {
 		}
 		chooseOutputName();
 		workbookSetup(startDate, endDate); // need to retrieve start and end date
-		writeCategorySheets();
+		if (!writeCategorySheets()) {
+			discardWorkbook();
+			return false;
+		}
 		writeSummarySheet();
 		
 		return dateRangeChosen;
 	}
 
 	/**
-	 * Outputs the Excel workbook to an Excel file.
+	 * Imports monthly totals from the SQLite database and creates an Excel
+	 * workbook holding only the Summary sheet.
 	 */
 
-	public void outputExcel() {
+	public boolean importDBCreateSummaryExcel() {
+		boolean dateRangeChosen = chooseDateRange();
+		if (!dateRangeChosen) {
+			System.out.println("No date range chosen");
+			return dateRangeChosen;
+		}
+		chooseOutputName();
+		summaryWorkbookSetup(startDate, endDate);
+		writeSummaryOnlySheet();
+
+		return dateRangeChosen;
+	}
+
+	/**
+	 * Outputs the Excel workbook to an Excel file, emitting a
+	 * WorkbookSerialisedEvent for Java Flight Recorder. If the file cannot be
+	 * written, the error is logged, the stage is reported as failed and no event
+	 * is emitted.
+	 *
+	 * @return true if the workbook was written to its file, false otherwise
+	 */
+
+	public boolean outputExcel() {
 		Workbook workbook = getTransactionWorkbook().getWorkbook();
 		String folderLocation = colConfig.getConfig().checkProperty("outputFolder");
 		String fileName = getWorkbookName();
 		String path = folderLocation + "\\" + fileName + ".xlsx";
-	    try (FileOutputStream fos = new FileOutputStream(path);
-	            Writer writer = new OutputStreamWriter(fos, StandardCharsets.UTF_8)) {
+		try {
+			stageTimer.time("Write file", () -> writeWorkbookFile(workbook, path));
+			return true;
+		} catch (UncheckedIOException e) {
+			System.out.printf("Failed to write excel file: %s\n", path);
+			return false;
+		}
+	}
+
+	/**
+	 * Writes the workbook to the given path and closes it. A failure is logged and
+	 * rethrown, so the stage writing the file is reported as failed.
+	 *
+	 * @param workbook - the workbook to write
+	 * @param path     - the path of the file to write
+	 */
+
+	private void writeWorkbookFile(Workbook workbook, String path) {
+		WorkbookSerialisedEvent event = new WorkbookSerialisedEvent();
+		event.begin();
+		Timer.Sample sample = MetricsRegistry.getDefault().timer(MetricsRegistry.EXPORT_WRITE_FILE).start();
+		try (FileOutputStream fos = new FileOutputStream(path)) {
 			workbook.write(fos);
+			event.bytes = fos.getChannel().position();
+			workbook.close();
+		} catch (IOException e) {
+			String log = String.format("Failed to write excel file: %s. %s", path, e.getMessage());
+			logger.error(log);
+			throw new UncheckedIOException(e);
+		} finally {
+			// Remove the temporary files rows were flushed to
+			if (workbook instanceof SXSSFWorkbook) {
+				((SXSSFWorkbook) workbook).dispose();
+			}
+		}
+		// Only a written file is recorded, a failed write is reported by the stage
+		sample.close();
+		if (event.shouldCommit()) {
+			event.path = path;
+			event.streaming = workbook instanceof SXSSFWorkbook;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Closes a workbook that will not be written, removing any temporary files its
+	 * rows were flushed to.
+	 */
+
+	private void discardWorkbook() {
+		Workbook workbook = getTransactionWorkbook().getWorkbook();
+		try {
 			workbook.close();
 		} catch (IOException e) {
-			e.printStackTrace();
+			String log = String.format("Failed to close discarded workbook. %s", e.getMessage());
+			logger.error(log);
+		} finally {
+			if (workbook instanceof SXSSFWorkbook) {
+				((SXSSFWorkbook) workbook).dispose();
+			}
 		}
 	}
 
@@ -287,9 +504,44 @@ public class WriteDBToExcel extends ProcessBlock {
 	 */
 
 	public void processDBToExcel() {
+		MetricsRegistry.getDefault().reset();
 		if(importDBCreateExcel()) {
 			outputExcel();
+			reportMetrics();
+		}
+	}
+
+	/**
+	 * Processes monthly totals from the SQLite database to create and export an
+	 * Excel workbook holding only the Summary sheet.
+	 */
+
+	public void processDBToSummaryExcel() {
+		MetricsRegistry.getDefault().reset();
+		if (importDBCreateSummaryExcel()) {
+			outputExcel();
+			reportMetrics();
+		}
+	}
+
+	/**
+	 * Prints and logs the time taken by each stage of the export just run, and
+	 * resets the metrics for the next run. If the metricsReportJson setting is
+	 * on, the report is also written as JSON next to the workbook.
+	 *
+	 * @return the report of the export
+	 */
+
+	public MetricsReport reportMetrics() {
+		MetricsReport report = MetricsRegistry.getDefault().reportAndReset("Export " + getWorkbookName());
+		String formatted = report.format();
+		System.out.print(formatted);
+		logger.info(formatted);
+		if (exportConfig != null && exportConfig.checkMetricsReportJson()) {
+			String folderLocation = colConfig.getConfig().checkProperty("outputFolder");
+			report.writeJson(Paths.get(folderLocation + "\\" + getWorkbookName() + "-metrics.json"));
 		}
+		return report;
 	}
 
 }
@@ -24,6 +24,6 @@ public class WriteDBToExcelCommand implements Command{
 	
 	@Override
 	public void execute() {
-		dbToXL.chooseProcessFirstRun("Excel Export Menu", dbToXL.getInput(),"If you wish to export data from your SQLite DB to an excel file, please select option 0. Otherwise select option 1.", false);
+		dbToXL.chooseProcessFirstRun("Excel Export Menu", dbToXL.getInput(),"If you wish to export data from your SQLite DB to an excel file, please select option 0, or option 1 for the Summary sheet only. Otherwise select option 2.", false);
 	}
 }
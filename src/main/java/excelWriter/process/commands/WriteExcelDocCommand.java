@@ -27,7 +27,7 @@ public class WriteExcelDocCommand implements Command {
 	public void execute() {
 		DBToXL.processDBToExcel();
 		DBToXL.chooseProcess(
-				"If you wish to export data from your SQLite DB to an excel file, please select option 0. Otherwise select option 1.",
+				"If you wish to export data from your SQLite DB to an excel file, please select option 0, or option 1 for the Summary sheet only. Otherwise select option 2.",
 				false);
 	}
 }
@@ -0,0 +1,32 @@
+package excelWriter.process.commands;
+
+import excelWriter.process.WriteDBToExcel;
+import optionMenu.Command;
+
+/**
+ * The WriteSummaryExcelDocCommand class is a command that exports only the
+ * Summary sheet from the SQLite database to an Excel file. The totals are summed
+ * by the database, so no category sheets are built. This command is used within
+ * the statement menu when the corresponding option is selected.
+ * 
+ * @see excelWriter.process.WriteDBToExcel
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+
+public class WriteSummaryExcelDocCommand implements Command {
+
+	private WriteDBToExcel DBToXL;
+
+	public WriteSummaryExcelDocCommand(WriteDBToExcel DBToXL) {
+		this.DBToXL = DBToXL;
+	}
+
+	@Override
+	public void execute() {
+		DBToXL.processDBToSummaryExcel();
+		DBToXL.chooseProcess(
+				"If you wish to export data from your SQLite DB to an excel file, please select option 0, or option 1 for the Summary sheet only. Otherwise select option 2.",
+				false);
+	}
+}
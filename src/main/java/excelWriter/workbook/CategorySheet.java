@@ -1,7 +1,8 @@
 package excelWriter.workbook;
 
+import java.time.YearMonth;
 import java.util.Map;
-import java.util.HashMap;
+import java.util.TreeMap;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.*;
@@ -25,14 +26,14 @@ public class CategorySheet extends StatementSheet {
 
 	/**
 	 * For each CategorySheet object, there exists a monthPaidInSumMap. Used to map the
-	 * sum total of paidIn transactions for that category for each month.
+	 * sum total of paidIn transactions for that category for each year and month.
 	 */
-	private Map<Integer, CellReference> monthPaidInSumMap;
+	private Map<YearMonth, CellReference> monthPaidInSumMap;
 	/**
 	 * For each CategorySheet object, there exists a monthPaidOutSumMap. Used to map the
-	 * sum total of paidOut transactions for that category for each month.
+	 * sum total of paidOut transactions for that category for each year and month.
 	 */
-	private Map<Integer, CellReference> monthPaidOutSumMap;
+	private Map<YearMonth, CellReference> monthPaidOutSumMap;
 	private int rowStartNum;
 	private int colStartNum;
 
@@ -81,7 +82,7 @@ public class CategorySheet extends StatementSheet {
 	 * @return the map of month paid-in sum references
 	 */
 
-	public Map<Integer, CellReference> getmonthPaidInSumMap() {
+	public Map<YearMonth, CellReference> getmonthPaidInSumMap() {
 		return monthPaidInSumMap;
 	}
 
@@ -91,7 +92,7 @@ public class CategorySheet extends StatementSheet {
 	 * @return the map of month paid-out sum references
 	 */
 
-	public Map<Integer, CellReference> getmonthPaidOutSumMap() {
+	public Map<YearMonth, CellReference> getmonthPaidOutSumMap() {
 		return monthPaidOutSumMap;
 	}
 
@@ -140,7 +141,7 @@ public class CategorySheet extends StatementSheet {
 	 * @param monthPaidInSumMap - the map of month paid-in sum references to set
 	 */
 
-	public void setmonthmonthPaidInSumMapMap(Map<Integer, CellReference> monthPaidInSumMap) {
+	public void setmonthmonthPaidInSumMapMap(Map<YearMonth, CellReference> monthPaidInSumMap) {
 		this.monthPaidInSumMap = monthPaidInSumMap;
 	}
 
@@ -150,7 +151,7 @@ public class CategorySheet extends StatementSheet {
 	 * @param monthPaidOutSumMap - the map of month paid-out sum references to set
 	 */
 
-	public void setmonthPaidOutSumMap(Map<Integer, CellReference> monthPaidOutSumMap) {
+	public void setmonthPaidOutSumMap(Map<YearMonth, CellReference> monthPaidOutSumMap) {
 		this.monthPaidOutSumMap = monthPaidOutSumMap;
 	}
 
@@ -183,7 +184,7 @@ public class CategorySheet extends StatementSheet {
 	 */
 
 	public void loadEmptyMonthPaidInMap() {
-		this.monthPaidInSumMap = new HashMap<>();
+		this.monthPaidInSumMap = new TreeMap<>();
 	}
 
 	/**
@@ -191,7 +192,7 @@ public class CategorySheet extends StatementSheet {
 	 */
 
 	public void loadEmptyMonthPaidOutMap() {
-		this.monthPaidOutSumMap = new HashMap<>();
+		this.monthPaidOutSumMap = new TreeMap<>();
 	}
 
 }
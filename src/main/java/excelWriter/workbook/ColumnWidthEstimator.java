@@ -0,0 +1,179 @@
+package excelWriter.workbook;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+/**
+ * 
+ * The ColumnWidthEstimator class works out the width of each column of a sheet
+ * while its rows are written, so the widths can be set once at the end without
+ * reading the cells back. This replaces Sheet.autoSizeColumn, which measures
+ * every cell through AWT font metrics, and works for streaming workbooks whose
+ * rows have already been flushed to disk.
+ * <p>
+ * Each cell recorded is measured with the {@link GlyphWidthTable} of its font,
+ * and the widest cell of each column is kept. Numbers are measured as Excel's
+ * General format shows them. The result of a formula is not known when it is
+ * written, so formula cells are measured as {@link #FORMULA_ESTIMATE}.
+ * 
+ * @see GlyphWidthTable
+ * @see StatementSheet
+ * @author LORD GABRIEL
+ */
+
+public class ColumnWidthEstimator {
+
+	/**
+	 * Widest column Excel allows, in 1/256ths of a character
+	 */
+	public static final int MAX_COLUMN_WIDTH = 255 * 256;
+
+	/**
+	 * Text a formula cell is measured as, a money total of up to 5 digits
+	 */
+	public static final String FORMULA_ESTIMATE = "-00000.00";
+
+	/**
+	 * Characters added to each column for the cell's margins
+	 */
+	public static final double PADDING = 1.0;
+
+	private final Workbook workbook;
+	private final Map<Integer, GlyphWidthTable> tablesByFont = new HashMap<>();
+	private double[] widths = new double[16];
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	/**
+	 * Constructs a ColumnWidthEstimator with no columns recorded.
+	 * 
+	 * @param workbook - the workbook the cells belong to, used to look up fonts
+	 */
+
+	public ColumnWidthEstimator(Workbook workbook) {
+		this.workbook = workbook;
+	}
+
+	/*
+	 * ============ GETTERS ===================
+	 */
+
+	/**
+	 * @param col - the column index
+	 * @return the width of the widest cell recorded in the column, in characters,
+	 *         0 if none has been recorded
+	 */
+	public double getWidth(int col) {
+		return col < widths.length ? widths[col] : 0;
+	}
+
+	/*
+	 * ============ METHODS ===================
+	 */
+
+	/**
+	 * Records the width of a cell once its value and style have been set.
+	 * 
+	 * @param cell - the cell to record
+	 */
+	public void record(Cell cell) {
+		String text = displayText(cell);
+		if (text != null) {
+			record(cell.getColumnIndex(), text, tableFor(cell.getCellStyle()));
+		}
+	}
+
+	/**
+	 * Records the width of text shown in a column in a font.
+	 * 
+	 * @param col  - the column index
+	 * @param text - the text shown
+	 * @param font - the font the text is shown in
+	 */
+	public void record(int col, String text, Font font) {
+		record(col, text, GlyphWidthTable.forFont(font.getFontName(), font.getFontHeightInPoints(), font.getBold()));
+	}
+
+	/**
+	 * Sets the width of every column recorded in a sheet.
+	 * 
+	 * @param sheet - the sheet to set the widths of
+	 * @return the number of columns set
+	 */
+	public int apply(Sheet sheet) {
+		int numColumns = 0;
+		for (int col = 0; col < widths.length; col++) {
+			if (widths[col] > 0) {
+				int width = (int) Math.ceil((widths[col] + PADDING) * 256);
+				sheet.setColumnWidth(col, Math.min(MAX_COLUMN_WIDTH, width));
+				numColumns++;
+			}
+		}
+		return numColumns;
+	}
+
+	private void record(int col, String text, GlyphWidthTable table) {
+		if (col >= widths.length) {
+			widths = Arrays.copyOf(widths, Math.max(col + 1, widths.length * 2));
+		}
+		double width = table.width(text);
+		if (width > widths[col]) {
+			widths[col] = width;
+		}
+	}
+
+	/**
+	 * Returns the width table of a style's font, looking the font up once per
+	 * style's font.
+	 */
+	private GlyphWidthTable tableFor(CellStyle style) {
+		int fontIndex = style.getFontIndex();
+		GlyphWidthTable table = tablesByFont.get(fontIndex);
+		if (table == null) {
+			Font font = workbook.getFontAt(fontIndex);
+			table = GlyphWidthTable.forFont(font.getFontName(), font.getFontHeightInPoints(), font.getBold());
+			tablesByFont.put(fontIndex, table);
+		}
+		return table;
+	}
+
+	/**
+	 * Returns the text a cell shows, or null for a blank cell.
+	 */
+	private static String displayText(Cell cell) {
+		CellType type = cell.getCellType();
+		switch (type) {
+		case STRING:
+			return cell.getStringCellValue();
+		case NUMERIC:
+			return generalNumber(cell.getNumericCellValue());
+		case BOOLEAN:
+			return cell.getBooleanCellValue() ? "TRUE" : "FALSE";
+		case FORMULA:
+			return FORMULA_ESTIMATE;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Formats a number as Excel's General format shows it, without trailing zeros.
+	 */
+	static String generalNumber(double value) {
+		if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+			return Long.toString((long) value);
+		}
+		return BigDecimal.valueOf(value).stripTrailingZeros().toPlainString();
+	}
+}
@@ -0,0 +1,131 @@
+package excelWriter.workbook;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 
+ * The GlyphWidthTable class estimates the width of a string as rendered in a
+ * font, in characters, where one character is the width of the digit '0' in
+ * the workbook's default font, Calibri 11. This is the unit Excel measures
+ * column widths in.
+ * <p>
+ * Widths are looked up in a table of glyph advance widths for printable ASCII,
+ * taken from Calibri's metrics and scaled for the font's height and weight, so
+ * no AWT font metrics are needed. Other fonts are estimated with the same
+ * table, and characters outside printable ASCII are given the width of a digit.
+ * One table is built per font and shared by every workbook.
+ * 
+ * @see ColumnWidthEstimator
+ * @author LORD GABRIEL
+ */
+
+public final class GlyphWidthTable {
+
+	/**
+	 * Height of the default font, in points, the base widths are measured at
+	 */
+	public static final short DEFAULT_FONT_HEIGHT = 11;
+
+	private static final char FIRST_CHAR = ' ';
+	private static final char LAST_CHAR = '~';
+	private static final double DIGIT_ADVANCE = 1038;
+	private static final double BOLD_SCALE = 1.05;
+
+	/**
+	 * Calibri advance widths, in font units of 1/2048 em, for ' ' to '~'
+	 */
+	private static final int[] ADVANCES = {
+			// ' ' ! " # $ % & ' ( ) * + , - . /
+			463, 544, 821, 1038, 1038, 1465, 1399, 452, 621, 621, 1018, 1038, 511, 627, 517, 791,
+			// 0 - 9
+			1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038, 1038,
+			// : ; < = > ? @
+			548, 548, 1038, 1038, 1038, 951, 1839,
+			// A - Z
+			1185, 1114, 1092, 1260, 1000, 941, 1292, 1276, 516, 653, 1064, 861, 1751, 1322, 1356, 1058, 1378,
+			1112, 941, 998, 1314, 1162, 1822, 1063, 998, 959,
+			// [ \ ] ^ _ `
+			628, 791, 628, 1038, 1020, 596,
+			// a - z
+			981, 1076, 866, 1076, 1019, 625, 964, 1076, 470, 490, 931, 470, 1636, 1076, 1080, 1076, 1076, 714,
+			801, 686, 1076, 925, 1464, 887, 927, 809,
+			// { | } ~
+			714, 942, 714, 1038 };
+
+	private static final Map<String, GlyphWidthTable> TABLES = new ConcurrentHashMap<>();
+
+	private final double[] widths = new double[ADVANCES.length];
+	private final double defaultWidth;
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	private GlyphWidthTable(short heightInPoints, boolean bold) {
+		double scale = (heightInPoints > 0 ? heightInPoints : DEFAULT_FONT_HEIGHT) / (double) DEFAULT_FONT_HEIGHT;
+		if (bold) {
+			scale *= BOLD_SCALE;
+		}
+		for (int i = 0; i < ADVANCES.length; i++) {
+			widths[i] = ADVANCES[i] / DIGIT_ADVANCE * scale;
+		}
+		defaultWidth = scale;
+	}
+
+	/*
+	 * ============ FACTORY METHODS ===================
+	 */
+
+	/**
+	 * Returns the width table of a font, building it the first time the font is
+	 * asked for.
+	 * 
+	 * @param fontName       - the name of the font
+	 * @param heightInPoints - the height of the font, or 0 for the default height
+	 * @param bold           - whether the font is bold
+	 * @return the font's width table
+	 */
+
+	public static GlyphWidthTable forFont(String fontName, short heightInPoints, boolean bold) {
+		String key = fontName + ":" + heightInPoints + ":" + bold;
+		return TABLES.computeIfAbsent(key, k -> new GlyphWidthTable(heightInPoints, bold));
+	}
+
+	/*
+	 * ============ METHODS ===================
+	 */
+
+	/**
+	 * @param c - the character
+	 * @return the width of the character, in characters
+	 */
+	public double width(char c) {
+		if (c < FIRST_CHAR || c > LAST_CHAR) {
+			return defaultWidth;
+		}
+		return widths[c - FIRST_CHAR];
+	}
+
+	/**
+	 * Returns the width of a string, in characters. For a string of several lines
+	 * this is the width of its widest line.
+	 * 
+	 * @param text - the string
+	 * @return the width of the string, in characters
+	 */
+	public double width(String text) {
+		double widest = 0;
+		double line = 0;
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			if (c == '\n') {
+				widest = Math.max(widest, line);
+				line = 0;
+			} else if (c != '\r') {
+				line += width(c);
+			}
+		}
+		return Math.max(widest, line);
+	}
+}
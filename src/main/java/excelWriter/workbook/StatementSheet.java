@@ -3,11 +3,11 @@ package excelWriter.workbook;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.util.CellRangeAddress;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
 import org.apache.poi.xssf.usermodel.XSSFColor;
 
 import config.color.ColorCodingConfig;
+import metrics.MetricsRegistry;
+import metrics.Timer;
 
 /**
  * 
@@ -17,7 +17,11 @@ import config.color.ColorCodingConfig;
  * of statement sheets. It contains methods to set and retrieve the workbook,
  * sheet, color configuration, cell styles, and logger.
  * 
+ * Cells are recorded in a ColumnWidthEstimator as they are written, so column
+ * widths can be set once the sheet is complete.
+ * 
  * @see ColorConfig
+ * @see ColumnWidthEstimator
  * @author LORD GABRIEL
  */
 
@@ -26,11 +30,11 @@ public abstract class StatementSheet {
 	private Workbook workbook;
 	private Sheet sheet;
 	private ColorCodingConfig colConfig;
+	private StyleRegistry styleRegistry;
+	private ColumnWidthEstimator columnWidths;
 	private CellStyle dataStyle;
-	private XSSFCellStyle headerStyle;
-	private Font headerFont;
-	private XSSFCellStyle sumStyle;
-	private Font sumFont;
+	private CellStyle headerStyle;
+	private CellStyle sumStyle;
 	private CellStyle titleStyle;
 	protected static final Logger logger = LogManager.getLogger(StatementSheet.class.getName());
 
@@ -68,6 +72,34 @@ public abstract class StatementSheet {
 		return colConfig;
 	}
 
+	/**
+	 * Returns the style registry this sheet takes its cell styles from. If none
+	 * has been set, a registry for this sheet's workbook is created.
+	 * 
+	 * @return the style registry
+	 */
+
+	public StyleRegistry getStyleRegistry() {
+		if (styleRegistry == null) {
+			styleRegistry = new StyleRegistry(workbook);
+		}
+		return styleRegistry;
+	}
+
+	/**
+	 * Returns the estimator recording the width of this sheet's columns. If none
+	 * has been created, one for this sheet's workbook is created.
+	 * 
+	 * @return the column width estimator
+	 */
+
+	public ColumnWidthEstimator getColumnWidths() {
+		if (columnWidths == null) {
+			columnWidths = new ColumnWidthEstimator(workbook);
+		}
+		return columnWidths;
+	}
+
 	/**
 	 * Returns the cell style for data cells in the statement sheet.
 	 * 
@@ -145,92 +177,50 @@ public abstract class StatementSheet {
 	public void setColConfig(ColorCodingConfig colConfig) {
 		this.colConfig = colConfig;
 	}
+
+	/**
+	 * Sets the style registry for the statement sheet. Sheets of the same workbook
+	 * should share a registry, so equal styles are only created once.
+	 * 
+	 * @param styleRegistry - the style registry to set
+	 */
+
+	public void setStyleRegistry(StyleRegistry styleRegistry) {
+		this.styleRegistry = styleRegistry;
+	}
 	/*
 	 * ============== METHODS ==================
 	 */
 
 	/**
 	 * Loads the cell data style for the statement sheet.
-	 * The data style includes formatting for currency values and cell borders.
+	 * The data style includes cell borders.
 	 */
 
 	public void loadCellDataStyle() {
-		dataStyle = workbook.createCellStyle();
-
-//		DataFormat dataFormat = workbook.createDataFormat();
-//		dataStyle.setDataFormat(dataFormat.getFormat("£#,##0.00"));
-		
-		dataStyle.setBorderTop(BorderStyle.THIN);
-		dataStyle.setBorderBottom(BorderStyle.THIN);
-		dataStyle.setBorderLeft(BorderStyle.THIN);
-		dataStyle.setBorderRight(BorderStyle.THIN);
-
-		// Set the border color
-		dataStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-		dataStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-		dataStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-		dataStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
+		dataStyle = getStyleRegistry().getStyle(StyleDescriptor.data());
 	}
 
 	/**
 	 * Loads the cell header style for the statement sheet.
-	 * The header style includes formatting for header cells and cell borders.
+	 * The header style includes a bold font, cell borders and the category's fill colour.
 	 * 
 	 * @param category - the category associated with the header style
 	 */
 
 	public void loadCellHeaderStyle(String category) {
 		XSSFColor categoryColor = colConfig.checkCategoryXSSFColor(category);
-		headerStyle = (XSSFCellStyle) workbook.createCellStyle();
-		headerFont = workbook.createFont();
-		headerFont.setBold(true);
-		headerStyle.setFont(headerFont);
-		headerStyle.setBorderTop(BorderStyle.THIN);
-		headerStyle.setBorderBottom(BorderStyle.THIN);
-		headerStyle.setBorderLeft(BorderStyle.THIN);
-		headerStyle.setBorderRight(BorderStyle.THIN);
-
-		// Set the border color
-		headerStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-		headerStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-		headerStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-		headerStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-
-		// Setting background fill
-		headerStyle.setFillForegroundColor(categoryColor);
-		headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+		headerStyle = getStyleRegistry().getStyle(StyleDescriptor.header(categoryColor));
 	}
 
 	/**
 	 * Loads the cell sum style for the statement sheet.
-	 * The sum style includes formatting for sum cells and cell borders.
-	 * 
-	 * @param colour - the color for the sum style
+	 * The sum style includes a bold font, cell borders and the sum fill colour.
 	 */
 
 	public void loadCellSumStyle() {
 		XSSFColor sumColor = colConfig.checkSumXSSFColor();
-		sumStyle = (XSSFCellStyle) workbook.createCellStyle();
-	   		
-//		DataFormat dataFormat = workbook.createDataFormat();
-//		sumStyle.setDataFormat(dataFormat.getFormat("£#,##0.00"));
-		sumFont = workbook.createFont();
-		sumFont.setBold(true);
-		sumStyle.setFont(headerFont);
-		sumStyle.setBorderTop(BorderStyle.THIN);
-		sumStyle.setBorderBottom(BorderStyle.THIN);
-		sumStyle.setBorderLeft(BorderStyle.THIN);
-		sumStyle.setBorderRight(BorderStyle.THIN);
-
-		// Set the border color
-		sumStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-		sumStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-		sumStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-		sumStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-
-		// Setting background fill
-		sumStyle.setFillForegroundColor(sumColor);
-		sumStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+		sumStyle = getStyleRegistry().getStyle(StyleDescriptor.sum(sumColor));
 	}
 
 	/**
@@ -239,37 +229,33 @@ public abstract class StatementSheet {
 	 */
 
 	public void loadTitleStyle() {
-		titleStyle = workbook.createCellStyle();
-		Font titleFont = workbook.createFont();
-		titleFont.setBold(true);
-		short fontHeight = 13;
-		titleFont.setFontHeightInPoints(fontHeight);
-		titleStyle.setFont(titleFont);
+		titleStyle = getStyleRegistry().getStyle(StyleDescriptor.title());
 	}
 
 	/**
-	 * Resizes all columns in the statement sheet.
-	 * This method automatically adjusts the column widths based on the content of the cells.
-	 * It also adjusts the column widths for merged cells, if any.
+	 * Records the width of a cell of this sheet, once its value and style have been
+	 * set, to be used by {@link #resizeAllColumns()}.
 	 * 
-	 * @param rowStartNum - the starting row number for the data
+	 * @param cell - the cell written
 	 */
 
-	public void resizeAllColumns(int rowStartNum) {
-		int numColumns = sheet.getRow(rowStartNum).getLastCellNum();
-
-		for (int col = 0; col < numColumns; col++) {
-			sheet.autoSizeColumn(col); // Autosize each column individually
-		}
+	public void recordColumnWidth(Cell cell) {
+		getColumnWidths().record(cell);
+	}
 
-		// Adjust the column widths for merged cells (if any)
-		for (CellRangeAddress mergedRegion : sheet.getMergedRegions()) {
-			int firstColumn = mergedRegion.getFirstColumn();
-			int lastColumn = mergedRegion.getLastColumn();
+	/**
+	 * Resizes all columns in the statement sheet to fit the cells recorded with
+	 * {@link #recordColumnWidth(Cell)}. The widths are worked out as the cells are
+	 * written, so no cell is read back and rows already flushed by a streaming
+	 * workbook are included. Resizing is timed in the default MetricsRegistry,
+	 * with the columns resized as its rows.
+	 */
 
-			for (int col = firstColumn; col <= lastColumn; col++) {
-				sheet.autoSizeColumn(col);
-			}
+	public void resizeAllColumns() {
+		try (Timer.Sample sample = MetricsRegistry.getDefault().timer(MetricsRegistry.EXPORT_RESIZE_COLUMNS).start()) {
+			int numColumns = getColumnWidths().apply(sheet);
+			sample.addRows(numColumns);
+			logger.debug("Resized {} columns of sheet {}", numColumns, sheet.getSheetName());
 		}
 	}
 
@@ -0,0 +1,179 @@
+package excelWriter.workbook;
+
+import java.util.Objects;
+
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+
+/**
+ *
+ * The StyleDescriptor class describes a cell style used within a
+ * TransactionWorkbook: its role, fill colour, font and borders. Two descriptors
+ * with the same values are equal, so a StyleRegistry can use them as keys to
+ * share a single CellStyle between every cell that looks the same.
+ *
+ * Fill colours are compared by their ARGB value, so colours read separately
+ * from the config file for the same category are equal.
+ *
+ * @see StyleRegistry
+ * @see StatementSheet
+ * @author LORD GABRIEL
+ */
+
+public final class StyleDescriptor {
+
+	/**
+	 * The part of a sheet a style is used for.
+	 */
+	public enum Role {
+		DATA, HEADER, SUM, TITLE, MONTH, TOTAL
+	}
+
+	/**
+	 * Font height used for title and total cells.
+	 */
+	public static final short LARGE_FONT_HEIGHT = 13;
+
+	private final Role role;
+	private final XSSFColor fill;
+	private final boolean bold;
+	private final short fontHeightInPoints;
+	private final BorderStyle border;
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	/**
+	 *
+	 * Constructs a StyleDescriptor.
+	 *
+	 * @param role               - the part of a sheet the style is used for
+	 * @param fill               - the solid fill colour, or null for no fill
+	 * @param bold               - whether the font is bold
+	 * @param fontHeightInPoints - the font height, or 0 for the default height
+	 * @param border             - the style of all four borders, drawn in black
+	 */
+
+	public StyleDescriptor(Role role, XSSFColor fill, boolean bold, short fontHeightInPoints, BorderStyle border) {
+		this.role = role;
+		this.fill = fill;
+		this.bold = bold;
+		this.fontHeightInPoints = fontHeightInPoints;
+		this.border = border;
+	}
+
+	/*
+	 * ============ FACTORY METHODS ===================
+	 */
+
+	/**
+	 * @return the style of data cells, thin borders and no fill
+	 */
+	public static StyleDescriptor data() {
+		return new StyleDescriptor(Role.DATA, null, false, (short) 0, BorderStyle.THIN);
+	}
+
+	/**
+	 * @param categoryColor - the fill colour of the category
+	 * @return the style of column header cells, bold with thin borders
+	 */
+	public static StyleDescriptor header(XSSFColor categoryColor) {
+		return new StyleDescriptor(Role.HEADER, categoryColor, true, (short) 0, BorderStyle.THIN);
+	}
+
+	/**
+	 * @param sumColor - the fill colour of sum cells
+	 * @return the style of sum cells, bold with thin borders
+	 */
+	public static StyleDescriptor sum(XSSFColor sumColor) {
+		return new StyleDescriptor(Role.SUM, sumColor, true, (short) 0, BorderStyle.THIN);
+	}
+
+	/**
+	 * @return the style of title cells, large bold font and no borders
+	 */
+	public static StyleDescriptor title() {
+		return new StyleDescriptor(Role.TITLE, null, true, LARGE_FONT_HEIGHT, BorderStyle.NONE);
+	}
+
+	/**
+	 * @param monthColor - the fill colour of month header cells
+	 * @return the style of summary sheet month header cells, bold with thin
+	 *         borders
+	 */
+	public static StyleDescriptor month(XSSFColor monthColor) {
+		return new StyleDescriptor(Role.MONTH, monthColor, true, (short) 0, BorderStyle.THIN);
+	}
+
+	/**
+	 * @return the style of summary sheet total cells, large bold font and thick
+	 *         borders
+	 */
+	public static StyleDescriptor total() {
+		return new StyleDescriptor(Role.TOTAL, null, true, LARGE_FONT_HEIGHT, BorderStyle.THICK);
+	}
+
+	/*
+	 * ============ GETTERS ====================
+	 */
+
+	public Role getRole() {
+		return role;
+	}
+
+	public XSSFColor getFill() {
+		return fill;
+	}
+
+	public boolean isBold() {
+		return bold;
+	}
+
+	public short getFontHeightInPoints() {
+		return fontHeightInPoints;
+	}
+
+	public BorderStyle getBorder() {
+		return border;
+	}
+
+	/**
+	 * @return true if the style needs a font other than the workbook default
+	 */
+	public boolean hasFont() {
+		return bold || fontHeightInPoints > 0;
+	}
+
+	private String fillKey() {
+		return (fill == null) ? null : fill.getARGBHex();
+	}
+
+	/*
+	 * ============ METHODS ======================
+	 */
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		if (!(obj instanceof StyleDescriptor)) {
+			return false;
+		}
+		StyleDescriptor other = (StyleDescriptor) obj;
+		return role == other.role && bold == other.bold && fontHeightInPoints == other.fontHeightInPoints
+				&& border == other.border && Objects.equals(fillKey(), other.fillKey());
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(role, fillKey(), bold, fontHeightInPoints, border);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s(fill:%s, bold:%s, fontHeight:%d, border:%s)", role, fillKey(), bold,
+				fontHeightInPoints, border);
+	}
+}
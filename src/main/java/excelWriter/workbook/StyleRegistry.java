@@ -0,0 +1,154 @@
+package excelWriter.workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+
+/**
+ *
+ * The StyleRegistry class creates and shares the cell styles and fonts of a
+ * single workbook. Excel limits a workbook to 64,000 cell styles, and every
+ * style created is written to the workbook's styles part, so a new CellStyle
+ * is only created the first time a {@link StyleDescriptor} is requested. Later
+ * requests for an equal descriptor return the same CellStyle. Fonts are shared
+ * in the same way.
+ *
+ * A TransactionWorkbook owns one StyleRegistry, which is handed to each of its
+ * sheets.
+ *
+ * @see StyleDescriptor
+ * @see StatementSheet
+ * @see TransactionWorkbook
+ * @author LORD GABRIEL
+ */
+
+public class StyleRegistry {
+
+	private static final Logger logger = LogManager.getLogger(StyleRegistry.class.getName());
+
+	private final Workbook workbook;
+	private final Map<StyleDescriptor, CellStyle> styles = new HashMap<>();
+	private final Map<String, Font> fonts = new HashMap<>();
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	/**
+	 *
+	 * Constructs a StyleRegistry for the given workbook.
+	 *
+	 * @param workbook - the workbook styles and fonts are created in
+	 */
+
+	public StyleRegistry(Workbook workbook) {
+		this.workbook = workbook;
+	}
+
+	/*
+	 * ============ GETTERS ====================
+	 */
+
+	public Workbook getWorkbook() {
+		return workbook;
+	}
+
+	/**
+	 * @return the number of distinct cell styles created by this registry
+	 */
+	public int getStyleCount() {
+		return styles.size();
+	}
+
+	/**
+	 * @return the number of distinct fonts created by this registry
+	 */
+	public int getFontCount() {
+		return fonts.size();
+	}
+
+	/*
+	 * ============ METHODS ======================
+	 */
+
+	/**
+	 *
+	 * Returns the cell style for the given descriptor, creating it the first time
+	 * the descriptor is requested.
+	 *
+	 * @param descriptor - the description of the style
+	 * @return the shared cell style
+	 */
+
+	public CellStyle getStyle(StyleDescriptor descriptor) {
+		CellStyle style = styles.get(descriptor);
+		if (style == null) {
+			style = createStyle(descriptor);
+			styles.put(descriptor, style);
+			String log = String.format("Created cell style %d: %s", styles.size(), descriptor);
+			logger.info(log);
+		}
+		return style;
+	}
+
+	/**
+	 *
+	 * Returns the font with the given weight and height, creating it the first time
+	 * it is requested.
+	 *
+	 * @param bold               - whether the font is bold
+	 * @param fontHeightInPoints - the font height, or 0 for the default height
+	 * @return the shared font
+	 */
+
+	public Font getFont(boolean bold, short fontHeightInPoints) {
+		String key = bold + ":" + fontHeightInPoints;
+		Font font = fonts.get(key);
+		if (font == null) {
+			font = workbook.createFont();
+			font.setBold(bold);
+			if (fontHeightInPoints > 0) {
+				font.setFontHeightInPoints(fontHeightInPoints);
+			}
+			fonts.put(key, font);
+		}
+		return font;
+	}
+
+	private CellStyle createStyle(StyleDescriptor descriptor) {
+		CellStyle style = workbook.createCellStyle();
+		if (descriptor.hasFont()) {
+			style.setFont(getFont(descriptor.isBold(), descriptor.getFontHeightInPoints()));
+		}
+
+		BorderStyle border = descriptor.getBorder();
+		if (border != BorderStyle.NONE) {
+			style.setBorderTop(border);
+			style.setBorderBottom(border);
+			style.setBorderLeft(border);
+			style.setBorderRight(border);
+
+			// Set the border color
+			style.setTopBorderColor(IndexedColors.BLACK.getIndex());
+			style.setBottomBorderColor(IndexedColors.BLACK.getIndex());
+			style.setLeftBorderColor(IndexedColors.BLACK.getIndex());
+			style.setRightBorderColor(IndexedColors.BLACK.getIndex());
+		}
+
+		// Setting background fill
+		if (descriptor.getFill() != null) {
+			((XSSFCellStyle) style).setFillForegroundColor(descriptor.getFill());
+			style.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+		}
+		return style;
+	}
+}
@@ -2,7 +2,7 @@ package excelWriter.workbook;
 
 import java.util.List;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 import org.apache.poi.xssf.usermodel.XSSFColor;
 import config.color.ColorCodingConfig;
 
@@ -24,7 +24,7 @@ public class SummarySheet extends StatementSheet {
 
 	private List<CategorySheet> categorySheets;
 	private String summaryName;
-	private XSSFCellStyle monthStyle;
+	private CellStyle monthStyle;
 	private CellStyle totalStyle;
 	public String startDate;
 	public String endDate;
@@ -170,68 +170,35 @@ public class SummarySheet extends StatementSheet {
 	/**
 	 * Loads an empty summary sheet in this workbook.
 	 * This method creates a new sheet with the summary name and sets it as the first sheet in the workbook.
+	 * In a streaming workbook, columns are tracked from the start so they can still be resized
+	 * once rows have been flushed to disk.
 	 */
 
 	public void loadEmptyTotalSheet() {
 		setSheet(getWorkbook().createSheet(getSummaryName()));
 		getWorkbook().setSheetOrder(getSummaryName(), 0);
+		if (getSheet() instanceof SXSSFSheet) {
+			((SXSSFSheet) getSheet()).trackAllColumnsForAutoSizing();
+		}
 	}
 
 	/**
 	 * Loads the cell style for month cells in the summary sheet.
-	 * The month style includes formatting for month cells and cell borders.
-	 * 
-	 * @param color - the color used for the month column header cell
+	 * The month style includes a bold font, cell borders and the month header fill colour.
 	 */
 
 	public void loadMonthStyle() {
 		XSSFColor monthHeaderColor = getColConfig().checkSummarySheetMonthColorXSSFColor();
-		monthStyle = (XSSFCellStyle) getWorkbook().createCellStyle();
-		Font monthFont = getWorkbook().createFont();
-		monthFont.setBold(true);
-		monthStyle.setFont(monthFont);
-		monthStyle.setBorderTop(BorderStyle.THIN);
-		monthStyle.setBorderBottom(BorderStyle.THIN);
-		monthStyle.setBorderLeft(BorderStyle.THIN);
-		monthStyle.setBorderRight(BorderStyle.THIN);
-
-		// Set the border color
-		monthStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-		monthStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-		monthStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-		monthStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-
-		// Setting background fill
-		monthStyle.setFillForegroundColor(monthHeaderColor);
-		monthStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
-
+		monthStyle = getStyleRegistry().getStyle(StyleDescriptor.month(monthHeaderColor));
 	}
 
 	/**
 	 * Loads the cell style for total cells in the summary sheet.
-	 * The total style includes formatting for total cells and cell borders.
+	 * The total style includes a large bold font and thick cell borders.
 	 */
 
 	public void loadtotalStyle() {
-		totalStyle = getWorkbook().createCellStyle();
-		Font totalFont = getWorkbook().createFont();
-		totalFont.setBold(true);
-		short fontHeight = 13;
-		totalFont.setFontHeightInPoints(fontHeight);
-		totalStyle.setFont(totalFont);
-
-		// Set border style
-		totalStyle.setBorderTop(BorderStyle.THICK);
-		totalStyle.setBorderBottom(BorderStyle.THICK);
-		totalStyle.setBorderLeft(BorderStyle.THICK);
-		totalStyle.setBorderRight(BorderStyle.THICK);
-
-		// Set the border color
-		totalStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-		totalStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-		totalStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-		totalStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-
+		totalStyle = getStyleRegistry().getStyle(StyleDescriptor.total());
 	}
 
 }
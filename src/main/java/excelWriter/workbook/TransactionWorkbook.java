@@ -47,6 +47,7 @@ public class TransactionWorkbook {
 	private ColorCodingConfig colConfig;
 	private List<CategorySheet> categorySheets;
 	private SummarySheet summarySheet;
+	private StyleRegistry styleRegistry;
 	
 	/**
 	 * Start date of transaction period (YYYY-MM-DD)
@@ -86,6 +87,7 @@ public class TransactionWorkbook {
 			TableOutboundReader tOR, TableInboundReader tIR, TableCategory tC) {
 		// Initialise empty workbook - this is the xls file
 		this.workbook = workbook;
+		this.styleRegistry = new StyleRegistry(workbook);
 		this.colConfig = colConfig;
 		this.startDate = startDate;
 		this.endDate = endDate;
@@ -138,6 +140,16 @@ public class TransactionWorkbook {
 		return summarySheet;
 	}
 
+	/**
+	 * Returns the style registry shared by every sheet in this workbook.
+	 * 
+	 * @return the style registry
+	 */
+
+	public StyleRegistry getStyleRegistry() {
+		return styleRegistry;
+	}
+
 	/**
 	 * Returns the start date of the transactions that will be processed into the
 	 * TransactionWorkbook.
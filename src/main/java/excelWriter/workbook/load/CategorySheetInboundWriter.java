@@ -1,12 +1,16 @@
 package excelWriter.workbook.load;
 
+import java.time.YearMonth;
+
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.util.CellReference;
 
 import excelWriter.workbook.CategorySheet;
 import excelWriter.workbook.StatementSheet;
 import excelWriter.workbook.TransactionWorkbook;
+import transactions.Money;
 import transactions.Transaction;
 
 /**
@@ -54,7 +58,7 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 	 * @param y - the row index of the paid cell
 	 */
 
-	public void addToPaidCellRefMap(int month, int x, int y) {
+	public void addToPaidCellRefMap(YearMonth month, int x, int y) {
 		CellReference categoryInSum = new CellReference(x, y);
 		getCategorySheet().getmonthPaidInSumMap().put(month, categoryInSum);
 	}
@@ -66,7 +70,7 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 	 * @param cellRef - the cell reference of the paid cell
 	 */
 
-	public void addToPaidCellRefMap(int month, CellReference cellRef) {
+	public void addToPaidCellRefMap(YearMonth month, CellReference cellRef) {
 		getCategorySheet().getmonthPaidInSumMap().put(month, cellRef);
 	}
 
@@ -79,14 +83,14 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 	 * @return the row index of the inserted title cell
 	 */
 
-	public int insertTitleCell(int month, int startRow, int startColumn) {
+	public int insertTitleCell(YearMonth month, int startRow, int startColumn) {
 		String title = "Inbound Transactions:" + getCategorySheet().getCategoryName() + " - " + returnMonth(month);
 
 		Row titleRow = createOrGetRow(startRow);
 		Cell titleCell = createOrGetCell(titleRow, startColumn);
 		titleCell.setCellValue(title);
-		String log = String.format("Inserted Title cell for Inbound table, Category: %s Month:%s",getCategorySheet().getCategoryName(),returnMonth(month));
-		logger.info(log);
+		logger.debug("Inserted Title cell for Inbound table, Category: {} Month:{}",
+				getCategorySheet().getCategoryName(), month);
 		return startRow + 1;
 	}
 
@@ -103,16 +107,16 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 		Row headerRow = createOrGetRow(startRow);
 		String[] headers = { "Date", "Description", "Paid In", "Balance" };
 		int numColumns = headers.length;
+		CellStyle headerStyle = getCategorySheet().getHeaderStyle();
 		// Iterate through each header
 		for (int col = 0; col < numColumns; col++) {
 			Cell headerCell = createOrGetCell(headerRow, startColumn + col);
 			headerCell.setCellValue(headers[col]);
-			getCategorySheet().loadCellHeaderStyle(getCategorySheet().getCategoryName());
-			headerCell.setCellStyle(getCategorySheet().getHeaderStyle());
+			headerCell.setCellStyle(headerStyle);
+			getCategorySheet().recordColumnWidth(headerCell);
 		}
 
-		String log = String.format("Inserted Header row for Inbound table, Category: %s",getCategorySheet().getCategoryName());
-		logger.info(log);
+		logger.debug("Inserted Header row for Inbound table, Category: {}", getCategorySheet().getCategoryName());
 		return startRow + 1;
 	}
 
@@ -131,21 +135,26 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 		Cell dateCell = createOrGetCell(dataRow, startColumn);
 		dateCell.setCellValue(transaction.getDate());
 		dateCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(dateCell);
 
 		// Adding description info
 		Cell descriptionCell = createOrGetCell(dataRow, startColumn + 1);
 		descriptionCell.setCellValue(transaction.getProcessedDescription());
 		descriptionCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(descriptionCell);
 
 		// Adding paidIn info
 		Cell paidInCell = createOrGetCell(dataRow, startColumn + 2);
-		paidInCell.setCellValue(transaction.getPaidIn());
+		// Amounts are converted from pence to pounds as they are written
+		paidInCell.setCellValue(Money.toPounds(transaction.getPaidInPence()));
 		paidInCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(paidInCell);
 
 		// Adding balance info
 		Cell balanceCell = createOrGetCell(dataRow, startColumn + 3);
-		balanceCell.setCellValue(transaction.getBalance());
+		balanceCell.setCellValue(Money.toPounds(transaction.getBalancePence()));
 		balanceCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(balanceCell);
 
 		int sumRowNum = rowNum + 1;
 		return sumRowNum;
@@ -166,7 +175,7 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 		CellReference startOfColumn = new CellReference(startRow, col);
 		CellReference endColumn = new CellReference(startRow + numTransactions + 2, col);
 		// Formula for sum of column
-		String formulaSum = "SUM(" + startOfColumn.formatAsString() + ":" + endColumn.formatAsString() + ")";
+		String formulaSum = moneySumFormula(startOfColumn, endColumn);
 		// Creating totalCells
 		Cell totalName = createOrGetCell(sumRow, col - 1);
 		Cell sumCell = createOrGetCell(sumRow, col);
@@ -174,10 +183,11 @@ public class CategorySheetInboundWriter extends CategorySheetWriter {
 		totalName.setCellStyle(getCategorySheet().getDataStyle());
 		sumCell.setCellFormula(formulaSum);
 		sumCell.setCellStyle(getCategorySheet().getSumStyle());
+		getCategorySheet().recordColumnWidth(totalName);
+		getCategorySheet().recordColumnWidth(sumCell);
 
 		CellReference sumCellRef = new CellReference(sumCell);
-		String log = String.format("Inserted sumRow for Inbound table, Category: %s",getCategorySheet().getCategoryName());
-		logger.info(log);
+		logger.debug("Inserted sumRow for Inbound table, Category: {}", getCategorySheet().getCategoryName());
 		return sumCellRef;
 	}
 
@@ -0,0 +1,160 @@
+package excelWriter.workbook.load;
+
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+import transactions.Transaction;
+
+/**
+ * 
+ * The CategorySheetModel class holds everything needed to write one category
+ * sheet: the category's transactions bucketed by month, in date order, and the
+ * column each month's inbound and outbound table is placed at. A model is built
+ * without touching the workbook, so models of different categories can be built
+ * in parallel, and cannot be changed once built.
+ * 
+ * Tables are placed side by side from the start column, in month order, the
+ * inbound table of a month before its outbound table, each tableGap columns
+ * after the last.
+ * 
+ * @see TransactionWorkbookCategoryLoader
+ * @see CategorySheetTable
+ * @author LORD GABRIEL
+ */
+
+public final class CategorySheetModel {
+
+	private final String category;
+	private final List<TableModel> tables;
+	private final int numMonths;
+	private final int numTransactions;
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	private CategorySheetModel(String category, List<TableModel> tables, int numMonths) {
+		this.category = category;
+		this.tables = Collections.unmodifiableList(tables);
+		this.numMonths = numMonths;
+		int total = 0;
+		for (TableModel table : tables) {
+			total += table.getTransactions().size();
+		}
+		this.numTransactions = total;
+	}
+
+	/*
+	 * ============ FACTORY METHODS ===================
+	 */
+
+	/**
+	 * 
+	 * Builds the model of a category sheet from the category's transactions by
+	 * month.
+	 * 
+	 * @param category    - the category of the sheet
+	 * @param inbound     - the inbound transactions of the category by month, in
+	 *                    date order within each month
+	 * @param outbound    - the outbound transactions of the category by month, in
+	 *                    date order within each month
+	 * @param startColumn - the column index of the first table
+	 * @param tableGap    - the number of columns from the start of one table to
+	 *                    the start of the next
+	 * @return the model
+	 */
+
+	public static CategorySheetModel build(String category, Map<YearMonth, List<Transaction>> inbound,
+			Map<YearMonth, List<Transaction>> outbound, int startColumn, int tableGap) {
+		Set<YearMonth> months = new TreeSet<>(inbound.keySet());
+		months.addAll(outbound.keySet());
+		List<TableModel> tables = new ArrayList<>();
+		int column = startColumn;
+		for (YearMonth month : months) {
+			List<Transaction> inTransactions = inbound.get(month);
+			if (inTransactions != null && !inTransactions.isEmpty()) {
+				tables.add(new TableModel(month, true, inTransactions, column));
+				column += tableGap;
+			}
+			List<Transaction> outTransactions = outbound.get(month);
+			if (outTransactions != null && !outTransactions.isEmpty()) {
+				tables.add(new TableModel(month, false, outTransactions, column));
+				column += tableGap;
+			}
+		}
+		return new CategorySheetModel(category, tables, months.size());
+	}
+
+	/*
+	 * ============ GETTERS ====================
+	 */
+
+	public String getCategory() {
+		return category;
+	}
+
+	/**
+	 * @return the tables of the sheet, in the order they are placed
+	 */
+	public List<TableModel> getTables() {
+		return tables;
+	}
+
+	/**
+	 * @return the number of months with a table
+	 */
+	public int getNumMonths() {
+		return numMonths;
+	}
+
+	public int getNumTransactions() {
+		return numTransactions;
+	}
+
+	/**
+	 * 
+	 * The TableModel class holds one month's inbound or outbound table of a
+	 * category sheet.
+	 */
+	public static final class TableModel {
+
+		private final YearMonth month;
+		private final boolean inbound;
+		private final List<Transaction> transactions;
+		private final int startColumn;
+
+		private TableModel(YearMonth month, boolean inbound, List<Transaction> transactions, int startColumn) {
+			this.month = month;
+			this.inbound = inbound;
+			this.transactions = Collections.unmodifiableList(new ArrayList<>(transactions));
+			this.startColumn = startColumn;
+		}
+
+		public YearMonth getMonth() {
+			return month;
+		}
+
+		/**
+		 * @return true for a table of inbound transactions, false for outbound
+		 */
+		public boolean isInbound() {
+			return inbound;
+		}
+
+		/**
+		 * @return the transactions of the table, in date order
+		 */
+		public List<Transaction> getTransactions() {
+			return transactions;
+		}
+
+		public int getStartColumn() {
+			return startColumn;
+		}
+	}
+}
@@ -1,12 +1,16 @@
 package excelWriter.workbook.load;
 
+import java.time.YearMonth;
+
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.util.CellReference;
 
 import excelWriter.workbook.CategorySheet;
 import excelWriter.workbook.StatementSheet;
 import excelWriter.workbook.TransactionWorkbook;
+import transactions.Money;
 import transactions.Transaction;
 
 /**
@@ -54,7 +58,7 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 	 * @param y - the row index of the paid cell
 	 */
 
-	public void addToPaidCellRefMap(int month, int x, int y) {
+	public void addToPaidCellRefMap(YearMonth month, int x, int y) {
 		CellReference categoryOutSum = new CellReference(x,y);
 		getCategorySheet().getmonthPaidOutSumMap().put(month, categoryOutSum);
 	}
@@ -66,7 +70,7 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 	 * @param cellRef - the cell reference of the paid cell
 	 */
 
-	public void addToPaidCellRefMap(int month, CellReference cellRef) {
+	public void addToPaidCellRefMap(YearMonth month, CellReference cellRef) {
 		getCategorySheet().getmonthPaidOutSumMap().put(month, cellRef);
 	}
 	
@@ -79,14 +83,14 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 	 * @return the row index of the inserted title cell
 	 */
 
-	public int insertTitleCell(int month, int startRow, int startColumn) {
+	public int insertTitleCell(YearMonth month, int startRow, int startColumn) {
 		String title = "Outbound Transactions:" + getCategorySheet().getCategoryName() + " - " + returnMonth(month);
 
 		Row titleRow = createOrGetRow(startRow);
 		Cell titleCell = createOrGetCell(titleRow, startColumn);
 		titleCell.setCellValue(title);
-		logger.info("Inserted Title cell for Outbound table, Category:" + getCategorySheet().getCategoryName()
-				+ " Month:" + returnMonth(month));
+		logger.debug("Inserted Title cell for Outbound table, Category:{} Month:{}",
+				getCategorySheet().getCategoryName(), month);
 		return startRow + 1;
 	}
 
@@ -103,15 +107,16 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 		Row headerRow = createOrGetRow(startRow);
 		String[] headers = { "Date", "Description", "Paid Out", "Balance" };
 		int numColumns = headers.length;
+		CellStyle headerStyle = getCategorySheet().getHeaderStyle();
 		// Iterate through each header
 		for (int col = 0; col < numColumns; col++) {
 			Cell headerCell = createOrGetCell(headerRow, startColumn + col);
 			headerCell.setCellValue(headers[col]);
-			getCategorySheet().loadCellHeaderStyle(getCategorySheet().getCategoryName());
-			headerCell.setCellStyle(getCategorySheet().getHeaderStyle());
+			headerCell.setCellStyle(headerStyle);
+			getCategorySheet().recordColumnWidth(headerCell);
 		}
 
-		logger.info("Inserted Header row for Outbound table, Category:" + getCategorySheet().getCategoryName());
+		logger.debug("Inserted Header row for Outbound table, Category:{}", getCategorySheet().getCategoryName());
 		return startRow + 1;
 	}
 
@@ -130,21 +135,26 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 		Cell dateCell = createOrGetCell(dataRow, startColumn);
 		dateCell.setCellValue(transaction.getDate());
 		dateCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(dateCell);
 
 		// Adding description info
 		Cell descriptionCell = createOrGetCell(dataRow, startColumn + 1);
 		descriptionCell.setCellValue(transaction.getProcessedDescription());
 		descriptionCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(descriptionCell);
 
 		// Adding paidIn info
 		Cell paidOutCell = createOrGetCell(dataRow, startColumn + 2);
-		paidOutCell.setCellValue(transaction.getPaidOut());
+		// Amounts are converted from pence to pounds as they are written
+		paidOutCell.setCellValue(Money.toPounds(transaction.getPaidOutPence()));
 		paidOutCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(paidOutCell);
 
 		// Adding balance info
 		Cell balanceCell = createOrGetCell(dataRow, startColumn + 3);
-		balanceCell.setCellValue(transaction.getBalance());
+		balanceCell.setCellValue(Money.toPounds(transaction.getBalancePence()));
 		balanceCell.setCellStyle(getCategorySheet().getDataStyle());
+		getCategorySheet().recordColumnWidth(balanceCell);
 
 		int sumRowNum = rowNum + 1;
 		return sumRowNum;
@@ -165,7 +175,7 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 		CellReference startOfColumn = new CellReference(startRow, col);
 		CellReference endColumn = new CellReference(startRow + numTransactions + 2, col);
 		// Formula for sum of column
-		String formulaSum = "SUM(" + startOfColumn.formatAsString() + ":" + endColumn.formatAsString() + ")";
+		String formulaSum = moneySumFormula(startOfColumn, endColumn);
 		// Creating totalCells
 		Cell totalName = createOrGetCell(sumRow, col - 1);
 		Cell sumCell = createOrGetCell(sumRow, col);
@@ -173,9 +183,11 @@ public class CategorySheetOutboundWriter extends CategorySheetWriter{
 		totalName.setCellStyle(getCategorySheet().getDataStyle());
 		sumCell.setCellFormula(formulaSum);
 		sumCell.setCellStyle(getCategorySheet().getSumStyle());
+		getCategorySheet().recordColumnWidth(totalName);
+		getCategorySheet().recordColumnWidth(sumCell);
 
 		CellReference sumCellRef = new CellReference(sumCell);
-		logger.info("Inserted sumRow for Outbound table, category:" + getCategorySheet().getCategoryName());
+		logger.debug("Inserted sumRow for Outbound table, category:{}", getCategorySheet().getCategoryName());
 		return sumCellRef;
 	}
 
@@ -0,0 +1,187 @@
+package excelWriter.workbook.load;
+
+import java.time.YearMonth;
+import java.util.List;
+
+import org.apache.poi.ss.util.CellReference;
+
+import transactions.Transaction;
+
+/**
+ *
+ * The CategorySheetTable class describes the layout of a single month's
+ * transaction table within a category sheet, and writes that table one row at a
+ * time through its CategorySheetWriter.
+ *
+ * Tables within a category sheet are placed side by side, so they share rows.
+ * Writing every table's part of a row before moving onto the next row means no
+ * row is revisited once it has been written, which allows category sheets to
+ * be written to a streaming workbook, where earlier rows may already have been
+ * flushed to disk.
+ *
+ * Each table is laid out as follows, relative to its start row:
+ * <ul>
+ * <li>0 - title cell</li>
+ * <li>1 - column header row</li>
+ * <li>2 to numTransactions + 1 - transaction rows</li>
+ * <li>numTransactions + 5 - sum row</li>
+ * </ul>
+ *
+ * The transactions are written straight from the list they are given, such as
+ * the month's list of a {@link CategorySheetModel}, without being copied.
+ *
+ * @see CategorySheetWriter
+ * @see TransactionWorkbookCategoryLoader
+ * @see CategorySheetModel
+ * @author LORD GABRIEL
+ */
+
+public class CategorySheetTable {
+
+	private CategorySheetWriter writer;
+	private YearMonth month;
+	private List<Transaction> transactions;
+	private int startRow;
+	private int startColumn;
+
+	/*
+	 * ============ CONSTRUCTORS ===================
+	 */
+
+	/**
+	 *
+	 * Constructs a CategorySheetTable for the given month's transactions.
+	 *
+	 * @param writer       - the CategorySheetWriter used to write each part of the
+	 *                     table
+	 * @param month        - the month of the transactions
+	 * @param transactions - the transactions, in the order they are written
+	 * @param startRow     - the starting row index of the table
+	 * @param startColumn  - the starting column index of the table
+	 */
+
+	public CategorySheetTable(CategorySheetWriter writer, YearMonth month, List<Transaction> transactions,
+			int startRow, int startColumn) {
+		this.writer = writer;
+		this.month = month;
+		this.transactions = transactions;
+		this.startRow = startRow;
+		this.startColumn = startColumn;
+	}
+
+	/*
+	 * ============ GETTERS ====================
+	 */
+
+	public CategorySheetWriter getWriter() {
+		return writer;
+	}
+
+	public YearMonth getMonth() {
+		return month;
+	}
+
+	public List<Transaction> getTransactions() {
+		return transactions;
+	}
+
+	public int getNumTransactions() {
+		return transactions.size();
+	}
+
+	public int getStartRow() {
+		return startRow;
+	}
+
+	public int getStartColumn() {
+		return startColumn;
+	}
+
+	/**
+	 *
+	 * Returns the row index of the first transaction row.
+	 *
+	 * @return the first data row index
+	 */
+
+	public int getDataRowNum() {
+		return startRow + 2;
+	}
+
+	/**
+	 *
+	 * Returns the row index of the sum row, the last row of the table.
+	 *
+	 * @return the sum row index
+	 */
+
+	public int getLastRowNum() {
+		return getDataRowNum() + transactions.size() + 3;
+	}
+
+	/*
+	 * ============ METHODS ======================
+	 */
+
+	/**
+	 *
+	 * Writes this table's part of the given row, if the table has anything on that
+	 * row. Once the sum row is written, its cell reference is added to the
+	 * category sheet's month sum map.
+	 *
+	 * @param rowNum - the row index to write
+	 */
+
+	public void writeRow(int rowNum) {
+		int dataRowNum = getDataRowNum();
+		int numTransactions = transactions.size();
+		if (rowNum == startRow) {
+			writer.insertTitleCell(month, startRow, startColumn);
+		} else if (rowNum == startRow + 1) {
+			writer.insertHeaderRow(rowNum, startColumn);
+		} else if (rowNum >= dataRowNum && rowNum < dataRowNum + numTransactions) {
+			writer.insertTransactionRow(transactions.get(rowNum - dataRowNum), rowNum, startColumn);
+		} else if (rowNum == getLastRowNum()) {
+			writer.getLogger().debug("Inserted {} data rows into table: {}", numTransactions,
+					writer.getCategorySheet().getCategoryName());
+			CellReference sumCellRef = writer.insertSumRow(dataRowNum, startColumn, numTransactions);
+			writer.addToPaidCellRefMap(month, sumCellRef);
+		}
+	}
+
+	/**
+	 *
+	 * Writes every row of this table, in row order.
+	 */
+
+	public void write() {
+		for (int rowNum = startRow; rowNum <= getLastRowNum(); rowNum++) {
+			writeRow(rowNum);
+		}
+	}
+
+	/**
+	 *
+	 * Writes a set of tables sharing the same sheet in row order. Each row is
+	 * completed across every table before the next row is started.
+	 *
+	 * @param tables - the tables to write
+	 */
+
+	public static void writeInRowOrder(List<CategorySheetTable> tables) {
+		if (tables.isEmpty()) {
+			return;
+		}
+		int firstRow = Integer.MAX_VALUE;
+		int lastRow = Integer.MIN_VALUE;
+		for (CategorySheetTable table : tables) {
+			firstRow = Math.min(firstRow, table.getStartRow());
+			lastRow = Math.max(lastRow, table.getLastRowNum());
+		}
+		for (int rowNum = firstRow; rowNum <= lastRow; rowNum++) {
+			for (CategorySheetTable table : tables) {
+				table.writeRow(rowNum);
+			}
+		}
+	}
+}
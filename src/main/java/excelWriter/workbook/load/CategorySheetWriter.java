@@ -1,12 +1,17 @@
 package excelWriter.workbook.load;
 
+import java.time.YearMonth;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.apache.logging.log4j.Logger;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 
 import excelWriter.workbook.CategorySheet;
 import excelWriter.workbook.StatementSheet;
@@ -67,7 +72,7 @@ public abstract class CategorySheetWriter {
 	 * @param y     - the column index of the paid cell
 	 */
 
-	public abstract void addToPaidCellRefMap(int month, int x, int y);
+	public abstract void addToPaidCellRefMap(YearMonth month, int x, int y);
 
 	/**
 	 * Adds the cell reference of a paid cell to the map of month-paid-in sum cell
@@ -77,7 +82,7 @@ public abstract class CategorySheetWriter {
 	 * @param cellRef - the cell reference of the paid cell
 	 */
 
-	public abstract void addToPaidCellRefMap(int month, CellReference cellRef);
+	public abstract void addToPaidCellRefMap(YearMonth month, CellReference cellRef);
 
 	/**
 	 * Inserts the title cell for the specified month in the category sheet.
@@ -88,7 +93,7 @@ public abstract class CategorySheetWriter {
 	 * @return the row index of the inserted title cell
 	 */
 
-	public abstract int insertTitleCell(int month, int startRow, int startColumn);
+	public abstract int insertTitleCell(YearMonth month, int startRow, int startColumn);
 
 	/**
 	 * Inserts the column header row in the category sheet.
@@ -144,9 +149,25 @@ public abstract class CategorySheetWriter {
 	 * =============METHODS===================
 	 */
 
+	/**
+	 * Returns a formula summing a range of cells that hold amounts of money.
+	 * Amounts are exact in pence until they are written to cells as pounds, so
+	 * the sum is rounded to the penny to keep totals free of floating point
+	 * error.
+	 * 
+	 * @param start - the first cell of the range
+	 * @param end   - the last cell of the range
+	 * @return the formula, without a leading '='
+	 */
+
+	public static String moneySumFormula(CellReference start, CellReference end) {
+		return "ROUND(SUM(" + start.formatAsString() + ":" + end.formatAsString() + "),2)";
+	}
+
 	/**
 	 * Creates the transaction table in the category sheet for the specified month
-	 * and array of transactions.
+	 * and array of transactions. The table is written in row order, see
+	 * {@link CategorySheetTable}.
 	 * 
 	 * @param month        - the month of the transactions
 	 * @param transactions - the array of transactions
@@ -154,45 +175,51 @@ public abstract class CategorySheetWriter {
 	 * @param startColumn  - the starting column index of the table
 	 */
 
-	public void createTransactionTable(int month, Transaction[] transactions, int startRow, int startColumn) {
-		int numTransactions = transactions.length;
-
-		// insert Title of table
-		int headerRowNum = insertTitleCell(month, startRow, startColumn);
-
-		// Setting headers
-
-		int dataRowNum = insertHeaderRow(headerRowNum, startColumn);
-
-		// Inputting data
-		int sumRowNum;
-		for (int row = 0; row < numTransactions; row++) {
-			sumRowNum = insertTransactionRow(transactions[row], dataRowNum + row, startColumn);
-		}
-		String log = String.format("Inserted %s data rows into table: %s", numTransactions,
-					getCategorySheet().getCategoryName());
-		logger.info(log);
-
-		// Calculating sums of data
+	public void createTransactionTable(YearMonth month, Transaction[] transactions, int startRow, int startColumn) {
+		createTable(month, Arrays.asList(transactions), startRow, startColumn).write();
+	}
 
-		CellReference sumCellRef = insertSumRow(dataRowNum, startColumn, numTransactions);
+	/**
+	 * Returns the layout of a transaction table for the specified month and list
+	 * of transactions, without writing it. Used to write several tables sharing
+	 * the same rows in row order. The list is not copied.
+	 * 
+	 * @param month        - the month of the transactions
+	 * @param transactions - the list of transactions
+	 * @param startRow     - the starting row index of the table
+	 * @param startColumn  - the starting column index of the table
+	 * @return the table layout
+	 */
 
-		// add month & reference to CellReference sheet
-		addToPaidCellRefMap(month, sumCellRef);
+	public CategorySheetTable createTable(YearMonth month, List<Transaction> transactions, int startRow,
+			int startColumn) {
+		return new CategorySheetTable(this, month, transactions, startRow, startColumn);
 	}
 
 	/**
 	 * Creates a new row in the category sheet or gets an existing row if it has
 	 * already been initialized.
+	 * <p>
+	 * In a streaming workbook only the most recent rows are held in memory, rows
+	 * before these have already been flushed to disk and can no longer be
+	 * changed, so rows must be written in order.
 	 * 
 	 * @param rowNum - the index of the row
 	 * @return the created or existing row
+	 * @throws IllegalStateException if the row has already been flushed to disk
 	 */
 
 	public Row createOrGetRow(int rowNum) {
-		Row row = categorySheet.getSheet().getRow(rowNum);
+		Sheet sheet = categorySheet.getSheet();
+		Row row = sheet.getRow(rowNum);
 		if (row == null) {
-			row = categorySheet.getSheet().createRow(rowNum);
+			if (sheet instanceof SXSSFSheet && rowNum <= ((SXSSFSheet) sheet).getLastFlushedRowNum()) {
+				String log = String.format("Row %d of categorySheet %s has already been flushed to disk.", rowNum,
+						categorySheet.getCategoryName());
+				logger.error(log);
+				throw new IllegalStateException(log);
+			}
+			row = sheet.createRow(rowNum);
 		}
 
 		return row;
@@ -238,4 +265,16 @@ public abstract class CategorySheetWriter {
 		months.put(12, "December");
 		return months.get(month);
 	}
+
+	/**
+	 * Returns the month name and year for the given month, e.g. "January 2023",
+	 * so tables of the same month in different years can be told apart.
+	 * 
+	 * @param month - the year and month
+	 * @return the month name followed by the year
+	 */
+
+	public String returnMonth(YearMonth month) {
+		return returnMonth(month.getMonthValue()) + " " + month.getYear();
+	}
 }
@@ -1,5 +1,9 @@
 package excelWriter.workbook.load;
 
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -13,6 +17,11 @@ import excelWriter.workbook.CategorySheet;
 import excelWriter.workbook.StatementSheet;
 import excelWriter.workbook.SummarySheet;
 import excelWriter.workbook.TransactionWorkbook;
+import metrics.MetricsRegistry;
+import metrics.Timer;
+import sqliteData.tables.readers.MonthlyTotal;
+import sqliteData.tables.readers.MonthlyTotalsReader;
+import transactions.Money;
 
 /**
  * 
@@ -20,8 +29,17 @@ import excelWriter.workbook.TransactionWorkbook;
  * the summary sheet of an Excel workbook. It takes a SummarySheet object as
  * input and provides methods to create the table, including the info title,
  * headers row, data rows, and totals row.
+ * <p>
+ * The monthly cells either refer to the sum cells of each CategorySheet, or,
+ * for a summary exported on its own, hold totals read by a MonthlyTotalsReader.
+ * <p>
+ * Each year of the summary sheet's date range is given its own block of rows,
+ * each with a year title, headers, data and totals row, placed one below the
+ * other, so months of different years are never added together. A date range
+ * within a single year is given a single block without a year title.
  * 
  * @see SummarySheet
+ * @see MonthlyTotalsReader
  * @see StatementSheet
  * @see TransactionWorkbook
  * @see TransactionWorkbookSummaryLoader
@@ -29,6 +47,11 @@ import excelWriter.workbook.TransactionWorkbook;
 
 public class SummarySheetWriter {
 
+	/**
+	 * Number of empty rows left between the blocks of different years
+	 */
+	public static final int YEAR_BLOCK_GAP = 2;
+
 	private SummarySheet summarySheet;
 	private String[] headers;
 	private Logger logger;
@@ -62,30 +85,137 @@ public class SummarySheetWriter {
 	 */
 
 	/**
-	 * Creates the summary table in the summary sheet.
+	 * Creates the summary table in the summary sheet, one block per year.
 	 * 
 	 * @param startRowNum - the starting row index of the table
 	 * @param startColNum - the starting column index of the table
+	 * @return the row index of the first headers row, spanning every column of
+	 *         the table
 	 */
 
-	public void createSummaryTable(int startRowNum, int startColNum) {
+	public int createSummaryTable(int startRowNum, int startColNum) {
+		Timer.Sample sample = MetricsRegistry.getDefault().timer(MetricsRegistry.EXPORT_SUMMARY_TABLE).start();
 		List<CategorySheet> categorySheets = summarySheet.getCategorySheets();
 		int numCategorySheets = categorySheets.size();
 		// Create titles
 		createInfoTitle();
 
-		// Create Headers Row
-		int dataRowNum = createHeadersRow(startRowNum, startColNum);
+		List<Integer> years = returnYears();
+		int rowNum = startRowNum;
+		int firstHeadersRowNum = -1;
+		for (int year : years) {
+			rowNum = createYearTitleRow(rowNum, startColNum, year, years.size());
+			if (firstHeadersRowNum < 0) {
+				firstHeadersRowNum = rowNum;
+			}
+			// Create Headers Row
+			int dataRowNum = createHeadersRow(rowNum, startColNum);
+
+			// Create Data Row
+			for (int i = 0; i < numCategorySheets; i++) {
+				createDataRow(dataRowNum + i, startColNum, year, categorySheets.get(i));
+			}
 
-		// Create Data Row
-		int sumRowNum = 0;
-		for (int i = 0; i < numCategorySheets; i++) {
-			sumRowNum = createDataRow(dataRowNum + i, startColNum, categorySheets.get(i));
+			// Create Totals Row - indexes of startRow and startCol and at row and column
+			// the totals row will be placed at.
+			int sumRowNum = dataRowNum + numCategorySheets;
+			createTotalsRow(sumRowNum, startColNum, numCategorySheets);
+			rowNum = sumRowNum + 1 + YEAR_BLOCK_GAP;
+			sample.addRows(numCategorySheets);
 		}
+		sample.close();
+		return firstHeadersRowNum;
+	}
 
-		// Create Totals Row - indexes of startRow and startCol and at row and column
-		// the totals row will be placed at.
-		createTotalsRow(sumRowNum, startColNum);
+	/**
+	 * Creates the summary table in the summary sheet from monthly totals, without
+	 * any CategorySheets, one block per year.
+	 * 
+	 * @param startRowNum - the starting row index of the table
+	 * @param startColNum - the starting column index of the table
+	 * @param categories  - the categories to include, one row each
+	 * @param totals      - the loaded monthly totals of each category
+	 * @return the row index of the first headers row, spanning every column of
+	 *         the table
+	 */
+
+	public int createSummaryTable(int startRowNum, int startColNum, String[] categories,
+			MonthlyTotalsReader totals) {
+		Timer.Sample sample = MetricsRegistry.getDefault().timer(MetricsRegistry.EXPORT_SUMMARY_TABLE).start();
+		createInfoTitle();
+		List<Integer> years = returnYears();
+		int rowNum = startRowNum;
+		int firstHeadersRowNum = -1;
+		for (int year : years) {
+			rowNum = createYearTitleRow(rowNum, startColNum, year, years.size());
+			if (firstHeadersRowNum < 0) {
+				firstHeadersRowNum = rowNum;
+			}
+			int dataRowNum = createHeadersRow(rowNum, startColNum);
+			for (int i = 0; i < categories.length; i++) {
+				createDataRow(dataRowNum + i, startColNum, year, categories[i],
+						totals.getMonthlyTotals(categories[i]));
+			}
+			int sumRowNum = dataRowNum + categories.length;
+			createTotalsRow(sumRowNum, startColNum, categories.length);
+			rowNum = sumRowNum + 1 + YEAR_BLOCK_GAP;
+			sample.addRows(categories.length);
+		}
+		sample.close();
+		return firstHeadersRowNum;
+	}
+
+	/**
+	 * Returns every year within the summary sheet's date range, in order. If the
+	 * dates cannot be read, the current year is returned alone.
+	 * 
+	 * @return the years of the date range
+	 */
+
+	public List<Integer> returnYears() {
+		List<Integer> years = new ArrayList<>();
+		String startDate = summarySheet.getStartDate();
+		String endDate = summarySheet.getEndDate();
+		try {
+			if (startDate != null && endDate != null) {
+				int lastYear = LocalDate.parse(endDate).getYear();
+				for (int year = LocalDate.parse(startDate).getYear(); year <= lastYear; year++) {
+					years.add(year);
+				}
+			}
+		} catch (DateTimeParseException e) {
+			String log = String.format("Failed to read the years between %s and %s. %s", startDate, endDate,
+					e.getMessage());
+			logger.error(log);
+		}
+		if (years.isEmpty()) {
+			years.add(LocalDate.now().getYear());
+		}
+		return years;
+	}
+
+	/**
+	 * Creates the row naming the year of a block of the summary table, when the
+	 * table has more than one block.
+	 * 
+	 * @param rowNum   - the row index of the year title row
+	 * @param colNum   - the starting column index of the year title row
+	 * @param year     - the year of the block
+	 * @param numYears - the number of blocks in the table
+	 * @return the row index of the block's headers row
+	 */
+
+	public int createYearTitleRow(int rowNum, int colNum, int year, int numYears) {
+		if (numYears <= 1) {
+			return rowNum;
+		}
+		Row yearRow = summarySheet.getSheet().createRow(rowNum);
+		Cell yearCell = yearRow.createCell(colNum);
+		yearCell.setCellStyle(summarySheet.getTitleStyle());
+		yearCell.setCellValue(String.valueOf(year));
+		String log = String.format("Inserted Year title row for %d at: (%d, %d)", year, rowNum, colNum);
+		logger.info(log);
+		return rowNum + 1;
 	}
 
 	/**
@@ -117,6 +247,7 @@ public class SummarySheetWriter {
 			Cell headerCell = headerRow.createCell(colNum + col);
 			headerCell.setCellValue(headers[col]);
 			headerCell.setCellStyle(summarySheet.getMonthStyle());
+			summarySheet.recordColumnWidth(headerCell);
 		}
 		String log = String.format("Inserted Headers Row for summary sheet at: (%d, %d)", rowNum, colNum);
 		logger.info(log);
@@ -124,31 +255,26 @@ public class SummarySheetWriter {
 	}
 
 	/**
-	 * Inserts a data row for a specific category into the summary table.
+	 * Inserts a data row for a specific category and year into the summary table.
 	 * 
 	 * @param rowNum        - the row index of the data row
 	 * @param colNum        - the starting column index of the data row
+	 * @param year          - the year of the data row
 	 * @param categorySheet - the category sheet associated with the data row
 	 * @return the row index of the next row after the data row
 	 */
 
-	public int createDataRow(int rowNum, int colNum, CategorySheet categorySheet) {
+	public int createDataRow(int rowNum, int colNum, int year, CategorySheet categorySheet) {
 		Row dataRow = summarySheet.getSheet().createRow(rowNum);
-		Cell categoryNameCell = dataRow.createCell(colNum);
-		String category = categorySheet.getCategoryName();
-		// IndexedColors categoryColour =
-		// summarySheet.getColourConfig().getCategoryColour(category);
-		// summarySheet.setCategoryNameStyle(categoryColour);
-		summarySheet.loadCellHeaderStyle(category);
-		categoryNameCell.setCellStyle(summarySheet.getHeaderStyle());
-		categoryNameCell.setCellValue(category);
+		createCategoryNameCell(dataRow, colNum, categorySheet.getCategoryName());
 		CellStyle dataStyle = summarySheet.getDataStyle();
 		// Iterate through each month - add data for that given category
 		for (int col = 1; col <= 12; col++) {
 			Cell dataCell = dataRow.createCell(colNum + col);
 			dataCell.setCellStyle(dataStyle);
-			CellReference paidInSumRef = returnPaidInSum(col, categorySheet);
-			CellReference paidOutSumRef = returnPaidOutSum(col, categorySheet);
+			YearMonth month = YearMonth.of(year, col);
+			CellReference paidInSumRef = returnPaidInSum(month, categorySheet);
+			CellReference paidOutSumRef = returnPaidOutSum(month, categorySheet);
 			String monthlyFormula = returnFormula(paidInSumRef, paidOutSumRef);
 
 			if (monthlyFormula.isEmpty()) {
@@ -156,48 +282,109 @@ public class SummarySheetWriter {
 			} else {
 				dataCell.setCellFormula(monthlyFormula);
 			}
+			summarySheet.recordColumnWidth(dataCell);
 		}
-		// Add an entry for Year Sum
+		createYearSumCell(dataRow, rowNum, colNum);
+		logger.debug("DataRow inserted for category:{} year:{}", categorySheet.getCategoryName(), year);
+		return rowNum + 1;
+	}
+
+	/**
+	 * Inserts a data row for a specific category and year into the summary table,
+	 * holding the amount paid in less the amount paid out in each month of the
+	 * year.
+	 * 
+	 * @param rowNum        - the row index of the data row
+	 * @param colNum        - the starting column index of the data row
+	 * @param year          - the year of the data row
+	 * @param category      - the category of the data row
+	 * @param monthlyTotals - the totals of the category, by month
+	 * @return the row index of the next row after the data row
+	 */
+
+	public int createDataRow(int rowNum, int colNum, int year, String category,
+			Map<YearMonth, MonthlyTotal> monthlyTotals) {
+		Row dataRow = summarySheet.getSheet().createRow(rowNum);
+		createCategoryNameCell(dataRow, colNum, category);
+		CellStyle dataStyle = summarySheet.getDataStyle();
+		for (int col = 1; col <= 12; col++) {
+			Cell dataCell = dataRow.createCell(colNum + col);
+			dataCell.setCellStyle(dataStyle);
+			MonthlyTotal total = monthlyTotals.get(YearMonth.of(year, col));
+			dataCell.setCellValue(Money.toPounds(total == null ? 0 : total.getNetPence()));
+			summarySheet.recordColumnWidth(dataCell);
+		}
+		createYearSumCell(dataRow, rowNum, colNum);
+		logger.debug("DataRow inserted for category:{} year:{}", category, year);
+		return rowNum + 1;
+	}
+
+	/**
+	 * Creates the cell naming the category of a data row, in the category's
+	 * colour.
+	 */
+	private void createCategoryNameCell(Row dataRow, int colNum, String category) {
+		Cell categoryNameCell = dataRow.createCell(colNum);
+		summarySheet.loadCellHeaderStyle(category);
+		categoryNameCell.setCellStyle(summarySheet.getHeaderStyle());
+		categoryNameCell.setCellValue(category);
+		summarySheet.recordColumnWidth(categoryNameCell);
+	}
+
+	/**
+	 * Creates the Year Totals cell of a data row, summing its months.
+	 */
+	private void createYearSumCell(Row dataRow, int rowNum, int colNum) {
 		Cell sumCell = dataRow.createCell(colNum + 13);
 		CellReference janCell = new CellReference(rowNum, colNum + 1);
 		CellReference decCell = new CellReference(rowNum, colNum + 12);
-		// categorySheet.setCellStyle(summarySheet.getsumStyle());
-		String sumFormula = "SUM(" + janCell.formatAsString() + ":" + decCell.formatAsString() + ")";
+		String sumFormula = CategorySheetWriter.moneySumFormula(janCell, decCell);
 		sumCell.setCellFormula(sumFormula);
 		sumCell.setCellStyle(summarySheet.getSumStyle());
-		String log = String.format("DataRow inserted for category:%s", categorySheet.getCategoryName());
-		logger.info(log);
-		return rowNum + 1;
+		summarySheet.recordColumnWidth(sumCell);
 	}
 
 	/**
-	 * Returns the cell reference of the paid-in sum cell for a specific month and
-	 * category.
+	 * Creates the totals row of the summary table, summing the data rows of every
+	 * CategorySheet above it.
 	 * 
-	 * @param month         - the month number
-	 * @param categorySheet - the category sheet associated with the cell reference
-	 * @return the cell reference of the paid-in sum cell
+	 * @param rowNum - the row index of the totals row
+	 * @param colNum - the starting column index of the totals row
 	 */
 
 	public void createTotalsRow(int rowNum, int colNum) {
-		int numCategories = summarySheet.getCategorySheets().size();
+		createTotalsRow(rowNum, colNum, summarySheet.getCategorySheets().size());
+	}
+
+	/**
+	 * Creates the totals row of the summary table, summing the data rows above it.
+	 * 
+	 * @param rowNum        - the row index of the totals row
+	 * @param colNum        - the starting column index of the totals row
+	 * @param numCategories - the number of data rows above the totals row
+	 */
+
+	public void createTotalsRow(int rowNum, int colNum, int numCategories) {
 		// No sumStyle implemented
 		// CellStyle sumStyle = summarySheet.getSumStyle();
 		Row sumRow = summarySheet.getSheet().createRow(rowNum);
 		Cell totalNameCell = sumRow.createCell(colNum);
 		totalNameCell.setCellStyle(summarySheet.getTotalStyle());
 		totalNameCell.setCellValue("Totals");
+		summarySheet.recordColumnWidth(totalNameCell);
 		for (int col = 1; col <= 13; col++) {
 			Cell sumCell = sumRow.createCell(colNum + col);
 			// sumCell.setCellStyle(sumStyle);
 			CellReference startCol = new CellReference(rowNum - numCategories, colNum + col);
 			CellReference endCol = new CellReference(rowNum - 1, colNum + col);
-			String sumFormula = "SUM(" + startCol.formatAsString() + ":" + endCol.formatAsString() + ")";
+			String sumFormula = CategorySheetWriter.moneySumFormula(startCol, endCol);
 			sumCell.setCellFormula(sumFormula);
 			sumCell.setCellStyle(summarySheet.getSumStyle());
-			String log = String.format("SumCell inserted for column:%s. startCol CellRef:%s. endCol CellRef:%s.",
-					headers[col], startCol.toString(), endCol.toString());
-			logger.info(log);
+			summarySheet.recordColumnWidth(sumCell);
+			if (logger.isDebugEnabled()) {
+				logger.debug("SumCell inserted for column:{}. startCol CellRef:{}. endCol CellRef:{}.", headers[col],
+						startCol.formatAsString(), endCol.formatAsString());
+			}
 		}
 
 	}
@@ -206,13 +393,13 @@ public class SummarySheetWriter {
 	 * Returns the cell reference of the paid-in sum cell for a specific month and
 	 * category.
 	 * 
-	 * @param month         - the month number
+	 * @param month         - the year and month
 	 * @param categorySheet - the category sheet associated with the cell reference
 	 * @return the cell reference of the paid-in sum cell
 	 */
 
-	public CellReference returnPaidInSum(int month, CategorySheet categorySheet) {
-		Map<Integer, CellReference> paidInSumMap = categorySheet.getmonthPaidInSumMap();
+	public CellReference returnPaidInSum(YearMonth month, CategorySheet categorySheet) {
+		Map<YearMonth, CellReference> paidInSumMap = categorySheet.getmonthPaidInSumMap();
 		CellReference paidInSumRef = paidInSumMap.get(month);
 		return paidInSumRef;
 	}
@@ -221,13 +408,13 @@ public class SummarySheetWriter {
 	 * Returns the cell reference of the paid-out sum cell for a specific month and
 	 * category.
 	 * 
-	 * @param month         - the month number
+	 * @param month         - the year and month
 	 * @param categorySheet - the category sheet associated with the cell reference
 	 * @return the cell reference of the paid-out sum cell
 	 */
 
-	public CellReference returnPaidOutSum(int month, CategorySheet categorySheet) {
-		Map<Integer, CellReference> paidOutSumMap = categorySheet.getmonthPaidOutSumMap();
+	public CellReference returnPaidOutSum(YearMonth month, CategorySheet categorySheet) {
+		Map<YearMonth, CellReference> paidOutSumMap = categorySheet.getmonthPaidOutSumMap();
 		CellReference paidOutSumRef = paidOutSumMap.get(month);
 		return paidOutSumRef;
 	}
@@ -1,19 +1,23 @@
 package excelWriter.workbook.load;
 
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
-import java.util.Set;
-import java.util.HashSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
 import org.apache.logging.log4j.Logger;
 import config.color.ColorCodingConfig;
 import excelWriter.workbook.CategorySheet;
 import excelWriter.workbook.TransactionWorkbook;
+import metrics.MetricsRegistry;
+import metrics.Timer;
+import metrics.jfr.CategorySheetBuiltEvent;
 import regex.RegexMethods;
 import sqliteData.tables.TableCategory;
-import sqliteData.tables.readers.TableInboundReader;
-import sqliteData.tables.readers.TableOutboundReader;
-import transactions.Transaction;
+import sqliteData.tables.readers.ExportDataSource;
 
 /**
  * 
@@ -23,10 +27,18 @@ import transactions.Transaction;
  * It takes a TransactionWorkbook object, row and column start numbers, and a
  * RegexMethods object as input.
  * 
- * It provides methods to load category sheets, create category sheets, create
- * category sheet writers, and read transaction maps.
+ * It provides methods to load category sheets, build the model of each
+ * category sheet, create category sheets, and create category sheet writers.
+ * 
+ * The transactions of the date range are read once through an
+ * ExportDataSource. The models of the category sheets are then built from its
+ * buckets in parallel, on as many threads as the parallelism, by default one
+ * per available processor, and written into the workbook serially, in category
+ * order, so the workbook is the same whatever the number of threads.
  * 
  * @see TransactionWorkbook
+ * @see CategorySheetModel
+ * @see ExportDataSource
  * @see CategorySheets
  * @see CategorySheetWriter
  * @see RegexMethods
@@ -39,6 +51,7 @@ public class TransactionWorkbookCategoryLoader {
 	private int rowStartNum;
 	private int colStartNum;
 	private RegexMethods regex;
+	private int parallelism;
 	private Logger logger;
 
 	/*
@@ -114,6 +127,48 @@ public class TransactionWorkbookCategoryLoader {
 		return regex;
 	}
 
+	/**
+	 * 
+	 * Returns the number of threads category sheet models are built on, 0 for one
+	 * per available processor.
+	 * 
+	 * @return the parallelism
+	 */
+
+	public int getParallelism() {
+		return parallelism;
+	}
+
+	/**
+	 * 
+	 * Returns the number of threads category sheet models are actually built on.
+	 * The models are built from transactions already read, so the threads do not
+	 * use the database's connections.
+	 * 
+	 * @return the parallelism, or the number of available processors if it is 0
+	 */
+
+	public int getEffectiveParallelism() {
+		return (parallelism > 0) ? parallelism : Runtime.getRuntime().availableProcessors();
+	}
+
+	/*
+	 * ============ SETTERS ====================
+	 */
+
+	/**
+	 * 
+	 * Sets the number of threads category sheet models are built on. The workbook
+	 * loaded is the same whatever the parallelism.
+	 * 
+	 * @param parallelism - the number of threads, 0 or less for one per available
+	 *                    processor
+	 */
+
+	public void setParallelism(int parallelism) {
+		this.parallelism = Math.max(0, parallelism);
+	}
+
 	/*
 	 * ============ METHODS ======================
 	 */
@@ -147,7 +202,10 @@ public class TransactionWorkbookCategoryLoader {
 
 	private CategorySheet createCategorySheet(String category) {
 		String sheetName = regex.removeAllNonAlphaNumeric(category);
-		return new CategorySheet(tw.getWorkbook(), tw.getColConfig(), sheetName, rowStartNum, colStartNum);
+		CategorySheet categorySheet = new CategorySheet(tw.getWorkbook(), tw.getColConfig(), sheetName, rowStartNum,
+				colStartNum);
+		categorySheet.setStyleRegistry(tw.getStyleRegistry());
+		return categorySheet;
 	}
 
 	/**
@@ -177,71 +235,96 @@ public class TransactionWorkbookCategoryLoader {
 
 	/**
 	 * 
-	 * Returns the inbound transaction map for a specific category and date range
-	 * from the TableInboundReader.
+	 * Builds the model of one category sheet from the category's inbound and
+	 * outbound buckets of the export data source. Nothing is read from the
+	 * database and the buckets are not changed, so models of different categories
+	 * can be built on different threads.
 	 * 
-	 * @param tIR       - the TableInboundReader object to extract the transaction
-	 *                  map from
-	 * @param startDate - the start date of the transaction range
-	 * @param endDate   - the end date of the transaction range
-	 * @param category  - the category to filter the transactions by
-	 * @return the inbound transaction map
+	 * @param dataSource - the loaded data source holding the transactions of the
+	 *                   workbook's date range
+	 * @param category   - the category of the sheet
+	 * @param tableGap   - the table gap value to use when spacing the tables
+	 * @return the model of the category sheet
 	 */
 
-	private Map<Integer, List<Transaction>> returnInboundTransactionMap(TableInboundReader tIR, String startDate,
-			String endDate, String category) {
-		Map<Integer, List<Transaction>> inboundTransactionMap = tIR.extractInboundTransactionMap(startDate, endDate,
-				category);
-		return inboundTransactionMap;
+	CategorySheetModel buildCategorySheetModel(ExportDataSource dataSource, String category, int tableGap) {
+		try (Timer.Sample sample = MetricsRegistry.getDefault().timer(MetricsRegistry.EXPORT_CATEGORY_MODELS)
+				.start()) {
+			CategorySheetModel model = CategorySheetModel.build(category, dataSource.getInboundTransactionMap(category),
+					dataSource.getOutboundTransactionMap(category), colStartNum, tableGap);
+			sample.addRows(model.getNumTransactions());
+			return model;
+		}
 	}
 
 	/**
 	 * 
-	 * Returns the outbound transaction map for a specific category and date range
-	 * from the TableOutboundReader.
+	 * Reads every transaction of the workbook's date range, with one ordered pass
+	 * over each of the Inbound and Outbound tables, into per-category, per-month
+	 * buckets.
 	 * 
-	 * @param tOR       - the TableOutboundReader object to extract the transaction
-	 *                  map from
-	 * @param startDate - the start date of the transaction range
-	 * @param endDate   - the end date of the transaction range
-	 * @param category  - the category to filter the transactions by
-	 * @return the outbound transaction map
+	 * @return the loaded data source
+	 * @throws IllegalStateException if either table cannot be read
 	 */
 
-	private Map<Integer, List<Transaction>> returnOutboundTransactionMap(TableOutboundReader tOR, String startDate,
-			String endDate, String category) {
-		Map<Integer, List<Transaction>> outboundTransactionMap = tOR.extractOutboundTransactionMap(startDate, endDate,
-				category);
-		return outboundTransactionMap;
+	private ExportDataSource loadExportDataSource() {
+		ExportDataSource dataSource = new ExportDataSource(tw.getTIR(), tw.getTOR());
+		try {
+			dataSource.load(tw.getStartDate(), tw.getEndDate());
+		} catch (SQLException e) {
+			String log = String.format("Failed to read transactions for categorySheets between %s and %s. %s",
+					tw.getStartDate(), tw.getEndDate(), e.getMessage());
+			logger.error(log);
+			throw new IllegalStateException(log, e);
+		}
+		return dataSource;
 	}
 
 	/**
 	 * 
-	 * Returns the union of two sets of months.
+	 * Writes the model of a category sheet into a new category sheet of the
+	 * workbook. The tables share rows, so they are written a row at a time across
+	 * every table. No row is revisited, as required by streaming workbooks.
 	 * 
-	 * @param inMonths  - the set of months for inbound transactions
-	 * @param outMonths - the set of months for outbound transactions
-	 * @return the union of the two sets of months
+	 * @param model - the model of the category sheet
 	 */
 
-	private Set<Integer> returnUnionMonths(Set<Integer> inMonths, Set<Integer> outMonths) {
-		Set<Integer> unionMonths = new HashSet<>(inMonths);
-		unionMonths.addAll(outMonths);
-		return unionMonths;
-	}
+	private void writeCategorySheet(CategorySheetModel model) {
+		CategorySheetBuiltEvent event = new CategorySheetBuiltEvent();
+		event.begin();
+		String category = model.getCategory();
+		// Below alphanumeric sheetname, since cannot have sheets with non alphanumeric
+		// characters in xls
+		CategorySheet categorySheet = createCategorySheet(category);
+		CategorySheetInboundWriter csIW = createCategorySheetInboundWriter(categorySheet);
+		CategorySheetOutboundWriter csOW = createCategorySheetOutboundWriter(categorySheet);
 
-	/**
-	 * 
-	 * Reads the transaction map for a specific month from the given transaction
-	 * map.
-	 * 
-	 * @param transactionMap the transaction map to read from
-	 * @param month          the month to retrieve transactions for
-	 * @return an array of transactions for the specified month
-	 */
+		categorySheet.loadEmptyMonthPaidInMap();
+		categorySheet.loadEmptyMonthPaidOutMap();
+
+		// Load relevant styles of categorySheet
+		categorySheet.loadCellDataStyle();
+		categorySheet.loadCellSumStyle();
+		categorySheet.loadCellHeaderStyle(category);
 
-	public Transaction[] readTransactionMap(Map<Integer, List<Transaction>> transactionMap, int month) {
-		return transactionMap.get(month).toArray(new Transaction[0]);
+		int startRow = categorySheet.getRowStartNum();
+		List<CategorySheetTable> tables = new ArrayList<>();
+		for (CategorySheetModel.TableModel table : model.getTables()) {
+			CategorySheetWriter writer = table.isInbound() ? csIW : csOW;
+			tables.add(writer.createTable(table.getMonth(), table.getTransactions(), startRow, table.getStartColumn()));
+		}
+		CategorySheetTable.writeInRowOrder(tables);
+		// Column widths were recorded as the tables were written
+		categorySheet.resizeAllColumns();
+		tw.addCategorySheet(categorySheet);
+		logger.debug("Generated categorySheet: {}", categorySheet.getCategoryName());
+		if (event.shouldCommit()) {
+			event.category = category;
+			event.months = model.getNumMonths();
+			event.tables = tables.size();
+			event.transactions = model.getNumTransactions();
+			event.commit();
+		}
 	}
 
 	/**
@@ -249,8 +332,27 @@ public class TransactionWorkbookCategoryLoader {
 	 * Loads all distinct category sheets for the given date range and each
 	 * category.
 	 * 
+	 * The transactions of the date range are read once, with one ordered pass over
+	 * each table, through an ExportDataSource, which splits them into
+	 * per-category, per-month buckets. The sheets are then loaded in two phases.
+	 * The model of each category sheet is built from its buckets on a
+	 * ForkJoinPool, as this does not touch the workbook or the database. The
+	 * models are then written into the workbook on this thread, one at a time in
+	 * category order, as POI workbooks are not thread safe. Only a few models more
+	 * than the parallelism are built ahead of the sheet being written. The
+	 * workbook is the same whatever the parallelism.
+	 * 
+	 * If the transactions cannot be read, no sheets are loaded and an
+	 * IllegalStateException is thrown, so the export fails rather than writing a
+	 * workbook missing transactions.
+	 * 
+	 * Loading the sheets is timed in the default MetricsRegistry, with the
+	 * transactions written as its rows, and each sheet emits a
+	 * CategorySheetBuiltEvent for Java Flight Recorder.
+	 * 
 	 * @param tableGap - the table gap value to use when spacing the tables in the
 	 *                 category sheets
+	 * @throws IllegalStateException if the transactions cannot be read
 	 */
 	public void loadCategorySheets(int tableGap) {
 		if (!checkTableGap(tableGap)) {
@@ -259,76 +361,33 @@ public class TransactionWorkbookCategoryLoader {
 					tableGap);
 			logger.error(log);
 		}
+		Timer.Sample sample = MetricsRegistry.getDefault().timer(MetricsRegistry.EXPORT_CATEGORY_SHEETS).start();
 		// Loading an empty categorySheets list
 		tw.loadEmptyCategorySheets();
-		// Getting relevant tables needed to loadCategorySheets
 		TableCategory tC = tw.getTC();
-		TableInboundReader tIR = tw.getTIR();
-		TableOutboundReader tOR = tw.getTOR();
-
-		// Getting date range
-		String startDate = tw.getStartDate();
-		String endDate = tw.getEndDate();
-
 		tC.refreshCategoryOptions();
 		String[] categories = tC.getCategoryMenu().getOptions();
 
-		for (String category : categories) {
-			// Extract inboundTransactionMap & outboundTransactionMap from
-			// TableInbound/OutboundReaders
-			Map<Integer, List<Transaction>> inboundTransactionMap = returnInboundTransactionMap(tIR, startDate, endDate,
-					category);
-			Map<Integer, List<Transaction>> outboundTransactionMap = returnOutboundTransactionMap(tOR, startDate,
-					endDate, category);
-			// Checking months where inbound/outbound transactions for desired category were
-			// found
-			Set<Integer> inMonths = inboundTransactionMap.keySet();
-			Set<Integer> outMonths = outboundTransactionMap.keySet();
-			Set<Integer> unionMonths = returnUnionMonths(inMonths, outMonths);
-			// Below alphanumeric sheetname, since cannot have sheets with non alphanumeric
-			// characters in xls
-			CategorySheet categorySheet = createCategorySheet(category);
-			CategorySheetInboundWriter csIW = createCategorySheetInboundWriter(categorySheet);
-			CategorySheetOutboundWriter csOW = createCategorySheetOutboundWriter(categorySheet);
-						
-			categorySheet.loadEmptyMonthPaidInMap();
-			categorySheet.loadEmptyMonthPaidOutMap();
-
-			//Load relevant styles of categorySheet
-			categorySheet.loadCellDataStyle();
-			categorySheet.loadCellSumStyle();
-			categorySheet.loadCellHeaderStyle(category);
-			
-			// and load in relevant color for each sum
-			int startRow = categorySheet.getRowStartNum();
-			int startCol = categorySheet.getColStartNum();
-			// Iterate through the union of inMonths and outMonthsfor this category
-			for (int month : unionMonths) {
-				// Create an inbound table for this category if
-				// there were transactions for this category during that month,
-				// spacing them apart by adding tableGap to startCol value
-
-				if (inMonths.contains(month)) {
-					Transaction[] inTransactions = readTransactionMap(inboundTransactionMap, month);
-					csIW.createTransactionTable(month, inTransactions, startRow, startCol);
-					startCol += tableGap;
+		int threads = getEffectiveParallelism();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			ExportDataSource dataSource = loadExportDataSource();
+			Deque<ForkJoinTask<CategorySheetModel>> building = new ArrayDeque<>();
+			int next = 0;
+			while (next < categories.length || !building.isEmpty()) {
+				// Keep up to two models per thread being built ahead of the sheet being
+				// written
+				while (next < categories.length && building.size() < threads * 2) {
+					String category = categories[next++];
+					building.add(pool.submit(() -> buildCategorySheetModel(dataSource, category, tableGap)));
 				}
-
-				// Create an outbound table for this category if
-				// there were transactions for this category during that month,
-				// spacing them apart by adding tableGap to startCol value
-
-				if (outMonths.contains(month)) {
-					Transaction[] outTransactions = readTransactionMap(outboundTransactionMap, month);
-					csOW.createTransactionTable(month, outTransactions, startRow, startCol);
-					startCol += tableGap;
-				}
-
+				CategorySheetModel model = building.poll().join();
+				writeCategorySheet(model);
+				sample.addRows(model.getNumTransactions());
 			}
-			//categorySheet.resizeAllColumns(startRow);
-			tw.addCategorySheet(categorySheet);
-			String log = String.format("Generated categorySheet: %s", categorySheet.getCategoryName());
-			logger.info(log);
+		} finally {
+			pool.shutdownNow();
+			sample.close();
 		}
 	}
 }
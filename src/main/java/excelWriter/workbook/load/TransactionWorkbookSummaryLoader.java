@@ -7,6 +7,7 @@ import org.apache.poi.ss.usermodel.Workbook;
 import excelWriter.workbook.CategorySheet;
 import excelWriter.workbook.SummarySheet;
 import excelWriter.workbook.TransactionWorkbook;
+import sqliteData.tables.readers.MonthlyTotalsReader;
 
 /**
  * 
@@ -164,6 +165,7 @@ public class TransactionWorkbookSummaryLoader {
 		List<CategorySheet> categorySheets = tw.getCategorySheets();
 
 		tw.setSummarySheet(new SummarySheet(workbook, tw.getColConfig(), categorySheets, startDate, endDate));
+		tw.getSummarySheet().setStyleRegistry(tw.getStyleRegistry());
 		tw.getSummarySheet().loadTitleStyle();
 		tw.getSummarySheet().loadtotalStyle();
 		tw.getSummarySheet().loadMonthStyle();
@@ -187,7 +189,20 @@ public class TransactionWorkbookSummaryLoader {
 	 */
 	public void loadSummaryTable() {
 		getSummarySheetWriter().createSummaryTable(rowStartNum, colStartNum);
-		tw.getSummarySheet().resizeAllColumns(rowStartNum);
+		tw.getSummarySheet().resizeAllColumns();
+	}
+
+	/**
+	 * 
+	 * Loads the summary table within the transaction workbook from monthly totals,
+	 * for a workbook without category sheets.
+	 * 
+	 * @param categories - the categories to include in the summary table
+	 * @param totals     - the loaded monthly totals of each category
+	 */
+	public void loadSummaryTable(String[] categories, MonthlyTotalsReader totals) {
+		getSummarySheetWriter().createSummaryTable(rowStartNum, colStartNum, categories, totals);
+		tw.getSummarySheet().resizeAllColumns();
 	}
 
 }
@@ -0,0 +1,62 @@
+package metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Counter class counts occurrences of an event, e.g. statements imported.
+ * It may be incremented from several threads at once.
+ *
+ * @see MetricsRegistry
+ * @author LORD GABRIEL
+ */
+
+public class Counter {
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a Counter starting at 0.
+	 *
+	 * @param name - the name the counter is reported under
+	 */
+
+	public Counter(String name) {
+		this.name = name;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	public void increment() {
+		count.increment();
+	}
+
+	/**
+	 * @param amount - the amount to add to the count
+	 */
+	public void add(long amount) {
+		count.add(amount);
+	}
+
+	void reset() {
+		count.reset();
+	}
+}
@@ -0,0 +1,136 @@
+package metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Histogram class records the distribution of a value, e.g. the number of
+ * rows returned by each query. Values are counted in buckets by power of two,
+ * so percentiles are approximate, to within a factor of two, while the count,
+ * sum, minimum and maximum are exact. Negative values are counted as 0.
+ *
+ * @see MetricsRegistry
+ * @author LORD GABRIEL
+ */
+
+public class Histogram {
+
+	/**
+	 * Bucket 0 counts the value 0, bucket i counts values from 2^(i-1) to 2^i - 1
+	 */
+	private static final int NUM_BUCKETS = 64;
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder sum = new LongAdder();
+	private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+	private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+	private final AtomicLongArray buckets = new AtomicLongArray(NUM_BUCKETS);
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a Histogram with nothing recorded.
+	 *
+	 * @param name - the name the histogram is reported under
+	 */
+
+	public Histogram(String name) {
+		this.name = name;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public String getName() {
+		return name;
+	}
+
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getSum() {
+		return sum.sum();
+	}
+
+	/**
+	 * @return the smallest value recorded, or 0 if none has been recorded
+	 */
+	public long getMin() {
+		return getCount() == 0 ? 0 : min.get();
+	}
+
+	/**
+	 * @return the largest value recorded, or 0 if none has been recorded
+	 */
+	public long getMax() {
+		return getCount() == 0 ? 0 : max.get();
+	}
+
+	/**
+	 * @return the mean of the values recorded, or 0 if none has been recorded
+	 */
+	public double getMean() {
+		long n = getCount();
+		return n == 0 ? 0 : (double) getSum() / n;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * @param value - the value to record
+	 */
+	public void record(long value) {
+		long recorded = Math.max(0, value);
+		count.increment();
+		sum.add(recorded);
+		min.accumulateAndGet(recorded, Math::min);
+		max.accumulateAndGet(recorded, Math::max);
+		buckets.incrementAndGet(bucketOf(recorded));
+	}
+
+	/**
+	 * Returns an approximate percentile of the values recorded: the upper bound
+	 * of the bucket holding it, capped at the largest value recorded.
+	 *
+	 * @param percentile - the percentile, from 0 to 100
+	 * @return the approximate percentile, or 0 if nothing has been recorded
+	 */
+	public long getPercentile(double percentile) {
+		long n = getCount();
+		if (n == 0) {
+			return 0;
+		}
+		long rank = (long) Math.ceil(n * Math.min(100, Math.max(0, percentile)) / 100.0);
+		long seen = 0;
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			seen += buckets.get(i);
+			if (seen >= Math.max(1, rank)) {
+				long upperBound = (i == 0) ? 0 : (i == NUM_BUCKETS - 1) ? Long.MAX_VALUE : (1L << i) - 1;
+				return Math.min(upperBound, getMax());
+			}
+		}
+		return getMax();
+	}
+
+	void reset() {
+		count.reset();
+		sum.reset();
+		min.set(Long.MAX_VALUE);
+		max.set(Long.MIN_VALUE);
+		for (int i = 0; i < NUM_BUCKETS; i++) {
+			buckets.set(i, 0);
+		}
+	}
+
+	private static int bucketOf(long value) {
+		return 64 - Long.numberOfLeadingZeros(value);
+	}
+}
@@ -0,0 +1,148 @@
+package metrics;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * The MetricsRegistry class holds the counters, timers and histograms of a run,
+ * by name, so the stages of an import or export can be timed without passing
+ * the registry through every class. Metrics are created when first asked for,
+ * and are listed in the order they were created.
+ * <p>
+ * The application records into the default registry, returned by
+ * {@link #getDefault()}. After each run a {@link MetricsReport} is taken from
+ * it and the registry is reset, so each report covers a single run. Nothing is
+ * sent to any external service.
+ * <p>
+ * Timer names are made of the part of the application and the stage, e.g.
+ * "export.categorySheets", see the constants below.
+ *
+ * @see Counter
+ * @see Timer
+ * @see Histogram
+ * @see MetricsReport
+ * @author LORD GABRIEL
+ */
+
+public class MetricsRegistry {
+
+	public static final String IMPORT_PARSE = "import.parse";
+	public static final String IMPORT_NORMALISE = "import.normalise";
+	public static final String IMPORT_CATEGORISE = "import.categorise";
+	public static final String IMPORT_CONVERT_STATEMENT = "import.convertStatement";
+	public static final String DB_INBOUND_IMPORT = "db.inboundImport";
+	public static final String DB_OUTBOUND_IMPORT = "db.outboundImport";
+	public static final String DB_TRANSACTION_QUERY = "db.transactionQuery";
+	public static final String DB_QUERY_ROWS = "db.queryRows";
+	public static final String EXPORT_CATEGORY_MODELS = "export.categoryModels";
+	public static final String EXPORT_CATEGORY_SHEETS = "export.categorySheets";
+	public static final String EXPORT_SUMMARY_TABLE = "export.summaryTable";
+	public static final String EXPORT_RESIZE_COLUMNS = "export.resizeColumns";
+	public static final String EXPORT_WRITE_FILE = "export.writeFile";
+
+	private static final MetricsRegistry DEFAULT = new MetricsRegistry();
+
+	private final Map<String, Counter> counters = new LinkedHashMap<>();
+	private final Map<String, Timer> timers = new LinkedHashMap<>();
+	private final Map<String, Histogram> histograms = new LinkedHashMap<>();
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	/**
+	 * @return the registry the application records into
+	 */
+	public static MetricsRegistry getDefault() {
+		return DEFAULT;
+	}
+
+	/**
+	 * @param name - the name of the counter
+	 * @return the counter with that name, created if there is none
+	 */
+	public Counter counter(String name) {
+		return getOrCreate(counters, name, Counter::new);
+	}
+
+	/**
+	 * @param name - the name of the timer
+	 * @return the timer with that name, created if there is none
+	 */
+	public Timer timer(String name) {
+		return getOrCreate(timers, name, Timer::new);
+	}
+
+	/**
+	 * @param name - the name of the histogram
+	 * @return the histogram with that name, created if there is none
+	 */
+	public Histogram histogram(String name) {
+		return getOrCreate(histograms, name, Histogram::new);
+	}
+
+	/**
+	 * @return every counter, in the order they were created
+	 */
+	public synchronized List<Counter> getCounters() {
+		return new ArrayList<>(counters.values());
+	}
+
+	/**
+	 * @return every timer, in the order they were created
+	 */
+	public synchronized List<Timer> getTimers() {
+		return new ArrayList<>(timers.values());
+	}
+
+	/**
+	 * @return every histogram, in the order they were created
+	 */
+	public synchronized List<Histogram> getHistograms() {
+		return new ArrayList<>(histograms.values());
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Takes a report of every metric recorded so far.
+	 *
+	 * @param title - the title of the report, e.g. the run it covers
+	 * @return the report
+	 */
+	public MetricsReport report(String title) {
+		return new MetricsReport(title, this);
+	}
+
+	/**
+	 * Takes a report of every metric recorded so far, then resets the registry so
+	 * the next run starts from nothing recorded.
+	 *
+	 * @param title - the title of the report, e.g. the run it covers
+	 * @return the report
+	 */
+	public synchronized MetricsReport reportAndReset(String title) {
+		MetricsReport report = report(title);
+		reset();
+		return report;
+	}
+
+	/**
+	 * Resets every metric to nothing recorded. Metrics already handed out stay
+	 * registered, so they may be kept in fields.
+	 */
+	public synchronized void reset() {
+		counters.values().forEach(Counter::reset);
+		timers.values().forEach(Timer::reset);
+		histograms.values().forEach(Histogram::reset);
+	}
+
+	private synchronized <T> T getOrCreate(Map<String, T> metrics, String name, Function<String, T> create) {
+		return metrics.computeIfAbsent(name, create);
+	}
+}
@@ -0,0 +1,310 @@
+package metrics;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * The MetricsReport class is a snapshot of the metrics of a run, taken from a
+ * {@link MetricsRegistry}. It lists each stage timed during the run with its
+ * wall time, rows, rows per second and bytes allocated, followed by the
+ * counters and histograms recorded. Metrics with nothing recorded are left
+ * out.
+ * <p>
+ * The report can be printed as a table with {@link #format()}, or written as
+ * JSON with {@link #toJson()} and {@link #writeJson(Path)}.
+ *
+ * @see MetricsRegistry
+ * @see Timer
+ * @author LORD GABRIEL
+ */
+
+public class MetricsReport {
+
+	private static final Logger logger = LogManager.getLogger(MetricsReport.class.getName());
+
+	private final String title;
+	private final List<Stage> stages = new ArrayList<>();
+	private final Map<String, Long> counters = new LinkedHashMap<>();
+	private final List<HistogramSummary> histograms = new ArrayList<>();
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a MetricsReport from the metrics recorded so far in a registry.
+	 *
+	 * @param title    - the title of the report
+	 * @param registry - the registry to report
+	 */
+
+	public MetricsReport(String title, MetricsRegistry registry) {
+		this.title = title;
+		for (Timer timer : registry.getTimers()) {
+			if (timer.getCount() > 0) {
+				stages.add(new Stage(timer));
+			}
+		}
+		for (Counter counter : registry.getCounters()) {
+			long count = counter.getCount();
+			if (count > 0) {
+				counters.put(counter.getName(), count);
+			}
+		}
+		for (Histogram histogram : registry.getHistograms()) {
+			if (histogram.getCount() > 0) {
+				histograms.add(new HistogramSummary(histogram));
+			}
+		}
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public String getTitle() {
+		return title;
+	}
+
+	/**
+	 * @return the stages timed during the run, in the order they were first timed
+	 */
+	public List<Stage> getStages() {
+		return Collections.unmodifiableList(stages);
+	}
+
+	/**
+	 * @param name - the name of the stage's timer
+	 * @return the stage, or null if it was not timed during the run
+	 */
+	public Stage getStage(String name) {
+		for (Stage stage : stages) {
+			if (stage.getName().equals(name)) {
+				return stage;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * @param name - the name of the counter
+	 * @return the count recorded during the run, 0 if none
+	 */
+	public long getCount(String name) {
+		return counters.getOrDefault(name, 0L);
+	}
+
+	/**
+	 * @return true if nothing was recorded during the run
+	 */
+	public boolean isEmpty() {
+		return stages.isEmpty() && counters.isEmpty() && histograms.isEmpty();
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Formats the report as a table, one line per stage, followed by the counters
+	 * and histograms.
+	 *
+	 * @return the formatted report
+	 */
+	public String format() {
+		StringBuilder report = new StringBuilder();
+		report.append("Metrics report: ").append(title).append(System.lineSeparator());
+		report.append(String.format(Locale.ROOT, "%-26s %6s %12s %10s %12s %10s%n", "Stage", "Runs", "Wall ms",
+				"Rows", "Rows/s", "Alloc MB"));
+		for (Stage stage : stages) {
+			report.append(String.format(Locale.ROOT, "%-26s %6d %12.1f %10d %12.1f %10s%n", stage.getName(),
+					stage.getRuns(), stage.getWallMillis(), stage.getRows(), stage.getRowsPerSecond(),
+					stage.getAllocatedBytes() > 0
+							? String.format(Locale.ROOT, "%.1f", stage.getAllocatedBytes() / (1024.0 * 1024.0))
+							: "-"));
+		}
+		for (Map.Entry<String, Long> counter : counters.entrySet()) {
+			report.append(String.format(Locale.ROOT, "%-26s %d%n", counter.getKey(), counter.getValue()));
+		}
+		for (HistogramSummary histogram : histograms) {
+			report.append(String.format(Locale.ROOT, "%-26s count=%d min=%d mean=%.1f p50=%d p95=%d max=%d%n",
+					histogram.name, histogram.count, histogram.min, histogram.mean, histogram.p50, histogram.p95,
+					histogram.max));
+		}
+		return report.toString();
+	}
+
+	/**
+	 * Formats the report as a JSON object.
+	 *
+	 * @return the report as JSON
+	 */
+	public String toJson() {
+		StringBuilder json = new StringBuilder();
+		json.append("{\n  \"title\": ").append(quote(title)).append(",\n  \"stages\": [");
+		for (int i = 0; i < stages.size(); i++) {
+			Stage stage = stages.get(i);
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append(String.format(Locale.ROOT,
+					"    {\"name\": %s, \"runs\": %d, \"wallMillis\": %.3f, \"maxMillis\": %.3f, \"rows\": %d, "
+							+ "\"rowsPerSecond\": %.1f, \"allocatedBytes\": %d}",
+					quote(stage.getName()), stage.getRuns(), stage.getWallMillis(), stage.getMaxMillis(),
+					stage.getRows(), stage.getRowsPerSecond(), stage.getAllocatedBytes()));
+		}
+		json.append(stages.isEmpty() ? "],\n" : "\n  ],\n").append("  \"counters\": {");
+		boolean first = true;
+		for (Map.Entry<String, Long> counter : counters.entrySet()) {
+			json.append(first ? "\n" : ",\n");
+			json.append("    ").append(quote(counter.getKey())).append(": ").append(counter.getValue());
+			first = false;
+		}
+		json.append(counters.isEmpty() ? "},\n" : "\n  },\n").append("  \"histograms\": [");
+		for (int i = 0; i < histograms.size(); i++) {
+			HistogramSummary histogram = histograms.get(i);
+			json.append(i == 0 ? "\n" : ",\n");
+			json.append(String.format(Locale.ROOT,
+					"    {\"name\": %s, \"count\": %d, \"min\": %d, \"mean\": %.3f, \"p50\": %d, \"p95\": %d, "
+							+ "\"max\": %d}",
+					quote(histogram.name), histogram.count, histogram.min, histogram.mean, histogram.p50,
+					histogram.p95, histogram.max));
+		}
+		json.append(histograms.isEmpty() ? "]\n" : "\n  ]\n").append("}\n");
+		return json.toString();
+	}
+
+	/**
+	 * Writes the report as JSON to a file, replacing any file already there.
+	 *
+	 * @param path - the path of the file to write
+	 * @return true if the file was written, false otherwise
+	 */
+	public boolean writeJson(Path path) {
+		try {
+			Files.writeString(path, toJson(), StandardCharsets.UTF_8);
+			String log = String.format("Metrics report written to %s", path);
+			logger.info(log);
+			return true;
+		} catch (IOException e) {
+			String log = String.format("Failed to write metrics report to %s. %s", path, e.getMessage());
+			logger.error(log);
+			return false;
+		}
+	}
+
+	/**
+	 * Quotes a string as a JSON string, escaping quotes, backslashes and control
+	 * characters.
+	 */
+	private static String quote(String value) {
+		if (value == null) {
+			return "null";
+		}
+		StringBuilder quoted = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"' -> quoted.append("\\\"");
+			case '\\' -> quoted.append("\\\\");
+			case '\n' -> quoted.append("\\n");
+			case '\r' -> quoted.append("\\r");
+			case '\t' -> quoted.append("\\t");
+			default -> {
+				if (c < 0x20) {
+					quoted.append(String.format("\\u%04x", (int) c));
+				} else {
+					quoted.append(c);
+				}
+			}
+			}
+		}
+		return quoted.append('"').toString();
+	}
+
+	/**
+	 * The Stage class holds the totals of one timer when the report was taken.
+	 */
+	public static class Stage {
+
+		private final String name;
+		private final long runs;
+		private final long totalNanos;
+		private final long maxNanos;
+		private final long rows;
+		private final long allocatedBytes;
+
+		private Stage(Timer timer) {
+			this.name = timer.getName();
+			this.runs = timer.getCount();
+			this.totalNanos = timer.getTotalNanos();
+			this.maxNanos = timer.getMaxNanos();
+			this.rows = timer.getRows();
+			this.allocatedBytes = timer.getAllocatedBytes();
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		public long getRuns() {
+			return runs;
+		}
+
+		public double getWallMillis() {
+			return totalNanos / 1_000_000.0;
+		}
+
+		public double getMaxMillis() {
+			return maxNanos / 1_000_000.0;
+		}
+
+		public long getRows() {
+			return rows;
+		}
+
+		/**
+		 * @return the rows handled per second of wall time, 0 if no time was taken
+		 */
+		public double getRowsPerSecond() {
+			return totalNanos == 0 ? 0 : rows * 1_000_000_000.0 / totalNanos;
+		}
+
+		public long getAllocatedBytes() {
+			return allocatedBytes;
+		}
+	}
+
+	/**
+	 * The HistogramSummary class holds the summary of one histogram when the
+	 * report was taken.
+	 */
+	private static class HistogramSummary {
+
+		private final String name;
+		private final long count;
+		private final long min;
+		private final double mean;
+		private final long p50;
+		private final long p95;
+		private final long max;
+
+		private HistogramSummary(Histogram histogram) {
+			this.name = histogram.getName();
+			this.count = histogram.getCount();
+			this.min = histogram.getMin();
+			this.mean = histogram.getMean();
+			this.p50 = histogram.getPercentile(50);
+			this.p95 = histogram.getPercentile(95);
+			this.max = histogram.getMax();
+		}
+	}
+}
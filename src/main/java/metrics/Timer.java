@@ -0,0 +1,187 @@
+package metrics;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The Timer class records the wall time of a stage each time it runs, along
+ * with the number of rows it handled and the bytes it allocated, so a report
+ * can give the rows per second of the stage.
+ * <p>
+ * A stage is usually timed with a {@link Sample}, opened with {@link #start()}
+ * in a try-with-resources block:
+ *
+ * <pre>
+ * try (Timer.Sample sample = timer.start()) {
+ * 	sample.addRows(importRows());
+ * }
+ * </pre>
+ *
+ * Allocations are read from the JVM's per-thread allocation counter where the
+ * JVM provides one, and only count the thread that opened the sample. Stages
+ * timed with {@link #record(long, long)} have no allocations recorded.
+ *
+ * @see MetricsRegistry
+ * @see MetricsReport
+ * @author LORD GABRIEL
+ */
+
+public class Timer {
+
+	private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+	private final String name;
+	private final LongAdder count = new LongAdder();
+	private final LongAdder totalNanos = new LongAdder();
+	private final LongAdder rows = new LongAdder();
+	private final LongAdder allocatedBytes = new LongAdder();
+	private final AtomicLong maxNanos = new AtomicLong();
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a Timer with nothing recorded.
+	 *
+	 * @param name - the name the timer is reported under
+	 */
+
+	public Timer(String name) {
+		this.name = name;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return the number of times the stage has been recorded
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	public long getTotalNanos() {
+		return totalNanos.sum();
+	}
+
+	public long getMaxNanos() {
+		return maxNanos.get();
+	}
+
+	public long getRows() {
+		return rows.sum();
+	}
+
+	public long getAllocatedBytes() {
+		return allocatedBytes.sum();
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Starts timing one run of the stage on the current thread.
+	 *
+	 * @return the open sample, recorded when closed
+	 */
+	public Sample start() {
+		return new Sample();
+	}
+
+	/**
+	 * Records one run of the stage, without allocations.
+	 *
+	 * @param nanos   - the wall time of the run, in nanoseconds
+	 * @param numRows - the number of rows handled by the run
+	 */
+	public void record(long nanos, long numRows) {
+		record(nanos, numRows, 0);
+	}
+
+	/**
+	 * Records one run of the stage.
+	 *
+	 * @param nanos     - the wall time of the run, in nanoseconds
+	 * @param numRows   - the number of rows handled by the run
+	 * @param allocated - the number of bytes allocated by the run
+	 */
+	public void record(long nanos, long numRows, long allocated) {
+		count.increment();
+		totalNanos.add(nanos);
+		rows.add(numRows);
+		allocatedBytes.add(allocated);
+		maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	void reset() {
+		count.reset();
+		totalNanos.reset();
+		rows.reset();
+		allocatedBytes.reset();
+		maxNanos.set(0);
+	}
+
+	/**
+	 * @return the number of bytes allocated so far by the current thread, or -1
+	 *         if the JVM does not count allocations
+	 */
+	static long currentThreadAllocatedBytes() {
+		if (THREADS instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+			if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+				return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * The Sample class times one run of a stage, from when it is opened until it
+	 * is closed. It must be closed on the thread that opened it.
+	 */
+	public class Sample implements AutoCloseable {
+
+		private final long startNanos;
+		private final long startAllocated;
+		private long numRows;
+		private boolean closed;
+
+		private Sample() {
+			this.startAllocated = currentThreadAllocatedBytes();
+			this.startNanos = System.nanoTime();
+		}
+
+		/**
+		 * @param amount - the number of rows handled, added to the rows of the run
+		 */
+		public void addRows(long amount) {
+			numRows += amount;
+		}
+
+		/**
+		 * Records the run. Closing a sample more than once records it once.
+		 */
+		@Override
+		public void close() {
+			if (closed) {
+				return;
+			}
+			closed = true;
+			long nanos = System.nanoTime() - startNanos;
+			long allocated = 0;
+			if (startAllocated >= 0) {
+				allocated = Math.max(0, currentThreadAllocatedBytes() - startAllocated);
+			}
+			record(nanos, numRows, allocated);
+		}
+	}
+}
@@ -0,0 +1,37 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The BatchCommittedEvent is a Java Flight Recorder event emitted each time a
+ * batch of transactions is inserted and committed to a table. Its duration
+ * covers executing the batch, updating the MonthlyTotals table and the commit.
+ *
+ * @see FlightRecording
+ * @see sqliteData.tables.writers.TableInboundWriter
+ * @see sqliteData.tables.writers.TableOutboundWriter
+ * @author LORD GABRIEL
+ */
+
+@Name(FlightRecording.EVENT_PREFIX + "BatchCommitted")
+@Label("DB Batch Committed")
+@Category({ FlightRecording.CATEGORY, "Database" })
+@Description("A batch of transactions inserted and committed to a table")
+@StackTrace(false)
+public class BatchCommittedEvent extends jdk.jfr.Event {
+
+	@Label("Table")
+	public String table;
+
+	@Label("Rows")
+	@Description("Rows executed in the batch")
+	public int rows;
+
+	@Label("Inserted")
+	@Description("Rows inserted, the rest were already present")
+	public int inserted;
+}
@@ -0,0 +1,35 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The CategoryResolvedEvent is a Java Flight Recorder event emitted each time
+ * the category of a description is looked up in memory during an import,
+ * recording whether the description already had a category.
+ *
+ * @see FlightRecording
+ * @see sqliteData.tables.CategoryResolver
+ * @author LORD GABRIEL
+ */
+
+@Name(FlightRecording.EVENT_PREFIX + "CategoryResolved")
+@Label("Category Resolved")
+@Category({ FlightRecording.CATEGORY, "Import" })
+@Description("The category of a transaction description looked up in memory")
+@StackTrace(false)
+public class CategoryResolvedEvent extends jdk.jfr.Event {
+
+	@Label("Description")
+	public String description;
+
+	@Label("Category")
+	public String category;
+
+	@Label("Hit")
+	@Description("True if the description already had a category")
+	public boolean hit;
+}
@@ -0,0 +1,39 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The CategorySheetBuiltEvent is a Java Flight Recorder event emitted once the
+ * sheet of a category has been laid out and written. Its duration covers
+ * writing the category's model into the workbook; reading the transactions is
+ * done beforehand, in parallel, and is recorded by QueryExecutedEvents.
+ *
+ * @see FlightRecording
+ * @see excelWriter.workbook.load.TransactionWorkbookCategoryLoader
+ * @author LORD GABRIEL
+ */
+
+@Name(FlightRecording.EVENT_PREFIX + "CategorySheetBuilt")
+@Label("Category Sheet Built")
+@Category({ FlightRecording.CATEGORY, "Export" })
+@Description("The sheet of one category laid out and written")
+@StackTrace(false)
+public class CategorySheetBuiltEvent extends jdk.jfr.Event {
+
+	@Label("Category")
+	public String category;
+
+	@Label("Months")
+	public int months;
+
+	@Label("Tables")
+	@Description("Inbound and outbound tables written to the sheet")
+	public int tables;
+
+	@Label("Transactions")
+	public int transactions;
+}
@@ -0,0 +1,134 @@
+package metrics.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+
+/**
+ * The FlightRecording class records a run of the application with Java Flight
+ * Recorder, so it can be profiled without attaching an external profiler. The
+ * JVM's default settings are recorded along with every event of this package,
+ * e.g. {@link StatementParsedEvent} and {@link QueryExecutedEvent}, which are
+ * recorded however short they are.
+ * <p>
+ * The recording is written to its destination file when stopped, and can be
+ * opened with JDK Mission Control or the jfr tool, e.g.
+ * {@code jfr print --events bankStatement.QueryExecuted run.jfr}.
+ *
+ * @see StatementParsedEvent
+ * @see CategoryResolvedEvent
+ * @see BatchCommittedEvent
+ * @see QueryExecutedEvent
+ * @see CategorySheetBuiltEvent
+ * @see WorkbookSerialisedEvent
+ * @author LORD GABRIEL
+ */
+
+public class FlightRecording {
+
+	public static final String EVENT_PREFIX = "bankStatement.";
+	public static final String CATEGORY = "Bank Statement";
+	public static final String SETTINGS = "default";
+
+	private static final List<Class<? extends Event>> EVENTS = List.of(StatementParsedEvent.class,
+			CategoryResolvedEvent.class, BatchCommittedEvent.class, QueryExecutedEvent.class,
+			CategorySheetBuiltEvent.class, WorkbookSerialisedEvent.class);
+
+	private static final Logger logger = LogManager.getLogger(FlightRecording.class.getName());
+
+	private final Path destination;
+	private Recording recording;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a FlightRecording, not yet started.
+	 *
+	 * @param destination - the file the recording is written to when stopped
+	 */
+
+	public FlightRecording(Path destination) {
+		this.destination = destination;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public Path getDestination() {
+		return destination;
+	}
+
+	public synchronized boolean isRecording() {
+		return recording != null;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Starts recording. Does nothing if already recording.
+	 *
+	 * @return true if recording, false if the recording could not be started
+	 */
+	public synchronized boolean start() {
+		if (recording != null) {
+			return true;
+		}
+		try {
+			Recording newRecording = new Recording(Configuration.getConfiguration(SETTINGS));
+			newRecording.setName("Bank statement run");
+			for (Class<? extends Event> event : EVENTS) {
+				newRecording.enable(event).withThreshold(Duration.ZERO);
+			}
+			newRecording.setDestination(destination);
+			newRecording.start();
+			recording = newRecording;
+			String log = String.format("Started flight recording to %s", destination);
+			logger.info(log);
+			return true;
+		} catch (IOException | ParseException | IllegalStateException | SecurityException e) {
+			String log = String.format("Failed to start flight recording to %s. %s", destination, e.getMessage());
+			logger.error(log);
+			return false;
+		}
+	}
+
+	/**
+	 * Stops recording and writes the recording to its destination file. Does
+	 * nothing if not recording.
+	 *
+	 * @return true if the recording was written, false otherwise
+	 */
+	public synchronized boolean stop() {
+		if (recording == null) {
+			return false;
+		}
+		try {
+			// The recording is written to its destination when stopped
+			recording.stop();
+			String log = String.format("Flight recording written to %s", destination);
+			logger.info(log);
+			return true;
+		} catch (IllegalStateException e) {
+			String log = String.format("Failed to write flight recording to %s. %s", destination, e.getMessage());
+			logger.error(log);
+			return false;
+		} finally {
+			recording.close();
+			recording = null;
+		}
+	}
+}
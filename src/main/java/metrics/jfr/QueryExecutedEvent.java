@@ -0,0 +1,73 @@
+package metrics.jfr;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The QueryExecutedEvent is a Java Flight Recorder event emitted each time a
+ * query of the transaction tables is executed and read. Its duration covers
+ * executing the query and reading every row.
+ * <p>
+ * For queries given as a string and parameters, the table is taken from the
+ * FROM clause and the date range from the first and last date bound to the
+ * query, see {@link #setQuery(String, Object...)}.
+ *
+ * @see FlightRecording
+ * @see sqliteData.tables.TableUtils
+ * @author LORD GABRIEL
+ */
+
+@Name(FlightRecording.EVENT_PREFIX + "QueryExecuted")
+@Label("SQL Query Executed")
+@Category({ FlightRecording.CATEGORY, "Database" })
+@Description("A query of the transaction tables executed and read")
+@StackTrace(false)
+public class QueryExecutedEvent extends jdk.jfr.Event {
+
+	private static final Pattern FROM_TABLE = Pattern.compile("\\bFROM\\s+(\\w+)", Pattern.CASE_INSENSITIVE);
+	private static final Pattern DATE = Pattern.compile("\\d{4}-\\d{2}-\\d{2}");
+
+	@Label("Table")
+	public String table;
+
+	@Label("Start Date")
+	public String startDate;
+
+	@Label("End Date")
+	public String endDate;
+
+	@Label("Query")
+	public String query;
+
+	@Label("Rows")
+	public int rows;
+
+	/**
+	 * Sets the query of the event, along with the table it reads and the date
+	 * range bound to it. Either is left null if it cannot be found.
+	 *
+	 * @param queryString - the SQL query string
+	 * @param parameters  - the values bound to the query's parameters
+	 */
+	public void setQuery(String queryString, Object... parameters) {
+		this.query = queryString;
+		Matcher from = FROM_TABLE.matcher(queryString);
+		if (from.find()) {
+			this.table = from.group(1);
+		}
+		for (Object parameter : parameters) {
+			if (parameter instanceof String && DATE.matcher((String) parameter).matches()) {
+				if (startDate == null) {
+					startDate = (String) parameter;
+				}
+				endDate = (String) parameter;
+			}
+		}
+	}
+}
@@ -0,0 +1,38 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The StatementParsedEvent is a Java Flight Recorder event emitted once a bank
+ * statement file has been converted into transactions. Its duration covers
+ * reading, parsing and categorising every transaction of the statement.
+ *
+ * @see FlightRecording
+ * @see statementReaders.NationwideCSVReader
+ * @author LORD GABRIEL
+ */
+
+@Name(FlightRecording.EVENT_PREFIX + "StatementParsed")
+@Label("Statement Parsed")
+@Category({ FlightRecording.CATEGORY, "Import" })
+@Description("A bank statement file converted into transactions")
+@StackTrace(false)
+public class StatementParsedEvent extends jdk.jfr.Event {
+
+	@Label("Statement")
+	public String statement;
+
+	@Label("Bank")
+	public String bank;
+
+	@Label("Transactions")
+	public int transactions;
+
+	@Label("Uncategorised")
+	@Description("Transactions imported as Uncategorised, awaiting a category")
+	public int uncategorised;
+}
@@ -0,0 +1,37 @@
+package metrics.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The WorkbookSerialisedEvent is a Java Flight Recorder event emitted once an
+ * exported workbook has been written to its file. Its duration covers writing
+ * and closing the workbook.
+ *
+ * @see FlightRecording
+ * @see excelWriter.process.WriteDBToExcel
+ * @author LORD GABRIEL
+ */
+
+@Name(FlightRecording.EVENT_PREFIX + "WorkbookSerialised")
+@Label("Workbook Serialised")
+@Category({ FlightRecording.CATEGORY, "Export" })
+@Description("An exported workbook written to its file")
+@StackTrace(false)
+public class WorkbookSerialisedEvent extends jdk.jfr.Event {
+
+	@Label("Path")
+	public String path;
+
+	@Label("Streaming")
+	@Description("True if the workbook was a streaming workbook")
+	public boolean streaming;
+
+	@Label("Bytes")
+	@DataAmount
+	public long bytes;
+}
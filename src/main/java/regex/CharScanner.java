@@ -0,0 +1,193 @@
+package regex;
+
+/**
+ * The CharScanner class provides single-pass replacements for the simplest
+ * regular expressions used by {@link RegexMethods}. Each method walks the input
+ * once and only allocates a new String when something is removed, producing
+ * exactly the same output as the equivalent {@code replaceAll} call.
+ * 
+ * Character classes follow java.util.regex defaults: {@code \d} is [0-9],
+ * {@code \s} is [ \t\n\x0B\f\r] and {@code \b} treats letters, digits and '_'
+ * as word characters.
+ * 
+ * @see RegexMethods
+ * @see DescriptionStage
+ * @author LORD GABRIEL
+ */
+
+final class CharScanner {
+
+	private CharScanner() {
+	}
+
+	/*
+	 * ================== SCANNERS =================
+	 */
+
+	/**
+	 * Removes every occurrence of a character. Equivalent to
+	 * {@code input.replaceAll(Pattern.quote(String.valueOf(remove)), "")}.
+	 * 
+	 * @param input  - the input string
+	 * @param remove - the character to remove
+	 * @return the string with the character removed
+	 */
+	static String removeChar(String input, char remove) {
+		int first = input.indexOf(remove);
+		if (first < 0) {
+			return input;
+		}
+		StringBuilder sb = new StringBuilder(input.length() - 1);
+		sb.append(input, 0, first);
+		for (int i = first + 1; i < input.length(); i++) {
+			char c = input.charAt(i);
+			if (c != remove) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Removes every character that is not an ASCII letter, digit or whitespace.
+	 * Equivalent to {@code input.replaceAll("[^a-zA-Z\\d\\s]+", "")}.
+	 * 
+	 * @param input - the input string
+	 * @return the string with non-alphanumeric characters removed
+	 */
+	static String removeNonAlphaNumeric(String input) {
+		int n = input.length();
+		int i = 0;
+		while (i < n && isAlphaNumericOrSpace(input.charAt(i))) {
+			i++;
+		}
+		if (i == n) {
+			return input;
+		}
+		StringBuilder sb = new StringBuilder(n);
+		sb.append(input, 0, i);
+		for (; i < n; i++) {
+			char c = input.charAt(i);
+			if (isAlphaNumericOrSpace(c)) {
+				sb.append(c);
+			}
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Removes runs of digits, including runs separated by single whitespace
+	 * characters, that stand as whole words. Equivalent to
+	 * {@code input.replaceAll("\\b\\d+(?:\\s\\d+)*\\b", "")}.
+	 * 
+	 * @param input - the input string
+	 * @return the string with digit runs removed
+	 */
+	static String removeDigitRuns(String input) {
+		int n = input.length();
+		StringBuilder sb = null;
+		int copyFrom = 0;
+		int i = 0;
+		while (i < n) {
+			if (!isDigit(input.charAt(i))) {
+				i++;
+				continue;
+			}
+			int runEnd = skipDigits(input, i);
+			// The match must start on a word boundary
+			if (i > 0 && isWordBefore(input, i)) {
+				i = runEnd;
+				continue;
+			}
+			// Follow any whitespace separated digit runs, keeping the furthest end that
+			// sits on a word boundary, as the greedy regex would
+			int matchEnd = isWordAt(input, runEnd) ? -1 : runEnd;
+			int end = runEnd;
+			while (end + 1 < n && isSpace(input.charAt(end)) && isDigit(input.charAt(end + 1))) {
+				end = skipDigits(input, end + 1);
+				if (!isWordAt(input, end)) {
+					matchEnd = end;
+				}
+			}
+			if (matchEnd < 0) {
+				i = runEnd;
+				continue;
+			}
+			if (sb == null) {
+				sb = new StringBuilder(n);
+			}
+			sb.append(input, copyFrom, i);
+			copyFrom = matchEnd;
+			i = matchEnd;
+		}
+		if (sb == null) {
+			return input;
+		}
+		sb.append(input, copyFrom, n);
+		return sb.toString();
+	}
+
+	/*
+	 * ================== CHARACTER CLASSES =================
+	 */
+
+	private static int skipDigits(String input, int from) {
+		int i = from;
+		while (i < input.length() && isDigit(input.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+
+	private static boolean isDigit(char c) {
+		return c >= '0' && c <= '9';
+	}
+
+	private static boolean isSpace(char c) {
+		return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+	}
+
+	private static boolean isAlphaNumericOrSpace(char c) {
+		return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || isDigit(c) || isSpace(c);
+	}
+
+	private static boolean isWord(int codePoint) {
+		return codePoint == '_' || Character.isLetterOrDigit(codePoint);
+	}
+
+	/**
+	 * Whether the character at index counts as a word character for \b, where
+	 * the character before it is a digit. A non-spacing mark following a digit
+	 * is treated as part of that word, as java.util.regex does.
+	 */
+	private static boolean isWordAt(String input, int index) {
+		if (index >= input.length()) {
+			return false;
+		}
+		int codePoint = input.codePointAt(index);
+		return isWord(codePoint) || Character.getType(codePoint) == Character.NON_SPACING_MARK;
+	}
+
+	/**
+	 * Whether the character before index counts as a word character for \b.
+	 */
+	private static boolean isWordBefore(String input, int index) {
+		int codePoint = input.codePointBefore(index);
+		if (isWord(codePoint)) {
+			return true;
+		}
+		// A non-spacing mark counts if it is attached to a letter or digit
+		int i = index;
+		while (i > 0) {
+			codePoint = input.codePointBefore(i);
+			if (Character.isLetterOrDigit(codePoint)) {
+				return true;
+			}
+			if (Character.getType(codePoint) != Character.NON_SPACING_MARK) {
+				return false;
+			}
+			i -= Character.charCount(codePoint);
+		}
+		return false;
+	}
+}
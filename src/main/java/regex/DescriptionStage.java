@@ -0,0 +1,99 @@
+package regex;
+
+import java.util.regex.Pattern;
+
+/**
+ * The DescriptionStage enum lists the normalisation stages that
+ * {@link RegexMethods#processDescription(String)} can run over a transaction
+ * description. Each stage's regular expression is compiled once, when the enum
+ * is loaded.
+ * 
+ * The simplest stages (quotation marks, non-alphanumeric characters and digit
+ * runs) are applied with a single-pass {@link CharScanner} rather than their
+ * Pattern; {@link #applyPattern(String)} is kept as the reference
+ * implementation the scanners must match.
+ * 
+ * @see RegexMethods
+ * @author LORD GABRIEL
+ */
+
+public enum DescriptionStage {
+
+	/**
+	 * Removes double quotation marks.
+	 */
+	QUOTATION_MARKS("\"", true),
+	/**
+	 * Removes website references, e.g. www. https:// .co.uk
+	 */
+	WEBSITE_REFERENCES("(www\\.|https?://|\\.co\\.\\w{2,3}|\\.\\w{2,3})", false),
+	/**
+	 * Removes every character that is not a letter, digit or whitespace.
+	 */
+	NON_ALPHANUMERIC("[^a-zA-Z\\d\\s]+", true),
+	/**
+	 * Removes groups of numbers separated by spaces.
+	 */
+	CONSECUTIVE_NUMBERS("\\b\\d+(?:\\s\\d+)*\\b", true),
+	/**
+	 * Removes UK postcodes.
+	 */
+	POSTCODES("\\b[A-Z]{1,2}\\d{1,2}(\\s*\\d{1,2})?[A-Z]{1,2}\\b", false);
+
+	private final Pattern pattern;
+	private final boolean scanned;
+
+	DescriptionStage(String regex, boolean scanned) {
+		this.pattern = Pattern.compile(regex);
+		this.scanned = scanned;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public Pattern getPattern() {
+		return pattern;
+	}
+
+	/**
+	 * @return true if this stage is applied with a single-pass character scanner
+	 */
+	public boolean isScanned() {
+		return scanned;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Applies this stage to the input, using the character scanner fast path
+	 * where one exists.
+	 * 
+	 * @param input - the input string
+	 * @return the input with this stage's matches removed
+	 */
+	public String apply(String input) {
+		switch (this) {
+		case QUOTATION_MARKS:
+			return CharScanner.removeChar(input, '"');
+		case NON_ALPHANUMERIC:
+			return CharScanner.removeNonAlphaNumeric(input);
+		case CONSECUTIVE_NUMBERS:
+			return CharScanner.removeDigitRuns(input);
+		default:
+			return applyPattern(input);
+		}
+	}
+
+	/**
+	 * Applies this stage to the input using its precompiled Pattern.
+	 * 
+	 * @param input - the input string
+	 * @return the input with this stage's matches removed
+	 */
+	public String applyPattern(String input) {
+		return pattern.matcher(input).replaceAll("");
+	}
+}
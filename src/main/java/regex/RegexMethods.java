@@ -2,9 +2,15 @@ package regex;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
 
+import transactions.Money;
+
 /**
  * 
  * The RegexMethods class provides various methods for manipulating and
@@ -15,12 +21,78 @@ import java.util.UUID;
  * non-alphanumeric characters, * consecutive numbers, and UK postcodes. It also
  * includes methods for generating unique UUIDs and converting
  * 
- * money strings to doubles. Additionally, it provides methods for formatting
+ * money strings to pence or doubles. Additionally, it provides methods for formatting
  * dates and processing descriptions.
+ * 
+ * Descriptions are normalised by a pipeline of {@link DescriptionStage}s whose
+ * patterns are compiled once. The stages, and the order they run in, can be
+ * chosen when constructing a RegexMethods object.
+ * 
+ * @see DescriptionStage
  */
 
 public class RegexMethods {
 
+	/**
+	 * The stages run by {@link #processDescription(String)} unless others are
+	 * given.
+	 */
+	public static final List<DescriptionStage> DEFAULT_DESCRIPTION_STAGES = Collections
+			.unmodifiableList(Arrays.asList(DescriptionStage.WEBSITE_REFERENCES, DescriptionStage.NON_ALPHANUMERIC,
+					DescriptionStage.CONSECUTIVE_NUMBERS, DescriptionStage.POSTCODES));
+
+	private static final DateTimeFormatter DDMMMYYYY_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy",
+			Locale.ENGLISH);
+	private static final DateTimeFormatter OUTPUT_DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+	/**
+	 * Stages run, in order, by {@link #processDescription(String)}.
+	 */
+	private List<DescriptionStage> descriptionStages;
+
+	/*
+	 * ================== CONSTRUCTORS =================
+	 */
+
+	/**
+	 * Constructs a RegexMethods object that processes descriptions with the
+	 * default stages.
+	 */
+	public RegexMethods() {
+		this(DEFAULT_DESCRIPTION_STAGES);
+	}
+
+	/**
+	 * Constructs a RegexMethods object that processes descriptions with the given
+	 * stages, run in the given order.
+	 * 
+	 * @param descriptionStages - the stages to run
+	 */
+	public RegexMethods(List<DescriptionStage> descriptionStages) {
+		setDescriptionStages(descriptionStages);
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public List<DescriptionStage> getDescriptionStages() {
+		return descriptionStages;
+	}
+
+	/*
+	 * ================== SETTERS =================
+	 */
+
+	/**
+	 * Sets the stages run, in order, by {@link #processDescription(String)}.
+	 * 
+	 * @param descriptionStages - the stages to run
+	 */
+	public void setDescriptionStages(List<DescriptionStage> descriptionStages) {
+		this.descriptionStages = Collections.unmodifiableList(new ArrayList<>(descriptionStages));
+	}
+
 	/*
 	 * ================== REGEX REMOVERS =================
 	 */
@@ -32,10 +104,7 @@ public class RegexMethods {
 	 * @return the string with quotation marks removed
 	 */
 	public String removeQuotationMarks(String input) {
-		// Matches double quotation mark. Any character after it as combination
-		String regex = "\"";
-		String result = input.replaceAll(regex, "");
-		return result;
+		return DescriptionStage.QUOTATION_MARKS.apply(input);
 	}
 
 	/**
@@ -48,12 +117,7 @@ public class RegexMethods {
 	 * @return the string with website references removed
 	 */
 	public String removeWebsiteReferences(String input) {
-		// matches website references
-		String regex = "(www\\.|https?://|\\.co\\.\\w{2,3}|\\.\\w{2,3})";
-		// Remove website references using the regex pattern
-		String result = input.replaceAll(regex, "");
-
-		return result;
+		return DescriptionStage.WEBSITE_REFERENCES.apply(input);
 	}
 
 	/**
@@ -65,11 +129,7 @@ public class RegexMethods {
 	 * @return the string with non-alphanumeric characters removed
 	 */
 	public String removeAllNonAlphaNumeric(String input) {
-		String regex = "[^a-zA-Z\\d\\s]+";
-
-		String result = input.replaceAll(regex, "");
-
-		return result;
+		return DescriptionStage.NON_ALPHANUMERIC.apply(input);
 	}
 
 	/**
@@ -81,13 +141,7 @@ public class RegexMethods {
 	 * @return the string with consecutive numbers removed
 	 */
 	public String removeConsecutiveNumbers(String input) {
-		// Regex pattern to match groups of numbers separated by spaces
-		String regex = "\\b\\d+(?:\\s\\d+)*\\b";
-
-		// Remove number groups using the regex pattern
-		String result = input.replaceAll(regex, "");
-
-		return result;
+		return DescriptionStage.CONSECUTIVE_NUMBERS.apply(input);
 	}
 
 	/**
@@ -99,15 +153,8 @@ public class RegexMethods {
 	 * @return the string with UK postcodes removed
 	 */
 	public String removePostcodes(String input) {
-		// Regex pattern to match postcodes
 		// first part of postcode has 2-4 characters in length
-
-		String regex = "\\b[A-Z]{1,2}\\d{1,2}(\\s*\\d{1,2})?[A-Z]{1,2}\\b";
-
-		// Remove postcodes using the regex pattern
-		String result = input.replaceAll(regex, "");
-
-		return result;
+		return DescriptionStage.POSTCODES.apply(input);
 	}
 
 	/*
@@ -135,19 +182,29 @@ public class RegexMethods {
 
 	/**
 	 * 
-	 * Converts a money string to a double by removing non-numeric characters.
+	 * Converts a money string to a double, ignoring every character other than
+	 * digits and the decimal point. Parsed through {@link Money#parsePence}, so
+	 * the result is the closest double to the amount in whole pence.
 	 * 
 	 * @param moneyString the money string
 	 * @return the converted amount as a double
 	 */
 
 	public double convertPrice(String moneyString) {
-		if (moneyString.isEmpty() || moneyString.isBlank() || moneyString.equals("")) {
-			return 0;
-		}
-		String numericString = moneyString.replaceAll("[^\\d.]", "");
-		double amount = Double.parseDouble(numericString);
-		return amount;
+		return Money.toPounds(parsePence(moneyString));
+	}
+
+	/**
+	 * 
+	 * Parses the amount string to a whole number of pence. Quotation marks,
+	 * currency signs and thousands separators are ignored.
+	 * 
+	 * @param amount the amount string
+	 * @return the parsed amount in pence
+	 */
+
+	public long parsePence(String amount) {
+		return Money.parsePence(amount);
 	}
 
 	/**
@@ -160,8 +217,7 @@ public class RegexMethods {
 	 */
 
 	public double parseAmount(String amount) {
-		String amountNoQuotations = removeQuotationMarks(amount);
-		return convertPrice(amountNoQuotations);
+		return convertPrice(amount);
 	}
 
 	/**
@@ -173,19 +229,16 @@ public class RegexMethods {
 	 */
 	public String convertDDMMYYYYDate(String date) {
 		String removeQuo = removeQuotationMarks(date);
-		DateTimeFormatter inputFormatter = DateTimeFormatter.ofPattern("dd MMM yyyy", Locale.ENGLISH);
-		DateTimeFormatter outputFormatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-		LocalDate outDate = LocalDate.parse(removeQuo, inputFormatter);
-		return outDate.format(outputFormatter);
+		LocalDate outDate = LocalDate.parse(removeQuo, DDMMMYYYY_FORMATTER);
+		return outDate.format(OUTPUT_DATE_FORMATTER);
 	}
 
 	/**
 	 * 
-	 * Processes a description String by removing website references, non-alphanumeric
-	 * characters,
-	 * 
-	 * consecutive numbers, and UK postcodes, and trims leading and trailing
-	 * whitespace.
+	 * Processes a description String by running each of this object's
+	 * description stages in order - by default removing website references,
+	 * non-alphanumeric characters, consecutive numbers, and UK postcodes - and
+	 * trims leading and trailing whitespace.
 	 * 
 	 * @param description the description string
 	 * 
@@ -193,14 +246,12 @@ public class RegexMethods {
 	 */
 
 	public String processDescription(String description) {
-		String removedWebsiteReferences = removeWebsiteReferences(description);
-		String removeAlphaNumeric = removeAllNonAlphaNumeric(removedWebsiteReferences);
-		String removedConsecutiveNums = removeConsecutiveNumbers(removeAlphaNumeric);
-		String removedPostcodes = removePostcodes(removedConsecutiveNums);
-
+		String result = description;
+		for (DescriptionStage stage : descriptionStages) {
+			result = stage.apply(result);
+		}
 		// trim removes leading or ending whitespaces
-		String result = removedPostcodes.trim();
-		return result;
+		return result.trim();
 	}
 
 }
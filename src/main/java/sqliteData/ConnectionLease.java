@@ -0,0 +1,95 @@
+package sqliteData;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * A ConnectionLease is handed out by a {@link ConnectionProvider} whenever a
+ * connection is borrowed. It gives access to the underlying connection and to
+ * the provider's statement cache for that connection. Closing the lease returns
+ * the connection to its provider, the connection itself stays open.
+ * 
+ * Leases are intended to be used within try-with-resources blocks:
+ * 
+ * <pre>
+ * try (ConnectionLease lease = DB.getConnectionProvider().borrowRead()) {
+ * 	PreparedStatement pstmt = lease.prepare(query);
+ * 	...
+ * }
+ * </pre>
+ * 
+ * Statements returned by {@link #prepare(String)} are owned by the provider and
+ * must not be closed by the caller.
+ * 
+ * @see ConnectionProvider
+ * @author LORD GABRIEL
+ */
+
+public class ConnectionLease implements AutoCloseable {
+
+	private final ConnectionProvider provider;
+	private final ConnectionProvider.PooledConnection pooled;
+	private boolean released;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	ConnectionLease(ConnectionProvider provider, ConnectionProvider.PooledConnection pooled) {
+		this.provider = provider;
+		this.pooled = pooled;
+	}
+
+	/*
+	 * =========================== GETTERS ============================
+	 */
+
+	/**
+	 * Returns the borrowed connection. The connection must not be closed by the
+	 * caller.
+	 * 
+	 * @return the borrowed connection
+	 */
+	public Connection getConnection() {
+		return pooled.getConnection();
+	}
+
+	/**
+	 * Returns whether this lease is for a read-only connection.
+	 * 
+	 * @return true if the connection is read-only
+	 */
+	public boolean isReadOnly() {
+		return pooled.isReadOnly();
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Returns a cached PreparedStatement for the given SQL on this lease's
+	 * connection, preparing it if it has not been used on this connection before.
+	 * Any parameters from a previous use are cleared.
+	 * 
+	 * @param sql - the SQL to prepare
+	 * @return a PreparedStatement owned by the provider
+	 * @throws SQLException if the statement could not be prepared
+	 */
+	public PreparedStatement prepare(String sql) throws SQLException {
+		return pooled.prepare(sql);
+	}
+
+	/**
+	 * Returns the connection to its provider. Calling close more than once has no
+	 * further effect.
+	 */
+	@Override
+	public void close() {
+		if (!released) {
+			released = true;
+			provider.release(pooled);
+		}
+	}
+}
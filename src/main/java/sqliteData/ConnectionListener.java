@@ -0,0 +1,40 @@
+package sqliteData;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * The ConnectionListener interface provides lifecycle hooks for connections
+ * opened by a {@link ConnectionProvider}. Listeners can be used to apply
+ * connection level settings (e.g. PRAGMA statements) once when a connection is
+ * opened, or to tidy up resources before a connection is closed.
+ * 
+ * Both methods have empty default implementations so a listener only needs to
+ * implement the hook it is interested in.
+ * 
+ * @see ConnectionProvider
+ * @author LORD GABRIEL
+ */
+
+public interface ConnectionListener {
+
+	/**
+	 * Called once after a connection has been opened, before it is handed out for
+	 * the first time.
+	 * 
+	 * @param connection - the newly opened connection
+	 * @param readOnly   - true if the connection belongs to the read-only pool
+	 * @throws SQLException if the hook fails, the connection will not be used
+	 */
+	default void onOpen(Connection connection, boolean readOnly) throws SQLException {
+	}
+
+	/**
+	 * Called once before a connection is closed by its provider.
+	 * 
+	 * @param connection - the connection about to be closed
+	 * @param readOnly   - true if the connection belongs to the read-only pool
+	 */
+	default void onClose(Connection connection, boolean readOnly) {
+	}
+}
@@ -0,0 +1,430 @@
+package sqliteData;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.sqlite.SQLiteConfig;
+
+/**
+ * The ConnectionProvider class owns every connection made to a single SQLite
+ * database file. Rather than opening a new connection for each statement, it
+ * keeps:
+ * <ul>
+ * <li>one long-lived write connection, which is handed out to one thread at a
+ * time, and</li>
+ * <li>a small pool of read-only connections, opened lazily up to
+ * {@link #getReadPoolSize()}.</li>
+ * </ul>
+ * Connections are borrowed as a {@link ConnectionLease} and returned by closing
+ * the lease. Prepared statements are cached per connection, so repeated queries
+ * are only compiled once per connection.
+ * <p>
+ * The write connection is opened in WAL journal mode so the read-only pool can
+ * keep reading while an import is writing.
+ * <p>
+ * Counters are kept for the number of connections opened, the number of
+ * borrows, and the number of borrows that had to wait for a connection.
+ *
+ * @see Database
+ * @see ConnectionLease
+ * @see ConnectionListener
+ * @author LORD GABRIEL
+ */
+
+public class ConnectionProvider implements AutoCloseable {
+
+	/**
+	 * Default number of read-only connections kept in the pool.
+	 */
+	public static final int DEFAULT_READ_POOL_SIZE = 3;
+	/**
+	 * Maximum number of prepared statements cached per connection.
+	 */
+	public static final int STATEMENT_CACHE_SIZE = 32;
+	/**
+	 * Number of seconds a borrow will wait for a read-only connection before
+	 * failing.
+	 */
+	private static final long BORROW_TIMEOUT_SECONDS = 30;
+
+	private static final Logger logger = LogManager.getLogger(ConnectionProvider.class.getName());
+
+	private final String url;
+	private final int readPoolSize;
+
+	private PooledConnection writeConnection;
+	private final ReentrantLock writeLock = new ReentrantLock();
+
+	private final BlockingQueue<PooledConnection> idleReaders = new LinkedBlockingQueue<>();
+	private final List<PooledConnection> openReaders = new CopyOnWriteArrayList<>();
+	private final AtomicInteger readerCount = new AtomicInteger();
+
+	private final List<ConnectionListener> listeners = new CopyOnWriteArrayList<>();
+
+	private final AtomicLong opens = new AtomicLong();
+	private final AtomicLong borrows = new AtomicLong();
+	private final AtomicLong waits = new AtomicLong();
+
+	private volatile boolean closed;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a ConnectionProvider for the given JDBC url, with the default
+	 * read-only pool size.
+	 *
+	 * @param url - JDBC url of the SQLite database
+	 */
+	public ConnectionProvider(String url) {
+		this(url, DEFAULT_READ_POOL_SIZE);
+	}
+
+	/**
+	 * Constructs a ConnectionProvider for the given JDBC url.
+	 *
+	 * @param url          - JDBC url of the SQLite database
+	 * @param readPoolSize - maximum number of read-only connections, at least 1
+	 */
+	public ConnectionProvider(String url, int readPoolSize) {
+		this.url = url;
+		this.readPoolSize = Math.max(1, readPoolSize);
+	}
+
+	/*
+	 * =========================== GETTERS ============================
+	 */
+
+	public String getUrl() {
+		return url;
+	}
+
+	public int getReadPoolSize() {
+		return readPoolSize;
+	}
+
+	/**
+	 * @return the total number of connections opened by this provider
+	 */
+	public long getOpenCount() {
+		return opens.get();
+	}
+
+	/**
+	 * @return the total number of read and write borrows
+	 */
+	public long getBorrowCount() {
+		return borrows.get();
+	}
+
+	/**
+	 * @return the number of borrows that had to wait for another borrower to
+	 *         return a connection
+	 */
+	public long getWaitCount() {
+		return waits.get();
+	}
+
+	/**
+	 * @return the number of read-only connections currently open
+	 */
+	public int getOpenReaderCount() {
+		return readerCount.get();
+	}
+
+	public boolean isClosed() {
+		return closed;
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Registers a listener to be notified when connections are opened and closed.
+	 * Listeners only see connections opened after they are registered.
+	 *
+	 * @param listener - the listener to add
+	 */
+	public void addConnectionListener(ConnectionListener listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * Borrows the write connection. Only one thread may hold the write connection
+	 * at a time, other threads wait until it is returned. The same thread may
+	 * borrow it again while already holding it, the connection is only released
+	 * once every lease has been closed.
+	 * <p>
+	 * If the outermost lease is closed while a transaction is still open, that
+	 * transaction is rolled back and auto-commit is restored.
+	 *
+	 * @return a lease on the write connection
+	 * @throws SQLException if the provider is closed or the connection could not
+	 *                      be opened
+	 */
+	public ConnectionLease borrowWrite() throws SQLException {
+		checkOpen();
+		if (!writeLock.tryLock()) {
+			waits.incrementAndGet();
+			writeLock.lock();
+		}
+		try {
+			if (writeConnection == null || writeConnection.getConnection().isClosed()) {
+				writeConnection = open(false);
+			}
+		} catch (SQLException e) {
+			writeLock.unlock();
+			throw e;
+		}
+		borrows.incrementAndGet();
+		return new ConnectionLease(this, writeConnection);
+	}
+
+	/**
+	 * Borrows a read-only connection from the pool. A new connection is opened if
+	 * none are idle and the pool is not yet full, otherwise the caller waits for
+	 * another borrower to return one.
+	 *
+	 * @return a lease on a read-only connection
+	 * @throws SQLException if the provider is closed, the connection could not be
+	 *                      opened or no connection was returned in time
+	 */
+	public ConnectionLease borrowRead() throws SQLException {
+		checkOpen();
+		PooledConnection pooled = idleReaders.poll();
+		if (pooled == null) {
+			pooled = openReaderIfPoolNotFull();
+		}
+		if (pooled == null) {
+			waits.incrementAndGet();
+			try {
+				pooled = idleReaders.poll(BORROW_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new SQLException("Interrupted while waiting for a read-only connection", e);
+			}
+			if (pooled == null) {
+				throw new SQLException(String.format("No read-only connection available for %s after %d seconds",
+						url, BORROW_TIMEOUT_SECONDS));
+			}
+		}
+		borrows.incrementAndGet();
+		return new ConnectionLease(this, pooled);
+	}
+
+	/**
+	 * Closes every connection owned by this provider. Leases borrowed after this
+	 * call fail. Calling close on a closed provider has no effect.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		writeLock.lock();
+		try {
+			if (writeConnection != null) {
+				closeConnection(writeConnection);
+				writeConnection = null;
+			}
+		} finally {
+			writeLock.unlock();
+		}
+		for (PooledConnection reader : openReaders) {
+			closeConnection(reader);
+		}
+		openReaders.clear();
+		idleReaders.clear();
+		readerCount.set(0);
+		logger.info(String.format("Closed connections for %s. %s", url, statistics()));
+	}
+
+	/**
+	 * Returns a one line summary of this provider's counters.
+	 *
+	 * @return the counters as a String
+	 */
+	public String statistics() {
+		return String.format("opens:%d, borrows:%d, waits:%d", getOpenCount(), getBorrowCount(), getWaitCount());
+	}
+
+	/**
+	 * Returns a leased connection to the provider. Called by
+	 * {@link ConnectionLease#close()}.
+	 *
+	 * @param pooled - the connection being returned
+	 */
+	void release(PooledConnection pooled) {
+		if (!pooled.isReadOnly()) {
+			try {
+				if (writeLock.getHoldCount() == 1) {
+					resetWriteConnection(pooled);
+				}
+			} finally {
+				writeLock.unlock();
+			}
+			return;
+		}
+		if (closed) {
+			closeConnection(pooled);
+			return;
+		}
+		idleReaders.offer(pooled);
+	}
+
+	private void resetWriteConnection(PooledConnection pooled) {
+		try {
+			Connection conn = pooled.getConnection();
+			if (!conn.isClosed() && !conn.getAutoCommit()) {
+				logger.warn("Write connection returned with an open transaction, rolling back.");
+				conn.rollback();
+				conn.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to reset write connection for %s. %s", url, e.getMessage()));
+		}
+	}
+
+	private PooledConnection openReaderIfPoolNotFull() throws SQLException {
+		while (true) {
+			int current = readerCount.get();
+			if (current >= readPoolSize) {
+				return null;
+			}
+			if (readerCount.compareAndSet(current, current + 1)) {
+				break;
+			}
+		}
+		try {
+			PooledConnection reader = open(true);
+			openReaders.add(reader);
+			return reader;
+		} catch (SQLException e) {
+			readerCount.decrementAndGet();
+			throw e;
+		}
+	}
+
+	private PooledConnection open(boolean readOnly) throws SQLException {
+		SQLiteConfig sqliteConfig = new SQLiteConfig();
+		if (readOnly) {
+			sqliteConfig.setReadOnly(true);
+		} else {
+			sqliteConfig.setJournalMode(SQLiteConfig.JournalMode.WAL);
+		}
+		Connection connection = DriverManager.getConnection(url, sqliteConfig.toProperties());
+		opens.incrementAndGet();
+		try {
+			for (ConnectionListener listener : listeners) {
+				listener.onOpen(connection, readOnly);
+			}
+		} catch (SQLException e) {
+			connection.close();
+			throw e;
+		}
+		String log = String.format("Opened %s connection to %s", readOnly ? "read-only" : "write", url);
+		logger.info(log);
+		return new PooledConnection(connection, readOnly);
+	}
+
+	private void closeConnection(PooledConnection pooled) {
+		for (ConnectionListener listener : listeners) {
+			listener.onClose(pooled.getConnection(), pooled.isReadOnly());
+		}
+		pooled.closeStatements();
+		try {
+			pooled.getConnection().close();
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to close connection to %s. %s", url, e.getMessage()));
+		}
+	}
+
+	private void checkOpen() throws SQLException {
+		if (closed) {
+			throw new SQLException(String.format("Connection provider for %s has been closed", url));
+		}
+	}
+
+	/*
+	 * =========================== POOLED CONNECTION ===========================
+	 */
+
+	/**
+	 * A connection owned by the provider together with its statement cache.
+	 */
+	static class PooledConnection {
+
+		private final Connection connection;
+		private final boolean readOnly;
+		private final Map<String, PreparedStatement> statements;
+
+		PooledConnection(Connection connection, boolean readOnly) {
+			this.connection = connection;
+			this.readOnly = readOnly;
+			this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+					if (size() > STATEMENT_CACHE_SIZE) {
+						closeQuietly(eldest.getValue());
+						return true;
+					}
+					return false;
+				}
+			};
+		}
+
+		Connection getConnection() {
+			return connection;
+		}
+
+		boolean isReadOnly() {
+			return readOnly;
+		}
+
+		PreparedStatement prepare(String sql) throws SQLException {
+			PreparedStatement pstmt = statements.get(sql);
+			if (pstmt == null || pstmt.isClosed()) {
+				pstmt = connection.prepareStatement(sql);
+				statements.put(sql, pstmt);
+			} else {
+				pstmt.clearParameters();
+			}
+			return pstmt;
+		}
+
+		void closeStatements() {
+			for (PreparedStatement pstmt : new ArrayList<>(statements.values())) {
+				closeQuietly(pstmt);
+			}
+			statements.clear();
+		}
+
+		private static void closeQuietly(PreparedStatement pstmt) {
+			try {
+				pstmt.close();
+			} catch (SQLException e) {
+				logger.error("Failed to close cached statement. " + e.getMessage());
+			}
+		}
+	}
+}
@@ -7,9 +7,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.sql.Connection;
 import java.sql.DatabaseMetaData;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
@@ -20,9 +18,14 @@ import java.sql.SQLException;
  * to the database, load the database file, and delete the database file. It
  * also includes methods to check the existence of tables within the database.
  * 
+ * All connections to the database file are made through the Database's
+ * {@link ConnectionProvider}, which keeps one long-lived write connection and
+ * a small pool of read-only connections.
+ * 
  * * Note: The Database class assumes that the necessary SQLite JDBC driver is
  * available.
  * 
+ * @see ConnectionProvider
  * @author LORD GABRIEL
  */
 public class Database {
@@ -39,6 +42,11 @@ public class Database {
 	 * The URL string used to connect to the database.
 	 */
 	private String url;
+	/**
+	 * The provider through which all connections to the database file are
+	 * borrowed.
+	 */
+	private ConnectionProvider connectionProvider;
 	private static final Logger logger = LogManager.getLogger(Database.class.getName());
 
 	/*
@@ -56,7 +64,8 @@ public class Database {
 	public Database(String dbName) {
 		this.dbName = dbName;
 		this.filePath = Paths.get("").toAbsolutePath().toString();
-		this.url = String.format("jdbc:sqlite:%s\\%s.db", this.filePath, this.dbName);
+		this.url = "jdbc:sqlite:" + buildDBFilePath(this.filePath, this.dbName);
+		this.connectionProvider = new ConnectionProvider(this.url);
 	}
 
 	/**
@@ -70,7 +79,8 @@ public class Database {
 	public Database(String dbName, String filePath) {
 		this.dbName = dbName;
 		this.filePath = filePath;
-		this.url = String.format("jdbc:sqlite:%s\\%s.db", this.filePath, this.dbName);
+		this.url = "jdbc:sqlite:" + buildDBFilePath(this.filePath, this.dbName);
+		this.connectionProvider = new ConnectionProvider(this.url);
 	}
 
 	/*
@@ -98,6 +108,32 @@ public class Database {
 		return this.filePath;
 	}
 
+	/**
+	 * <p>
+	 * Getter method to return the path of the Database object's database file
+	 * </p>
+	 * 
+	 * @return the path of the database file
+	 */
+	public String getDBFilePath() {
+		return buildDBFilePath(this.filePath, this.dbName);
+	}
+
+	/**
+	 * <p>
+	 * Builds the path of the database file of name dbName at filePath location.
+	 * The WAL and shared memory files of the database sit beside it, with -wal
+	 * and -shm appended.
+	 * </p>
+	 * 
+	 * @param filePath - location of the database file
+	 * @param dbName   - name of the database file
+	 * @return the path of the database file
+	 */
+	public static String buildDBFilePath(String filePath, String dbName) {
+		return String.format("%s\\%s.db", filePath, dbName);
+	}
+
 	/**
 	 * <p>
 	 * Getter method to return Database object's url(), needed for database
@@ -110,6 +146,18 @@ public class Database {
 		return this.url;
 	}
 
+	/**
+	 * <p>
+	 * Getter method to return the ConnectionProvider through which all
+	 * connections to this Database's file are borrowed.
+	 * </p>
+	 * 
+	 * @return the connection provider for this database file
+	 */
+	public ConnectionProvider getConnectionProvider() {
+		return this.connectionProvider;
+	}
+
 	/*
 	 * =========================== METHODS ===========================
 	 */
@@ -123,8 +171,7 @@ public class Database {
 	 *         filePath location
 	 */
 	public boolean checkDB() {
-		String path = String.format("%s\\%s.db", filePath, dbName);
-		File file = new File(path);
+		File file = new File(getDBFilePath());
 		return file.exists();
 	}
 
@@ -135,12 +182,10 @@ public class Database {
 	 * </p>
 	 */
 	public void loadDB() {
-		try (Connection conn = DriverManager.getConnection(url)) {
-			if (conn != null) {
-				DatabaseMetaData meta = conn.getMetaData();
-				logger.info("Driver name: %s", meta.getDriverName());
-				logger.info("A new DB has been created.");
-			}
+		try (ConnectionLease lease = connectionProvider.borrowWrite()) {
+			DatabaseMetaData meta = lease.getConnection().getMetaData();
+			logger.info(String.format("Driver name: %s", meta.getDriverName()));
+			logger.info("A new DB has been created.");
 		} catch (SQLException e) {
 			logger.error("Failed to load DB", e);
 		}
@@ -148,11 +193,15 @@ public class Database {
 
 	/**
 	 * <p>
-	 * Deletes database file of name dbName at filePath location.
+	 * Deletes database file of name dbName at filePath location. Open
+	 * connections are closed first, and a new ConnectionProvider is created so
+	 * the Database can be loaded again afterwards.
 	 * </p>
 	 */
 	public void deleteDB() {
-		String fullPath = String.format("%s\\%s.db", filePath, dbName);
+		closeConnections();
+		connectionProvider = new ConnectionProvider(url);
+		String fullPath = getDBFilePath();
 		Path path = Paths.get(fullPath);
 		try {
 			Files.delete(path);
@@ -174,11 +223,13 @@ public class Database {
 	 */
 	public boolean checkTable(String tableName) {
 		String query = "SELECT name FROM sqlite_master where type='table'\n" + "AND name =?";
-		try (Connection connection = DriverManager.getConnection(this.url);
-				PreparedStatement statement = connection.prepareStatement(query)) {
+		try (ConnectionLease lease = connectionProvider.borrowRead()) {
+			PreparedStatement statement = lease.prepare(query);
 			statement.setString(1, tableName);
-			ResultSet resultSet = statement.executeQuery();
-			boolean tableExists = resultSet.next();
+			boolean tableExists;
+			try (ResultSet resultSet = statement.executeQuery()) {
+				tableExists = resultSet.next();
+			}
 			String log = String.format("Table:%s, tableExists:%s", tableName, tableExists);
 			logger.info(log);
 			return tableExists; // will return true if there is something to return
@@ -192,4 +243,14 @@ public class Database {
 
 	}
 
+	/**
+	 * <p>
+	 * Closes every connection held by this Database's ConnectionProvider. Should be
+	 * called once the Database is no longer needed.
+	 * </p>
+	 */
+	public void closeConnections() {
+		connectionProvider.close();
+	}
+
 }
@@ -0,0 +1,256 @@
+package sqliteData.tables;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.logging.log4j.Logger;
+
+import metrics.jfr.CategoryResolvedEvent;
+import sqliteData.ConnectionLease;
+
+/**
+ * The CategoryResolver class keeps an in-memory copy of the Category table for
+ * the duration of a statement import. The whole table is read once by
+ * {@link #load()}, after which every description lookup is served from a
+ * HashMap rather than a query per transaction.
+ * <p>
+ * New description,category pairs are added to the map straight away and
+ * written through to the Category table in batches, either once
+ * {@link #getBatchSize()} pairs are pending or when {@link #flush()} is called.
+ * As with {@link sqliteData.tables.writers.TableCategoryWriter#insertEntry},
+ * an existing mapping for a description is never overwritten.
+ * <p>
+ * The resolver reads and writes the Category table through the TableCategory
+ * it is constructed with.
+ * <p>
+ * Hit, miss and write counts are kept so the number of queries saved can be
+ * reported after an import. Each lookup also emits a CategoryResolvedEvent for
+ * Java Flight Recorder.
+ *
+ * @see TableCategory
+ * @see sqliteData.tables.readers.TableCategoryReader
+ * @see sqliteData.tables.writers.TableCategoryWriter
+ * @author LORD GABRIEL
+ */
+
+public class CategoryResolver {
+
+	/**
+	 * Default number of new mappings held before they are written to the table.
+	 */
+	public static final int DEFAULT_BATCH_SIZE = 100;
+
+	private final TableCategory table;
+	private final Logger logger;
+	private final Map<String, String> categories = new ConcurrentHashMap<>();
+	private final Map<String, String> pendingWrites = new LinkedHashMap<>();
+	private int batchSize = DEFAULT_BATCH_SIZE;
+	private boolean loaded;
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+	private final AtomicLong writes = new AtomicLong();
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a CategoryResolver for the specified TableCategory. The table is
+	 * not read until {@link #load()} is called.
+	 *
+	 * @param tC - the TableCategory object to resolve categories from
+	 */
+	public CategoryResolver(TableCategory tC) {
+		this.table = tC;
+		this.logger = tC.getLogger();
+	}
+
+	/*
+	 * =========================== GETTERS ============================
+	 */
+
+	/**
+	 * @return the Category table categories are resolved from
+	 */
+	public TableCategory getTable() {
+		return table;
+	}
+
+	public int getBatchSize() {
+		return batchSize;
+	}
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * @return the number of lookups answered from memory
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * @return the number of lookups for descriptions with no known category
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * @return the number of new mappings written to the Category table
+	 */
+	public long getWriteCount() {
+		return writes.get();
+	}
+
+	/**
+	 * @return the number of description,category pairs currently held in memory
+	 */
+	public int size() {
+		return categories.size();
+	}
+
+	/*
+	 * =========================== SETTERS ============================
+	 */
+
+	/**
+	 * Sets the number of new mappings held before they are written to the table.
+	 *
+	 * @param batchSize - the number of mappings per write, at least 1
+	 */
+	public void setBatchSize(int batchSize) {
+		this.batchSize = Math.max(1, batchSize);
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Reads every description,category pair from the Category table into memory,
+	 * replacing anything previously loaded. Pending writes are kept.
+	 */
+	public synchronized void load() {
+		String query = "SELECT Description, Category FROM " + table.getTableName() + ";";
+		categories.clear();
+		try (ConnectionLease lease = table.getDB().getConnectionProvider().borrowRead();
+				Statement stmt = lease.getConnection().createStatement();
+				ResultSet rs = stmt.executeQuery(query)) {
+			while (rs.next()) {
+				categories.put(rs.getString("Description"), rs.getString("Category"));
+			}
+			loaded = true;
+			String log = String.format("Loaded %d category mappings from %s table.", categories.size(),
+					table.getTableName());
+			logger.info(log);
+		} catch (SQLException e) {
+			String log = String.format("Failed to load category mappings from %s table. %s", table.getTableName(),
+					e.getMessage());
+			logger.error(log);
+		}
+		categories.putAll(pendingWrites);
+	}
+
+	/**
+	 * Returns the category for the specified processed description.
+	 *
+	 * @param description - the processed description of a transaction
+	 * @return the category for this description, or null if none is known
+	 */
+	public String resolve(String description) {
+		String category = categories.get(description);
+		if (category == null) {
+			misses.incrementAndGet();
+		} else {
+			hits.incrementAndGet();
+		}
+		CategoryResolvedEvent event = new CategoryResolvedEvent();
+		if (event.isEnabled()) {
+			event.description = description;
+			event.category = category;
+			event.hit = category != null;
+			event.commit();
+		}
+		return category;
+	}
+
+	/**
+	 * Records a description,category pair. If the description has no category yet
+	 * the pair is held in memory and queued for writing to the Category table.
+	 *
+	 * @param description - the processed description of a transaction
+	 * @param category    - the category to assign to the description
+	 */
+	public synchronized void record(String description, String category) {
+		if (description == null || category == null) {
+			return;
+		}
+		if (categories.putIfAbsent(description, category) == null) {
+			pendingWrites.put(description, category);
+			if (pendingWrites.size() >= batchSize) {
+				flush();
+			}
+		}
+	}
+
+	/**
+	 * Writes every pending description,category pair to the Category table as a
+	 * single batch. If the write fails the pairs are kept for the next flush.
+	 */
+	public synchronized void flush() {
+		if (pendingWrites.isEmpty()) {
+			return;
+		}
+		String insert = "INSERT OR IGNORE INTO " + table.getTableName() + " (Description, Category) VALUES(?, ?);";
+		try (ConnectionLease lease = table.getDB().getConnectionProvider().borrowWrite()) {
+			Connection conn = lease.getConnection();
+			PreparedStatement pstmt = lease.prepare(insert);
+			conn.setAutoCommit(false);
+			try {
+				for (Map.Entry<String, String> entry : pendingWrites.entrySet()) {
+					pstmt.setString(1, entry.getKey());
+					pstmt.setString(2, entry.getValue());
+					pstmt.addBatch();
+				}
+				pstmt.executeBatch();
+				conn.commit();
+			} catch (SQLException e) {
+				pstmt.clearBatch();
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			writes.addAndGet(pendingWrites.size());
+			String log = String.format("Wrote %d category mappings to %s table.", pendingWrites.size(),
+					table.getTableName());
+			logger.info(log);
+			pendingWrites.clear();
+		} catch (SQLException e) {
+			String log = String.format("Failed to write %d category mappings to %s table. %s", pendingWrites.size(),
+					table.getTableName(), e.getMessage());
+			logger.error(log);
+		}
+	}
+
+	/**
+	 * Returns a one line summary of this resolver's counters.
+	 *
+	 * @return the counters as a String
+	 */
+	public String statistics() {
+		return String.format("Category lookups - hits:%d, misses:%d, writes:%d", getHitCount(), getMissCount(),
+				getWriteCount());
+	}
+}
@@ -1,7 +1,6 @@
 package sqliteData.tables;
 
 import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.ResultSetMetaData;
 import java.sql.Statement;
@@ -12,6 +11,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import sqliteData.Database;
+import sqliteData.ConnectionLease;
+import transactions.Money;
 
 /**
  * Table objects represent the tables found within .db files. A DB is passed
@@ -132,6 +133,132 @@ public abstract class Table {
 	 */
 	abstract public void createTable();
 
+	/**
+	 * <p>
+	 * Creates any indexes this Table needs within .db file from DB class
+	 * variable, if they do not already exist. Called when a table is created, and
+	 * when an existing table is checked on start up so that databases created
+	 * before an index was added are migrated. Tables without indexes do nothing.
+	 * </p>
+	 */
+	public void createIndexes() {
+	}
+
+	/**
+	 * <p>
+	 * Brings an existing table within .db file up to date with the current
+	 * schema, for databases created by earlier versions. Called on start up
+	 * before {@link #createIndexes()}. Tables whose schema has not changed do
+	 * nothing.
+	 * </p>
+	 */
+	public void migrateSchema() {
+	}
+
+	/**
+	 * <p>
+	 * Returns the declared type of a column of this Table, e.g. "REAL".
+	 * </p>
+	 * 
+	 * @param column - name of the column
+	 * @return the declared type of the column, or null if there is no such column
+	 */
+	public String columnType(String column) {
+		String tableInfo = String.format("PRAGMA table_info(%s);", tableName);
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowRead();
+				Statement stmt = lease.getConnection().createStatement();
+				ResultSet rs = stmt.executeQuery(tableInfo)) {
+			while (rs.next()) {
+				if (column.equalsIgnoreCase(rs.getString("name"))) {
+					return rs.getString("type");
+				}
+			}
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to read column types of table:%s. %s", tableName, e.getMessage()));
+		}
+		return null;
+	}
+
+	/**
+	 * <p>
+	 * Converts money columns stored as REAL pounds by earlier versions to INTEGER
+	 * pence. SQLite cannot change the type of a column, so the table is copied
+	 * into a new table with the current schema, each amount rounded to the
+	 * nearest penny, and the new table replaces the old one. All of this happens
+	 * in one transaction. Indexes dropped with the old table are created again by
+	 * {@link #createIndexes()}.
+	 * </p>
+	 * 
+	 * @param columnDefinitions - the column definitions of the current schema, as
+	 *                          used to create this Table
+	 * @param moneyColumns      - the columns holding amounts of money
+	 */
+	protected void migrateToPence(String columnDefinitions, String... moneyColumns) {
+		boolean migrate = false;
+		for (String column : moneyColumns) {
+			String type = columnType(column);
+			if (type != null && !type.equalsIgnoreCase("INTEGER")) {
+				migrate = true;
+			}
+		}
+		if (!migrate) {
+			return;
+		}
+		List<String> money = List.of(moneyColumns);
+		List<String> selected = new ArrayList<>();
+		for (String header : headers) {
+			selected.add(money.contains(header)
+					? String.format("CAST(ROUND(%s * %d) AS INTEGER)", header, Money.PENCE_PER_POUND)
+					: header);
+		}
+		String migrationTable = tableName + "_migration";
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			Connection conn = lease.getConnection();
+			conn.setAutoCommit(false);
+			try {
+				stmt.execute("DROP TABLE IF EXISTS " + migrationTable + ";");
+				stmt.execute("CREATE TABLE " + migrationTable + " " + columnDefinitions + ";");
+				int rows = stmt.executeUpdate(String.format("INSERT INTO %s (%s) SELECT %s FROM %s;", migrationTable,
+						String.join(", ", headers), String.join(", ", selected), tableName));
+				stmt.execute("DROP TABLE " + tableName + ";");
+				stmt.execute("ALTER TABLE " + migrationTable + " RENAME TO " + tableName + ";");
+				conn.commit();
+				logger.info(String.format("Migrated %d rows of table:%s to amounts in pence (%s)", rows, tableName,
+						String.join(", ", moneyColumns)));
+			} catch (SQLException e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to migrate table:%s to amounts in pence. %s", tableName,
+					e.getMessage()));
+		}
+	}
+
+	/**
+	 * <p>
+	 * Creates an index of name: indexName on the given columns of this Table, if it
+	 * does not already exist.
+	 * </p>
+	 * 
+	 * @param indexName - name of the index
+	 * @param columns   - comma separated columns to index, in order
+	 */
+	protected void createIndex(String indexName, String columns) {
+		String addIndex = String.format("CREATE INDEX IF NOT EXISTS %s ON %s (%s);", indexName, tableName, columns);
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			stmt.execute(addIndex);
+			logger.info(String.format("Index:%s checked on table:%s (%s)", indexName, tableName, columns));
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to create index:%s on table:%s. %s", indexName, tableName,
+					e.getMessage()));
+		}
+	}
+
 	/**
 	 * <p>
 	 * Deletes a Table of name: tableName within .db file from DB class variable.
@@ -139,8 +266,8 @@ public abstract class Table {
 	 */
 	public void deleteTable() {
 		String deletion = String.format("DROP TABLE IF EXISTS %s;", tableName);
-		try (Connection connection = DriverManager.getConnection(DB.getUrl());
-				Statement stmt = connection.createStatement()) {
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
 			stmt.execute(deletion);
 			logger.info("Table:" + tableName + "deleted");
 		} catch (SQLException e) {
@@ -174,8 +301,8 @@ public abstract class Table {
 		String checkColumns = "SELECT * FROM " + tableName + " LIMIT 1";
 		List<String> columns = new ArrayList<>();
 		// collect metadata from this query
-		try (Connection conn = DriverManager.getConnection(DB.getUrl());
-				Statement stmt = conn.createStatement();
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowRead();
+				Statement stmt = lease.getConnection().createStatement();
 				ResultSet rs = stmt.executeQuery(checkColumns);) {
 
 			ResultSetMetaData rsmd = rs.getMetaData(); // Column metadata
@@ -2,9 +2,8 @@ package sqliteData.tables;
 
 import optionMenu.*;
 import sqliteData.Database;
+import sqliteData.ConnectionLease;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.ResultSet;
 import java.sql.Statement;
 import java.util.ArrayList;
@@ -95,7 +94,8 @@ public class TableCategory extends Table {
 		String addTable = "CREATE TABLE IF NOT EXISTS " + getTableName() + " (\n" + "Description text PRIMARY KEY,\n"
 				+ "Category text NOT NULL);";
 
-		try (Connection conn = DriverManager.getConnection(getDB().getUrl()); Statement stmt = conn.createStatement()) {
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
 			stmt.execute(addTable);
 			String log = String.format("%s table created.", getTableName());
 			logger.info(log);
@@ -117,8 +117,8 @@ public class TableCategory extends Table {
 		// Initialise a List so that we do not need to know size of array.
 		List<String> categories = new ArrayList<>();
 
-		try (Connection conn = DriverManager.getConnection(getDB().getUrl());
-				Statement stmt = conn.createStatement();
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead();
+				Statement stmt = lease.getConnection().createStatement();
 				ResultSet resultSet = stmt.executeQuery("SELECT DISTINCT Category FROM Category;")) {
 			// read all results
 			while (resultSet.next()) {
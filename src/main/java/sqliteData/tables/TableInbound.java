@@ -1,13 +1,12 @@
 package sqliteData.tables;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.Statement;
 import java.sql.SQLException;
 
 import java.util.List;
 
 import sqliteData.Database;
+import sqliteData.ConnectionLease;
 
 import java.util.ArrayList;
 
@@ -49,12 +48,10 @@ public class TableInbound extends Table {
 	 */
 
 	public void createTable() {
-		String addTable = "CREATE TABLE IF NOT EXISTS " + getTableName() + " (\n" + "ID text PRIMARY KEY, \n"
-				+ "Date text NOT NULL, \n" + "trType text, \n" + "RawDescription text NOT NULL, \n"
-				+ "ProcessDescription text NOT NULL, \n" + "Category text NOT NULL, \n" + "Paid_In REAL NOT NULL,"
-				+ "Balance REAL NOT NULL);";
+		String addTable = "CREATE TABLE IF NOT EXISTS " + getTableName() + " " + columnDefinitions() + ";";
 
-		try (Connection conn = DriverManager.getConnection(getDB().getUrl()); Statement stmt = conn.createStatement()) {
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
 			stmt.execute(addTable);
 			String log = String.format("Created Table: %s", getTableName());
 			logger.info(log);
@@ -62,11 +59,47 @@ public class TableInbound extends Table {
 			String log = String.format("Failed to create table: %s. %s", getTableName(), e.getMessage());
 			logger.error(log);
 		}
+		createIndexes();
+	}
+
+	/**
+	 * Creates the (Category, Date) index used by date range queries for a single
+	 * category, and the Date index used by date range queries across every
+	 * category.
+	 */
+
+	@Override
+	public void createIndexes() {
+		createIndex("idx_" + getTableName() + "_Category_Date", "Category, Date");
+		createIndex("idx_" + getTableName() + "_Date", "Date");
+	}
+
+	/**
+	 * Converts the Paid_In and Balance columns of tables created by earlier
+	 * versions from REAL pounds to INTEGER pence.
+	 */
+
+	@Override
+	public void migrateSchema() {
+		migrateToPence(columnDefinitions(), "Paid_In", "Balance");
 	}
 
 	/*
 	 * ================== METHODS =================
 	 */
+
+	/**
+	 * Returns the column definitions of this table. Amounts of money are held as
+	 * INTEGER pence.
+	 *
+	 * @return the column definitions, in brackets
+	 */
+
+	private String columnDefinitions() {
+		return "(\n" + "ID text PRIMARY KEY, \n" + "Date text NOT NULL, \n" + "trType text, \n"
+				+ "RawDescription text NOT NULL, \n" + "ProcessDescription text NOT NULL, \n"
+				+ "Category text NOT NULL, \n" + "Paid_In INTEGER NOT NULL, \n" + "Balance INTEGER NOT NULL)";
+	}
 	
     /**
      * Returns a list of column headers for the Inbound table.
@@ -0,0 +1,188 @@
+package sqliteData.tables;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqliteData.ConnectionLease;
+import sqliteData.Database;
+
+/**
+ * The TableMonthlyTotals class represents the MonthlyTotals table in a SQLite
+ * database. It extends the abstract Table class and provides functionality
+ * specific to the MonthlyTotals table.
+ *
+ * The MonthlyTotals table holds, for each category and month, the total paid
+ * in, the total paid out and the number of transactions in the Inbound and
+ * Outbound tables. It is kept up to date by the Inbound and Outbound writers,
+ * in the same transaction as the rows they insert, so totals can be read
+ * without scanning every transaction. It can be rebuilt from the Inbound and
+ * Outbound tables at any time.
+ *
+ * The MonthlyTotals table contains columns for Category, Month (YYYY-MM),
+ * Paid_In, Paid_Out and Count, with one row per Category and Month.
+ *
+ * @see Table
+ * @see Database
+ * @see sqliteData.tables.readers.TableMonthlyTotalsReader
+ * @see sqliteData.tables.writers.TableMonthlyTotalsWriter
+ * @author LORD GABRIEL
+ */
+
+public class TableMonthlyTotals extends Table {
+
+	/*
+	 * ============= CONSTRUCTORS ================
+	 */
+
+	/**
+	 * Constructs a new TableMonthlyTotals object with the specified Database.
+	 *
+	 * @param DB - the Database object associated with the table
+	 */
+
+	public TableMonthlyTotals(Database DB) {
+		setDB(DB);
+		setTableName("MonthlyTotals");
+		setHeaders(monthlyTotalsHeaders());
+	}
+
+	/*
+	 * =========== ABSTRACT IMPLEMENTATION ============
+	 */
+
+	/**
+	 * Creates the MonthlyTotals table in the database. The table will be created
+	 * only if it does not already exist. The table schema includes columns for
+	 * Category, Month, Paid_In, Paid_Out and Count.
+	 */
+
+	public void createTable() {
+		String addTable = "CREATE TABLE IF NOT EXISTS " + getTableName() + " " + columnDefinitions() + ";";
+
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			stmt.execute(addTable);
+			String log = String.format("Created Table: %s", getTableName());
+			logger.info(log);
+		} catch (SQLException e) {
+			String log = String.format("Failed to create table: %s. %s", getTableName(), e.getMessage());
+			logger.error(log);
+		}
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Builds the SQL statement that adds amounts to the totals of a category and
+	 * month, creating the row if there is none. The values to bind are the
+	 * Category, Month, Paid_In, Paid_Out and Count, in that order.
+	 *
+	 * @return the SQL statement
+	 */
+
+	public String buildUpsertQuery() {
+		return "INSERT INTO " + getTableName() + " (Category, Month, Paid_In, Paid_Out, Count) VALUES (?, ?, ?, ?, ?)"
+				+ upsertConflictClause();
+	}
+
+	/**
+	 * Builds the SQL statement that adds the totals of every category and month
+	 * of a transactions table, used when the table is rebuilt.
+	 *
+	 * @param sourceTable  - the name of the Inbound or Outbound table
+	 * @param amountColumn - the column holding the amount of each transaction
+	 * @param paidIn       - true if the amounts are paid in, false if paid out
+	 * @return the SQL statement, with no values to bind
+	 */
+
+	public String buildAddFromTableQuery(String sourceTable, String amountColumn, boolean paidIn) {
+		return aggregateInsert("Category", "", sourceTable, amountColumn, paidIn, "WHERE true",
+				"Category, substr(Date, 1, 7)");
+	}
+
+	/**
+	 * Builds the SQL statement that moves the totals of the transactions with a
+	 * description from one category to another, one half at a time: with remove
+	 * false the totals are added to the new category, with remove true they are
+	 * taken from the old one. Both halves must be executed before the
+	 * transactions themselves are updated. The values to bind are the category to
+	 * add to or take from, the ProcessDescription and the old Category.
+	 *
+	 * @param sourceTable  - the name of the Inbound or Outbound table
+	 * @param amountColumn - the column holding the amount of each transaction
+	 * @param paidIn       - true if the amounts are paid in, false if paid out
+	 * @param remove       - true to take the totals away, false to add them
+	 * @return the SQL statement
+	 */
+
+	public String buildMoveCategoryQuery(String sourceTable, String amountColumn, boolean paidIn, boolean remove) {
+		return aggregateInsert("?", remove ? "-" : "", sourceTable, amountColumn, paidIn,
+				"WHERE ProcessDescription = ? AND Category = ?", "substr(Date, 1, 7)");
+	}
+
+	/**
+	 * @return the SQL statement that deletes the rows left with no transactions
+	 */
+
+	public String buildDeleteEmptyQuery() {
+		return "DELETE FROM " + getTableName() + " WHERE Count = 0;";
+	}
+
+	/**
+	 * Builds an INSERT ... SELECT that sums the rows of a transactions table by
+	 * month and adds the sums to the totals. The SELECT always has a WHERE clause
+	 * so that SQLite cannot read the ON CONFLICT clause as part of a join.
+	 */
+
+	private String aggregateInsert(String categoryExpression, String sign, String sourceTable, String amountColumn,
+			boolean paidIn, String where, String groupBy) {
+		String sum = sign + "SUM(" + amountColumn + ")";
+		return "INSERT INTO " + getTableName() + " (Category, Month, Paid_In, Paid_Out, Count) SELECT "
+				+ categoryExpression + ", substr(Date, 1, 7), " + (paidIn ? sum + ", 0" : "0, " + sum) + ", " + sign
+				+ "COUNT(*) FROM " + sourceTable + " " + where + " GROUP BY " + groupBy + upsertConflictClause();
+	}
+
+	/**
+	 * Returns the clause that adds to an existing row instead of inserting a
+	 * second row for the same category and month.
+	 *
+	 * @return the ON CONFLICT clause, ending the statement
+	 */
+
+	protected String upsertConflictClause() {
+		return " ON CONFLICT (Category, Month) DO UPDATE SET Paid_In = Paid_In + excluded.Paid_In,"
+				+ " Paid_Out = Paid_Out + excluded.Paid_Out, Count = Count + excluded.Count;";
+	}
+
+	/**
+	 * Returns the column definitions of this table. Amounts of money are held as
+	 * INTEGER pence.
+	 *
+	 * @return the column definitions, in brackets
+	 */
+
+	private String columnDefinitions() {
+		return "(\n" + "Category text NOT NULL, \n" + "Month text NOT NULL, \n" + "Paid_In INTEGER NOT NULL, \n"
+				+ "Paid_Out INTEGER NOT NULL, \n" + "Count INTEGER NOT NULL, \n" + "PRIMARY KEY (Category, Month))";
+	}
+
+	/**
+	 * Returns a list of column headers for the MonthlyTotals table.
+	 *
+	 * @return Column headers to be found within MonthlyTotals table in .db file.
+	 */
+
+	public List<String> monthlyTotalsHeaders() {
+		List<String> head = new ArrayList<>();
+		head.add("Category");
+		head.add("Month");
+		head.add("Paid_In");
+		head.add("Paid_Out");
+		head.add("Count");
+		return head;
+	}
+}
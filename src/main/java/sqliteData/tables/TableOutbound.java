@@ -1,7 +1,5 @@
 package sqliteData.tables;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.Statement;
 import java.sql.SQLException;
 
@@ -9,6 +7,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import sqliteData.Database;
+import sqliteData.ConnectionLease;
 /**
  * The TableOutbound class represents an outbound table in a SQLite database. It
  * extends the abstract Table class and provides functionality specific to the
@@ -48,18 +47,10 @@ public class TableOutbound extends Table{
 	 */
 
 	public void createTable() {
-		String addTable = "CREATE TABLE IF NOT EXISTS "+ getTableName() +" (\n"
-				+"ID text PRIMARY KEY, \n"
-				+"Date text NOT NULL, \n"
-				+"trType text, \n"
-				+"RawDescription text NOT NULL, \n"
-				+"ProcessDescription text NOT NULL, \n"
-				+"Category text NOT NULL, \n"
-				+"Paid_Out REAL NOT NULL,"
-				+"Balance REAL NOT NULL);";
+		String addTable = "CREATE TABLE IF NOT EXISTS " + getTableName() + " " + columnDefinitions() + ";";
 					
-		try(Connection conn = DriverManager.getConnection(getDB().getUrl());
-					Statement stmt = conn.createStatement()) {
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
 			stmt.execute(addTable);
 			String log = String.format("Created Table: %s", getTableName());
 			logger.info(log);
@@ -67,12 +58,48 @@ public class TableOutbound extends Table{
 			String log = String.format("Failed to create table: %s. %s", getTableName(), e.getMessage());
 			logger.error(log);
 		}
+		createIndexes();
+	}
+
+	/**
+	 * Creates the (Category, Date) index used by date range queries for a single
+	 * category, and the Date index used by date range queries across every
+	 * category.
+	 */
+
+	@Override
+	public void createIndexes() {
+		createIndex("idx_" + getTableName() + "_Category_Date", "Category, Date");
+		createIndex("idx_" + getTableName() + "_Date", "Date");
 	}
 	
 	
+	/**
+	 * Converts the Paid_Out and Balance columns of tables created by earlier
+	 * versions from REAL pounds to INTEGER pence.
+	 */
+
+	@Override
+	public void migrateSchema() {
+		migrateToPence(columnDefinitions(), "Paid_Out", "Balance");
+	}
+
 	/*
 	 * ================== METHODS =================
 	 */
+
+	/**
+	 * Returns the column definitions of this table. Amounts of money are held as
+	 * INTEGER pence.
+	 *
+	 * @return the column definitions, in brackets
+	 */
+
+	private String columnDefinitions() {
+		return "(\n" + "ID text PRIMARY KEY, \n" + "Date text NOT NULL, \n" + "trType text, \n"
+				+ "RawDescription text NOT NULL, \n" + "ProcessDescription text NOT NULL, \n"
+				+ "Category text NOT NULL, \n" + "Paid_Out INTEGER NOT NULL, \n" + "Balance INTEGER NOT NULL)";
+	}
 	
     /**
      * Returns a list of column headers for the Outbound table.
@@ -0,0 +1,143 @@
+package sqliteData.tables;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqliteData.ConnectionLease;
+import sqliteData.Database;
+
+/**
+ * The TablePendingCategory class represents the PendingCategory table in a
+ * SQLite database. It extends the abstract Table class and provides
+ * functionality specific to the PendingCategory table.
+ *
+ * The PendingCategory table is a work queue of transactions imported without a
+ * category. When a statement is imported without prompting the user, each
+ * transaction whose description has no category is written to the Inbound or
+ * Outbound table with the category {@link #UNCATEGORISED}, and queued here so
+ * that it can be categorised later. One row is kept per transaction ID.
+ *
+ * The PendingCategory table contains columns for ID, Date, ProcessDescription,
+ * Direction and Amount.
+ *
+ * @see Table
+ * @see Database
+ * @see sqliteData.tables.readers.TablePendingCategoryReader
+ * @see sqliteData.tables.writers.TablePendingCategoryWriter
+ * @author LORD GABRIEL
+ */
+
+public class TablePendingCategory extends Table {
+
+	/**
+	 * Category given to transactions imported without a category, until they are
+	 * categorised. Not recorded in the Category table.
+	 */
+	public static final String UNCATEGORISED = "Uncategorised";
+
+	/**
+	 * Direction of a queued transaction with a paid in value.
+	 */
+	public static final String INCOMING = "Incoming";
+
+	/**
+	 * Direction of a queued transaction with a paid out value.
+	 */
+	public static final String OUTGOING = "Outgoing";
+
+	/*
+	 * ============= CONSTRUCTORS ================
+	 */
+
+	/**
+	 * Constructs a new TablePendingCategory object with the specified Database.
+	 *
+	 * @param DB - the Database object associated with the table
+	 */
+
+	public TablePendingCategory(Database DB) {
+		setDB(DB);
+		setTableName("PendingCategory");
+		setHeaders(pendingCategoryHeaders());
+	}
+
+	/*
+	 * =========== ABSTRACT IMPLEMENTATION ============
+	 */
+
+	/**
+	 * Creates the PendingCategory table in the database. The table will be created
+	 * only if it does not already exist. The table schema includes columns for ID,
+	 * Date, ProcessDescription, Direction and Amount.
+	 */
+
+	public void createTable() {
+		String addTable = "CREATE TABLE IF NOT EXISTS " + getTableName() + " " + columnDefinitions() + ";";
+
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			stmt.execute(addTable);
+			String log = String.format("Created Table: %s", getTableName());
+			logger.info(log);
+		} catch (SQLException e) {
+			String log = String.format("Failed to create table: %s. %s", getTableName(), e.getMessage());
+			logger.error(log);
+		}
+		createIndexes();
+	}
+
+	/**
+	 * Creates the ProcessDescription index used to group the queue by description
+	 * and to remove every row for a description once it is categorised.
+	 */
+
+	@Override
+	public void createIndexes() {
+		createIndex("idx_" + getTableName() + "_ProcessDescription", "ProcessDescription");
+	}
+
+	/**
+	 * Converts the Amount column of tables created by earlier versions from REAL
+	 * pounds to INTEGER pence.
+	 */
+
+	@Override
+	public void migrateSchema() {
+		migrateToPence(columnDefinitions(), "Amount");
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Returns the column definitions of this table. Amounts of money are held as
+	 * INTEGER pence.
+	 *
+	 * @return the column definitions, in brackets
+	 */
+
+	private String columnDefinitions() {
+		return "(\n" + "ID text PRIMARY KEY, \n" + "Date text NOT NULL, \n" + "ProcessDescription text NOT NULL, \n"
+				+ "Direction text NOT NULL, \n" + "Amount INTEGER NOT NULL)";
+	}
+
+	/**
+	 * Returns a list of column headers for the PendingCategory table.
+	 *
+	 * @return Column headers to be found within PendingCategory table in .db file.
+	 */
+
+	public List<String> pendingCategoryHeaders() {
+		List<String> head = new ArrayList<>();
+		head.add("ID");
+		head.add("Date");
+		head.add("ProcessDescription");
+		head.add("Direction");
+		head.add("Amount");
+
+		return head;
+	}
+}
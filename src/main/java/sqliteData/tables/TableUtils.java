@@ -1,23 +1,33 @@
 package sqliteData.tables;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
+import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.sql.Statement;
+import java.time.YearMonth;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
 
 import org.apache.logging.log4j.Logger;
 
+import metrics.MetricsRegistry;
+import metrics.Timer;
+import metrics.jfr.QueryExecutedEvent;
 import sqliteData.Database;
+import sqliteData.ConnectionLease;
 import transactions.Transaction;
 
 /**
  * The TableUtils class provides utility methods for executing SQL queries on
  * tables, extracting transactions from result sets, and logging.
+ *
+ * Transaction queries can be read into a list or map, or read a row at a time
+ * through a {@link TransactionCursor}, without holding every row in memory.
+ * Each transaction query is timed in the default MetricsRegistry, along with
+ * the number of rows it returned, and emits a QueryExecutedEvent for Java
+ * Flight Recorder.
  */
 
 public class TableUtils {
@@ -83,13 +93,14 @@ public class TableUtils {
 	}
 
 	/**
-	 * Create an empty hashmap of integer - transactions, useful for testing This is
-	 * intended to be used to sort transactions into months
+	 * Create an empty map of year and month - transactions, useful for testing.
+	 * This is intended to be used to sort transactions into months, in month
+	 * order, so months of different years are kept apart.
 	 * 
-	 * @return an empty hashmap of Transaction Objects organised by integer
+	 * @return an empty map of Transaction Objects organised by YearMonth
 	 */
-	protected Map<Integer, List<Transaction>> createEmptyIntegerTransactionHashMap() {
-		Map<Integer, List<Transaction>> transactionsByMonth = new HashMap<>();
+	protected Map<YearMonth, List<Transaction>> createEmptyYearMonthTransactionMap() {
+		Map<YearMonth, List<Transaction>> transactionsByMonth = new TreeMap<>();
 		return transactionsByMonth;
 	}
 
@@ -105,18 +116,134 @@ public class TableUtils {
 	}
 
 	/**
-	 * Builds an SQL query for extracting transactions within the specified date
-	 * range and category.
+	 * Extracts the year and month from the date string.
+	 *
+	 * @param date the date string in the format "YYYY-MM-DD"
+	 * @return the year and month of the date
+	 */
+	public YearMonth extractYearMonthFromDate(String date) {
+		return YearMonth.parse(date.substring(0, 7));
+	}
+
+	/**
+	 * Builds a parameterised SQL query for extracting transactions within the
+	 * specified date range and category. Dates are stored as YYYY-MM-DD text, so
+	 * the Date column is compared directly, allowing the (Category, Date) index to
+	 * be used. The values to bind are given by
+	 * {@link #buildTransactionQueryParameters(String, String, String)}.
 	 *
 	 * @param tableName - the name of the table to query
+	 * @return the SQL query string
+	 */
+	public String buildTransactionQuery(String tableName) {
+		return "SELECT * FROM " + tableName + " WHERE Category = ? AND Date BETWEEN ? AND ? ORDER BY Date ASC;";
+	}
+
+	/**
+	 * Returns the values to bind to a query built by
+	 * {@link #buildTransactionQuery(String)}, in parameter
+	 * order.
+	 *
 	 * @param startDate - the start date of the date range
 	 * @param endDate   - the end date of the date range
 	 * @param category  - the category for filtering the transactions
+	 * @return the query parameters
+	 */
+	public Object[] buildTransactionQueryParameters(String startDate, String endDate, String category) {
+		return new Object[] { category, startDate, endDate };
+	}
+
+	/**
+	 * Builds a parameterised SQL query for extracting every transaction within the
+	 * specified date range, regardless of category, in date order. The Date index
+	 * allows the range to be read without sorting. The values to bind are the start
+	 * and end dates, in that order.
+	 *
+	 * @param tableName - the name of the table to query
+	 * @return the SQL query string
+	 */
+	public String buildDateRangeQuery(String tableName) {
+		return "SELECT * FROM " + tableName + " WHERE Date BETWEEN ? AND ? ORDER BY Date ASC;";
+	}
+
+	/**
+	 * Builds a parameterised SQL query totalling the transactions within the
+	 * specified date range by category and month. Each row holds the Category, the
+	 * Month as YYYY-MM, the Total of the amount column in pence and the Count of
+	 * transactions. The values to bind are the start and end dates, in that order.
+	 *
+	 * @param tableName    - the name of the table to query
+	 * @param amountColumn - the column holding the amount of each transaction
 	 * @return the SQL query string
 	 */
-	public String buildTransactionQuery(String tableName, String startDate, String endDate, String category) {
-		return "SELECT * FROM " + tableName + " WHERE strftime('%Y-%m-%d', Date) BETWEEN '" + startDate + "' AND '"
-				+ endDate + "' AND Category = '" + category + "' ORDER BY 'Date' ASC;";
+	public String buildMonthlyTotalsQuery(String tableName, String amountColumn) {
+		return "SELECT Category, substr(Date, 1, 7) AS Month, SUM(" + amountColumn + ") AS Total, COUNT(*) AS Count"
+				+ " FROM " + tableName + " WHERE Date BETWEEN ? AND ? GROUP BY Category, Month;";
+	}
+
+	/**
+	 * Counts the transactions in a table within the specified date range,
+	 * regardless of category.
+	 *
+	 * @param tableName - the name of the table to query
+	 * @param startDate - the start date of the date range
+	 * @param endDate   - the end date of the date range
+	 * @return the number of transactions, or 0 if the table could not be read
+	 */
+	public int countTransactionsInRange(String tableName, String startDate, String endDate) {
+		String queryString = "SELECT COUNT(*) FROM " + tableName + " WHERE Date BETWEEN ? AND ?;";
+		QueryExecutedEvent event = new QueryExecutedEvent();
+		event.begin();
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead()) {
+			PreparedStatement pstmt = lease.prepare(queryString);
+			bindParameters(pstmt, startDate, endDate);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				int count = rs.next() ? rs.getInt(1) : 0;
+				commitQueryEvent(event, tableName, startDate, endDate, queryString, 1);
+				return count;
+			}
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to count transactions in Table %s. %s", tableName, e.getMessage()));
+			return 0;
+		}
+	}
+
+	/**
+	 * Returns the detail column of SQLite's EXPLAIN QUERY PLAN output for a query,
+	 * e.g. "SEARCH Inbound USING INDEX idx_Inbound_Category_Date (Category=? AND
+	 * Date>? AND Date<?)". Useful for checking that a query can use an index.
+	 *
+	 * @param queryString - the SQL query string
+	 * @param parameters  - values to bind to the query's parameters
+	 * @return one line per step of the query plan
+	 */
+	public List<String> explainQueryPlan(String queryString, Object... parameters) {
+		List<String> plan = new ArrayList<>();
+		// Not taken from the statement cache: an EXPLAIN is planned when prepared and
+		// is not re-prepared after the schema changes, e.g. when an index is added.
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead();
+				PreparedStatement pstmt = lease.getConnection().prepareStatement("EXPLAIN QUERY PLAN " + queryString)) {
+			bindParameters(pstmt, parameters);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					plan.add(rs.getString("detail"));
+				}
+			}
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to explain query plan for %s. %s", queryString, e.getMessage()));
+		}
+		return plan;
+	}
+
+	/**
+	 * Binds parameters, in order, to a PreparedStatement.
+	 *
+	 * @param pstmt      - the statement to bind to
+	 * @param parameters - the values to bind
+	 * @throws SQLException if a value could not be bound
+	 */
+	private void bindParameters(PreparedStatement pstmt, Object... parameters) throws SQLException {
+		TransactionCursor.bindParameters(pstmt, parameters);
 	}
 
     /**
@@ -128,9 +255,8 @@ public class TableUtils {
      * @param category - the category for filtering the transactions
      */
     public void logTransactionArrayRead(String tableName, String startDate, String endDate, String category) {
-        String log = String.format("Array of transactions read from Table %s for dates between %s and %s, for category: %s",
+        logger.debug("Array of transactions read from Table {} for dates between {} and {}, for category: {}",
                 tableName, startDate, endDate, category);
-        logger.info(log);
     }
 
     /**
@@ -142,9 +268,8 @@ public class TableUtils {
      * @param category the category for filtering the transactions
      */
     public void logTransactionMapRead(String tableName, String startDate, String endDate, String category) {
-        String log = String.format("Map of transactions, sorted per month, has been read from Table %s for dates between %s and %s, for category: %s",
+        logger.debug("Map of transactions, sorted per month, has been read from Table {} for dates between {} and {}, for category: {}",
                 tableName, startDate, endDate, category);
-        logger.info(log);
     }
 
 	/**
@@ -169,89 +294,183 @@ public class TableUtils {
 			logger.error("Failed to extract processedDescription from transaction." +e.getMessage());
 		}
 		try {
-			transaction.setPaidIn(rs.getDouble("Paid_In"));
+			transaction.setPaidInPence(rs.getLong("Paid_In"));
 		} catch (SQLException e ) {
 			logger.error(String.format("No column found 'Paid_In' when extracting transaction,.%s",e.getMessage()));
-			transaction.setPaidIn(0);
+			transaction.setPaidInPence(0);
 		}
 		try {
-			transaction.setPaidOut(rs.getDouble("Paid_Out"));
+			transaction.setPaidOutPence(rs.getLong("Paid_Out"));
 		} catch (SQLException e) {
 			logger.error(String.format("No column found 'Paid_Out' when extracting transaction.%s",e.getMessage()));
-			transaction.setPaidOut(0);
+			transaction.setPaidOutPence(0);
 		}
 		try {
-		transaction.setBalance(rs.getDouble("Balance"));
+		transaction.setBalancePence(rs.getLong("Balance"));
 		} catch(SQLException e) {
 			logger.error("Failed to extract balance for transaction"+e.getMessage());
 		}
 		return transaction;
 	}
 
+	/**
+	 * Opens a cursor over the rows of a transaction query. The cursor holds a read
+	 * connection until it is closed, so it must be closed, e.g. with
+	 * try-with-resources.
+	 *
+	 * @param queryString - the SQL query string
+	 * @param fetchSize   - the number of rows to fetch at a time
+	 * @param reuseRow    - true to read every row into the same Transaction, so no
+	 *                    Transaction is allocated per row
+	 * @param parameters  - values to bind to the query's parameters
+	 * @return the open cursor
+	 * @throws SQLException if the query fails
+	 */
+	public TransactionCursor openTransactionCursor(String queryString, int fetchSize, boolean reuseRow,
+			Object... parameters) throws SQLException {
+		ConnectionLease lease = getDB().getConnectionProvider().borrowRead();
+		try {
+			PreparedStatement pstmt = lease.prepare(queryString);
+			bindParameters(pstmt, parameters);
+			return new TransactionCursor(lease, pstmt, fetchSize, reuseRow);
+		} catch (SQLException e) {
+			lease.close();
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns the rows of a transaction query as a Stream, read as the stream is
+	 * consumed. Each row is a new Transaction, so rows may be kept. The stream
+	 * holds a read connection until it is closed, so it must be closed, e.g. with
+	 * try-with-resources.
+	 *
+	 * @param queryString - the SQL query string
+	 * @param parameters  - values to bind to the query's parameters
+	 * @return the stream of transactions
+	 * @throws SQLException if the query fails
+	 */
+	public Stream<Transaction> streamTransactions(String queryString, Object... parameters) throws SQLException {
+		return openTransactionCursor(queryString, TransactionCursor.DEFAULT_FETCH_SIZE, false, parameters).stream();
+	}
+
+	/**
+	 * Passes every row of a transaction query to a visitor, in order, reading the
+	 * rows into a single reused Transaction.
+	 *
+	 * @param queryString - the SQL query string
+	 * @param visitor     - the visitor called for each row
+	 * @param parameters  - values to bind to the query's parameters
+	 * @return the number of rows visited, or -1 if the query failed
+	 */
+	public int visitTransactions(String queryString, TransactionVisitor visitor, Object... parameters) {
+		Timer.Sample sample = startQuerySample();
+		QueryExecutedEvent event = new QueryExecutedEvent();
+		event.begin();
+		int numRows = -1;
+		try (TransactionCursor cursor = openTransactionCursor(queryString, TransactionCursor.DEFAULT_FETCH_SIZE, true,
+				parameters)) {
+			numRows = cursor.forEach(visitor);
+		} catch (SQLException e) {
+			logger.error(String.format("Failed to read transactions from Query: %s . %s", queryString, e.getMessage()));
+		}
+		recordQuerySample(sample, event, Math.max(0, numRows), queryString, parameters);
+		return numRows;
+	}
+
 	/**
 	 * Executes an SQL query to retrieve a list of transactions.
 	 *
 	 * @param queryString - the SQL query string
-	 * @param startDate   - the start date of the date range
-	 * @param endDate     - the end date of the date range
-	 * @param category    - the category for filtering the transactions
+	 * @param parameters  - values to bind to the query's parameters
 	 * @return the list of transactions representing the extracted data
 	 */
 
-	public List<Transaction> executeTransactionQuery(String queryString) {
+	public List<Transaction> executeTransactionQuery(String queryString, Object... parameters) {
 		// Create Empty List of Transactions.
 		List<Transaction> transactions = createEmptyListTransactions();
+		Timer.Sample sample = startQuerySample();
+		QueryExecutedEvent event = new QueryExecutedEvent();
+		event.begin();
 
-		// Attempt to connection to DB and execute queryString on relevant Table.
-		try (Connection connection = DriverManager.getConnection(getDB().getUrl());
-				Statement stmt = connection.createStatement();
-				ResultSet rs = stmt.executeQuery(queryString)) {
-
-			// Iterate through found results, extracting Transactions from each Result.
-			while (rs.next()) {
-				Transaction transaction = extractTransactionFromResultSet(rs);
-				transactions.add(transaction);
-			}
-			rs.close();
+		// Read each row through a cursor, a new Transaction per row as every row is kept
+		try (TransactionCursor cursor = openTransactionCursor(queryString, TransactionCursor.DEFAULT_FETCH_SIZE, false,
+				parameters)) {
+			cursor.forEach(transactions::add);
 		} catch (SQLException e) {
-			logger.error("Failed to read transactions from Query: %s . %s", queryString, e.getMessage());
+			logger.error(String.format("Failed to read transactions from Query: %s . %s", queryString, e.getMessage()));
 		}
+		recordQuerySample(sample, event, transactions.size(), queryString, parameters);
 
 		return transactions;
 	}
 
 	/**
 	 * Executes the SQL query and retrieves a map of transactions organised by
-	 * month.
+	 * year and month, in month order.
 	 *
 	 * @param queryString the SQL query string
-	 * @param startDate   the start date of the date range
-	 * @param endDate     the end date of the date range
-	 * @param category    the category for filtering the transactions
-	 * @return the map of transactions organised by month
+	 * @param parameters  values to bind to the query's parameters
+	 * @return the map of transactions organised by year and month, or an empty
+	 *         map if the query failed
 	 */
-	public Map<Integer, List<Transaction>> executeTransactionQueryByMonth(String queryString) {
-		// Create Empty Integer, List of Transaction HashMap<>. Used to store
+	public Map<YearMonth, List<Transaction>> executeTransactionQueryByMonth(String queryString, Object... parameters) {
+		// Create Empty YearMonth, List of Transaction map. Used to store
 		// Transactions by month.
-		Map<Integer, List<Transaction>> transactionsByMonth = createEmptyIntegerTransactionHashMap();
-
-		// Attempt to connection to DB and execute queryString on relevant Table.
-		try (Connection connection = DriverManager.getConnection(getDB().getUrl());
-				Statement stmt = connection.createStatement();
-				ResultSet rs = stmt.executeQuery(queryString)) {
-
-			// Iterate through found results, extracting Transactions from each Result.
-			while (rs.next()) {
-				Transaction transaction = extractTransactionFromResultSet(rs);
-				int month = extractMonthFromDate(transaction.getDate());
-				transactionsByMonth.computeIfAbsent(month, k -> new ArrayList<>()).add(transaction);
-			}
-			rs.close();
+		Map<YearMonth, List<Transaction>> transactionsByMonth = createEmptyYearMonthTransactionMap();
+		Timer.Sample sample = startQuerySample();
+		QueryExecutedEvent event = new QueryExecutedEvent();
+		event.begin();
+		int numRows = 0;
+
+		// Read each row through a cursor, a new Transaction per row as every row is kept
+		try (TransactionCursor cursor = openTransactionCursor(queryString, TransactionCursor.DEFAULT_FETCH_SIZE, false,
+				parameters)) {
+			numRows = cursor.forEach(transaction -> transactionsByMonth
+					.computeIfAbsent(extractYearMonthFromDate(transaction.getDate()), k -> new ArrayList<>())
+					.add(transaction));
 		} catch (SQLException e) {
 			logger.error(String.format("Failed to read transactions into a Map %s. %s", queryString, e.getMessage()));
+			// Return no months rather than the part read before the failure
+			transactionsByMonth.clear();
 		}
+		recordQuerySample(sample, event, numRows, queryString, parameters);
 
 		return transactionsByMonth;
 	}
 
+	private Timer.Sample startQuerySample() {
+		return MetricsRegistry.getDefault().timer(MetricsRegistry.DB_TRANSACTION_QUERY).start();
+	}
+
+	/**
+	 * Records a transaction query, and the number of rows it returned.
+	 */
+	private void recordQuerySample(Timer.Sample sample, QueryExecutedEvent event, int numRows, String queryString,
+			Object... parameters) {
+		sample.addRows(numRows);
+		sample.close();
+		MetricsRegistry.getDefault().histogram(MetricsRegistry.DB_QUERY_ROWS).record(numRows);
+		if (event.shouldCommit()) {
+			event.setQuery(queryString, parameters);
+			event.rows = numRows;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Emits a QueryExecutedEvent for a query of a table within a date range.
+	 */
+	private void commitQueryEvent(QueryExecutedEvent event, String tableName, String startDate, String endDate,
+			String queryString, int numRows) {
+		if (event.shouldCommit()) {
+			event.table = tableName;
+			event.startDate = startDate;
+			event.endDate = endDate;
+			event.query = queryString;
+			event.rows = numRows;
+			event.commit();
+		}
+	}
+
 }
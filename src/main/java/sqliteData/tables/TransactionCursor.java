@@ -0,0 +1,259 @@
+package sqliteData.tables;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import sqliteData.ConnectionLease;
+import transactions.Transaction;
+
+/**
+ * The TransactionCursor class reads the rows of a transaction query one at a
+ * time, straight from the open ResultSet, rather than reading every row into a
+ * list first. Rows can be read with {@link #next()}, passed to a
+ * {@link TransactionVisitor}, or consumed as a {@link Stream}, which must be
+ * closed, e.g. with try-with-resources, to close the cursor.
+ * <p>
+ * The columns of the result are looked up once when the cursor is opened, and
+ * each row is read by column index. Any of ID, Date, ProcessDescription,
+ * Category, Paid_In, Paid_Out and Balance found in the result are read; amounts
+ * of money missing from the result are 0.
+ * <p>
+ * A cursor can reuse a single mutable Transaction for every row, so reading a
+ * table allocates no Transaction per row. The row is then only valid until the
+ * next row is read, and must be copied if it is kept.
+ * <p>
+ * A cursor owns the lease it reads through, returning it when closed, as opened
+ * by {@link TableUtils#openTransactionCursor(String, int, boolean, Object...)}.
+ *
+ * @see TableUtils
+ * @see TransactionVisitor
+ * @author LORD GABRIEL
+ */
+
+public class TransactionCursor implements AutoCloseable {
+
+	/**
+	 * Number of rows fetched at a time unless another fetch size is given
+	 */
+	public static final int DEFAULT_FETCH_SIZE = 256;
+
+	private static final Logger logger = LogManager.getLogger(TransactionCursor.class.getName());
+
+	private final ConnectionLease lease;
+	private final ResultSet rs;
+	private final boolean reuseRow;
+
+	// Column indexes within the result, 0 if the result has no such column
+	private int idColumn;
+	private int dateColumn;
+	private int descriptionColumn;
+	private int categoryColumn;
+	private int paidInColumn;
+	private int paidOutColumn;
+	private int balanceColumn;
+
+	private Transaction row;
+	private int rowCount;
+	private boolean closed;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a TransactionCursor over a statement with its parameters already
+	 * bound, executing the query.
+	 *
+	 * @param lease     - the lease to return when the cursor is closed
+	 * @param pstmt     - the statement to execute, from the lease's statement
+	 *                  cache
+	 * @param fetchSize - the number of rows to fetch at a time, 0 for the
+	 *                  driver's default
+	 * @param reuseRow  - true to read every row into the same Transaction
+	 * @throws SQLException if the query fails
+	 */
+
+	TransactionCursor(ConnectionLease lease, PreparedStatement pstmt, int fetchSize, boolean reuseRow)
+			throws SQLException {
+		this.lease = lease;
+		this.reuseRow = reuseRow;
+		pstmt.setFetchSize(fetchSize);
+		this.rs = pstmt.executeQuery();
+		findColumns(rs.getMetaData());
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	/**
+	 * @return the transaction read from the current row, null before the first
+	 *         row is read
+	 */
+	public Transaction getRow() {
+		return row;
+	}
+
+	/**
+	 * @return the number of rows read so far
+	 */
+	public int getRowCount() {
+		return rowCount;
+	}
+
+	public boolean isReusingRow() {
+		return reuseRow;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Moves to the next row and reads it.
+	 *
+	 * @return true if a row was read, false once every row has been read
+	 * @throws SQLException if the row cannot be read
+	 */
+	public boolean next() throws SQLException {
+		if (closed || !rs.next()) {
+			return false;
+		}
+		if (row == null || !reuseRow) {
+			row = new Transaction();
+		}
+		readRow(row);
+		rowCount++;
+		return true;
+	}
+
+	/**
+	 * Passes every remaining row to a visitor, in order.
+	 *
+	 * @param visitor - the visitor called for each row
+	 * @return the number of rows visited
+	 * @throws SQLException if a row cannot be read
+	 */
+	public int forEach(TransactionVisitor visitor) throws SQLException {
+		int visited = 0;
+		while (next()) {
+			visitor.visit(row);
+			visited++;
+		}
+		return visited;
+	}
+
+	/**
+	 * Returns the remaining rows as a sequential Stream. Closing the stream closes
+	 * this cursor. An SQLException thrown while reading is rethrown as an
+	 * IllegalStateException.
+	 *
+	 * @return the stream of transactions
+	 */
+	public Stream<Transaction> stream() {
+		Iterator<Transaction> iterator = new Iterator<>() {
+			private boolean ready;
+			private boolean hasRow;
+
+			@Override
+			public boolean hasNext() {
+				if (!ready) {
+					try {
+						hasRow = TransactionCursor.this.next();
+					} catch (SQLException e) {
+						throw new IllegalStateException("Failed to read transaction. " + e.getMessage(), e);
+					}
+					ready = true;
+				}
+				return hasRow;
+			}
+
+			@Override
+			public Transaction next() {
+				if (!hasNext()) {
+					throw new NoSuchElementException();
+				}
+				ready = false;
+				return row;
+			}
+		};
+		Spliterator<Transaction> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+				Spliterator.ORDERED | Spliterator.NONNULL);
+		return StreamSupport.stream(spliterator, false).onClose(this::close);
+	}
+
+	/**
+	 * Closes the ResultSet and returns the lease. The statement belongs to the
+	 * lease's statement cache, so is left open. Calling close more than once has
+	 * no further effect.
+	 */
+	@Override
+	public void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			rs.close();
+		} catch (SQLException e) {
+			String log = String.format("Failed to close transaction cursor after %d rows. %s", rowCount,
+					e.getMessage());
+			logger.error(log);
+		} finally {
+			lease.close();
+		}
+	}
+
+	/**
+	 * Looks up the index of each column read into a Transaction.
+	 */
+	private void findColumns(ResultSetMetaData meta) throws SQLException {
+		for (int i = 1; i <= meta.getColumnCount(); i++) {
+			switch (meta.getColumnLabel(i)) {
+			case "ID" -> idColumn = i;
+			case "Date" -> dateColumn = i;
+			case "ProcessDescription" -> descriptionColumn = i;
+			case "Category" -> categoryColumn = i;
+			case "Paid_In" -> paidInColumn = i;
+			case "Paid_Out" -> paidOutColumn = i;
+			case "Balance" -> balanceColumn = i;
+			default -> {
+			}
+			}
+		}
+	}
+
+	/**
+	 * Reads the current row into a Transaction, overwriting every field read by a
+	 * cursor.
+	 */
+	private void readRow(Transaction transaction) throws SQLException {
+		transaction.setID(idColumn > 0 ? rs.getString(idColumn) : null);
+		transaction.setDate(dateColumn > 0 ? rs.getString(dateColumn) : null);
+		transaction.setProcessedDescription(descriptionColumn > 0 ? rs.getString(descriptionColumn) : null);
+		transaction.setCategory(categoryColumn > 0 ? rs.getString(categoryColumn) : null);
+		transaction.setPaidInPence(paidInColumn > 0 ? rs.getLong(paidInColumn) : 0);
+		transaction.setPaidOutPence(paidOutColumn > 0 ? rs.getLong(paidOutColumn) : 0);
+		transaction.setBalancePence(balanceColumn > 0 ? rs.getLong(balanceColumn) : 0);
+	}
+
+	/**
+	 * Binds parameters, in order, to a PreparedStatement.
+	 */
+	static void bindParameters(PreparedStatement pstmt, Object... parameters) throws SQLException {
+		for (int i = 0; i < parameters.length; i++) {
+			pstmt.setObject(i + 1, parameters[i]);
+		}
+	}
+}
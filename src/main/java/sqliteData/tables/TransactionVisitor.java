@@ -0,0 +1,26 @@
+package sqliteData.tables;
+
+import transactions.Transaction;
+
+/**
+ * The TransactionVisitor interface is called once for each row read by a
+ * {@link TransactionCursor}, in the order the rows are read.
+ *
+ * If the cursor reuses its row object, the Transaction passed in is overwritten
+ * by the next row, so it must be used, or copied, before visit returns.
+ *
+ * @see TransactionCursor
+ * @see TableUtils#visitTransactions(String, TransactionVisitor, Object...)
+ * @author LORD GABRIEL
+ */
+
+@FunctionalInterface
+public interface TransactionVisitor {
+
+	/**
+	 * Visits a row read from a table.
+	 *
+	 * @param transaction - the transaction read from the current row
+	 */
+	void visit(Transaction transaction);
+}
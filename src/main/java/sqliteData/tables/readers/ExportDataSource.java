@@ -0,0 +1,199 @@
+package sqliteData.tables.readers;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import sqliteData.tables.Table;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.TransactionCursor;
+import transactions.Transaction;
+
+/**
+ * The ExportDataSource class reads every transaction within a date range from
+ * the Inbound and Outbound tables, for use when exporting to an excel workbook.
+ * <p>
+ * Each table is read with a single query, ordered by date, rather than one
+ * query per category. The rows are then split in memory into per-category,
+ * per-month buckets, keyed by year and month so months of different years are
+ * kept apart, in the same {@code Map<YearMonth, List<Transaction>>} form
+ * returned by
+ * {@link TableInboundReader#extractInboundTransactionMap(String, String, String)}
+ * and
+ * {@link TableOutboundReader#extractOutboundTransactionMap(String, String, String)}.
+ * As the rows are read in date order, the transactions in each bucket are also
+ * in date order.
+ *
+ * @see TableInboundReader
+ * @see TableOutboundReader
+ * @see TableUtils
+ * @author LORD GABRIEL
+ */
+
+public class ExportDataSource {
+
+	private static final Logger logger = LogManager.getLogger(ExportDataSource.class.getName());
+
+	private TableInboundReader tIR;
+	private TableOutboundReader tOR;
+
+	private String startDate;
+	private String endDate;
+	private Map<String, Map<YearMonth, List<Transaction>>> inboundBuckets = new HashMap<>();
+	private Map<String, Map<YearMonth, List<Transaction>>> outboundBuckets = new HashMap<>();
+	private int inboundRowCount;
+	private int outboundRowCount;
+	private boolean loaded;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs an ExportDataSource for the specified readers. No rows are read
+	 * until {@link #load(String, String)} is called.
+	 *
+	 * @param tIR - the TableInboundReader used to read the Inbound table
+	 * @param tOR - the TableOutboundReader used to read the Outbound table
+	 */
+	public ExportDataSource(TableInboundReader tIR, TableOutboundReader tOR) {
+		this.tIR = tIR;
+		this.tOR = tOR;
+	}
+
+	/*
+	 * =========================== GETTERS ============================
+	 */
+
+	public String getStartDate() {
+		return startDate;
+	}
+
+	public String getEndDate() {
+		return endDate;
+	}
+
+	public boolean isLoaded() {
+		return loaded;
+	}
+
+	/**
+	 * @return the number of Inbound rows read by the last load
+	 */
+	public int getInboundRowCount() {
+		return inboundRowCount;
+	}
+
+	/**
+	 * @return the number of Outbound rows read by the last load
+	 */
+	public int getOutboundRowCount() {
+		return outboundRowCount;
+	}
+
+	/**
+	 * Returns the inbound transactions for a category, organised by month.
+	 *
+	 * @param category - the category of the transactions
+	 * @return a map of month to transactions, empty if the category had no inbound
+	 *         transactions within the date range
+	 */
+	public Map<YearMonth, List<Transaction>> getInboundTransactionMap(String category) {
+		return inboundBuckets.getOrDefault(category, Collections.emptyMap());
+	}
+
+	/**
+	 * Returns the outbound transactions for a category, organised by month.
+	 *
+	 * @param category - the category of the transactions
+	 * @return a map of month to transactions, empty if the category had no
+	 *         outbound transactions within the date range
+	 */
+	public Map<YearMonth, List<Transaction>> getOutboundTransactionMap(String category) {
+		return outboundBuckets.getOrDefault(category, Collections.emptyMap());
+	}
+
+	/**
+	 * @return every category with at least one inbound or outbound transaction
+	 *         within the date range
+	 */
+	public Set<String> getCategories() {
+		Set<String> categories = new LinkedHashSet<>(inboundBuckets.keySet());
+		categories.addAll(outboundBuckets.keySet());
+		return categories;
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Reads every transaction between startDate and endDate, inclusive, from the
+	 * Inbound and Outbound tables into memory, replacing anything previously
+	 * loaded. If either table cannot be read, nothing is left loaded, so no
+	 * export is made from part of the date range.
+	 *
+	 * @param startDate - the start date of the date range, YYYY-MM-DD
+	 * @param endDate   - the end date of the date range, YYYY-MM-DD
+	 * @throws SQLException if either table cannot be read
+	 */
+	public void load(String startDate, String endDate) throws SQLException {
+		this.startDate = startDate;
+		this.endDate = endDate;
+		loaded = false;
+		inboundBuckets = new HashMap<>();
+		outboundBuckets = new HashMap<>();
+		try {
+			inboundRowCount = readTable(tIR, tIR.getUtil(), inboundBuckets);
+			outboundRowCount = readTable(tOR, tOR.getUtil(), outboundBuckets);
+		} catch (SQLException e) {
+			inboundBuckets = new HashMap<>();
+			outboundBuckets = new HashMap<>();
+			inboundRowCount = 0;
+			outboundRowCount = 0;
+			throw e;
+		}
+		loaded = true;
+		String log = String.format("Read %d Inbound and %d Outbound transactions for dates between %s and %s.",
+				inboundRowCount, outboundRowCount, startDate, endDate);
+		logger.info(log);
+	}
+
+	/**
+	 * Reads the date range from a single table through a cursor, adding each row
+	 * to the bucket for its category and month.
+	 *
+	 * @param table   - the table to read
+	 * @param util    - the TableUtils object used to build the query
+	 * @param buckets - the buckets to add the transactions to
+	 * @return the number of rows read
+	 * @throws SQLException if the table cannot be read
+	 */
+	private int readTable(Table table, TableUtils util, Map<String, Map<YearMonth, List<Transaction>>> buckets)
+			throws SQLException {
+		String query = util.buildDateRangeQuery(table.getTableName());
+		// Every row is kept in a bucket, so each is read into a new Transaction
+		try (TransactionCursor cursor = util.openTransactionCursor(query, TransactionCursor.DEFAULT_FETCH_SIZE, false,
+				startDate, endDate)) {
+			return cursor.forEach(transaction -> buckets
+					.computeIfAbsent(transaction.getCategory(), k -> new TreeMap<>())
+					.computeIfAbsent(util.extractYearMonthFromDate(transaction.getDate()), k -> new ArrayList<>())
+					.add(transaction));
+		} catch (SQLException e) {
+			String log = String.format("Failed to read transactions from Table %s for dates between %s and %s. %s",
+					table.getTableName(), startDate, endDate, e.getMessage());
+			logger.error(log);
+			throw e;
+		}
+	}
+}
@@ -0,0 +1,135 @@
+package sqliteData.tables.readers;
+
+import java.time.YearMonth;
+
+import transactions.Money;
+
+/**
+ * The MonthlyTotal class holds the totals of one category's transactions
+ * within one month: the amount paid in, the amount paid out and the number of
+ * transactions. Amounts are held in pence.
+ *
+ * @see MonthlyTotalsReader
+ * @author LORD GABRIEL
+ */
+
+public class MonthlyTotal {
+
+	private final String category;
+	private final YearMonth month;
+	private long paidInPence;
+	private long paidOutPence;
+	private int count;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs an empty MonthlyTotal.
+	 *
+	 * @param category - the category totalled
+	 * @param month    - the month totalled
+	 */
+
+	public MonthlyTotal(String category, YearMonth month) {
+		this.category = category;
+		this.month = month;
+	}
+
+	/**
+	 * Constructs a MonthlyTotal already holding totals, e.g. read from the
+	 * MonthlyTotals table.
+	 *
+	 * @param category     - the category totalled
+	 * @param month        - the month totalled
+	 * @param paidInPence  - the amount paid in, in pence
+	 * @param paidOutPence - the amount paid out, in pence
+	 * @param count        - the number of transactions
+	 */
+
+	public MonthlyTotal(String category, YearMonth month, long paidInPence, long paidOutPence, int count) {
+		this(category, month);
+		this.paidInPence = paidInPence;
+		this.paidOutPence = paidOutPence;
+		this.count = count;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public String getCategory() {
+		return category;
+	}
+
+	public YearMonth getMonth() {
+		return month;
+	}
+
+	public long getPaidInPence() {
+		return paidInPence;
+	}
+
+	public long getPaidOutPence() {
+		return paidOutPence;
+	}
+
+	/**
+	 * @return the amount paid in less the amount paid out, in pence
+	 */
+	public long getNetPence() {
+		return paidInPence - paidOutPence;
+	}
+
+	/**
+	 * @return the number of transactions totalled
+	 */
+	public int getCount() {
+		return count;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Adds transactions paying in to this total.
+	 *
+	 * @param pence - the amount paid in, in pence
+	 * @param count - the number of transactions
+	 */
+
+	public void addPaidIn(long pence, int count) {
+		paidInPence += pence;
+		this.count += count;
+	}
+
+	/**
+	 * Adds transactions paying out to this total.
+	 *
+	 * @param pence - the amount paid out, in pence
+	 * @param count - the number of transactions
+	 */
+
+	public void addPaidOut(long pence, int count) {
+		paidOutPence += pence;
+		this.count += count;
+	}
+
+	/**
+	 * @param other - the totals to compare with
+	 * @return true if both hold the same amounts and number of transactions
+	 */
+
+	public boolean sameTotals(MonthlyTotal other) {
+		return other != null && paidInPence == other.paidInPence && paidOutPence == other.paidOutPence
+				&& count == other.count;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s %s: in %s, out %s, %d transactions", category, month, Money.format(paidInPence),
+				Money.format(paidOutPence), count);
+	}
+}
@@ -0,0 +1,199 @@
+package sqliteData.tables.readers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import sqliteData.ConnectionLease;
+import sqliteData.tables.Table;
+import sqliteData.tables.TableMonthlyTotals;
+import sqliteData.tables.TableUtils;
+
+/**
+ * The MonthlyTotalsReader class reads the total paid in and paid out by each
+ * category in each month within a date range. The totals are summed by SQLite,
+ * with a single GROUP BY query over each of the Inbound and Outbound tables, so
+ * only one row per category and month is read into Java however many
+ * transactions there are.
+ * <p>
+ * When the date range covers whole months and the database has a MonthlyTotals
+ * table, the totals are read straight from that table instead, one row per
+ * category and month, without touching the transactions at all.
+ * <p>
+ * This is all the Summary sheet needs, so a summary can be exported without
+ * reading any transactions or building any category sheets.
+ *
+ * @see MonthlyTotal
+ * @see ExportDataSource
+ * @see TableMonthlyTotalsReader
+ * @see TableUtils#buildMonthlyTotalsQuery(String, String)
+ * @author LORD GABRIEL
+ */
+
+public class MonthlyTotalsReader {
+
+	private static final Logger logger = LogManager.getLogger(MonthlyTotalsReader.class.getName());
+
+	private TableInboundReader tIR;
+	private TableOutboundReader tOR;
+
+	private Map<String, Map<YearMonth, MonthlyTotal>> totals = new HashMap<>();
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a MonthlyTotalsReader for the specified readers. Nothing is read
+	 * until {@link #load(String, String)} is called.
+	 *
+	 * @param tIR - the TableInboundReader used to read the Inbound table
+	 * @param tOR - the TableOutboundReader used to read the Outbound table
+	 */
+	public MonthlyTotalsReader(TableInboundReader tIR, TableOutboundReader tOR) {
+		this.tIR = tIR;
+		this.tOR = tOR;
+	}
+
+	/*
+	 * =========================== GETTERS ============================
+	 */
+
+	/**
+	 * Returns the totals of a category, organised by month.
+	 *
+	 * @param category - the category of the totals
+	 * @return a map of month to totals, in month order, empty if the category had
+	 *         no transactions within the date range
+	 */
+	public Map<YearMonth, MonthlyTotal> getMonthlyTotals(String category) {
+		return totals.getOrDefault(category, Collections.emptyMap());
+	}
+
+	/**
+	 * @return the totals of every category with at least one transaction within
+	 *         the date range, by category then month
+	 */
+	public Map<String, Map<YearMonth, MonthlyTotal>> getTotals() {
+		return Collections.unmodifiableMap(totals);
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Reads the totals between startDate and endDate, inclusive, replacing
+	 * anything previously loaded. The MonthlyTotals table is read if the range
+	 * starts on the first day of a month and ends on the last day of a month;
+	 * otherwise the transactions are summed.
+	 *
+	 * @param startDate - the start date of the date range, YYYY-MM-DD
+	 * @param endDate   - the end date of the date range, YYYY-MM-DD
+	 */
+	public void load(String startDate, String endDate) {
+		YearMonth[] months = wholeMonths(startDate, endDate);
+		TableMonthlyTotals tM = new TableMonthlyTotals(tIR.getDB());
+		if (months != null && tM.getDB().checkTable(tM.getTableName())) {
+			long start = System.nanoTime();
+			try {
+				totals = new TableMonthlyTotalsReader(tM).readTotals(months[0], months[1]);
+				String log = String.format("Read monthly totals for %s to %s from Table %s in %d microseconds.",
+						months[0], months[1], tM.getTableName(), (System.nanoTime() - start) / 1000);
+				logger.info(log);
+				return;
+			} catch (SQLException e) {
+				String log = String.format("Failed to read Table %s, summing the transactions instead. %s",
+						tM.getTableName(), e.getMessage());
+				logger.error(log);
+			}
+		}
+		loadFromTransactions(startDate, endDate);
+	}
+
+	/**
+	 * Sums the totals between startDate and endDate, inclusive, from the Inbound
+	 * and Outbound tables, replacing anything previously loaded.
+	 *
+	 * @param startDate - the start date of the date range, YYYY-MM-DD
+	 * @param endDate   - the end date of the date range, YYYY-MM-DD
+	 */
+	public void loadFromTransactions(String startDate, String endDate) {
+		long start = System.nanoTime();
+		totals = new HashMap<>();
+		int inboundGroups = readTable(tIR, tIR.getUtil(), "Paid_In", true, startDate, endDate);
+		int outboundGroups = readTable(tOR, tOR.getUtil(), "Paid_Out", false, startDate, endDate);
+		String log = String.format(
+				"Read %d Inbound and %d Outbound monthly totals for dates between %s and %s in %d microseconds.",
+				inboundGroups, outboundGroups, startDate, endDate, (System.nanoTime() - start) / 1000);
+		logger.info(log);
+	}
+
+	/**
+	 * Reads the totals of a single table, adding each to the totals of its
+	 * category and month.
+	 *
+	 * @param table        - the table to read
+	 * @param util         - the TableUtils object used to build the query
+	 * @param amountColumn - the column holding the amount of each transaction
+	 * @param paidIn       - true if the amounts are paid in, false if paid out
+	 * @return the number of category and month groups read
+	 */
+	private int readTable(Table table, TableUtils util, String amountColumn, boolean paidIn, String startDate,
+			String endDate) {
+		String query = util.buildMonthlyTotalsQuery(table.getTableName(), amountColumn);
+		int groupCount = 0;
+		try (ConnectionLease lease = table.getDB().getConnectionProvider().borrowRead()) {
+			PreparedStatement pstmt = lease.prepare(query);
+			pstmt.setString(1, startDate);
+			pstmt.setString(2, endDate);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					String category = rs.getString("Category");
+					YearMonth month = YearMonth.parse(rs.getString("Month"));
+					MonthlyTotal total = totals.computeIfAbsent(category, k -> new TreeMap<>())
+							.computeIfAbsent(month, k -> new MonthlyTotal(category, month));
+					if (paidIn) {
+						total.addPaidIn(rs.getLong("Total"), rs.getInt("Count"));
+					} else {
+						total.addPaidOut(rs.getLong("Total"), rs.getInt("Count"));
+					}
+					groupCount++;
+				}
+			}
+		} catch (SQLException e) {
+			String log = String.format("Failed to read monthly totals from Table %s for dates between %s and %s. %s",
+					table.getTableName(), startDate, endDate, e.getMessage());
+			logger.error(log);
+		}
+		return groupCount;
+	}
+
+	/**
+	 * Returns the first and last months of a date range if it covers whole
+	 * months, or null if it starts or ends part way through a month or is not a
+	 * pair of valid dates.
+	 */
+	private static YearMonth[] wholeMonths(String startDate, String endDate) {
+		try {
+			LocalDate start = LocalDate.parse(startDate);
+			LocalDate end = LocalDate.parse(endDate);
+			if (start.getDayOfMonth() != 1 || end.getDayOfMonth() != end.lengthOfMonth()) {
+				return null;
+			}
+			return new YearMonth[] { YearMonth.from(start), YearMonth.from(end) };
+		} catch (DateTimeParseException e) {
+			return null;
+		}
+	}
+}
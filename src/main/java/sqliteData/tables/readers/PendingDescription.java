@@ -0,0 +1,92 @@
+package sqliteData.tables.readers;
+
+import sqliteData.tables.TablePendingCategory;
+import transactions.Money;
+
+/**
+ * The PendingDescription class summarises every queued transaction that shares
+ * one processed description in the PendingCategory table. A single category
+ * chosen for a PendingDescription applies to all of its transactions.
+ *
+ * The date and amount are those of the earliest queued transaction, so the
+ * user can be shown a real transaction when asked for a category.
+ *
+ * @see TablePendingCategoryReader
+ * @see TablePendingCategory
+ * @author LORD GABRIEL
+ */
+
+public class PendingDescription {
+
+	private final String description;
+	private final int count;
+	private final int incomingCount;
+	private final String firstDate;
+	private final long firstAmount;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a PendingDescription.
+	 *
+	 * @param description   - the processed description shared by the transactions
+	 * @param count         - the number of queued transactions
+	 * @param incomingCount - the number of those transactions that are incoming
+	 * @param firstDate     - the date of the earliest transaction
+	 * @param firstAmount   - the amount of the earliest transaction, in pence
+	 */
+
+	public PendingDescription(String description, int count, int incomingCount, String firstDate,
+			long firstAmount) {
+		this.description = description;
+		this.count = count;
+		this.incomingCount = incomingCount;
+		this.firstDate = firstDate;
+		this.firstAmount = firstAmount;
+	}
+
+	/*
+	 * =========================== GETTERS ===========================
+	 */
+
+	public String getDescription() {
+		return description;
+	}
+
+	public int getCount() {
+		return count;
+	}
+
+	public int getIncomingCount() {
+		return incomingCount;
+	}
+
+	public String getFirstDate() {
+		return firstDate;
+	}
+
+	public long getFirstAmountPence() {
+		return firstAmount;
+	}
+
+	/**
+	 * @return the amount of the earliest transaction in pounds, for display
+	 */
+	public double getFirstAmount() {
+		return Money.toPounds(firstAmount);
+	}
+
+	/**
+	 * @return Incoming if most of the transactions are incoming, otherwise Outgoing
+	 */
+	public String getDirection() {
+		return (incomingCount * 2 > count) ? TablePendingCategory.INCOMING : TablePendingCategory.OUTGOING;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%s: %d transactions, first on %s", description, count, firstDate);
+	}
+}
@@ -1,10 +1,9 @@
 package sqliteData.tables.readers;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import sqliteData.ConnectionLease;
 import sqliteData.tables.Table;
 import sqliteData.tables.TableCategory;
 
@@ -63,13 +62,11 @@ public class TableCategoryReader extends TableCategory {
 		String[] options = getCategoryMenu().getOptions();
 		for (String optionCategory : options) {
 			if (optionCategory.equals(category)) {
-				String log = String.format("Category:%s was found within categoryMenu options",category);
-				logger.info(log);
+				logger.debug("Category:{} was found within categoryMenu options", category);
 				return true;
 			}
 		}		
-		String log = String.format("Category:%s was not found within categoryMenu options",category);
-		logger.info(log);
+		logger.debug("Category:{} was not found within categoryMenu options", category);
 		return false;
 	}
 	
@@ -84,8 +81,8 @@ public class TableCategoryReader extends TableCategory {
 		String category = null;
 		String query = "SELECT Category from Category WHERE Description = ?;";
 		
-		try(Connection conn = DriverManager.getConnection(getDB().getUrl());
-			PreparedStatement pstmt = conn.prepareStatement(query)) {
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead()) {
+			PreparedStatement pstmt = lease.prepare(query);
 			//setting prepared statement of query to search where Description = description
 			pstmt.setString(1, description);
 			
@@ -94,8 +91,7 @@ public class TableCategoryReader extends TableCategory {
 			//retrieve category String.
 				if (rs.next()) {
 					category = rs.getString("Category");
-					String log = String.format("Category:%s found for description %s", category,description);
-					logger.info(log);
+					logger.debug("Category:{} found for description {}", category, description);
 				}
 			}
 		} catch (SQLException e) {
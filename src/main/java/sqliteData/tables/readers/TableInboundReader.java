@@ -4,6 +4,7 @@ import transactions.Transaction;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.YearMonth;
 import java.util.Map;
 
 import sqliteData.tables.Table;
@@ -126,8 +127,8 @@ public class TableInboundReader extends TableInbound {
 		try {
 			transaction.setDate(rs.getString("Date"));
 			transaction.setProcessedDescription(rs.getString("ProcessDescription"));
-			transaction.setPaidIn(rs.getDouble("Paid_In"));
-			transaction.setBalance(rs.getDouble("Balance"));
+			transaction.setPaidInPence(rs.getLong("Paid_In"));
+			transaction.setBalancePence(rs.getLong("Balance"));
 		} catch(SQLException e){
 			logger.error("Failed to extract transaction"+e.getMessage());
 		}
@@ -150,15 +151,16 @@ public class TableInboundReader extends TableInbound {
 		// Check whether there are any transactions with category: category
 		if (!tCR.checkCategoryOption(category)) {
 			System.out.println("No categories of that type found");
-			logger.info("No categories of type: %s found.", category);
+			logger.info("No categories of type: {} found.", category);
 			return null;
 		}
 
 		// Generate queryString from TableUtils
 		TableUtils util = getUtil();
-		String queryString = util.buildTransactionQuery(getTableName(), startDate, endDate, category);
+		String queryString = util.buildTransactionQuery(getTableName());
+		Object[] parameters = util.buildTransactionQueryParameters(startDate, endDate, category);
 		// extract TransactionArray using queryString
-		List<Transaction> transactions = util.executeTransactionQuery(queryString);
+		List<Transaction> transactions = util.executeTransactionQuery(queryString, parameters);
 		Transaction[] transArr = transactions.toArray(new Transaction[0]);
 
 		util.logTransactionArrayRead(getTableName(), startDate, endDate, category);
@@ -172,24 +174,26 @@ public class TableInboundReader extends TableInbound {
 	 * @param startDate - the start date of the date range
 	 * @param endDate   - the end date of the date range
 	 * @param category  - the category for filtering the transactions
-	 * @return a map of Integer keys representing the months and List values
+	 * @return a map of YearMonth keys representing the months and List values
 	 *         representing the corresponding transactions for each month, or null
 	 *         if no categories of the provided type are found
 	 */
 
-	public Map<Integer, List<Transaction>> extractInboundTransactionMap(String startDate, String endDate,
+	public Map<YearMonth, List<Transaction>> extractInboundTransactionMap(String startDate, String endDate,
 			String category) {
 		// Generate queryString from TableUtils
 		if (!tCR.checkCategoryOption(category)) {
 			System.out.println("No categories of that type found");
-			logger.info("No categories of type: %s found.", category);
+			logger.info("No categories of type: {} found.", category);
 			return null;
 		}
 
 		TableUtils util = getUtil();
 		// extract TransactionArray using queryString
-		String queryString = util.buildTransactionQuery(getTableName(), startDate, endDate, category);
-		Map<Integer, List<Transaction>> transactionsByMonth = util.executeTransactionQueryByMonth(queryString);
+		String queryString = util.buildTransactionQuery(getTableName());
+		Object[] parameters = util.buildTransactionQueryParameters(startDate, endDate, category);
+		Map<YearMonth, List<Transaction>> transactionsByMonth = util.executeTransactionQueryByMonth(queryString,
+				parameters);
 
 		util.logTransactionMapRead(getTableName(), startDate, endDate, category);
 		return transactionsByMonth;
@@ -0,0 +1,129 @@
+package sqliteData.tables.readers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+import sqliteData.ConnectionLease;
+import sqliteData.tables.TableMonthlyTotals;
+
+/**
+ * The TableMonthlyTotalsReader class extends the TableMonthlyTotals class and
+ * reads the totals kept in the MonthlyTotals table, one row per category and
+ * month, so a summary can be read without scanning the Inbound and Outbound
+ * tables.
+ * <p>
+ * It also checks that the table still agrees with the transactions it totals,
+ * by comparing it with totals summed from the Inbound and Outbound tables.
+ *
+ * @see TableMonthlyTotals
+ * @see MonthlyTotalsReader
+ * @see sqliteData.tables.writers.TableMonthlyTotalsWriter
+ * @author LORD GABRIEL
+ */
+
+public class TableMonthlyTotalsReader extends TableMonthlyTotals {
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a new TableMonthlyTotalsReader object with the specified
+	 * TableMonthlyTotals object.
+	 *
+	 * @param tM - the TableMonthlyTotals object associated with the reader
+	 */
+
+	public TableMonthlyTotalsReader(TableMonthlyTotals tM) {
+		super(tM.getDB());
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Reads the totals of every category between two months, inclusive.
+	 *
+	 * @param firstMonth - the first month to read
+	 * @param lastMonth  - the last month to read
+	 * @return the totals by category then month, in month order
+	 * @throws SQLException if the table cannot be read
+	 */
+
+	public Map<String, Map<YearMonth, MonthlyTotal>> readTotals(YearMonth firstMonth, YearMonth lastMonth)
+			throws SQLException {
+		String query = "SELECT Category, Month, Paid_In, Paid_Out, Count FROM " + getTableName()
+				+ " WHERE Month BETWEEN ? AND ?;";
+		Map<String, Map<YearMonth, MonthlyTotal>> totals = new HashMap<>();
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead()) {
+			PreparedStatement pstmt = lease.prepare(query);
+			pstmt.setString(1, firstMonth.toString());
+			pstmt.setString(2, lastMonth.toString());
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					String category = rs.getString("Category");
+					YearMonth month = YearMonth.parse(rs.getString("Month"));
+					totals.computeIfAbsent(category, k -> new TreeMap<>()).put(month, new MonthlyTotal(category, month,
+							rs.getLong("Paid_In"), rs.getLong("Paid_Out"), rs.getInt("Count")));
+				}
+			}
+		}
+		return totals;
+	}
+
+	/**
+	 * Checks the MonthlyTotals table against totals summed from the Inbound and
+	 * Outbound tables, over every month.
+	 *
+	 * @param tIR - the TableInboundReader used to read the Inbound table
+	 * @param tOR - the TableOutboundReader used to read the Outbound table
+	 * @return a description of each category and month whose totals differ, empty
+	 *         if the table is consistent
+	 */
+
+	public List<String> checkConsistency(TableInboundReader tIR, TableOutboundReader tOR) {
+		List<String> differences = new ArrayList<>();
+		Map<String, Map<YearMonth, MonthlyTotal>> stored;
+		try {
+			stored = readTotals(YearMonth.of(0, 1), YearMonth.of(9999, 12));
+		} catch (SQLException e) {
+			String log = String.format("Failed to read Table %s to check it. %s", getTableName(), e.getMessage());
+			logger.error(log);
+			differences.add(log);
+			return differences;
+		}
+		MonthlyTotalsReader transactions = new MonthlyTotalsReader(tIR, tOR);
+		transactions.loadFromTransactions("0000-01-01", "9999-12-31");
+		Map<String, Map<YearMonth, MonthlyTotal>> summed = transactions.getTotals();
+
+		TreeSet<String> categories = new TreeSet<>(stored.keySet());
+		categories.addAll(summed.keySet());
+		for (String category : categories) {
+			Map<YearMonth, MonthlyTotal> storedMonths = stored.getOrDefault(category, new TreeMap<>());
+			Map<YearMonth, MonthlyTotal> summedMonths = summed.getOrDefault(category, new TreeMap<>());
+			TreeSet<YearMonth> months = new TreeSet<>(storedMonths.keySet());
+			months.addAll(summedMonths.keySet());
+			for (YearMonth month : months) {
+				MonthlyTotal storedTotal = storedMonths.getOrDefault(month, new MonthlyTotal(category, month));
+				MonthlyTotal summedTotal = summedMonths.getOrDefault(month, new MonthlyTotal(category, month));
+				if (!storedTotal.sameTotals(summedTotal)) {
+					differences.add(String.format("Table %s holds %s, transactions hold %s", getTableName(),
+							storedTotal, summedTotal));
+				}
+			}
+		}
+		String log = String.format("Checked Table %s against the transactions: %d differences found.",
+				getTableName(), differences.size());
+		logger.info(log);
+		return differences;
+	}
+}
@@ -3,6 +3,7 @@ package sqliteData.tables.readers;
 import transactions.Transaction;
 
 import java.sql.SQLException;
+import java.time.YearMonth;
 import java.sql.ResultSet;
 import java.util.List;
 import java.util.Map;
@@ -122,8 +123,8 @@ public class TableOutboundReader extends TableOutbound {
 		try {
 			transaction.setDate(rs.getString("Date"));
 			transaction.setProcessedDescription(rs.getString("ProcessDescription"));
-			transaction.setPaidOut(rs.getDouble("Paid_Out"));
-			transaction.setBalance(rs.getDouble("Balance"));
+			transaction.setPaidOutPence(rs.getLong("Paid_Out"));
+			transaction.setBalancePence(rs.getLong("Balance"));
 		} catch(SQLException e){
 			logger.error("Failed to extract transaction"+e.getMessage());
 		}
@@ -145,15 +146,16 @@ public class TableOutboundReader extends TableOutbound {
 		// Check whether there are any transactions with category: category
 		if (!tCR.checkCategoryOption(category)) {
 			System.out.println("No categories of that type found");
-			logger.info("No categories of type: %s found.", category);
+			logger.info("No categories of type: {} found.", category);
 			return null;
 		}
 
 		// Generate queryString from TableUtils
 		TableUtils util = getUtil();
-		String queryString = util.buildTransactionQuery(getTableName(), startDate, endDate, category);
+		String queryString = util.buildTransactionQuery(getTableName());
+		Object[] parameters = util.buildTransactionQueryParameters(startDate, endDate, category);
 		// extract TransactionArray using queryString
-		List<Transaction> transactions = util.executeTransactionQuery(queryString);
+		List<Transaction> transactions = util.executeTransactionQuery(queryString, parameters);
 		Transaction[] transArr = transactions.toArray(new Transaction[0]);
 
 		util.logTransactionArrayRead(getTableName(), startDate, endDate, category);
@@ -167,24 +169,26 @@ public class TableOutboundReader extends TableOutbound {
 	 * @param startDate - the start date of the date range
 	 * @param endDate   - the end date of the date range
 	 * @param category  - the category for filtering the transactions
-	 * @return a map of Integer keys representing the months and List values
+	 * @return a map of YearMonth keys representing the months and List values
 	 *         representing the corresponding transactions for each month, or null
 	 *         if no categories of the provided type are found
 	 */
 
-	public Map<Integer, List<Transaction>> extractOutboundTransactionMap(String startDate, String endDate,
+	public Map<YearMonth, List<Transaction>> extractOutboundTransactionMap(String startDate, String endDate,
 			String category) {
 		// Generate queryString from TableUtils
 		if (!tCR.checkCategoryOption(category)) {
 			System.out.println("No categories of that type found");
-			logger.info("No categories of type: %s found.", category);
+			logger.info("No categories of type: {} found.", category);
 			return null;
 		}
 
 		TableUtils util = getUtil();
 		// extract TransactionArray using queryString
-		String queryString = util.buildTransactionQuery(getTableName(), startDate, endDate, category);
-		Map<Integer, List<Transaction>> transactionsByMonth = util.executeTransactionQueryByMonth(queryString);
+		String queryString = util.buildTransactionQuery(getTableName());
+		Object[] parameters = util.buildTransactionQueryParameters(startDate, endDate, category);
+		Map<YearMonth, List<Transaction>> transactionsByMonth = util.executeTransactionQueryByMonth(queryString,
+				parameters);
 
 		util.logTransactionMapRead(getTableName(), startDate, endDate, category);
 		return transactionsByMonth;
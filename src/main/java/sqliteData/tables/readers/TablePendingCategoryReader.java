@@ -0,0 +1,98 @@
+package sqliteData.tables.readers;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+import sqliteData.ConnectionLease;
+import sqliteData.tables.TablePendingCategory;
+
+/**
+ * The TablePendingCategoryReader class extends the TablePendingCategory class
+ * and reads the queue of transactions awaiting a category. The queue is read
+ * grouped by processed description, so each description only needs to be
+ * categorised once however many transactions share it.
+ *
+ * Note: The TablePendingCategoryReader class assumes that the necessary tables
+ * and connections have been set up prior to use.
+ *
+ * @see TablePendingCategory
+ * @see PendingDescription
+ * @author LORD GABRIEL
+ */
+
+public class TablePendingCategoryReader extends TablePendingCategory {
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a new TablePendingCategoryReader object with the specified
+	 * TablePendingCategory object.
+	 *
+	 * @param tP - the TablePendingCategory object associated with the reader
+	 */
+
+	public TablePendingCategoryReader(TablePendingCategory tP) {
+		super(tP.getDB());
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Reads the queue grouped by processed description, the most common
+	 * descriptions first.
+	 *
+	 * @return one PendingDescription per distinct description in the queue
+	 */
+	public List<PendingDescription> readPendingDescriptions() {
+		List<PendingDescription> pending = new ArrayList<>();
+		// SQLite takes the bare Amount column from the row holding MIN(Date)
+		String query = "SELECT ProcessDescription, COUNT(*) AS Count, "
+				+ "SUM(CASE WHEN Direction = ? THEN 1 ELSE 0 END) AS IncomingCount, MIN(Date) AS FirstDate, Amount "
+				+ "FROM " + getTableName() + " GROUP BY ProcessDescription ORDER BY Count DESC, ProcessDescription;";
+
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead()) {
+			PreparedStatement pstmt = lease.prepare(query);
+			pstmt.setString(1, INCOMING);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					pending.add(new PendingDescription(rs.getString("ProcessDescription"), rs.getInt("Count"),
+							rs.getInt("IncomingCount"), rs.getString("FirstDate"), rs.getLong("Amount")));
+				}
+			}
+			String log = String.format("Read %d pending descriptions from %s", pending.size(), getTableName());
+			logger.info(log);
+		} catch (SQLException e) {
+			String log = String.format("Failed to read pending descriptions from %s. %s", getTableName(),
+					e.getMessage());
+			logger.error(log);
+		}
+		return pending;
+	}
+
+	/**
+	 * Counts the distinct descriptions awaiting a category.
+	 *
+	 * @return the number of descriptions, or 0 if the table could not be read
+	 */
+	public int countPendingDescriptions() {
+		String query = "SELECT COUNT(DISTINCT ProcessDescription) FROM " + getTableName() + ";";
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowRead()) {
+			PreparedStatement pstmt = lease.prepare(query);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				return rs.next() ? rs.getInt(1) : 0;
+			}
+		} catch (SQLException e) {
+			String log = String.format("Failed to count pending descriptions in %s. %s", getTableName(),
+					e.getMessage());
+			logger.error(log);
+			return 0;
+		}
+	}
+}
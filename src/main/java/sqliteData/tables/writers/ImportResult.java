@@ -0,0 +1,165 @@
+package sqliteData.tables.writers;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * The ImportResult class records the outcome of a batched import into one of
+ * the transaction tables. It keeps track of how many of the supplied
+ * transactions were actually inserted, how many were ignored because a row with
+ * the same ID already existed, and how many were skipped because they do not
+ * belong in the target table (e.g. outbound transactions offered to the Inbound
+ * table). If the import stopped on an error, the error is recorded and the
+ * counts only cover the batches committed before it.
+ *
+ * @see TableInboundWriter
+ * @see TableOutboundWriter
+ * @author LORD GABRIEL
+ */
+
+public class ImportResult {
+
+	private String tableName;
+	private int inserted;
+	private int ignored;
+	private int skipped;
+	private int batches;
+	private int queued;
+	private SQLException failure;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs an empty ImportResult for the specified table.
+	 *
+	 * @param tableName - the name of the table the import is targeting
+	 */
+
+	public ImportResult(String tableName) {
+		this.tableName = tableName;
+	}
+
+	/*
+	 * =========================== GETTERS ===========================
+	 */
+
+	public String getTableName() {
+		return tableName;
+	}
+
+	public int getInserted() {
+		return inserted;
+	}
+
+	public int getIgnored() {
+		return ignored;
+	}
+
+	public int getSkipped() {
+		return skipped;
+	}
+
+	public int getBatches() {
+		return batches;
+	}
+
+	/**
+	 * @return the number of inserted transactions queued as Uncategorised
+	 */
+	public int getQueued() {
+		return queued;
+	}
+
+	/**
+	 * @return true if the import stopped on an error
+	 */
+	public boolean isFailed() {
+		return failure != null;
+	}
+
+	/**
+	 * @return the error the import stopped on, or null if it completed
+	 */
+	public SQLException getFailure() {
+		return failure;
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Records the update counts returned by executing a batch of INSERT OR IGNORE
+	 * statements. A count of 0 means the row was ignored because its ID already
+	 * exists in the table.
+	 *
+	 * @param updateCounts - the update counts returned by executeBatch()
+	 */
+
+	public void recordBatch(int[] updateCounts) {
+		batches++;
+		for (int count : updateCounts) {
+			if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+				inserted++;
+			} else {
+				ignored++;
+			}
+		}
+	}
+
+	/**
+	 * Records inserted transactions that were queued as Uncategorised.
+	 *
+	 * @param count - the number of transactions queued
+	 */
+
+	public void recordQueued(int count) {
+		queued += count;
+	}
+
+	/**
+	 * Records a transaction that was not offered to the table as it belongs to the
+	 * other transaction table.
+	 */
+
+	public void recordSkipped() {
+		skipped++;
+	}
+
+	/**
+	 * Records the error that stopped the import.
+	 *
+	 * @param failure - the error
+	 */
+
+	public void recordFailure(SQLException failure) {
+		this.failure = failure;
+	}
+
+	/**
+	 * Adds the counts of another ImportResult onto this one. If either import
+	 * failed, the combined result is failed, keeping the first error.
+	 *
+	 * @param other - the ImportResult to add
+	 */
+
+	public void add(ImportResult other) {
+		inserted += other.getInserted();
+		ignored += other.getIgnored();
+		skipped += other.getSkipped();
+		batches += other.getBatches();
+		queued += other.getQueued();
+		if (failure == null) {
+			failure = other.getFailure();
+		}
+	}
+
+	@Override
+	public String toString() {
+		String counts = String.format("%s: %d inserted, %d ignored (already present), %d skipped", tableName,
+				inserted, ignored, skipped);
+		return isFailed() ? counts + ". FAILED: " + failure.getMessage() : counts;
+	}
+}
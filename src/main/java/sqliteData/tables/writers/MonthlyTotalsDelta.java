@@ -0,0 +1,131 @@
+package sqliteData.tables.writers;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import sqliteData.ConnectionLease;
+import sqliteData.Database;
+import sqliteData.tables.TableMonthlyTotals;
+import transactions.Transaction;
+
+/**
+ * The MonthlyTotalsDelta class gathers the changes that a write to the Inbound
+ * or Outbound table makes to the MonthlyTotals table, so they can be written
+ * with one UPSERT per category and month, on the same connection and in the
+ * same transaction as the rows they count.
+ * <p>
+ * If the database has no MonthlyTotals table nothing is gathered; the table is
+ * rebuilt from the Inbound and Outbound tables when it is created.
+ *
+ * @see TableMonthlyTotals
+ * @see TableInboundWriter
+ * @see TableOutboundWriter
+ * @author LORD GABRIEL
+ */
+
+class MonthlyTotalsDelta {
+
+	private final TableMonthlyTotals tM;
+	private final boolean enabled;
+
+	// Keyed by the YYYY-MM month followed by the category, which cannot be ambiguous as months have a fixed length
+	private final Map<String, long[]> deltas = new LinkedHashMap<>();
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a MonthlyTotalsDelta for a database, checking whether it has a
+	 * MonthlyTotals table. Must not be called while holding the write connection.
+	 *
+	 * @param DB - the database written to
+	 */
+
+	MonthlyTotalsDelta(Database DB) {
+		this.tM = new TableMonthlyTotals(DB);
+		this.enabled = DB.checkTable(tM.getTableName());
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Adds the transactions of an executed batch that were inserted, skipping
+	 * those ignored as their ID was already present.
+	 *
+	 * @param batch        - the transactions of the batch, in the order added
+	 * @param updateCounts - the update counts returned by executeBatch()
+	 */
+
+	void addInserted(List<Transaction> batch, int[] updateCounts) {
+		if (!enabled) {
+			return;
+		}
+		for (int i = 0; i < updateCounts.length; i++) {
+			if (updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO) {
+				Transaction tr = batch.get(i);
+				add(tr.getCategory(), tr.getDate().substring(0, 7), tr.getPaidInPence(), tr.getPaidOutPence(), 1);
+			}
+		}
+	}
+
+	/**
+	 * Adds to the totals of a category and month.
+	 *
+	 * @param category     - the category
+	 * @param month        - the month, YYYY-MM
+	 * @param paidInPence  - the amount paid in to add, in pence
+	 * @param paidOutPence - the amount paid out to add, in pence
+	 * @param count        - the number of transactions to add
+	 */
+
+	void add(String category, String month, long paidInPence, long paidOutPence, int count) {
+		if (!enabled) {
+			return;
+		}
+		long[] delta = deltas.computeIfAbsent(month + category, k -> new long[3]);
+		delta[0] += paidInPence;
+		delta[1] += paidOutPence;
+		delta[2] += count;
+	}
+
+	/**
+	 * Writes the gathered changes, then forgets them. The caller commits.
+	 *
+	 * @param lease - the write connection the rows were written on
+	 * @throws SQLException if the changes cannot be written
+	 */
+
+	void write(ConnectionLease lease) throws SQLException {
+		if (deltas.isEmpty()) {
+			return;
+		}
+		PreparedStatement pstmt = lease.prepare(tM.buildUpsertQuery());
+		for (Map.Entry<String, long[]> entry : deltas.entrySet()) {
+			String key = entry.getKey();
+			long[] delta = entry.getValue();
+			pstmt.setString(1, key.substring(7));
+			pstmt.setString(2, key.substring(0, 7));
+			pstmt.setLong(3, delta[0]);
+			pstmt.setLong(4, delta[1]);
+			pstmt.setLong(5, delta[2]);
+			pstmt.addBatch();
+		}
+		pstmt.executeBatch();
+		deltas.clear();
+	}
+
+	/**
+	 * Forgets the gathered changes, e.g. when their rows are rolled back.
+	 */
+
+	void clear() {
+		deltas.clear();
+	}
+}
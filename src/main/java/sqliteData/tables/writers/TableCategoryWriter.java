@@ -1,10 +1,9 @@
 package sqliteData.tables.writers;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import optionMenu.*;
+import sqliteData.ConnectionLease;
 import sqliteData.tables.TableCategory;
 
 /**
@@ -245,14 +244,13 @@ public class TableCategoryWriter extends TableCategory {
 	 */
 	public void insertEntry(String description, String category) {
 		String insert = "INSERT OR IGNORE INTO " + getTableName() + " (Description, Category) \n" + "VALUES(?, ?);";
-		try (Connection conn = DriverManager.getConnection(getDB().getUrl());
-				PreparedStatement stmt = conn.prepareStatement(insert)) {
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite()) {
+			PreparedStatement stmt = lease.prepare(insert);
 			stmt.setString(1, description);
 			stmt.setString(2, category);
 			stmt.executeUpdate();
-			String log = String.format("Entry - description: %s & category: %s appended to: %s", description, category,
+			logger.debug("Entry - description: {} & category: {} appended to: {}", description, category,
 					getTableName());
-			logger.info(log);
 		} catch (SQLException e) {
 			String log = String.format(
 					"Error when attempting to insert entry - description: %s & category;%s appended to: %s",
@@ -1,25 +1,24 @@
 package sqliteData.tables.writers;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.sql.Statement;
-
+import metrics.MetricsRegistry;
 import sqliteData.tables.TableInbound;
 import transactions.Transaction;
 
 /**
  * 
  * The TableInboundWriter class is responsible for importing transactions into
- * the inbound table of the SQLite database. It extends the TableInbound class
- * and provides a method to import an array of transactions into the table.
+ * the inbound table of the SQLite database. Only transactions with a paid in value and no paid out value are
+ * written, with their amount in the Paid_In column. Imports are timed under
+ * {@link MetricsRegistry#DB_INBOUND_IMPORT}.
  * 
+ * @see TransactionTableWriter
  * @see TableInbound
+ * @see ImportResult
  * @see transactions.Transaction
- * @author
+ * @author LORD GABRIEL
  */
 
-public class TableInboundWriter extends TableInbound {
+public class TableInboundWriter extends TransactionTableWriter {
 
 	/*
 	 * =========================== CONSTRUCTORS ===========================
@@ -28,45 +27,34 @@ public class TableInboundWriter extends TableInbound {
 	/**
 	 * Constructs a TableInboundWriter object with the specified TableInbound object.
 	 * 
-	 * @param table - the TableInbound object to set
+	 * @param table - the TableInbound object to write to
 	 */
-	
+
 	public TableInboundWriter(TableInbound table) {
-		super(table.getDB());
+		super(table);
 	}
 
 	/*
-	 * =========================== METHODS ===========================
-	 */
-	
-	/**
-	 * Imports an array of transactions into the inbound table of the database.
-	 * 
-	 * @param transactions - the array of transactions to import
+	 * ==============IMPLEMENT ABSTRACT METHODS============
 	 */
 
-	public void importData(Transaction[] transactions) {
-		int numImports = transactions.length;
-		int i = 0;
-		String insert;
-		// connect to DB,
-		try (Connection conn = DriverManager.getConnection(getDB().getUrl()); Statement stmt = conn.createStatement()) {
-			// for each import add to table
-			for (i = 0; i < numImports; i++) {
-				Transaction tr = transactions[i];
-				if (tr.getPaidIn() > 0 && tr.getPaidOut() <= 0) {
-					insert = "INSERT OR IGNORE INTO " + getTableName()
-							+ " (ID, Date,trType,RawDescription,ProcessDescription," + "Category,Paid_In,Balance) \n"
-							+ "VALUES ('" + tr.getID() + "', '" + tr.getDate() + "', '" + tr.getTrType() + "', '"
-							+ tr.getRawDescription() + "', '" + tr.getProcessedDescription() + "', '" + tr.getCategory()
-							+ "', '" + tr.getPaidIn() + "', '" + tr.getBalance() + "');";
-					stmt.execute(insert);
-				}
-			}
-			logger.info(String.format("Imported {} transactions into {}", numImports, getTableName()));
-		} catch (SQLException e) {
-			logger.error(String.format("Failed to import transactions into {} table. {}", getTableName(), e.getMessage()));
-		}
+	@Override
+	protected String getAmountColumn() {
+		return "Paid_In";
+	}
+
+	@Override
+	protected boolean belongsInTable(Transaction transaction) {
+		return transaction.getPaidInPence() > 0 && transaction.getPaidOutPence() <= 0;
+	}
+
+	@Override
+	protected long getAmountPence(Transaction transaction) {
+		return transaction.getPaidInPence();
+	}
 
+	@Override
+	protected String getMetricName() {
+		return MetricsRegistry.DB_INBOUND_IMPORT;
 	}
 }
@@ -0,0 +1,95 @@
+package sqliteData.tables.writers;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import sqliteData.ConnectionLease;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableMonthlyTotals;
+import sqliteData.tables.TableOutbound;
+
+/**
+ * The TableMonthlyTotalsWriter class extends the TableMonthlyTotals class and
+ * rebuilds the MonthlyTotals table from the Inbound and Outbound tables, e.g.
+ * for a database created before the table existed, or if the consistency check
+ * of {@link sqliteData.tables.readers.TableMonthlyTotalsReader} finds the totals
+ * no longer agree with the transactions.
+ * <p>
+ * Day to day the table is kept up to date by {@link TableInboundWriter},
+ * {@link TableOutboundWriter} and {@link TablePendingCategoryWriter}, so a
+ * rebuild is never needed after an import.
+ *
+ * @see TableMonthlyTotals
+ * @see sqliteData.tables.readers.TableMonthlyTotalsReader
+ * @author LORD GABRIEL
+ */
+
+public class TableMonthlyTotalsWriter extends TableMonthlyTotals {
+
+	private final String inboundTableName;
+	private final String outboundTableName;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a TableMonthlyTotalsWriter for the MonthlyTotals table and the
+	 * tables it totals.
+	 *
+	 * @param tM - the TableMonthlyTotals object to write to
+	 * @param tI - the Inbound table totalled
+	 * @param tO - the Outbound table totalled
+	 */
+
+	public TableMonthlyTotalsWriter(TableMonthlyTotals tM, TableInbound tI, TableOutbound tO) {
+		super(tM.getDB());
+		this.inboundTableName = tI.getTableName();
+		this.outboundTableName = tO.getTableName();
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Replaces every row of the MonthlyTotals table with totals summed from the
+	 * Inbound and Outbound tables, in one transaction. The table is created first
+	 * if it does not exist.
+	 *
+	 * @return true if the table was rebuilt, false if the rebuild failed and was
+	 *         rolled back
+	 */
+
+	public boolean rebuild() {
+		if (!getDB().checkTable(getTableName())) {
+			createTable();
+		}
+		long start = System.nanoTime();
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			Connection conn = lease.getConnection();
+			conn.setAutoCommit(false);
+			try {
+				stmt.executeUpdate("DELETE FROM " + getTableName() + ";");
+				stmt.executeUpdate(buildAddFromTableQuery(inboundTableName, "Paid_In", true));
+				stmt.executeUpdate(buildAddFromTableQuery(outboundTableName, "Paid_Out", false));
+				conn.commit();
+			} catch (SQLException e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			String log = String.format("Rebuilt Table %s from %s and %s in %d milliseconds.", getTableName(),
+					inboundTableName, outboundTableName, (System.nanoTime() - start) / 1000000);
+			logger.info(log);
+			return true;
+		} catch (SQLException e) {
+			String log = String.format("Failed to rebuild Table %s. %s", getTableName(), e.getMessage());
+			logger.error(log);
+			return false;
+		}
+	}
+}
@@ -1,25 +1,24 @@
 package sqliteData.tables.writers;
 
-import java.sql.Connection;
-import java.sql.DriverManager;
-import java.sql.SQLException;
-import java.sql.Statement;
-
+import metrics.MetricsRegistry;
 import sqliteData.tables.TableOutbound;
 import transactions.Transaction;
 
 /**
  * 
  * The TableOutboundWriter class is responsible for importing transactions into
- * the outbound table of the SQLite database. It extends the TableOutbound class
- * and provides a method to import an array of transactions into the table.
+ * the outbound table of the SQLite database. Only transactions with a paid out value and no paid in value are
+ * written, with their amount in the Paid_Out column. Imports are timed under
+ * {@link MetricsRegistry#DB_OUTBOUND_IMPORT}.
  * 
+ * @see TransactionTableWriter
  * @see TableOutbound
+ * @see ImportResult
  * @see transactions.Transaction
- * @author
+ * @author LORD GABRIEL
  */
 
-public class TableOutboundWriter extends TableOutbound {
+public class TableOutboundWriter extends TransactionTableWriter {
 
 	/*
 	 * =========================== CONSTRUCTORS ===========================
@@ -28,45 +27,34 @@ public class TableOutboundWriter extends TableOutbound {
 	/**
 	 * Constructs a TableOutboundWriter object with the specified TableOutbound object.
 	 * 
-	 * @param table - the TableOutbound object to set
+	 * @param table - the TableOutbound object to write to
 	 */
 
 	public TableOutboundWriter(TableOutbound table) {
-		super(table.getDB());
+		super(table);
 	}
 
 	/*
-	 * =========================== METHODS ===========================
+	 * ==============IMPLEMENT ABSTRACT METHODS============
 	 */
 
-	/**
-	 * Imports an array of transactions into the outbound table of the database.
-	 * 
-	 * @param transactions - the array of transactions to import
-	 */
+	@Override
+	protected String getAmountColumn() {
+		return "Paid_Out";
+	}
+
+	@Override
+	protected boolean belongsInTable(Transaction transaction) {
+		return transaction.getPaidInPence() <= 0 && transaction.getPaidOutPence() > 0;
+	}
 
-	public void importData(Transaction[] transactions) {
-		int numImports = transactions.length;
-		int i = 0;
-		String insert;
-		// connect to DB,
-		try (Connection conn = DriverManager.getConnection(getDB().getUrl()); Statement stmt = conn.createStatement()) {
-			// for each import add to table
-			for (i = 0; i < numImports; i++) {
-				Transaction tr = transactions[i];
-				if (tr.getPaidIn() <= 0 && tr.getPaidOut() > 0) {
-					insert = "INSERT OR IGNORE INTO " + getTableName()
-							+ " (ID, Date,trType,RawDescription,ProcessDescription," + "Category,Paid_Out,Balance) \n"
-							+ "VALUES ('" + tr.getID() + "', '" + tr.getDate() + "', '" + tr.getTrType() + "', '"
-							+ tr.getRawDescription() + "', '" + tr.getProcessedDescription() + "', '" + tr.getCategory()
-							+ "', '" + tr.getPaidOut() + "', '" + tr.getBalance() + "');";
-					stmt.execute(insert);
-				}
-			}
-			logger.info(String.format("Imported {} transactions into {}", numImports, getTableName()));
-		} catch (SQLException e) {
-			logger.error(String.format("Failed to import transactions into {} table. {}", getTableName(), e.getMessage()));
-		}
+	@Override
+	protected long getAmountPence(Transaction transaction) {
+		return transaction.getPaidOutPence();
 	}
 
+	@Override
+	protected String getMetricName() {
+		return MetricsRegistry.DB_OUTBOUND_IMPORT;
+	}
 }
@@ -0,0 +1,232 @@
+package sqliteData.tables.writers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import sqliteData.ConnectionLease;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableMonthlyTotals;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import transactions.Transaction;
+
+/**
+ * The TablePendingCategoryWriter class extends the TablePendingCategory class
+ * and writes to the queue of transactions awaiting a category. When a statement
+ * is imported without prompting the user, its Uncategorised transactions are
+ * queued by the Inbound and Outbound writers, in the same transaction as the
+ * rows they were inserted with, so no Uncategorised row is left out of the
+ * queue.
+ * <p>
+ * When a category is chosen for a description, {@link #applyCategory} updates
+ * every Uncategorised row with that description in the Inbound and Outbound
+ * tables with one UPDATE per table, moves their totals in the MonthlyTotals
+ * table from Uncategorised to the chosen category, records the
+ * description,category pair in the Category table and removes the description
+ * from the queue, all in one transaction.
+ *
+ * @see TablePendingCategory
+ * @see sqliteData.tables.readers.TablePendingCategoryReader
+ * @author LORD GABRIEL
+ */
+
+public class TablePendingCategoryWriter extends TablePendingCategory {
+
+	private final String inboundTableName;
+	private final String outboundTableName;
+	private final String categoryTableName;
+	private final TableMonthlyTotals tM;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a TablePendingCategoryWriter for the queue and the tables that
+	 * categories are applied to.
+	 *
+	 * @param tP - the TablePendingCategory object to write the queue to
+	 * @param tI - the Inbound table updated when a category is applied
+	 * @param tO - the Outbound table updated when a category is applied
+	 * @param tC - the Category table the chosen category is recorded in
+	 */
+
+	public TablePendingCategoryWriter(TablePendingCategory tP, TableInbound tI, TableOutbound tO, TableCategory tC) {
+		super(tP.getDB());
+		this.inboundTableName = tI.getTableName();
+		this.outboundTableName = tO.getTableName();
+		this.categoryTableName = tC.getTableName();
+		this.tM = new TableMonthlyTotals(tP.getDB());
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Queues transactions that were imported as Uncategorised, in one batch and
+	 * one transaction. Transactions already in the queue are ignored.
+	 *
+	 * @param transactions - the transactions awaiting a category
+	 * @return the number of transactions added to the queue, or -1 if queueing
+	 *         failed and was rolled back
+	 */
+
+	public int enqueue(List<Transaction> transactions) {
+		if (transactions.isEmpty()) {
+			return 0;
+		}
+		int queued;
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite()) {
+			Connection conn = lease.getConnection();
+			conn.setAutoCommit(false);
+			try {
+				queued = enqueue(lease, transactions);
+				conn.commit();
+			} catch (SQLException e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			String log = String.format("Queued %d of %d transactions in %s", queued, transactions.size(),
+					getTableName());
+			logger.info(log);
+		} catch (SQLException e) {
+			String log = String.format("Failed to queue transactions in %s. %s", getTableName(), e.getMessage());
+			logger.error(log);
+			return -1;
+		}
+		return queued;
+	}
+
+	/**
+	 * Queues transactions on a write connection the caller holds, as part of the
+	 * caller's transaction. The caller commits, or rolls back on an error.
+	 * Transactions already in the queue are ignored.
+	 *
+	 * @param lease        - the write connection, with auto-commit off
+	 * @param transactions - the transactions awaiting a category
+	 * @return the number of transactions added to the queue
+	 * @throws SQLException if the transactions cannot be queued
+	 */
+
+	int enqueue(ConnectionLease lease, List<Transaction> transactions) throws SQLException {
+		if (transactions.isEmpty()) {
+			return 0;
+		}
+		String insert = "INSERT OR IGNORE INTO " + getTableName()
+				+ " (ID, Date, ProcessDescription, Direction, Amount) VALUES (?, ?, ?, ?, ?);";
+		PreparedStatement pstmt = lease.prepare(insert);
+		for (Transaction tr : transactions) {
+			boolean incoming = tr.getPaidInPence() > 0;
+			pstmt.setString(1, tr.getID());
+			pstmt.setString(2, tr.getDate());
+			pstmt.setString(3, tr.getProcessedDescription());
+			pstmt.setString(4, incoming ? INCOMING : OUTGOING);
+			pstmt.setLong(5, incoming ? tr.getPaidInPence() : tr.getPaidOutPence());
+			pstmt.addBatch();
+		}
+		int queued = 0;
+		try {
+			for (int count : pstmt.executeBatch()) {
+				if (count > 0 || count == Statement.SUCCESS_NO_INFO) {
+					queued++;
+				}
+			}
+		} finally {
+			pstmt.clearBatch();
+		}
+		return queued;
+	}
+
+	/**
+	 * Applies a category to every Uncategorised transaction with the given
+	 * processed description, records the description,category pair in the
+	 * Category table (an existing pair is kept), and removes the description from
+	 * the queue. Either all of these changes are made or none are.
+	 *
+	 * @param description - the processed description to categorise
+	 * @param category    - the category chosen for the description
+	 * @return the number of Inbound and Outbound rows updated, or -1 if the changes
+	 *         failed and were rolled back
+	 */
+
+	public int applyCategory(String description, String category) {
+		String updateInbound = "UPDATE " + inboundTableName
+				+ " SET Category = ? WHERE ProcessDescription = ? AND Category = ?;";
+		String updateOutbound = "UPDATE " + outboundTableName
+				+ " SET Category = ? WHERE ProcessDescription = ? AND Category = ?;";
+		String insertCategory = "INSERT OR IGNORE INTO " + categoryTableName
+				+ " (Description, Category) VALUES (?, ?);";
+		String dequeue = "DELETE FROM " + getTableName() + " WHERE ProcessDescription = ?;";
+		boolean moveTotals = getDB().checkTable(tM.getTableName());
+
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite()) {
+			Connection conn = lease.getConnection();
+			conn.setAutoCommit(false);
+			try {
+				if (moveTotals) {
+					moveMonthlyTotals(lease, description, category);
+				}
+				int updated = 0;
+				for (String update : new String[] { updateInbound, updateOutbound }) {
+					PreparedStatement pstmt = lease.prepare(update);
+					pstmt.setString(1, category);
+					pstmt.setString(2, description);
+					pstmt.setString(3, UNCATEGORISED);
+					updated += pstmt.executeUpdate();
+				}
+				PreparedStatement insert = lease.prepare(insertCategory);
+				insert.setString(1, description);
+				insert.setString(2, category);
+				insert.executeUpdate();
+				PreparedStatement delete = lease.prepare(dequeue);
+				delete.setString(1, description);
+				delete.executeUpdate();
+				conn.commit();
+
+				String log = String.format("Category %s applied to %d transactions described as %s", category, updated,
+						description);
+				logger.info(log);
+				return updated;
+			} catch (SQLException e) {
+				conn.rollback();
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+		} catch (SQLException e) {
+			String log = String.format("Failed to apply category %s to transactions described as %s. %s", category,
+					description, e.getMessage());
+			logger.error(log);
+			return -1;
+		}
+	}
+
+	/**
+	 * Moves the totals of the Uncategorised transactions with a description to
+	 * the chosen category, before the transactions themselves are updated, then
+	 * deletes any totals left with no transactions.
+	 */
+
+	private void moveMonthlyTotals(ConnectionLease lease, String description, String category) throws SQLException {
+		String[][] sources = { { inboundTableName, "Paid_In" }, { outboundTableName, "Paid_Out" } };
+		for (String[] source : sources) {
+			boolean paidIn = source == sources[0];
+			for (boolean remove : new boolean[] { false, true }) {
+				PreparedStatement pstmt = lease
+						.prepare(tM.buildMoveCategoryQuery(source[0], source[1], paidIn, remove));
+				pstmt.setString(1, remove ? UNCATEGORISED : category);
+				pstmt.setString(2, description);
+				pstmt.setString(3, UNCATEGORISED);
+				pstmt.executeUpdate();
+			}
+		}
+		lease.prepare(tM.buildDeleteEmptyQuery()).executeUpdate();
+	}
+}
@@ -0,0 +1,335 @@
+package sqliteData.tables.writers;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import metrics.MetricsRegistry;
+import metrics.Timer;
+import metrics.jfr.BatchCommittedEvent;
+import sqliteData.ConnectionLease;
+import sqliteData.Database;
+import sqliteData.tables.Table;
+import transactions.Transaction;
+
+/**
+ * 
+ * The TransactionTableWriter class imports transactions into one of the
+ * transaction tables of the SQLite database, the Inbound or the Outbound
+ * table. Subclasses give the amount column written, which transactions belong
+ * in the table, and the name of the timer the import is recorded under.
+ * <p>
+ * Transactions are written through a single reusable PreparedStatement in
+ * batches, all within one transaction that is committed every
+ * {@link #getCommitInterval()} rows. The MonthlyTotals table is updated with
+ * the rows actually inserted before each commit, so it always agrees with the
+ * committed rows. Transactions imported as Uncategorised can be queued for a
+ * category in the same way, so a committed row is never missing from the
+ * queue. Each import is timed in the default MetricsRegistry, and each
+ * commit emits a BatchCommittedEvent for Java Flight Recorder.
+ * 
+ * @see TableInboundWriter
+ * @see TableOutboundWriter
+ * @see ImportResult
+ * @see TablePendingCategoryWriter
+ * @see metrics.MetricsRegistry
+ * @author LORD GABRIEL
+ */
+
+public abstract class TransactionTableWriter {
+
+	/**
+	 * Default number of rows written between commits.
+	 */
+	public static final int DEFAULT_COMMIT_INTERVAL = 500;
+
+	protected static final Logger logger = LogManager.getLogger(TransactionTableWriter.class.getName());
+
+	private final Table table;
+	private int commitInterval = DEFAULT_COMMIT_INTERVAL;
+
+	/*
+	 * =========================== CONSTRUCTORS ===========================
+	 */
+
+	/**
+	 * Constructs a TransactionTableWriter for the specified table.
+	 * 
+	 * @param table - the transaction table to write to
+	 */
+
+	protected TransactionTableWriter(Table table) {
+		this.table = table;
+	}
+
+	/*
+	 * =========================== GETTERS ===========================
+	 */
+
+	public Table getTable() {
+		return table;
+	}
+
+	public String getTableName() {
+		return table.getTableName();
+	}
+
+	public Database getDB() {
+		return table.getDB();
+	}
+
+	public int getCommitInterval() {
+		return commitInterval;
+	}
+
+	/*
+	 * =========================== SETTERS ===========================
+	 */
+
+	/**
+	 * Sets the number of rows written between commits. A value of 0 or less
+	 * commits once at the end of the import.
+	 * 
+	 * @param commitInterval - the number of rows to write between commits
+	 */
+
+	public void setCommitInterval(int commitInterval) {
+		this.commitInterval = commitInterval;
+	}
+
+	/*
+	 * =========================== ABSTRACT METHODS ===========================
+	 */
+
+	/**
+	 * @return the name of the column the amount is written to, e.g. Paid_In
+	 */
+	protected abstract String getAmountColumn();
+
+	/**
+	 * @param transaction - the transaction to check
+	 * @return true if the transaction belongs in the table
+	 */
+	protected abstract boolean belongsInTable(Transaction transaction);
+
+	/**
+	 * @param transaction - a transaction that belongs in the table
+	 * @return the amount written to the amount column, in pence
+	 */
+	protected abstract long getAmountPence(Transaction transaction);
+
+	/**
+	 * @return the name of the timer imports are recorded under in the default
+	 *         MetricsRegistry
+	 */
+	protected abstract String getMetricName();
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Imports an array of transactions into the table. Only transactions that
+	 * belong in the table are written; the rest are counted as skipped.
+	 * Transactions whose ID is already present are ignored.
+	 * <p>
+	 * If an error occurs the uncommitted part of the import is rolled back; batches
+	 * committed before the error remain in the table, and the error is recorded
+	 * in the ImportResult.
+	 * 
+	 * @param transactions - the array of transactions to import
+	 * @return an ImportResult with the number of rows inserted and ignored, marked
+	 *         as failed if the import stopped on an error
+	 */
+
+	public ImportResult importData(Transaction[] transactions) {
+		return importData(transactions, Collections.emptyList(), null);
+	}
+
+	/**
+	 * Imports an array of transactions into the table, as
+	 * {@link #importData(Transaction[])}, queueing the pending transactions that
+	 * were inserted for a category. Each batch of pending transactions is queued
+	 * before the batch is committed, so a row and its place in the queue are
+	 * committed or rolled back together. Pending transactions ignored as their ID
+	 * was already present are not queued again.
+	 * 
+	 * @param transactions - the array of transactions to import
+	 * @param pending      - the transactions imported as Uncategorised
+	 * @param queue        - the queue to add inserted pending transactions to, or
+	 *                     null to queue none
+	 * @return an ImportResult with the number of rows inserted, ignored and
+	 *         queued, marked as failed if the import stopped on an error
+	 */
+
+	public ImportResult importData(Transaction[] transactions, Collection<Transaction> pending,
+			TablePendingCategoryWriter queue) {
+		Timer.Sample sample = MetricsRegistry.getDefault().timer(getMetricName()).start();
+		ImportResult result = new ImportResult(getTableName());
+		String insert = "INSERT OR IGNORE INTO " + getTableName()
+				+ " (ID, Date, trType, RawDescription, ProcessDescription, Category, " + getAmountColumn()
+				+ ", Balance) VALUES (?, ?, ?, ?, ?, ?, ?, ?);";
+
+		MonthlyTotalsDelta totals = new MonthlyTotalsDelta(getDB());
+		List<Transaction> batch = new ArrayList<>();
+		BatchQueue batchQueue = new BatchQueue(pending, queue);
+
+		try (ConnectionLease lease = getDB().getConnectionProvider().borrowWrite()) {
+			Connection conn = lease.getConnection();
+			PreparedStatement pstmt = lease.prepare(insert);
+			conn.setAutoCommit(false);
+			try {
+				int count = 0;
+				for (Transaction tr : transactions) {
+					if (!belongsInTable(tr)) {
+						result.recordSkipped();
+						continue;
+					}
+					pstmt.setString(1, tr.getID());
+					pstmt.setString(2, tr.getDate());
+					pstmt.setString(3, tr.getTrType());
+					pstmt.setString(4, tr.getRawDescription());
+					pstmt.setString(5, tr.getProcessedDescription());
+					pstmt.setString(6, tr.getCategory());
+					pstmt.setLong(7, getAmountPence(tr));
+					pstmt.setLong(8, tr.getBalancePence());
+					pstmt.addBatch();
+					batch.add(tr);
+					count++;
+
+					if (commitInterval > 0 && count >= commitInterval) {
+						commitBatch(lease, pstmt, batch, result, totals, batchQueue);
+						count = 0;
+					}
+				}
+				commitBatch(lease, pstmt, batch, result, totals, batchQueue);
+			} catch (SQLException e) {
+				totals.clear();
+				batchQueue.clear();
+				rollback(conn, pstmt, e);
+				throw e;
+			} finally {
+				conn.setAutoCommit(true);
+			}
+			String log = String.format("Imported transactions into %s. %s", getTableName(), result);
+			logger.info(log);
+		} catch (SQLException e) {
+			result.recordFailure(e);
+			String log = String.format("Failed to import transactions into %s table. %s", getTableName(),
+					e.getMessage());
+			logger.error(log);
+		}
+		sample.addRows(transactions.length);
+		sample.close();
+		return result;
+	}
+
+	/**
+	 * Executes the pending batch of inserts, if any, writes the monthly totals,
+	 * queues the inserted pending transactions and commits.
+	 */
+	private void commitBatch(ConnectionLease lease, PreparedStatement pstmt, List<Transaction> batch,
+			ImportResult result, MonthlyTotalsDelta totals, BatchQueue batchQueue) throws SQLException {
+		BatchCommittedEvent event = new BatchCommittedEvent();
+		event.begin();
+		int rows = batch.size();
+		int insertedBefore = result.getInserted();
+		if (!batch.isEmpty()) {
+			executeBatch(pstmt, batch, result, totals, batchQueue);
+		}
+		totals.write(lease);
+		result.recordQueued(batchQueue.write(lease));
+		lease.getConnection().commit();
+		if (event.shouldCommit()) {
+			event.table = getTableName();
+			event.rows = rows;
+			event.inserted = result.getInserted() - insertedBefore;
+			event.commit();
+		}
+	}
+
+	/**
+	 * Discards the pending batch and rolls back the uncommitted part of the
+	 * import. Any error doing so is added to the error that stopped the import,
+	 * rather than replacing it.
+	 */
+	private void rollback(Connection conn, PreparedStatement pstmt, SQLException cause) {
+		try {
+			pstmt.clearBatch();
+			conn.rollback();
+		} catch (SQLException e) {
+			cause.addSuppressed(e);
+		}
+	}
+
+	/**
+	 * Executes a batch of inserts, recording which were inserted and adding those
+	 * to the monthly totals and the pending queue.
+	 */
+	private void executeBatch(PreparedStatement pstmt, List<Transaction> batch, ImportResult result,
+			MonthlyTotalsDelta totals, BatchQueue batchQueue) throws SQLException {
+		int[] updateCounts = pstmt.executeBatch();
+		result.recordBatch(updateCounts);
+		totals.addInserted(batch, updateCounts);
+		batchQueue.addInserted(batch, updateCounts);
+		batch.clear();
+	}
+
+	/**
+	 * The BatchQueue class gathers the pending transactions of a batch that were
+	 * inserted, to be queued on the same connection before the batch is committed.
+	 */
+	private static final class BatchQueue {
+
+		private final Set<String> pendingIDs = new HashSet<>();
+		private final TablePendingCategoryWriter queue;
+		private final List<Transaction> inserted = new ArrayList<>();
+
+		BatchQueue(Collection<Transaction> pending, TablePendingCategoryWriter queue) {
+			this.queue = queue;
+			if (queue != null) {
+				for (Transaction tr : pending) {
+					pendingIDs.add(tr.getID());
+				}
+			}
+		}
+
+		void addInserted(List<Transaction> batch, int[] updateCounts) {
+			if (pendingIDs.isEmpty()) {
+				return;
+			}
+			for (int i = 0; i < updateCounts.length; i++) {
+				boolean wasInserted = updateCounts[i] > 0 || updateCounts[i] == Statement.SUCCESS_NO_INFO;
+				if (wasInserted && pendingIDs.contains(batch.get(i).getID())) {
+					inserted.add(batch.get(i));
+				}
+			}
+		}
+
+		/**
+		 * Queues the gathered transactions, then forgets them. The caller commits.
+		 */
+		int write(ConnectionLease lease) throws SQLException {
+			if (inserted.isEmpty()) {
+				return 0;
+			}
+			int queued = queue.enqueue(lease, inserted);
+			inserted.clear();
+			return queued;
+		}
+
+		void clear() {
+			inserted.clear();
+		}
+	}
+}
@@ -0,0 +1,287 @@
+package statementReaders;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * The CSVTokenizer class splits a CSV file into records and fields following
+ * RFC 4180. Fields may be quoted, quoted fields may hold commas, line breaks and
+ * escaped quotes (""), and records may end with CRLF or LF.
+ * <p>
+ * The file is read through a FileChannel into a single byte buffer and split at
+ * the byte level: for each record only the start and end offsets of its fields
+ * are kept, and a field is decoded to a String, with the charset given, only
+ * when it is asked for. The charset must encode ',', '"', CR and LF as their
+ * ASCII bytes and never use those bytes within another character, which holds
+ * for ISO-8859-1, windows-1252 and UTF-8. A UTF-8 byte order mark is skipped.
+ * <p>
+ * Reading is lenient: text after the closing quote of a field is ignored, and a
+ * quote left open runs to the end of the file.
+ *
+ * @see NationwideCSVReader
+ * @author LORD GABRIEL
+ */
+
+public class CSVTokenizer {
+
+	private static final byte COMMA = ',';
+	private static final byte QUOTE = '"';
+	private static final byte CR = '\r';
+	private static final byte LF = '\n';
+
+	private final byte[] data;
+	private final int limit;
+	private final Charset charset;
+	private int position;
+	private int recordNumber;
+
+	// Offsets of the fields of the current record
+	private int fieldCount;
+	private int[] fieldStarts = new int[8];
+	private int[] fieldEnds = new int[8];
+	private boolean[] fieldEscaped = new boolean[8];
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a CSVTokenizer reading the whole of a file.
+	 *
+	 * @param file    - the CSV file to read
+	 * @param charset - the charset the file is encoded in
+	 * @throws IOException if the file cannot be read
+	 */
+
+	public CSVTokenizer(File file, Charset charset) throws IOException {
+		this(readFile(file), charset);
+	}
+
+	/**
+	 * Constructs a CSVTokenizer over CSV data already in memory. The array is not
+	 * copied.
+	 *
+	 * @param data    - the CSV data
+	 * @param charset - the charset the data is encoded in
+	 */
+
+	public CSVTokenizer(byte[] data, Charset charset) {
+		this.data = data;
+		this.limit = data.length;
+		this.charset = charset;
+		if (StandardCharsets.UTF_8.equals(charset) && limit >= 3 && (data[0] & 0xFF) == 0xEF
+				&& (data[1] & 0xFF) == 0xBB && (data[2] & 0xFF) == 0xBF) {
+			position = 3;
+		}
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public Charset getCharset() {
+		return charset;
+	}
+
+	/**
+	 * @return the number of records read so far, counting skipped records
+	 */
+	public int getRecordNumber() {
+		return recordNumber;
+	}
+
+	/**
+	 * @return the number of fields in the current record
+	 */
+	public int getFieldCount() {
+		return fieldCount;
+	}
+
+	/**
+	 * Decodes a field of the current record, without its enclosing quotes and
+	 * with escaped quotes unescaped.
+	 *
+	 * @param index - the index of the field, from 0
+	 * @return the field
+	 * @throws IndexOutOfBoundsException if the record has no such field
+	 */
+	public String getField(int index) {
+		checkIndex(index);
+		String field = new String(data, fieldStarts[index], fieldEnds[index] - fieldStarts[index], charset);
+		return fieldEscaped[index] ? field.replace("\"\"", "\"") : field;
+	}
+
+	/**
+	 * Decodes the first fields of the current record. Fields beyond those asked
+	 * for are not decoded; fields missing from the record are returned as empty
+	 * Strings.
+	 *
+	 * @param count - the number of fields to decode
+	 * @return the fields
+	 */
+	public String[] getFields(int count) {
+		String[] fields = new String[count];
+		for (int i = 0; i < count; i++) {
+			fields[i] = (i < fieldCount) ? getField(i) : "";
+		}
+		return fields;
+	}
+
+	/**
+	 * @return every field of the current record, decoded
+	 */
+	public String[] getFields() {
+		return getFields(fieldCount);
+	}
+
+	/**
+	 * @param index - the index of the field, from 0
+	 * @return true if the field is empty, checked without decoding it
+	 */
+	public boolean isFieldEmpty(int index) {
+		checkIndex(index);
+		return fieldStarts[index] == fieldEnds[index];
+	}
+
+	/**
+	 * @return true if the current record is a blank line
+	 */
+	public boolean isBlankRecord() {
+		return fieldCount == 1 && isFieldEmpty(0);
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Moves to the next record.
+	 *
+	 * @return true if a record was read, false at the end of the data
+	 */
+	public boolean nextRecord() {
+		fieldCount = 0;
+		if (position >= limit) {
+			return false;
+		}
+		while (true) {
+			readField();
+			if (position >= limit) {
+				break;
+			}
+			byte b = data[position++];
+			if (b == COMMA) {
+				if (position >= limit) {
+					// Trailing comma at the end of the data ends with an empty field
+					addField(position, position, false);
+					break;
+				}
+				continue;
+			}
+			if (b == CR && position < limit && data[position] == LF) {
+				position++;
+			}
+			break;
+		}
+		recordNumber++;
+		return true;
+	}
+
+	/**
+	 * Skips records without keeping their fields, e.g. lines above a header.
+	 *
+	 * @param count - the number of records to skip
+	 * @return the number of records skipped, fewer if the data ended first
+	 */
+	public int skipRecords(int count) {
+		int skipped = 0;
+		while (skipped < count && nextRecord()) {
+			skipped++;
+		}
+		return skipped;
+	}
+
+	/**
+	 * Reads one field from the current position, leaving the position on the byte
+	 * that ends it.
+	 */
+	private void readField() {
+		if (data[position] != QUOTE) {
+			int start = position;
+			while (position < limit) {
+				byte b = data[position];
+				if (b == COMMA || b == CR || b == LF) {
+					break;
+				}
+				position++;
+			}
+			addField(start, position, false);
+			return;
+		}
+		int start = ++position;
+		boolean escaped = false;
+		while (position < limit) {
+			if (data[position] == QUOTE) {
+				if (position + 1 < limit && data[position + 1] == QUOTE) {
+					escaped = true;
+					position += 2;
+					continue;
+				}
+				break;
+			}
+			position++;
+		}
+		addField(start, position, escaped);
+		// Past the closing quote, ignoring anything before the end of the field
+		while (position < limit) {
+			byte b = data[position];
+			if (b == COMMA || b == CR || b == LF) {
+				break;
+			}
+			position++;
+		}
+	}
+
+	private void addField(int start, int end, boolean escaped) {
+		if (fieldCount == fieldStarts.length) {
+			fieldStarts = Arrays.copyOf(fieldStarts, fieldCount * 2);
+			fieldEnds = Arrays.copyOf(fieldEnds, fieldCount * 2);
+			fieldEscaped = Arrays.copyOf(fieldEscaped, fieldCount * 2);
+		}
+		fieldStarts[fieldCount] = start;
+		fieldEnds[fieldCount] = end;
+		fieldEscaped[fieldCount] = escaped;
+		fieldCount++;
+	}
+
+	private void checkIndex(int index) {
+		if (index < 0 || index >= fieldCount) {
+			throw new IndexOutOfBoundsException(
+					"Field " + index + " out of range for record " + recordNumber + " with " + fieldCount + " fields");
+		}
+	}
+
+	/**
+	 * Reads a whole file through a FileChannel.
+	 */
+	private static byte[] readFile(File file) throws IOException {
+		try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+			long size = channel.size();
+			if (size > Integer.MAX_VALUE) {
+				throw new IOException("CSV file too large to read: " + file.getAbsolutePath());
+			}
+			ByteBuffer buffer = ByteBuffer.allocate((int) size);
+			while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+				// keep reading until the buffer is full
+			}
+			return (buffer.position() == buffer.capacity()) ? buffer.array()
+					: Arrays.copyOf(buffer.array(), buffer.position());
+		}
+	}
+}
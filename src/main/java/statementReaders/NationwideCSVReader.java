@@ -1,15 +1,18 @@
 package statementReaders;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 
 import config.AppConfig;
+import metrics.MetricsRegistry;
+import metrics.Timer;
+import metrics.jfr.StatementParsedEvent;
+import sqliteData.tables.CategoryResolver;
+import sqliteData.tables.TablePendingCategory;
 import sqliteData.tables.readers.TableCategoryReader;
 import sqliteData.tables.writers.TableCategoryWriter;
 import transactions.Transaction;
@@ -22,16 +25,53 @@ import regex.RegexMethods;
  * methods to check the formatting of the CSV file, convert the CSV statement
  * into an array of transactions, and process individual transactions.
  * 
+ * Statements are split into fields by a CSVTokenizer, reading the file as
+ * ISO-8859-1 as Nationwide exports are encoded.
+ * 
+ * While a statement is being converted, categories are looked up through a
+ * CategoryResolver loaded once from the Category table, so only new
+ * description,category pairs cause database writes.
+ * 
+ * The time spent parsing, normalising and categorising the transactions of a
+ * statement is recorded in the default MetricsRegistry, as is the statement
+ * as a whole, and a StatementParsedEvent is emitted for Java Flight Recorder.
+ * 
+ * When categorisation is deferred, no user input is needed: transactions with
+ * an unknown description are given the category Uncategorised and collected as
+ * pending transactions, to be queued for a later categorisation session.
+ * 
  * @see StatementReader
+ * @see CSVTokenizer
+ * @see CategoryResolver
  * @see TableCategoryReader
  * @see TableCategoryWriter
  * @see RegexMethods
  * @see Transaction
+ * @see metrics.MetricsRegistry
  * @author
  */
 
 public class NationwideCSVReader extends StatementReader {
 
+	/**
+	 * Charset of Nationwide CSV exports, which write the pound sign as a single
+	 * byte.
+	 */
+	public static final Charset NATIONWIDE_CHARSET = StandardCharsets.ISO_8859_1;
+
+	/**
+	 * Number of account summary lines above the header of a Nationwide CSV.
+	 */
+	private static final int HEADER_ROW = 4;
+	private static final int NATIONWIDE_FIELD_COUNT = 6;
+
+	/**
+	 * Resolver used to look up and record categories while a statement is being
+	 * converted. When null, categories are read and written through the
+	 * TableCategoryReader and TableCategoryWriter directly.
+	 */
+	private CategoryResolver categoryResolver;
+
 	/*
 	 * ===================CONSTRUCTORS ====================
 	 */
@@ -47,6 +87,22 @@ public class NationwideCSVReader extends StatementReader {
 		setConfig_File(config.getConfigFile());
 	}
 
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public CategoryResolver getCategoryResolver() {
+		return categoryResolver;
+	}
+
+	/*
+	 * ================== SETTERS =================
+	 */
+
+	public void setCategoryResolver(CategoryResolver categoryResolver) {
+		this.categoryResolver = categoryResolver;
+	}
+
 	/*
 	 * ================== ABSTRACT IMPLEMENTATION ====================
 	 */
@@ -54,7 +110,8 @@ public class NationwideCSVReader extends StatementReader {
 	/**
 	 * Implements abstract method - converts a Nationwide CSV statement file into an
 	 * array of transactions. This can require manual input from the user when
-	 * deciding how to assign categories for transactions.
+	 * deciding how to assign categories for transactions, unless categorisation
+	 * is deferred.
 	 * 
 	 * @param statement   - the Nationwide CSV statement file
 	 * @param tableReader - the TableCategoryReader object to retrieve category
@@ -70,38 +127,74 @@ public class NationwideCSVReader extends StatementReader {
 			TableCategoryWriter tableWriter, RegexMethods regex) {
 
 		List<Transaction> transactions = new ArrayList<>();
-		try (BufferedReader reader = new BufferedReader(new FileReader(statement.getAbsolutePath()))) {
-			// Stores the values of the entries on current line of CSV
-			String line;
+		getPendingTransactions().clear();
+		MetricsRegistry metrics = MetricsRegistry.getDefault();
+		Timer.Sample statementSample = metrics.timer(MetricsRegistry.IMPORT_CONVERT_STATEMENT).start();
+		StatementParsedEvent parsedEvent = new StatementParsedEvent();
+		parsedEvent.begin();
+		// A resolver already loaded, e.g. shared between statements, is reused
+		if (categoryResolver == null || !categoryResolver.isLoaded()) {
+			categoryResolver = new CategoryResolver(tableReader);
+			categoryResolver.load();
+		}
+		// Time spent on each part of every transaction, recorded once the statement
+		// has been read
+		long parseNanos = 0;
+		long normaliseNanos = 0;
+		long categoriseNanos = 0;
+		try {
+			CSVTokenizer csv = new CSVTokenizer(statement, NATIONWIDE_CHARSET);
 			int numTransactions;
 			// Skip first 4 lines
-			reader.readLine();
-			reader.readLine();
-			reader.readLine();
-			reader.readLine();
+			csv.skipRecords(HEADER_ROW);
 
 			// Checking appropriate formatting of Nationwide CSV
-			String headerLine = reader.readLine();
-			String[] headers = headerLine.split("\",\"");
-
-			// Check if not appropriate formatting:
-			if (!checkNationWideHeaders(headers)) {
+			if (!csv.nextRecord() || !checkNationWideHeaders(csv.getFields())) {
 				logger.error("Unexpected formatting for expected Nationwide csv Statement. "
 						+ "Unable to process inputted statement.");
 				return null;
 			}
-			while ((line = reader.readLine()) != null) {
-				String[] fields = line.split("\",\""); // Array of current entry (line currently on in reader)
-				Transaction transaction = manualProcessNationwideTransaction(fields, tableReader, tableWriter, regex);
+			long parseStart = System.nanoTime();
+			while (csv.nextRecord()) {
+				if (csv.isBlankRecord()) {
+					continue;
+				}
+				// Only the fields of a Nationwide transaction are decoded
+				String[] fields = csv.getFields(NATIONWIDE_FIELD_COUNT);
+				long normaliseStart = System.nanoTime();
+				Transaction transaction = normaliseNationwideTransaction(fields, regex);
+				long categoriseStart = System.nanoTime();
+				categoriseTransaction(transaction, tableReader, tableWriter);
 				transactions.add(transaction);
+				parseNanos += normaliseStart - parseStart;
+				normaliseNanos += categoriseStart - normaliseStart;
+				parseStart = System.nanoTime();
+				categoriseNanos += parseStart - categoriseStart;
 			}
 			numTransactions = transactions.size();
 			logger.info("Statement entries from NationwideCSV transferred to an array of Transactions of size "
 					+ numTransactions);
- 		} catch (FileNotFoundException e) {
-			logger.error("File not found when creating new BufferedReader:" + e.getMessage());
- 		} catch (IOException e) {
+			if (isDeferCategorisation()) {
+				logger.info(getPendingTransactions().size() + " transactions imported as "
+						+ TablePendingCategory.UNCATEGORISED);
+			}
+		} catch (IOException e) {
 			logger.error("Error when converting expected CSV statement to an array of transactions:"+ e.getMessage());
+		} finally {
+			categoryResolver.flush();
+			logger.info(categoryResolver.statistics());
+			metrics.timer(MetricsRegistry.IMPORT_PARSE).record(parseNanos, transactions.size());
+			metrics.timer(MetricsRegistry.IMPORT_NORMALISE).record(normaliseNanos, transactions.size());
+			metrics.timer(MetricsRegistry.IMPORT_CATEGORISE).record(categoriseNanos, transactions.size());
+			statementSample.addRows(transactions.size());
+			statementSample.close();
+			if (parsedEvent.shouldCommit()) {
+				parsedEvent.statement = statement.getName();
+				parsedEvent.bank = "Nationwide";
+				parsedEvent.transactions = transactions.size();
+				parsedEvent.uncategorised = getPendingTransactions().size();
+				parsedEvent.commit();
+			}
 		}
 		return transactions.toArray(new Transaction[0]);
 	}
@@ -119,8 +212,17 @@ public class NationwideCSVReader extends StatementReader {
 	 */
 
 	public boolean checkNationWideHeaders(String[] headers) {
-		String[] expectedHeaders = { "\"Date", "Transaction type", "Description", "Paid out", "Paid in", "Balance\"" };
-		return Arrays.equals(headers, expectedHeaders);
+		String[] expectedHeaders = { "Date", "Transaction type", "Description", "Paid out", "Paid in", "Balance" };
+		if (headers.length != expectedHeaders.length) {
+			return false;
+		}
+		for (int i = 0; i < headers.length; i++) {
+			// Headers split by hand still hold the opening and closing quotes
+			if (!expectedHeaders[i].equals(headers[i].replace("\"", ""))) {
+				return false;
+			}
+		}
+		return true;
 	}
 
 	/**
@@ -142,27 +244,74 @@ public class NationwideCSVReader extends StatementReader {
 
 	public Transaction manualProcessNationwideTransaction(String[] fields, TableCategoryReader tableReader,
 			TableCategoryWriter tableWriter, RegexMethods regex) {
+		Transaction transaction = normaliseNationwideTransaction(fields, regex);
+		categoriseTransaction(transaction, tableReader, tableWriter);
+		return transaction;
+	}
+
+	/**
+	 * Creates a transaction from the fields of a Nationwide transaction,
+	 * converting its date, description and amounts, and generating its ID. No
+	 * category is assigned.
+	 * 
+	 * @param fields - the fields of the transaction from the CSV statement
+	 * @param regex  - the RegexMethods object for processing transaction details
+	 * @return the Transaction object, without a category
+	 */
+
+	public Transaction normaliseNationwideTransaction(String[] fields, RegexMethods regex) {
 		Transaction transaction = createEmptyTransaction();
 
 		transaction.setDate(regex.convertDDMMYYYYDate(fields[0]));
 		transaction.setTrType(fields[1]);
 		transaction.setRawDescription(fields[2]);
 		transaction.setProcessedDescription(regex.processDescription(fields[2]));
-		transaction.setPaidOut(regex.parseAmount(fields[3]));
-		transaction.setPaidIn(regex.parseAmount(fields[4]));
-		transaction.setBalance(regex.parseAmount(fields[5]));
+		transaction.setPaidOutPence(regex.parsePence(fields[3]));
+		transaction.setPaidInPence(regex.parsePence(fields[4]));
+		transaction.setBalancePence(regex.parsePence(fields[5]));
+		// IDs are built from the amounts in pounds, so statements imported before
+		// amounts were held in pence keep the same IDs
 		transaction.setID(regex.generateTransactionUUID(transaction.getDate(), transaction.getTrType(),
 				transaction.getRawDescription(), transaction.getPaidOut(), transaction.getPaidIn(),
 				transaction.getBalance()));
+		return transaction;
+	}
+
+	/**
+	 * Assigns a category to a transaction, see
+	 * {@link #retrieveCategory(Transaction, TableCategoryReader, TableCategoryWriter)},
+	 * and records the description,category pair unless categorisation was
+	 * deferred.
+	 * 
+	 * @param transaction - the Transaction object to categorise
+	 * @param tableReader - the TableCategoryReader object to retrieve category
+	 *                    information
+	 * @param tableWriter - the TableCategoryWriter object to assign categories to
+	 *                    transactions
+	 */
+
+	public void categoriseTransaction(Transaction transaction, TableCategoryReader tableReader,
+			TableCategoryWriter tableWriter) {
 		transaction.setCategory(retrieveCategory(transaction, tableReader, tableWriter));
 
-		tableWriter.insertEntry(transaction.getProcessedDescription(), transaction.getCategory());
-		return transaction;
+		if (isDeferCategorisation() && TablePendingCategory.UNCATEGORISED.equals(transaction.getCategory())) {
+			// Not a real category, so not recorded against the description
+			return;
+		}
+		if (categoryResolver != null) {
+			categoryResolver.record(transaction.getProcessedDescription(), transaction.getCategory());
+		} else {
+			tableWriter.insertEntry(transaction.getProcessedDescription(), transaction.getCategory());
+		}
 	}
 
 	/**
 	 * Retrieves the category for a transaction. If the transaction does not have a
-	 * category, a new category is assigned.
+	 * category, a new category is assigned. Lookups go through the
+	 * CategoryResolver when one is loaded; any pending mappings are written
+	 * before the user is asked, so newly created categories appear as options.
+	 * When categorisation is deferred the user is not asked; the transaction is
+	 * added to the pending transactions and given the category Uncategorised.
 	 * 
 	 * @param transaction - the Transaction object
 	 * @param tableReader - the TableCategoryReader object to retrieve category
@@ -174,12 +323,24 @@ public class NationwideCSVReader extends StatementReader {
 
 	public String retrieveCategory(Transaction transaction, TableCategoryReader tableReader,
 			TableCategoryWriter tableWriter) {
-		String readCategory = tableReader.readCategory(transaction.getProcessedDescription());
+		String readCategory;
+		if (categoryResolver != null) {
+			readCategory = categoryResolver.resolve(transaction.getProcessedDescription());
+		} else {
+			readCategory = tableReader.readCategory(transaction.getProcessedDescription());
+		}
+		if (readCategory == null && isDeferCategorisation()) {
+			getPendingTransactions().add(transaction);
+			return TablePendingCategory.UNCATEGORISED;
+		}
 		if (readCategory == null) {
+			if (categoryResolver != null) {
+				categoryResolver.flush();
+			}
 			String inOrOut;
 			// Would be ideal to complete a switch here? - but cannot work with doubles?
 			// we could mess it up here -> for the assigning make it work differently
-			if (transaction.getPaidIn() > 0) {
+			if (transaction.getPaidInPence() > 0) {
 				inOrOut = "Incoming";
 				readCategory = tableWriter.assignCategoryToTransaction(transaction.getDate(), transaction.getProcessedDescription(), transaction.getPaidIn(), inOrOut);
 			} else {
@@ -191,26 +352,6 @@ public class NationwideCSVReader extends StatementReader {
 		return readCategory;
 	}
 
-	/**
-	 * Creates a new BufferedReader object for reading the statement file.
-	 * 
-	 * @param statement - the statement file to read
-	 * @return a BufferedReader object for reading the file
-	 */
-
-	public BufferedReader createNewBufferedReader(File statement) {
-		System.out.println(statement.getAbsolutePath());
-		try (BufferedReader reader = new BufferedReader(new FileReader(statement.getAbsolutePath()))) {
-			logger.info("Nationwide Reader made successfully.");
-			return reader;
-		} catch (FileNotFoundException e) {
-			logger.error("File not found when creating new BufferedReader:" + e.getMessage());
-		} catch (IOException e) {
-			logger.error("IOException when creating new BufferedReader:" + e.getMessage());
-		}
-		return null;
-	}
-
 	/**
 	 * Creates an empty Transaction object.
 	 * 
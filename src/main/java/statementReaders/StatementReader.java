@@ -1,6 +1,8 @@
 package statementReaders;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
@@ -34,6 +36,14 @@ public abstract class StatementReader {
 	private File statementFolder;
 	private File statement;
 
+	/**
+	 * When true, transactions with no known category are not shown to the user
+	 * while a statement is converted. They are given the category Uncategorised
+	 * and collected in pendingTransactions, to be categorised later.
+	 */
+	private boolean deferCategorisation;
+	private List<Transaction> pendingTransactions = new ArrayList<>();
+
 	protected static final Logger logger = LogManager.getLogger(StatementReader.class.getName());
 
 	/*
@@ -79,6 +89,27 @@ public abstract class StatementReader {
 		return statement;
 	}
 
+	/**
+	 * Retrieves whether categorisation of unknown descriptions is deferred.
+	 * 
+	 * @return true if unknown descriptions are imported as Uncategorised
+	 */
+
+	public boolean isDeferCategorisation() {
+		return deferCategorisation;
+	}
+
+	/**
+	 * Retrieves the transactions given the category Uncategorised by the last
+	 * statement conversion.
+	 * 
+	 * @return the transactions awaiting a category
+	 */
+
+	public List<Transaction> getPendingTransactions() {
+		return pendingTransactions;
+	}
+
 	/*
 	 * ================== SETTERS =================
 	 */
@@ -103,6 +134,18 @@ public abstract class StatementReader {
 		this.CONFIG_FILE = configFile;
 	}
 
+	/**
+	 * Sets whether categorisation of unknown descriptions is deferred, see
+	 * {@link #isDeferCategorisation()}.
+	 * 
+	 * @param deferCategorisation - true to import unknown descriptions as
+	 *                            Uncategorised without asking the user
+	 */
+
+	public void setDeferCategorisation(boolean deferCategorisation) {
+		this.deferCategorisation = deferCategorisation;
+	}
+
 	/*
 	 * ============================= ABSTRACT METHODS =================================
 	 */
@@ -0,0 +1,28 @@
+package statementReaders.process;
+import optionMenu.Command;
+
+/**
+ * The CategorisePendingCommand class is a command that starts a categorisation session for the transactions imported
+ * as Uncategorised. The user is asked for one category per queued description, which is applied to every transaction
+ * sharing that description. Afterwards, it resets the menu to allow further choices for statement formats.
+ *
+ * @see statementReaders.process.WriteBankStatementToDB
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+public class CategorisePendingCommand implements Command {
+
+	private WriteBankStatementToDB stToDB;
+	
+	public CategorisePendingCommand(WriteBankStatementToDB stToDB) {
+		this.stToDB = stToDB;
+	}
+	
+	@Override
+	public void execute() {
+		//Categorise queued transactions
+		stToDB.categorisePendingTransactions();
+		//Reset menu
+		stToDB.chooseProcess("Please choose the appropriate format of the statement you would like to read into your database", true);
+	}
+}
@@ -0,0 +1,28 @@
+package statementReaders.process;
+import optionMenu.Command;
+
+/**
+ * The CheckMonthlyTotalsCommand class is a command that compares the MonthlyTotals table with the transactions in the
+ * Inbound and Outbound tables, and prints any category and month whose totals differ. Afterwards, it resets the menu to
+ * allow further choices for statement formats.
+ *
+ * @see statementReaders.process.WriteBankStatementToDB
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+public class CheckMonthlyTotalsCommand implements Command {
+
+	private WriteBankStatementToDB stToDB;
+	
+	public CheckMonthlyTotalsCommand(WriteBankStatementToDB stToDB) {
+		this.stToDB = stToDB;
+	}
+	
+	@Override
+	public void execute() {
+		//Check monthly totals
+		stToDB.checkMonthlyTotals();
+		//Reset menu
+		stToDB.chooseProcess("Please choose the appropriate format of the statement you would like to read into your database", true);
+	}
+}
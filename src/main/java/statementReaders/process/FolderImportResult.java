@@ -0,0 +1,203 @@
+package statementReaders.process;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import sqliteData.tables.writers.ImportResult;
+
+/**
+ * The FolderImportResult class records the outcome of importing every statement
+ * within a folder through a StatementFolderImporter. It keeps one FileResult per
+ * statement, in the order the statements were written to the database, and the
+ * time taken by the whole import so that overall throughput can be reported.
+ *
+ * @see StatementFolderImporter
+ * @see ImportResult
+ * @author LORD GABRIEL
+ */
+
+public class FolderImportResult {
+
+	private final List<FileResult> fileResults = new ArrayList<>();
+	private long elapsedMillis;
+
+	/*
+	 * =========================== GETTERS ===========================
+	 */
+
+	public List<FileResult> getFileResults() {
+		return Collections.unmodifiableList(fileResults);
+	}
+
+	public long getElapsedMillis() {
+		return elapsedMillis;
+	}
+
+	/**
+	 * @return the number of transactions read from every statement
+	 */
+	public int getParsed() {
+		return fileResults.stream().mapToInt(FileResult::getParsed).sum();
+	}
+
+	/**
+	 * @return the number of transactions inserted into the Inbound and Outbound
+	 *         tables
+	 */
+	public int getInserted() {
+		return fileResults.stream().mapToInt(FileResult::getInserted).sum();
+	}
+
+	/**
+	 * @return the number of transactions ignored because they were already present
+	 */
+	public int getDuplicates() {
+		return fileResults.stream().mapToInt(FileResult::getDuplicates).sum();
+	}
+
+	/**
+	 * @return the number of transactions queued as Uncategorised
+	 */
+	public int getQueued() {
+		return fileResults.stream().mapToInt(FileResult::getQueued).sum();
+	}
+
+	/**
+	 * @return the number of statements that could not be read
+	 */
+	public int getFailedFiles() {
+		return (int) fileResults.stream().filter(FileResult::isFailed).count();
+	}
+
+	/**
+	 * @return transactions read per second over the whole import
+	 */
+	public double getRowsPerSecond() {
+		return (elapsedMillis == 0) ? 0 : getParsed() * 1000.0 / elapsedMillis;
+	}
+
+	/*
+	 * =========================== SETTERS ===========================
+	 */
+
+	public void setElapsedMillis(long elapsedMillis) {
+		this.elapsedMillis = elapsedMillis;
+	}
+
+	/*
+	 * =========================== METHODS ===========================
+	 */
+
+	/**
+	 * Adds the result of a single statement.
+	 *
+	 * @param fileResult - the result to add
+	 */
+	public void add(FileResult fileResult) {
+		fileResults.add(fileResult);
+	}
+
+	@Override
+	public String toString() {
+		return String.format(
+				"%d statements (%d failed): %d transactions read, %d inserted, %d duplicates skipped, %d queued as uncategorised in %d ms (%.0f rows/s)",
+				fileResults.size(), getFailedFiles(), getParsed(), getInserted(), getDuplicates(), getQueued(),
+				elapsedMillis, getRowsPerSecond());
+	}
+
+	/**
+	 * The FileResult class records the outcome of importing a single statement.
+	 */
+	public static class FileResult {
+
+		private final String fileName;
+		private final int parsed;
+		private final ImportResult inbound;
+		private final ImportResult outbound;
+		private final int queued;
+		private final long parseMillis;
+
+		/**
+		 * Constructs a FileResult.
+		 *
+		 * @param fileName    - the name of the statement file
+		 * @param parsed      - the number of transactions read, or -1 if the
+		 *                    statement could not be read
+		 * @param inbound     - the result of importing into the Inbound table
+		 * @param outbound    - the result of importing into the Outbound table
+		 * @param queued      - the number of transactions queued as Uncategorised
+		 * @param parseMillis - the time taken to read the statement
+		 */
+		public FileResult(String fileName, int parsed, ImportResult inbound, ImportResult outbound, int queued,
+				long parseMillis) {
+			this.fileName = fileName;
+			this.parsed = parsed;
+			this.inbound = inbound;
+			this.outbound = outbound;
+			this.queued = queued;
+			this.parseMillis = parseMillis;
+		}
+
+		/**
+		 * Constructs a FileResult for a statement that could not be read.
+		 *
+		 * @param fileName    - the name of the statement file
+		 * @param parseMillis - the time taken before the statement failed
+		 * @return the FileResult
+		 */
+		public static FileResult failed(String fileName, long parseMillis) {
+			return new FileResult(fileName, -1, null, null, 0, parseMillis);
+		}
+
+		public String getFileName() {
+			return fileName;
+		}
+
+		/**
+		 * @return true if the statement could not be read, or its import into either
+		 *         table stopped on an error
+		 */
+		public boolean isFailed() {
+			return !isRead() || inbound.isFailed() || outbound.isFailed();
+		}
+
+		private boolean isRead() {
+			return parsed >= 0;
+		}
+
+		public int getParsed() {
+			return Math.max(0, parsed);
+		}
+
+		public int getInserted() {
+			return isRead() ? inbound.getInserted() + outbound.getInserted() : 0;
+		}
+
+		public int getDuplicates() {
+			return isRead() ? inbound.getIgnored() + outbound.getIgnored() : 0;
+		}
+
+		public int getQueued() {
+			return queued;
+		}
+
+		public long getParseMillis() {
+			return parseMillis;
+		}
+
+		@Override
+		public String toString() {
+			if (!isRead()) {
+				return String.format("%s: could not be read", fileName);
+			}
+			if (isFailed()) {
+				ImportResult failed = inbound.isFailed() ? inbound : outbound;
+				return String.format("%s: failed to write, %d inserted before the error. %s", fileName,
+						getInserted(), failed.getFailure().getMessage());
+			}
+			return String.format("%s: %d transactions read, %d inserted, %d duplicates skipped, %d queued as uncategorised",
+					fileName, parsed, getInserted(), getDuplicates(), queued);
+		}
+	}
+}
@@ -0,0 +1,30 @@
+package statementReaders.process;
+import optionMenu.Command;
+
+/**
+ * The NationwideCSVFolderCommand class is a command that triggers the import of every Nationwide CSV statement within
+ * the statement folder. Statements are read in parallel without prompting the user for categories, and written to the
+ * database by a single thread. After importing the data, it resets the menu to allow further choices for statement
+ * formats.
+ *
+ * @see statementReaders.process.WriteBankStatementToDB
+ * @see statementReaders.process.StatementFolderImporter
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+public class NationwideCSVFolderCommand implements Command {
+
+	private WriteBankStatementToDB stToDB;
+	
+	public NationwideCSVFolderCommand(WriteBankStatementToDB stToDB) {
+		this.stToDB = stToDB;
+	}
+	
+	@Override
+	public void execute() {
+		//Import every NationwideCSV in the statement folder
+		stToDB.importNationwideCSVFolder();
+		//Reset menu
+		stToDB.chooseProcess("Please choose the appropriate format of the statement you would like to read into your database", true);
+	}
+}
@@ -0,0 +1,29 @@
+package statementReaders.process;
+import optionMenu.Command;
+
+/**
+ * The NationwideCSVHeadlessCommand class is a command that triggers the import of a Nationwide CSV statement without
+ * prompting the user for categories. Transactions with a new description are imported as Uncategorised and queued so
+ * they can be categorised later. After importing the data, it resets the menu to allow further choices for statement
+ * formats.
+ *
+ * @see statementReaders.process.WriteBankStatementToDB
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+public class NationwideCSVHeadlessCommand implements Command {
+
+	private WriteBankStatementToDB stToDB;
+	
+	public NationwideCSVHeadlessCommand(WriteBankStatementToDB stToDB) {
+		this.stToDB = stToDB;
+	}
+	
+	@Override
+	public void execute() {
+		//Import NationwideCSV, deferring categorisation
+		stToDB.importNationwideCSVHeadless();
+		//Reset menu
+		stToDB.chooseProcess("Please choose the appropriate format of the statement you would like to read into your database", true);
+	}
+}
@@ -0,0 +1,27 @@
+package statementReaders.process;
+import optionMenu.Command;
+
+/**
+ * The RebuildMonthlyTotalsCommand class is a command that rebuilds the MonthlyTotals table from every transaction in
+ * the Inbound and Outbound tables. Afterwards, it resets the menu to allow further choices for statement formats.
+ *
+ * @see statementReaders.process.WriteBankStatementToDB
+ * @see optionMenu.Command
+ * @author LORD GABRIEL
+ */
+public class RebuildMonthlyTotalsCommand implements Command {
+
+	private WriteBankStatementToDB stToDB;
+	
+	public RebuildMonthlyTotalsCommand(WriteBankStatementToDB stToDB) {
+		this.stToDB = stToDB;
+	}
+	
+	@Override
+	public void execute() {
+		//Rebuild monthly totals
+		stToDB.rebuildMonthlyTotals();
+		//Reset menu
+		stToDB.chooseProcess("Please choose the appropriate format of the statement you would like to read into your database", true);
+	}
+}
@@ -0,0 +1,320 @@
+package statementReaders.process;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import config.AppConfig;
+import regex.RegexMethods;
+import sqliteData.tables.CategoryResolver;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.writers.ImportResult;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import sqliteData.tables.writers.TablePendingCategoryWriter;
+import statementReaders.NationwideCSVReader;
+import transactions.Transaction;
+
+/**
+ * The StatementFolderImporter class imports every Nationwide CSV statement
+ * within a folder. Statements are read and normalised in parallel on a bounded
+ * pool of parser threads, and the resulting transactions are passed through a
+ * bounded queue to a single writer thread, which is the only thread to write to
+ * the database, as SQLite allows only one writer at a time.
+ * <p>
+ * No user input is needed: every statement is read with categorisation
+ * deferred, so transactions with a new description are imported as
+ * Uncategorised and queued in the PendingCategory table. Categories are looked
+ * up through one CategoryResolver, loaded before parsing starts and shared by
+ * every parser thread.
+ *
+ * @see NationwideCSVReader
+ * @see FolderImportResult
+ * @see WriteBankStatementToDB
+ * @author LORD GABRIEL
+ */
+
+public class StatementFolderImporter {
+
+	private static final Logger logger = LogManager.getLogger(StatementFolderImporter.class.getName());
+
+	/**
+	 * Default number of statements read at once.
+	 */
+	public static final int DEFAULT_PARSER_THREADS = Math.max(1,
+			Math.min(4, Runtime.getRuntime().availableProcessors()));
+
+	/**
+	 * Default number of read statements held waiting for the writer thread.
+	 */
+	public static final int DEFAULT_QUEUE_CAPACITY = 4;
+
+	/**
+	 * Placed on the queue once every statement has been read, to stop the writer
+	 * thread.
+	 */
+	private static final ParsedStatement END_OF_STATEMENTS = new ParsedStatement(null, null, null, 0);
+
+	private final AppConfig config;
+	private final RegexMethods regex;
+	private final TableCategoryReader tCR;
+	private final TableCategoryWriter tCW;
+	private final TableInboundWriter tIW;
+	private final TableOutboundWriter tOW;
+	private final TablePendingCategoryWriter tPW;
+
+	private int parserThreads = DEFAULT_PARSER_THREADS;
+	private int queueCapacity = DEFAULT_QUEUE_CAPACITY;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a StatementFolderImporter.
+	 *
+	 * @param config - the AppConfig passed to each statement reader
+	 * @param regex  - the RegexMethods used to normalise transactions, shared by
+	 *               the parser threads
+	 * @param tCR    - the TableCategoryReader categories are loaded from
+	 * @param tCW    - the TableCategoryWriter passed to each statement reader
+	 * @param tIW    - the writer for the Inbound table
+	 * @param tOW    - the writer for the Outbound table
+	 * @param tPW    - the writer for the queue of transactions awaiting a category
+	 */
+
+	public StatementFolderImporter(AppConfig config, RegexMethods regex, TableCategoryReader tCR,
+			TableCategoryWriter tCW, TableInboundWriter tIW, TableOutboundWriter tOW, TablePendingCategoryWriter tPW) {
+		this.config = config;
+		this.regex = regex;
+		this.tCR = tCR;
+		this.tCW = tCW;
+		this.tIW = tIW;
+		this.tOW = tOW;
+		this.tPW = tPW;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public int getParserThreads() {
+		return parserThreads;
+	}
+
+	public int getQueueCapacity() {
+		return queueCapacity;
+	}
+
+	/*
+	 * ================== SETTERS =================
+	 */
+
+	/**
+	 * Sets the number of statements read at once.
+	 *
+	 * @param parserThreads - the number of parser threads, at least 1
+	 */
+
+	public void setParserThreads(int parserThreads) {
+		this.parserThreads = Math.max(1, parserThreads);
+	}
+
+	/**
+	 * Sets the number of read statements that may wait for the writer thread.
+	 * Parser threads block once the queue is full, which bounds the memory used.
+	 *
+	 * @param queueCapacity - the capacity of the queue, at least 1
+	 */
+
+	public void setQueueCapacity(int queueCapacity) {
+		this.queueCapacity = Math.max(1, queueCapacity);
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Lists the .csv statements within a folder, sorted by name.
+	 *
+	 * @param folder - the folder to scan
+	 * @return the statement files, empty if the folder cannot be read
+	 */
+
+	public List<File> listStatements(File folder) {
+		File[] files = (folder == null) ? null
+				: folder.listFiles(file -> file.isFile() && file.getName().toLowerCase().endsWith(".csv"));
+		if (files == null) {
+			return Collections.emptyList();
+		}
+		Arrays.sort(files);
+		return Arrays.asList(files);
+	}
+
+	/**
+	 * Imports every .csv statement within a folder. Returns once every statement
+	 * has been written to the database.
+	 *
+	 * @param folder - the folder to import statements from
+	 * @return the per statement and overall results of the import
+	 */
+
+	public FolderImportResult importFolder(File folder) {
+		long start = System.nanoTime();
+		FolderImportResult result = new FolderImportResult();
+		List<File> statements = listStatements(folder);
+		if (statements.isEmpty()) {
+			logger.info("No .csv statements found in folder: " + folder);
+			return result;
+		}
+
+		CategoryResolver resolver = new CategoryResolver(tCR);
+		resolver.load();
+
+		BlockingQueue<ParsedStatement> queue = new ArrayBlockingQueue<>(queueCapacity);
+		ExecutorService writer = Executors.newSingleThreadExecutor(namedThreads("statement-db-writer"));
+		ExecutorService parsers = Executors.newFixedThreadPool(Math.min(parserThreads, statements.size()),
+				namedThreads("statement-parser"));
+		try {
+			Future<?> writerDone = writer.submit(() -> {
+				writeStatements(queue, result);
+				return null;
+			});
+			List<Future<?>> parsed = new ArrayList<>();
+			for (File statement : statements) {
+				parsed.add(parsers.submit(() -> {
+					queue.put(parseStatement(statement, resolver));
+					return null;
+				}));
+			}
+			for (Future<?> future : parsed) {
+				future.get();
+			}
+			queue.put(END_OF_STATEMENTS);
+			writerDone.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			logger.error("Folder import interrupted, statements not yet written have been skipped");
+		} catch (ExecutionException e) {
+			String log = String.format("Folder import failed. %s", e.getCause());
+			logger.error(log);
+		} finally {
+			parsers.shutdownNow();
+			writer.shutdownNow();
+			awaitTermination(parsers);
+			awaitTermination(writer);
+		}
+
+		result.setElapsedMillis(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+		logger.info(resolver.statistics());
+		logger.info("Imported folder " + folder + ". " + result);
+		return result;
+	}
+
+	/**
+	 * Reads and normalises one statement. Runs on a parser thread, which only
+	 * reads from the database.
+	 */
+	private ParsedStatement parseStatement(File statement, CategoryResolver resolver) {
+		long start = System.nanoTime();
+		Transaction[] transactions = null;
+		List<Transaction> pending = Collections.emptyList();
+		try {
+			NationwideCSVReader reader = new NationwideCSVReader(config);
+			reader.setDeferCategorisation(true);
+			reader.setCategoryResolver(resolver);
+			transactions = reader.convertStatement(statement, tCR, tCW, regex);
+			pending = new ArrayList<>(reader.getPendingTransactions());
+		} catch (RuntimeException e) {
+			String log = String.format("Failed to read statement %s. %s", statement.getName(), e.getMessage());
+			logger.error(log);
+		}
+		return new ParsedStatement(statement, transactions, pending,
+				TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+	}
+
+	/**
+	 * Writes read statements to the database, in the order they are read, until
+	 * every statement has been read. Runs on the writer thread.
+	 */
+	private void writeStatements(BlockingQueue<ParsedStatement> queue, FolderImportResult result)
+			throws InterruptedException {
+		while (true) {
+			ParsedStatement parsed = queue.take();
+			if (parsed == END_OF_STATEMENTS) {
+				return;
+			}
+			String fileName = parsed.statement.getName();
+			FolderImportResult.FileResult fileResult = FolderImportResult.FileResult.failed(fileName,
+					parsed.parseMillis);
+			// The writer must keep taking from the queue, or parser threads waiting on it would block forever
+			try {
+				if (parsed.transactions != null) {
+					// Inserted pending transactions are queued in the same transaction as their rows
+					ImportResult inbound = tIW.importData(parsed.transactions, parsed.pending, tPW);
+					ImportResult outbound = tOW.importData(parsed.transactions, parsed.pending, tPW);
+					int queued = inbound.getQueued() + outbound.getQueued();
+					fileResult = new FolderImportResult.FileResult(fileName, parsed.transactions.length, inbound,
+							outbound, queued, parsed.parseMillis);
+				}
+			} catch (RuntimeException e) {
+				String log = String.format("Failed to write statement %s. %s", fileName, e.getMessage());
+				logger.error(log);
+			}
+			result.add(fileResult);
+			logger.info(fileResult.toString());
+		}
+	}
+
+	private void awaitTermination(ExecutorService executor) {
+		try {
+			if (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+				logger.error("Timed out waiting for folder import threads to stop");
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private static ThreadFactory namedThreads(String name) {
+		AtomicInteger count = new AtomicInteger();
+		return runnable -> {
+			Thread thread = new Thread(runnable, name + "-" + count.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+
+	/**
+	 * The transactions read from one statement, waiting to be written.
+	 */
+	private static final class ParsedStatement {
+		private final File statement;
+		private final Transaction[] transactions;
+		private final List<Transaction> pending;
+		private final long parseMillis;
+
+		ParsedStatement(File statement, Transaction[] transactions, List<Transaction> pending, long parseMillis) {
+			this.statement = statement;
+			this.transactions = transactions;
+			this.pending = pending;
+			this.parseMillis = parseMillis;
+		}
+	}
+}
@@ -2,6 +2,7 @@ package statementReaders.process;
 
 
 import config.AppConfig;
+import metrics.MetricsRegistry;
 import optionMenu.Command;
 import optionMenu.GoBack;
 import optionMenu.Input;
@@ -10,16 +11,28 @@ import optionMenu.ProcessBlock;
 import regex.RegexMethods;
 import sqliteData.tables.TableCategory;
 import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableMonthlyTotals;
 import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.readers.PendingDescription;
 import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.readers.TableInboundReader;
+import sqliteData.tables.readers.TableMonthlyTotalsReader;
+import sqliteData.tables.readers.TableOutboundReader;
+import sqliteData.tables.readers.TablePendingCategoryReader;
+import sqliteData.tables.writers.ImportResult;
 import sqliteData.tables.writers.TableCategoryWriter;
 import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableMonthlyTotalsWriter;
 import sqliteData.tables.writers.TableOutboundWriter;
+import sqliteData.tables.writers.TablePendingCategoryWriter;
 import statementReaders.NationwideCSVReader;
 import statementReaders.StatementReader;
 import transactions.Transaction;
 
 
+import java.util.List;
 import java.util.Map;
 import java.util.LinkedHashMap;
 
@@ -27,12 +40,21 @@ import java.util.LinkedHashMap;
  * The WriteBankStatementToDB class is responsible for writing bank statement data to the SQLite Database tables.
  * It handles the loading of necessary components and the conversion and import of transaction data.
  *
+ * Statements can also be imported without prompting the user. Transactions with an unknown description are then
+ * imported as Uncategorised and queued in the PendingCategory table; a separate categorisation session asks for
+ * one category per queued description and applies it to every matching transaction.
+ *
+ * The MonthlyTotals table, kept up to date by every import, can be checked against the transactions and rebuilt
+ * from them.
+ *
  * @see AppConfig
  * @see RegexMethods
  * @see StatementMenu
  * @see TableInbound
  * @see TableOutbound
  * @see TableCategory
+ * @see TablePendingCategory
+ * @see TableMonthlyTotals
  * @see TableInboundWriter
  * @see TableOutboundWriter
  * @see MenuSelect
@@ -51,6 +73,8 @@ public class WriteBankStatementToDB extends ProcessBlock{
 	private TableInbound  tI;
 	private TableOutbound tO;
 	private TableCategory tC;
+	private TablePendingCategory tP;
+	private TableMonthlyTotals tM;
 	
 	private TableInboundWriter tIW;
 	private TableOutboundWriter tOW;
@@ -58,6 +82,10 @@ public class WriteBankStatementToDB extends ProcessBlock{
 	private MenuSelect categoryMenuSelect;
 	private TableCategoryWriter tCW;
 	private TableCategoryReader tCR;
+	private TablePendingCategoryWriter tPW;
+	private TablePendingCategoryReader tPR;
+	private TableMonthlyTotalsWriter tMW;
+	private TableMonthlyTotalsReader tMR;
 	
 	/**
 	 * The StatementReader object through which statementFiles are translated into an array of transactions
@@ -69,6 +97,11 @@ public class WriteBankStatementToDB extends ProcessBlock{
 	 */
 	
 	private Command nationwideCSVCommand = new NationwideCSVCommand(this);
+	private Command nationwideCSVHeadlessCommand = new NationwideCSVHeadlessCommand(this);
+	private Command nationwideCSVFolderCommand = new NationwideCSVFolderCommand(this);
+	private Command categorisePendingCommand = new CategorisePendingCommand(this);
+	private Command checkMonthlyTotalsCommand = new CheckMonthlyTotalsCommand(this);
+	private Command rebuildMonthlyTotalsCommand = new RebuildMonthlyTotalsCommand(this);
 	private Command goBackCommand        = new GoBack();
 
 	
@@ -86,9 +119,11 @@ public class WriteBankStatementToDB extends ProcessBlock{
      * @param tI the inbound table
      * @param tO the outbound table
      * @param tC the category table
+     * @param tP the queue of transactions awaiting a category
      */
 	
-	public WriteBankStatementToDB(AppConfig config, RegexMethods regex, Input input, TableInbound tI, TableOutbound tO, TableCategory tC) {
+	public WriteBankStatementToDB(AppConfig config, RegexMethods regex, Input input, TableInbound tI, TableOutbound tO, TableCategory tC,
+			TablePendingCategory tP) {
 		this.config = config;
 		this.regex  = regex;
 		this.input  = input;
@@ -96,6 +131,8 @@ public class WriteBankStatementToDB extends ProcessBlock{
 		this.tI = tI;
 		this.tO = tO;
 		this.tC = tC;
+		this.tP = tP;
+		this.tM = new TableMonthlyTotals(tI.getDB());
 	}
 	
 	/*
@@ -114,6 +151,16 @@ public class WriteBankStatementToDB extends ProcessBlock{
 	protected void loadMenuCommandMap() {
 		Map<String, Command> tempMap = new LinkedHashMap<>();
 		tempMap.put("NationwideCSV", nationwideCSVCommand);
+		tempMap.put("NationwideCSV - import without prompting, transactions with new descriptions are categorised later",
+				nationwideCSVHeadlessCommand);
+		tempMap.put("NationwideCSV folder - import every .csv statement in the statement folder without prompting",
+				nationwideCSVFolderCommand);
+		tempMap.put("Categorise pending transactions: assign categories to transactions imported without prompting",
+				categorisePendingCommand);
+		tempMap.put("Check monthly totals: compare the MonthlyTotals table with the transactions it totals",
+				checkMonthlyTotalsCommand);
+		tempMap.put("Rebuild monthly totals: recalculate the MonthlyTotals table from every transaction",
+				rebuildMonthlyTotalsCommand);
 		tempMap.put("Go Back", goBackCommand);
 		
 		setMenuCommandMap(tempMap);
@@ -137,14 +184,18 @@ public class WriteBankStatementToDB extends ProcessBlock{
 		
 		//Add in section for appendOrCreate confirm loading
 		tCW = new TableCategoryWriter(tC,categoryMenuSelect,false,false,false);
+		tPW = new TablePendingCategoryWriter(tP, tI, tO, tC);
+		tMW = new TableMonthlyTotalsWriter(tM, tI, tO);
 	}
 	
     /**
-     * Loads the table category reader.
+     * Loads the table category, pending category and monthly totals readers.
      */
 
 	private void loadTableCategoryReader() {
 		tCR = new TableCategoryReader(tC);
+		tPR = new TablePendingCategoryReader(tP);
+		tMR = new TableMonthlyTotalsReader(tM);
 	}
 	
     /**
@@ -180,14 +231,27 @@ public class WriteBankStatementToDB extends ProcessBlock{
 	
 
     /**
-     * Imports transaction data into the inbound and outbound tables.
+     * Imports transaction data into the inbound and outbound tables and reports
+     * how many rows were inserted and how many were already present. Pending
+     * transactions that are inserted are queued for a category in the same
+     * transaction as their rows.
      *
      * @param transactions the array of Transaction objects to import
+     * @param pending      the transactions imported as Uncategorised
+     * @return true if both imports completed, false if either failed
      */
 
-	private void importTransactionData(Transaction[] transactions) {
-		tIW.importData(transactions);
-		tOW.importData(transactions);
+	private boolean importTransactionData(Transaction[] transactions, List<Transaction> pending) {
+		ImportResult inboundResult = tIW.importData(transactions, pending, tPW);
+		ImportResult outboundResult = tOW.importData(transactions, pending, tPW);
+		System.out.println(inboundResult);
+		System.out.println(outboundResult);
+		int queued = inboundResult.getQueued() + outboundResult.getQueued();
+		if (queued > 0) {
+			System.out.println(queued + " transactions imported as " + TablePendingCategory.UNCATEGORISED
+					+ ". Choose 'Categorise pending transactions' to assign their categories.");
+		}
+		return !inboundResult.isFailed() && !outboundResult.isFailed();
 	}
 
 	/*
@@ -204,16 +268,156 @@ public class WriteBankStatementToDB extends ProcessBlock{
 		userChooseStatement();
 	}
 	
+	/**
+	 * Imports a Nationwide CSV statement, asking the user to categorise any
+	 * transaction with a new description.
+	 */
+
 	public void importNationwideCSV() {
+		importNationwideCSV(false);
+	}
+
+	/**
+	 * Imports a Nationwide CSV statement without asking the user for any category.
+	 * Transactions with a new description are imported as Uncategorised and queued
+	 * for {@link #categorisePendingTransactions()}.
+	 */
+
+	public void importNationwideCSVHeadless() {
+		importNationwideCSV(true);
+	}
+
+	private void importNationwideCSV(boolean deferCategorisation) {
 		//setup();
 		loadNationWideCSV();
 		if(reader.getStatement()==null) {
 			System.out.println("No file selected");
 			return;
 		}
+		MetricsRegistry.getDefault().reset();
+		reader.setDeferCategorisation(deferCategorisation);
 		Transaction[] transactions = convertStatement();
-		importTransactionData(transactions);
-		System.out.println("Imported NationwideCSV into .db file");
+		List<Transaction> pending = deferCategorisation ? reader.getPendingTransactions() : List.of();
+		if (importTransactionData(transactions, pending)) {
+			System.out.println("Imported NationwideCSV into .db file");
+		} else {
+			System.out.println("Failed to import NationwideCSV into .db file, see the log for details");
+		}
+		printMetricsReport("Import " + reader.getStatement().getName());
+	}
+
+	/**
+	 * Imports every .csv statement within the statementFolder setting, reading the
+	 * statements in parallel and writing them to the database on a single thread.
+	 * Categorisation is deferred, as for {@link #importNationwideCSVHeadless()}.
+	 * Prints the results of each statement and the overall throughput.
+	 */
+
+	public void importNationwideCSVFolder() {
+		reader = new NationwideCSVReader(config);
+		if (!reader.loadStatementFolder()) {
+			System.out.println("No statement folder set, please set one in the Settings menu");
+			return;
+		}
+		StatementFolderImporter importer = new StatementFolderImporter(config, regex, tCR, tCW, tIW, tOW, tPW);
+		MetricsRegistry.getDefault().reset();
+		System.out.println("Importing statements from " + reader.getStatementFolder().getAbsolutePath());
+		FolderImportResult result = importer.importFolder(reader.getStatementFolder());
+		if (result.getFileResults().isEmpty()) {
+			System.out.println("No .csv statements found in the statement folder");
+			return;
+		}
+		for (FolderImportResult.FileResult fileResult : result.getFileResults()) {
+			System.out.println(fileResult);
+		}
+		System.out.println(result);
+		if (result.getQueued() > 0) {
+			System.out.println("Choose 'Categorise pending transactions' to assign categories to new descriptions.");
+		}
+		printMetricsReport("Import " + reader.getStatementFolder().getName());
 	}
 
+    /**
+     * Prints the time taken by each stage of the import just run, and resets the
+     * metrics for the next run.
+     *
+     * @param title - the title of the report
+     */
+
+	private void printMetricsReport(String title) {
+		System.out.print(MetricsRegistry.getDefault().reportAndReset(title).format());
+	}
+
+	/*
+	 * ========================= CATEGORISATION METHODS =======================
+	 */
+
+    /**
+     * Asks the user for a category for each description in the PendingCategory
+     * queue. Each answer is applied to every queued transaction sharing the
+     * description at once, and saved before the next description is shown.
+     */
+
+	public void categorisePendingTransactions() {
+		List<PendingDescription> pending = tPR.readPendingDescriptions();
+		if (pending.isEmpty()) {
+			System.out.println("No transactions are awaiting a category");
+			return;
+		}
+		int numDescriptions = pending.size();
+		System.out.println(numDescriptions + " descriptions are awaiting a category");
+		int numUpdated = 0;
+		for (int i = 0; i < numDescriptions; i++) {
+			PendingDescription description = pending.get(i);
+			System.out.println(String.format("(%d/%d) %d transactions share the following description", i + 1,
+					numDescriptions, description.getCount()));
+			String category = tCW.assignCategoryToTransaction(description.getFirstDate(),
+					description.getDescription(), description.getFirstAmount(), description.getDirection());
+			int updated = tPW.applyCategory(description.getDescription(), category);
+			if (updated < 0) {
+				System.out.println("Failed to save category " + category + ", the description remains queued");
+				continue;
+			}
+			numUpdated += updated;
+		}
+		System.out.println(String.format("Categorised %d transactions across %d descriptions", numUpdated,
+				numDescriptions));
+	}
+
+	/*
+	 * ========================= MONTHLY TOTALS METHODS =======================
+	 */
+
+    /**
+     * Compares the MonthlyTotals table with totals summed from the Inbound and Outbound tables, and prints each
+     * category and month that differs.
+     */
+
+	public void checkMonthlyTotals() {
+		TableUtils tU = new TableUtils(tI.getLogger());
+		tU.setDB(tI.getDB());
+		List<String> differences = tMR.checkConsistency(new TableInboundReader(tI, tCR, tU),
+				new TableOutboundReader(tO, tCR, tU));
+		if (differences.isEmpty()) {
+			System.out.println("The monthly totals agree with every transaction");
+			return;
+		}
+		for (String difference : differences) {
+			System.out.println(difference);
+		}
+		System.out.println(differences.size()
+				+ " monthly totals differ from the transactions. Choose 'Rebuild monthly totals' to recalculate them.");
+	}
+
+    /**
+     * Rebuilds the MonthlyTotals table from every transaction in the Inbound and Outbound tables.
+     */
+
+	public void rebuildMonthlyTotals() {
+		if (tMW.rebuild()) {
+			System.out.println("Rebuilt the monthly totals from every transaction");
+		} else {
+			System.out.println("Failed to rebuild the monthly totals, the previous totals were kept");
+		}
+	}
 }
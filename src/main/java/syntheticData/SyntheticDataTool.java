@@ -0,0 +1,256 @@
+package syntheticData;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import optionMenu.MenuSelect;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.writers.ImportResult;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import transactions.Money;
+
+/**
+ * The SyntheticDataTool class is a command line tool that generates made up
+ * statements, a made up database, or both, for testing at scale. For example,
+ * with the benchmarks profile:
+ *
+ * <pre>
+ * mvn -P benchmarks compile exec:exec -Dtool.mainClass=syntheticData.SyntheticDataTool
+ *     -Dtool.args="--years 5 --rows-per-month 2000 --csv-folder statements --db-folder db --db-name synthetic"
+ * </pre>
+ *
+ * Options:
+ * <ul>
+ * <li>--seed n: seed of the random numbers, default 42</li>
+ * <li>--start-year n: year of the first month, default 2023</li>
+ * <li>--years n: number of years generated, default 1</li>
+ * <li>--rows-per-month n: transactions in each month, default 100</li>
+ * <li>--merchants n: size of the merchant vocabulary</li>
+ * <li>--categories n: number of categories merchants are spread across</li>
+ * <li>--zipf x: exponent of the Zipf-like choice of merchant, default 1</li>
+ * <li>--opening-balance x: balance in pounds before the first transaction</li>
+ * <li>--csv-folder path: write one Nationwide CSV statement per month here</li>
+ * <li>--db-folder path and --db-name name: fill this database</li>
+ * </ul>
+ *
+ * @see SyntheticStatementGenerator
+ * @author LORD GABRIEL
+ */
+
+public class SyntheticDataTool {
+
+	private static final Logger logger = LogManager.getLogger(SyntheticDataTool.class.getName());
+
+	public static final long DEFAULT_SEED = 42;
+
+	private SyntheticStatementGenerator generator;
+	private File csvFolder;
+	private String dbFolder;
+	private String dbName;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a SyntheticDataTool from command line arguments.
+	 *
+	 * @param args - the command line arguments
+	 * @throws IllegalArgumentException if an argument is not recognised or its
+	 *                                  value is missing or not valid
+	 */
+
+	public SyntheticDataTool(String[] args) {
+		parseArguments(args);
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public SyntheticStatementGenerator getGenerator() {
+		return generator;
+	}
+
+	public File getCsvFolder() {
+		return csvFolder;
+	}
+
+	public String getDbFolder() {
+		return dbFolder;
+	}
+
+	public String getDbName() {
+		return dbName;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	public static void main(String[] args) {
+		SyntheticDataTool tool;
+		try {
+			tool = new SyntheticDataTool(args);
+		} catch (IllegalArgumentException e) {
+			System.err.println(e.getMessage());
+			System.err.println("Usage: [--seed n] [--start-year n] [--years n] [--rows-per-month n] [--merchants n]"
+					+ " [--categories n] [--zipf x] [--opening-balance x] [--csv-folder path]"
+					+ " [--db-folder path --db-name name]");
+			System.exit(1);
+			return;
+		}
+		if (!tool.run()) {
+			System.exit(1);
+		}
+	}
+
+	/**
+	 * Writes the statements and fills the database asked for.
+	 *
+	 * @return true if everything asked for was generated
+	 */
+
+	public boolean run() {
+		boolean generated = true;
+		if (csvFolder != null) {
+			generated &= writeStatements();
+		}
+		if (dbName != null) {
+			generated &= fillDatabase();
+		}
+		return generated;
+	}
+
+	/**
+	 * Writes one statement per month to the CSV folder.
+	 *
+	 * @return true if every statement was written
+	 */
+
+	public boolean writeStatements() {
+		long start = System.nanoTime();
+		try {
+			csvFolder.mkdirs();
+			List<File> statements = generator.writeNationwideCSVs(csvFolder);
+			String log = String.format("Wrote %d statements of %d transactions to %s in %d ms", statements.size(),
+					generator.getRowsPerMonth(), csvFolder.getAbsolutePath(), elapsedMillis(start));
+			logger.info(log);
+			System.out.println(log);
+			return true;
+		} catch (IOException e) {
+			String log = String.format("Failed to write statements to %s. %s", csvFolder.getAbsolutePath(),
+					e.getMessage());
+			logger.error(log);
+			return false;
+		}
+	}
+
+	/**
+	 * Creates the database's tables if needed and fills them.
+	 *
+	 * @return true if the database was filled
+	 */
+
+	public boolean fillDatabase() {
+		long start = System.nanoTime();
+		Database DB = new Database(dbName, dbFolder);
+		try {
+			TableInbound tI = new TableInbound(DB);
+			TableOutbound tO = new TableOutbound(DB);
+			TableCategory tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+			TablePendingCategory tP = new TablePendingCategory(DB);
+			new LoadTables().checkAndCreateTables(DB, tI, tO, tC, tP);
+			TableCategoryWriter tCW = new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false,
+					false);
+			ImportResult[] results = generator.fillDatabase(tCW, new TableInboundWriter(tI),
+					new TableOutboundWriter(tO));
+			String log = String.format("Filled database %s in %d ms. %s. %s", dbName, elapsedMillis(start), results[0],
+					results[1]);
+			logger.info(log);
+			System.out.println(log);
+			return true;
+		} catch (RuntimeException e) {
+			String log = String.format("Failed to fill database %s. %s", dbName, e.getMessage());
+			logger.error(log);
+			return false;
+		} finally {
+			DB.closeConnections();
+		}
+	}
+
+	private void parseArguments(String[] args) {
+		generator = new SyntheticStatementGenerator(DEFAULT_SEED);
+		for (int i = 0; i < args.length; i++) {
+			String option = args[i];
+			if (i + 1 >= args.length) {
+				throw new IllegalArgumentException("Missing value for " + option);
+			}
+			String value = args[++i];
+			try {
+				switch (option) {
+				case "--seed":
+					generator.setSeed(Long.parseLong(value));
+					break;
+				case "--start-year":
+					generator.setStartYear(Integer.parseInt(value));
+					break;
+				case "--years":
+					generator.setYears(Integer.parseInt(value));
+					break;
+				case "--rows-per-month":
+					generator.setRowsPerMonth(Integer.parseInt(value));
+					break;
+				case "--merchants":
+					generator.setMerchantCount(Integer.parseInt(value));
+					break;
+				case "--categories":
+					generator.setCategoryCount(Integer.parseInt(value));
+					break;
+				case "--zipf":
+					generator.setZipfExponent(Double.parseDouble(value));
+					break;
+				case "--opening-balance":
+					generator.setOpeningBalancePence(Money.parsePence(value));
+					break;
+				case "--csv-folder":
+					csvFolder = new File(value);
+					break;
+				case "--db-folder":
+					dbFolder = value;
+					break;
+				case "--db-name":
+					dbName = value;
+					break;
+				default:
+					throw new IllegalArgumentException("Unknown option " + option);
+				}
+			} catch (NumberFormatException e) {
+				throw new IllegalArgumentException("Not a valid number for " + option + ": " + value);
+			}
+		}
+		if ((dbFolder == null) != (dbName == null)) {
+			throw new IllegalArgumentException("--db-folder and --db-name must be given together");
+		}
+		if (csvFolder == null && dbName == null) {
+			throw new IllegalArgumentException("Nothing to generate, give --csv-folder or --db-folder and --db-name");
+		}
+	}
+
+	private static long elapsedMillis(long start) {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+	}
+}
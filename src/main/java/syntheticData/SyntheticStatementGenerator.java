@@ -0,0 +1,538 @@
+package syntheticData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import regex.RegexMethods;
+import sqliteData.tables.writers.ImportResult;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import statementReaders.NationwideCSVReader;
+import transactions.Money;
+import transactions.Transaction;
+
+/**
+ * The SyntheticStatementGenerator class generates made up bank transactions,
+ * so that imports, storage and exports can be tested and benchmarked at scale
+ * without real bank data. Transactions can be written as a Nationwide CSV
+ * statement, in the format read by NationwideCSVReader.
+ * <p>
+ * Transactions are generated from a vocabulary of merchants, each with one of
+ * a number of categories. Merchants are picked with a Zipf-like distribution,
+ * so a few merchants make up most transactions as in real statements, and the
+ * balance of each transaction follows on from the one before, across months
+ * and years. The same seed and settings always generate the same
+ * transactions, so results are reproducible.
+ * <p>
+ * Generated transactions can be written as one statement per month or imported
+ * straight into a database through the table writers.
+ *
+ * @see NationwideCSVReader
+ * @see SyntheticDataTool
+ * @see Transaction
+ * @author LORD GABRIEL
+ */
+
+public class SyntheticStatementGenerator {
+
+	/**
+	 * Account summary lines written above the header of a Nationwide CSV
+	 */
+	public static final String[] NATIONWIDE_PREAMBLE = { "\"Account Name:\",\"FlexAccount ****00000\"",
+			"\"Account Balance:\",\"\u00a30.00\"", "\"Available Balance: \",\"\u00a30.00\"", "" };
+
+	/**
+	 * Header of a Nationwide CSV, as checked by
+	 * {@link NationwideCSVReader#checkNationWideHeaders(String[])}
+	 */
+	public static final String NATIONWIDE_HEADER = "\"Date\",\"Transaction type\",\"Description\",\"Paid out\",\"Paid in\",\"Balance\"";
+
+	private static final DateTimeFormatter NATIONWIDE_DATE_FORMATTER = DateTimeFormatter.ofPattern("dd MMM yyyy",
+			Locale.ENGLISH);
+
+	/**
+	 * Descriptions of the most common merchants, first in the vocabulary
+	 */
+	private static final String[] MERCHANTS = { "TESCO STORES 3217 LONDON", "SAINSBURYS S/MKTS 0642",
+			"APPLE.COM/BILL 08001076285 IE", "NETFLIX.COM 866-579-7172", "TFL TRAVEL CH TFL.GOV.UK/CP",
+			"TRAINLINE.COM EDINBURGH", "PRET A MANGER W1T 4JN", "COSTA COFFEE 43002 SW1A 1AA",
+			"AMAZON.CO.UK*2K4 AMAZON.CO.UK", "SMITH, J \"RENT\"", "BRITISH GAS 0800 048 0202",
+			"THAMES WATER 0800 316 9800" };
+
+	// Words the rest of the vocabulary is made from
+	private static final String[] MERCHANT_NAMES = { "ALDI", "ASDA", "BOOTS", "CURRYS", "GREGGS", "IKEA", "LIDL",
+			"MORRISONS", "NANDOS", "PRIMARK", "SHELL", "SUBWAY", "WAITROSE", "WICKES", "ZARA" };
+	private static final String[] MERCHANT_PLACES = { "BATH", "BRISTOL", "CARDIFF", "DERBY", "EXETER", "GLASGOW",
+			"LEEDS", "LONDON", "MANCHESTER", "NORWICH", "OXFORD", "YORK" };
+
+	private static final String[] CATEGORY_NAMES = { "Groceries", "Subscriptions", "Travel", "Eating Out",
+			"Shopping", "Rent", "Bills", "Entertainment", "Health", "Fuel", "Gifts", "Charity" };
+
+	private static final String[] INCOME = { "SALARY ACME LTD", "Income" };
+
+	/**
+	 * One transaction in this many is income
+	 */
+	private static final int INCOME_EVERY = 20;
+
+	/**
+	 * Largest amount paid out by one transaction, in pence
+	 */
+	private static final int MAX_PAID_OUT = 20000;
+
+	public static final int DEFAULT_START_YEAR = 2023;
+	public static final int DEFAULT_YEARS = 1;
+	public static final int DEFAULT_ROWS_PER_MONTH = 100;
+	public static final int DEFAULT_MERCHANT_COUNT = MERCHANTS.length;
+	public static final int DEFAULT_CATEGORY_COUNT = 7;
+	public static final double DEFAULT_ZIPF_EXPONENT = 1.0;
+	public static final long DEFAULT_OPENING_BALANCE_PENCE = 200000;
+
+	private long seed;
+	private final RegexMethods regex = new RegexMethods();
+
+	private int startYear = DEFAULT_START_YEAR;
+	private int years = DEFAULT_YEARS;
+	private int rowsPerMonth = DEFAULT_ROWS_PER_MONTH;
+	private int merchantCount = DEFAULT_MERCHANT_COUNT;
+	private int categoryCount = DEFAULT_CATEGORY_COUNT;
+	private double zipfExponent = DEFAULT_ZIPF_EXPONENT;
+	private long openingBalancePence = DEFAULT_OPENING_BALANCE_PENCE;
+
+	// Built from the settings when first needed
+	private String[] merchants;
+	private String[] merchantCategories;
+	private double[] merchantWeights;
+
+	/*
+	 * ===================CONSTRUCTORS ====================
+	 */
+
+	/**
+	 * Constructs a SyntheticStatementGenerator.
+	 *
+	 * @param seed - the seed of the random numbers used, the same seed always
+	 *             generates the same transactions
+	 */
+
+	public SyntheticStatementGenerator(long seed) {
+		this.seed = seed;
+	}
+
+	/*
+	 * ================== GETTERS =================
+	 */
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public int getStartYear() {
+		return startYear;
+	}
+
+	public int getYears() {
+		return years;
+	}
+
+	public int getRowsPerMonth() {
+		return rowsPerMonth;
+	}
+
+	public int getMerchantCount() {
+		return merchantCount;
+	}
+
+	public int getCategoryCount() {
+		return categoryCount;
+	}
+
+	public double getZipfExponent() {
+		return zipfExponent;
+	}
+
+	public long getOpeningBalancePence() {
+		return openingBalancePence;
+	}
+
+	/**
+	 * @return the first month transactions are generated for
+	 */
+	public YearMonth getFirstMonth() {
+		return YearMonth.of(startYear, 1);
+	}
+
+	/**
+	 * @return the number of months transactions are generated for
+	 */
+	public int getMonths() {
+		return years * 12;
+	}
+
+	/**
+	 * Returns the category of every processed description that may be generated,
+	 * e.g. to fill the Category table before generated transactions are imported.
+	 *
+	 * @return a map of processed description to category
+	 */
+	public Map<String, String> getCategories() {
+		loadVocabulary();
+		Map<String, String> categories = new LinkedHashMap<>();
+		for (int i = 0; i < merchants.length; i++) {
+			categories.put(regex.processDescription(merchants[i]), merchantCategories[i]);
+		}
+		categories.put(regex.processDescription(INCOME[0]), INCOME[1]);
+		return categories;
+	}
+
+	/*
+	 * ================== SETTERS =================
+	 */
+
+	/**
+	 * @param seed - the seed of the random numbers used, the same seed always
+	 *             generates the same transactions
+	 */
+	public void setSeed(long seed) {
+		this.seed = seed;
+	}
+
+	public void setStartYear(int startYear) {
+		this.startYear = startYear;
+	}
+
+	/**
+	 * @param years - the number of years transactions are generated for, at
+	 *              least 1
+	 */
+	public void setYears(int years) {
+		this.years = Math.max(1, years);
+	}
+
+	/**
+	 * @param rowsPerMonth - the number of transactions generated for each month,
+	 *                     at least 1
+	 */
+	public void setRowsPerMonth(int rowsPerMonth) {
+		this.rowsPerMonth = Math.max(1, rowsPerMonth);
+	}
+
+	/**
+	 * Sets the number of merchants transactions are paid out to. The first are the
+	 * common merchants of real statements, the rest are made up names.
+	 *
+	 * @param merchantCount - the size of the vocabulary, at least 1
+	 */
+	public void setMerchantCount(int merchantCount) {
+		this.merchantCount = Math.max(1, merchantCount);
+		merchants = null;
+	}
+
+	/**
+	 * Sets the number of categories merchants are spread across, not counting the
+	 * Income category.
+	 *
+	 * @param categoryCount - the number of categories, at least 1
+	 */
+	public void setCategoryCount(int categoryCount) {
+		this.categoryCount = Math.max(1, categoryCount);
+		merchants = null;
+	}
+
+	/**
+	 * Sets how skewed the choice of merchant is. The merchant ranked n in the
+	 * vocabulary is picked with a weight of 1 / n^exponent, so 0 picks every
+	 * merchant equally and larger exponents favour the first merchants more.
+	 *
+	 * @param zipfExponent - the exponent, at least 0
+	 */
+	public void setZipfExponent(double zipfExponent) {
+		this.zipfExponent = Math.max(0, zipfExponent);
+		merchants = null;
+	}
+
+	/**
+	 * @param openingBalancePence - the balance before the first transaction, in
+	 *                            pence
+	 */
+	public void setOpeningBalancePence(long openingBalancePence) {
+		this.openingBalancePence = openingBalancePence;
+	}
+
+	/*
+	 * ================== METHODS =================
+	 */
+
+	/**
+	 * Generates transactions spread evenly, in date order, over a year. The
+	 * balance of each transaction follows on from the one before.
+	 *
+	 * @param count - the number of transactions to generate
+	 * @param year  - the year the transactions are dated in
+	 * @return the transactions
+	 */
+
+	public Transaction[] generateTransactions(int count, int year) {
+		LocalDate start = LocalDate.of(year, 1, 1);
+		return new Run().generate(count, start, start.lengthOfYear());
+	}
+
+	/**
+	 * Generates every month's transactions, from the first month for the number of
+	 * years set, in date order.
+	 *
+	 * @return the transactions
+	 */
+
+	public Transaction[] generateTransactions() {
+		List<Transaction> transactions = new ArrayList<>(getMonths() * rowsPerMonth);
+		Run run = new Run();
+		YearMonth month = getFirstMonth();
+		for (int i = 0; i < getMonths(); i++, month = month.plusMonths(1)) {
+			transactions.addAll(Arrays.asList(run.generateMonth(month)));
+		}
+		return transactions.toArray(new Transaction[0]);
+	}
+
+	/**
+	 * Writes one Nationwide CSV statement for each month, named e.g.
+	 * nationwide-2023-01.csv. Only one month of transactions is held in memory at
+	 * a time, and balances follow on from one statement to the next.
+	 *
+	 * @param folder - the folder to write the statements to, which must exist
+	 * @return the statements written, in date order
+	 * @throws IOException if a statement cannot be written
+	 */
+
+	public List<File> writeNationwideCSVs(File folder) throws IOException {
+		List<File> statements = new ArrayList<>(getMonths());
+		Run run = new Run();
+		YearMonth month = getFirstMonth();
+		for (int i = 0; i < getMonths(); i++, month = month.plusMonths(1)) {
+			File statement = new File(folder, "nationwide-" + month + ".csv");
+			writeNationwideCSV(run.generateMonth(month), statement);
+			statements.add(statement);
+		}
+		return statements;
+	}
+
+	/**
+	 * Records the category of every description that may be generated, so that
+	 * generated transactions are categorised when they are imported.
+	 *
+	 * @param tCW - the writer for the Category table
+	 */
+
+	public void insertCategories(TableCategoryWriter tCW) {
+		for (Map.Entry<String, String> category : getCategories().entrySet()) {
+			tCW.insertEntry(category.getKey(), category.getValue());
+		}
+	}
+
+	/**
+	 * Fills a database with every month's transactions and the category of every
+	 * description, as if each month's statement had been imported. Only one month
+	 * of transactions is held in memory at a time.
+	 *
+	 * @param tCW - the writer for the Category table
+	 * @param tIW - the writer for the Inbound table
+	 * @param tOW - the writer for the Outbound table
+	 * @return the results of importing into the Inbound and Outbound tables
+	 */
+
+	public ImportResult[] fillDatabase(TableCategoryWriter tCW, TableInboundWriter tIW, TableOutboundWriter tOW) {
+		insertCategories(tCW);
+		ImportResult inbound = null;
+		ImportResult outbound = null;
+		Run run = new Run();
+		YearMonth month = getFirstMonth();
+		for (int i = 0; i < getMonths(); i++, month = month.plusMonths(1)) {
+			Transaction[] transactions = run.generateMonth(month);
+			ImportResult monthInbound = tIW.importData(transactions);
+			ImportResult monthOutbound = tOW.importData(transactions);
+			if (inbound == null) {
+				inbound = monthInbound;
+				outbound = monthOutbound;
+			} else {
+				inbound.add(monthInbound);
+				outbound.add(monthOutbound);
+			}
+		}
+		return new ImportResult[] { inbound, outbound };
+	}
+
+	/**
+	 * Formats transactions as a Nationwide CSV statement, with the account summary
+	 * lines and header that Nationwide exports begin with.
+	 *
+	 * @param transactions - the transactions to format
+	 * @return the statement
+	 */
+
+	public String toNationwideCSV(Transaction[] transactions) {
+		StringBuilder csv = new StringBuilder(128 * (transactions.length + 5));
+		for (String line : NATIONWIDE_PREAMBLE) {
+			csv.append(line).append('\n');
+		}
+		csv.append(NATIONWIDE_HEADER).append('\n');
+		for (Transaction transaction : transactions) {
+			LocalDate date = LocalDate.parse(transaction.getDate());
+			appendField(csv, date.format(NATIONWIDE_DATE_FORMATTER)).append(',');
+			appendField(csv, transaction.getTrType()).append(',');
+			appendField(csv, transaction.getRawDescription()).append(',');
+			appendField(csv, formatAmount(transaction.getPaidOutPence())).append(',');
+			appendField(csv, formatAmount(transaction.getPaidInPence())).append(',');
+			appendField(csv, formatAmount(transaction.getBalancePence())).append('\n');
+		}
+		return csv.toString();
+	}
+
+	/**
+	 * Writes transactions to a file as a Nationwide CSV statement, encoded as
+	 * Nationwide exports are.
+	 *
+	 * @param transactions - the transactions to write
+	 * @param file         - the file to write to, replaced if it exists
+	 * @throws IOException if the file cannot be written
+	 */
+
+	public void writeNationwideCSV(Transaction[] transactions, File file) throws IOException {
+		Files.write(file.toPath(), toNationwideCSV(transactions).getBytes(NationwideCSVReader.NATIONWIDE_CHARSET));
+	}
+
+	/**
+	 * Builds the merchant vocabulary, the category of each merchant and the
+	 * cumulative weights merchants are picked with.
+	 */
+	private void loadVocabulary() {
+		if (merchants != null) {
+			return;
+		}
+		String[] names = new String[merchantCount];
+		String[] categories = new String[merchantCount];
+		double[] weights = new double[merchantCount];
+		double total = 0;
+		for (int i = 0; i < merchantCount; i++) {
+			names[i] = merchantName(i);
+			categories[i] = categoryName(i % categoryCount);
+			total += 1 / Math.pow(i + 1, zipfExponent);
+			weights[i] = total;
+		}
+		merchantCategories = categories;
+		merchantWeights = weights;
+		merchants = names;
+	}
+
+	/**
+	 * Names a merchant. Made up names differ in their letters, as digits are
+	 * removed when descriptions are processed.
+	 */
+	private static String merchantName(int index) {
+		if (index < MERCHANTS.length) {
+			return MERCHANTS[index];
+		}
+		int i = index - MERCHANTS.length;
+		int combinations = MERCHANT_NAMES.length * MERCHANT_PLACES.length;
+		String name = MERCHANT_NAMES[i % MERCHANT_NAMES.length] + " " + String.format("%04d", i % 10000) + " "
+				+ MERCHANT_PLACES[(i / MERCHANT_NAMES.length) % MERCHANT_PLACES.length];
+		return (i < combinations) ? name : name + " " + letters(i / combinations);
+	}
+
+	/**
+	 * Writes a number with the letters A to Z, e.g. 1 as A and 27 as AA.
+	 */
+	private static String letters(int number) {
+		StringBuilder letters = new StringBuilder();
+		for (int n = number; n > 0; n = (n - 1) / 26) {
+			letters.insert(0, (char) ('A' + (n - 1) % 26));
+		}
+		return letters.toString();
+	}
+
+	private static String categoryName(int index) {
+		return (index < CATEGORY_NAMES.length) ? CATEGORY_NAMES[index] : "Category " + letters(index + 1);
+	}
+
+	private static String formatAmount(long pence) {
+		return (pence == 0) ? "" : "\u00a3" + Money.format(pence);
+	}
+
+	/**
+	 * Appends a field in quotes, escaping any quotes within it.
+	 */
+	private static StringBuilder appendField(StringBuilder csv, String field) {
+		return csv.append('"').append(field.replace("\"", "\"\"")).append('"');
+	}
+
+	/**
+	 * One pass of generation. Holds the random numbers and the running balance,
+	 * so that months generated one after another follow on from each other.
+	 */
+	private final class Run {
+
+		private final Random random = new Random(seed);
+		private long balance = openingBalancePence;
+
+		Run() {
+			loadVocabulary();
+		}
+
+		/**
+		 * Generates a month's transactions, spread evenly over the month.
+		 */
+		Transaction[] generateMonth(YearMonth month) {
+			return generate(rowsPerMonth, month.atDay(1), month.lengthOfMonth());
+		}
+
+		/**
+		 * Generates transactions spread evenly over a number of days.
+		 */
+		Transaction[] generate(int count, LocalDate start, int days) {
+			Transaction[] transactions = new Transaction[count];
+			for (int i = 0; i < count; i++) {
+				// Income is also paid whenever the balance runs low, so it never goes negative
+				boolean income = random.nextInt(INCOME_EVERY) == 0 || balance < MAX_PAID_OUT;
+				int merchant = income ? -1 : pickMerchant();
+				String description = income ? INCOME[0] : merchants[merchant];
+				long amount = income ? 150000 + random.nextInt(100000) : 100 + random.nextInt(MAX_PAID_OUT - 100);
+				balance += income ? amount : -amount;
+
+				Transaction transaction = new Transaction();
+				transaction.setDate(start.plusDays((long) i * days / count).toString());
+				transaction.setTrType(income ? "Transfer from" : "Visa purchase");
+				transaction.setRawDescription(description);
+				transaction.setProcessedDescription(regex.processDescription(description));
+				transaction.setCategory(income ? INCOME[1] : merchantCategories[merchant]);
+				transaction.setPaidInPence(income ? amount : 0);
+				transaction.setPaidOutPence(income ? 0 : amount);
+				transaction.setBalancePence(balance);
+				transaction.setID(regex.generateTransactionUUID(transaction.getDate(), transaction.getTrType(),
+						transaction.getRawDescription(), transaction.getPaidOut(), transaction.getPaidIn(),
+						transaction.getBalance()));
+				transactions[i] = transaction;
+			}
+			return transactions;
+		}
+
+		/**
+		 * Picks a merchant by searching the cumulative weights.
+		 */
+		private int pickMerchant() {
+			double target = random.nextDouble() * merchantWeights[merchantWeights.length - 1];
+			int index = Arrays.binarySearch(merchantWeights, target);
+			return Math.min((index >= 0) ? index + 1 : -index - 1, merchantWeights.length - 1);
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package transactions;
+
+import java.math.BigDecimal;
+
+/**
+ * The Money class holds the conversions used for amounts of money, which are
+ * kept as a whole number of pence in a long. Sums of pence are exact, unlike
+ * sums of doubles, so totals read from the database or added up in Java do not
+ * drift however many transactions they cover.
+ * <p>
+ * Amounts are parsed straight from the raw statement field without regular
+ * expressions or allocation, and are only converted to pounds as a double at
+ * the edge of the program, e.g. when written to a cell of an Excel workbook.
+ *
+ * @see Transaction
+ * @author LORD GABRIEL
+ */
+
+public final class Money {
+
+	/**
+	 * Number of pence in a pound
+	 */
+	public static final int PENCE_PER_POUND = 100;
+
+	private Money() {
+	}
+
+	/*
+	 * ================== CONVERTERS =================
+	 */
+
+	/**
+	 * Parses an amount of money from a statement field, e.g. "£1,250.00" or
+	 * "\"£1.49\"". As with {@link regex.RegexMethods#convertPrice(String)}, every
+	 * character other than a digit or the decimal point is ignored, so currency
+	 * signs, thousands separators and quotation marks need not be removed first.
+	 * Digits beyond the second decimal place are rounded half up.
+	 *
+	 * @param field - the field holding the amount
+	 * @return the amount in pence, 0 if the field holds no digits
+	 * @throws NumberFormatException if the field holds more than one decimal point
+	 *                               or is too large for a long
+	 */
+	public static long parsePence(CharSequence field) {
+		long pounds = 0;
+		long pence = 0;
+		int fractionDigits = 0;
+		boolean fraction = false;
+		boolean roundUp = false;
+		int n = field.length();
+		for (int i = 0; i < n; i++) {
+			char c = field.charAt(i);
+			if (c == '.') {
+				if (fraction) {
+					throw new NumberFormatException("More than one decimal point in amount: " + field);
+				}
+				fraction = true;
+			} else if (c >= '0' && c <= '9') {
+				int digit = c - '0';
+				if (!fraction) {
+					pounds = Math.addExact(Math.multiplyExact(pounds, 10), digit);
+				} else if (fractionDigits < 2) {
+					pence = pence * 10 + digit;
+					fractionDigits++;
+				} else if (fractionDigits == 2) {
+					roundUp = digit >= 5;
+					fractionDigits++;
+				}
+			}
+		}
+		if (fractionDigits == 1) {
+			pence *= 10;
+		}
+		long total = Math.addExact(Math.multiplyExact(pounds, PENCE_PER_POUND), pence);
+		return roundUp ? Math.incrementExact(total) : total;
+	}
+
+	/**
+	 * Converts pence to pounds, e.g. for an Excel cell. The double returned is the
+	 * closest to the exact amount, the same as parsing the amount as a decimal.
+	 *
+	 * @param pence - the amount in pence
+	 * @return the amount in pounds
+	 */
+	public static double toPounds(long pence) {
+		return pence / (double) PENCE_PER_POUND;
+	}
+
+	/**
+	 * Converts pounds to pence, rounding to the nearest penny.
+	 *
+	 * @param pounds - the amount in pounds
+	 * @return the amount in pence
+	 */
+	public static long fromPounds(double pounds) {
+		return Math.round(pounds * PENCE_PER_POUND);
+	}
+
+	/**
+	 * Formats pence as pounds with two decimal places, e.g. 123456 as "1234.56".
+	 *
+	 * @param pence - the amount in pence
+	 * @return the formatted amount, without a currency sign
+	 */
+	public static String format(long pence) {
+		return BigDecimal.valueOf(pence, 2).toPlainString();
+	}
+}
@@ -11,9 +11,10 @@ public class Transaction {
 	private String rawDescription; // raw description
 	private String processedDescription; // processedDescription
 	private String category; // categories -i.e. type of product or payement, e.g. paycheque, fashion
-	private double paidIn;
-	private double paidOut;
-	private double balance; // balance at the time
+	// amounts are held in pence, see Money
+	private long paidIn;
+	private long paidOut;
+	private long balance; // balance at the time
 
 	// getters and setters
 	public String getID() {
@@ -64,30 +65,55 @@ public class Transaction {
 		this.category = category;
 	}
 
-	public double getPaidIn() {
+	public long getPaidInPence() {
 		return paidIn;
 	}
 
-	public void setPaidIn(double paidIn) {
+	public void setPaidInPence(long paidIn) {
 		this.paidIn = paidIn;
 	}
 
-	public double getPaidOut() {
+	public long getPaidOutPence() {
 		return paidOut;
 	}
 
-	public void setPaidOut(double paidOut) {
+	public void setPaidOutPence(long paidOut) {
 		this.paidOut = paidOut;
 	}
 
-	public double getBalance() {
+	public long getBalancePence() {
 		return balance;
 	}
 
-	public void setBalance(double balance) {
+	public void setBalancePence(long balance) {
 		this.balance = balance;
 	}
 
+	// amounts in pounds, converted from and to pence
+	public double getPaidIn() {
+		return Money.toPounds(paidIn);
+	}
+
+	public void setPaidIn(double paidIn) {
+		this.paidIn = Money.fromPounds(paidIn);
+	}
+
+	public double getPaidOut() {
+		return Money.toPounds(paidOut);
+	}
+
+	public void setPaidOut(double paidOut) {
+		this.paidOut = Money.fromPounds(paidOut);
+	}
+
+	public double getBalance() {
+		return Money.toPounds(balance);
+	}
+
+	public void setBalance(double balance) {
+		this.balance = Money.fromPounds(balance);
+	}
+
 	
 	/* 
 	 * ======================= METHODS ==============
@@ -102,9 +128,9 @@ public class Transaction {
 	            ", rawDescription='" + rawDescription + '\'' +
 	            ", processedDescription='" + processedDescription + '\'' +
 	            ", category='" + category + '\'' +
-	            ", paidIn=" + paidIn +
-	            ", paidOut=" + paidOut +
-	            ", balance=" + balance +
+	            ", paidIn=" + Money.format(paidIn) +
+	            ", paidOut=" + Money.format(paidOut) +
+	            ", balance=" + Money.format(balance) +
 	            '}';
 	}
 	
@@ -124,9 +150,9 @@ public class Transaction {
 	           Objects.equals(this.rawDescription, other.rawDescription) &&
 	           Objects.equals(this.processedDescription, other.processedDescription) &&
 	           Objects.equals(this.category, other.category) &&
-	           Double.compare(this.paidIn, other.paidIn) == 0 &&
-	           Double.compare(this.paidOut, other.paidOut) == 0 &&
-	           Double.compare(this.balance, other.balance) == 0;
+	           this.paidIn == other.paidIn &&
+	           this.paidOut == other.paidOut &&
+	           this.balance == other.balance;
 	}
 
 	@Override
@@ -0,0 +1,118 @@
+import config.AppConfig;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AppConfigSnapshotTest {
+
+	// Tests that AppConfig reads from its snapshot, reloading only when the file
+	// changes
+
+	@TempDir
+	Path tempDir;
+
+	private static void writeExternally(Path file, String name, String value, long modifiedMillis) throws IOException {
+		Properties properties = new Properties();
+		try (var in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		properties.setProperty(name, value);
+		try (OutputStream out = Files.newOutputStream(file)) {
+			properties.store(out, null);
+		}
+		Files.setLastModifiedTime(file, FileTime.fromMillis(modifiedMillis));
+	}
+
+	@Test
+	void testReadsDoNotReloadUnchangedFile() {
+		AppConfig config = new AppConfig(tempDir.resolve("config").resolve("config.properties"));
+		Assertions.assertTrue(config.checkFile());
+		long reloads = config.getReloadCount();
+		for (int i = 0; i < 100; i++) {
+			Assertions.assertNull(config.checkProperty("example.setting"));
+		}
+		Assertions.assertEquals(100, config.getReadCount());
+		Assertions.assertEquals(reloads, config.getReloadCount());
+	}
+
+	@Test
+	void testWritesUpdateSnapshotAndFile() throws IOException {
+		Path file = tempDir.resolve("config.properties");
+		AppConfig config = new AppConfig(file);
+		Map<String, String> rgb = new LinkedHashMap<>();
+		rgb.put("Sum.red", "1");
+		rgb.put("Sum.green", "2");
+		rgb.put("Sum.blue", "3");
+		Assertions.assertTrue(config.setProperties(rgb));
+		Assertions.assertTrue(config.setProperty("dbName", "test"));
+		long reloads = config.getReloadCount();
+
+		Assertions.assertEquals("2", config.checkProperty("Sum.green"));
+		Assertions.assertEquals("test", config.checkProperty("dbName"));
+		Assertions.assertEquals(2, config.getWriteCount());
+		// The writer's own changes are not reloaded
+		Assertions.assertEquals(reloads, config.getReloadCount());
+
+		// Written to disk, without leaving temporary files behind
+		Properties properties = new Properties();
+		try (var in = Files.newInputStream(file)) {
+			properties.load(in);
+		}
+		Assertions.assertEquals("3", properties.getProperty("Sum.blue"));
+		Assertions.assertEquals("test", properties.getProperty("dbName"));
+		try (var files = Files.list(tempDir)) {
+			Assertions.assertEquals(1, files.count());
+		}
+	}
+
+	@Test
+	void testExternalChangeIsReloaded() throws IOException {
+		Path file = tempDir.resolve("config.properties");
+		AppConfig config = new AppConfig(file);
+		config.setProperty("dbName", "before");
+		long reloads = config.getReloadCount();
+
+		writeExternally(file, "dbName", "after", System.currentTimeMillis() + 5000);
+		Assertions.assertEquals("after", config.checkProperty("dbName"));
+		Assertions.assertEquals(reloads + 1, config.getReloadCount());
+
+		// A write keeps properties changed by another program
+		writeExternally(file, "dbFolder", "folder", System.currentTimeMillis() + 10000);
+		config.setProperty("dbName", "again");
+		Assertions.assertEquals("folder", config.checkProperty("dbFolder"));
+		Assertions.assertEquals("again", config.checkProperty("dbName"));
+	}
+
+	@Test
+	void testWatcherPushesReload() throws IOException, InterruptedException {
+		Path file = tempDir.resolve("config.properties");
+		AppConfig config = new AppConfig(file);
+		config.startWatching();
+		try {
+			Assertions.assertTrue(config.isWatching());
+			long reloads = config.getReloadCount();
+			writeExternally(file, "dbName", "watched", System.currentTimeMillis() + 5000);
+			// The WatchService may poll, and may push the half-written file first, so
+			// wait for the final change. Reads while watching never reload themselves.
+			long deadline = System.currentTimeMillis() + 15000;
+			while (!"watched".equals(config.checkProperty("dbName")) && System.currentTimeMillis() < deadline) {
+				Thread.sleep(50);
+			}
+			Assertions.assertEquals("watched", config.checkProperty("dbName"));
+			Assertions.assertTrue(config.getReloadCount() > reloads);
+		} finally {
+			config.stopWatching();
+		}
+		Assertions.assertFalse(config.isWatching());
+	}
+}
@@ -0,0 +1,88 @@
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import config.AppConfig;
+import regex.RegexMethods;
+import sqliteData.tables.CategoryResolver;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.writers.TableCategoryWriter;
+import statementReaders.CSVTokenizer;
+import statementReaders.NationwideCSVReader;
+import transactions.Transaction;
+
+class CSVTokenizerTest {
+
+	@TempDir
+	Path tempFolder;
+
+	private static CSVTokenizer tokenizer(String csv) {
+		return new CSVTokenizer(csv.getBytes(StandardCharsets.ISO_8859_1), StandardCharsets.ISO_8859_1);
+	}
+
+	@Test
+	void testQuotedFields() {
+		CSVTokenizer csv = tokenizer("a,\"b,c\",\"say \"\"hi\"\"\"\r\n\"line\nbreak\",,\n");
+		Assertions.assertTrue(csv.nextRecord());
+		Assertions.assertArrayEquals(new String[] { "a", "b,c", "say \"hi\"" }, csv.getFields());
+		Assertions.assertTrue(csv.nextRecord());
+		Assertions.assertArrayEquals(new String[] { "line\nbreak", "", "" }, csv.getFields());
+		Assertions.assertTrue(csv.isFieldEmpty(1));
+		Assertions.assertFalse(csv.nextRecord());
+		Assertions.assertEquals(2, csv.getRecordNumber());
+	}
+
+	@Test
+	void testBlankLinesSkippingAndMissingFields() {
+		CSVTokenizer csv = tokenizer("one\n\nthree\nx,y");
+		Assertions.assertEquals(2, csv.skipRecords(2));
+		Assertions.assertTrue(csv.nextRecord());
+		Assertions.assertEquals("three", csv.getField(0));
+		Assertions.assertThrows(IndexOutOfBoundsException.class, () -> csv.getField(1));
+		Assertions.assertTrue(csv.nextRecord());
+		Assertions.assertArrayEquals(new String[] { "x", "y", "" }, csv.getFields(3));
+		Assertions.assertEquals(0, csv.skipRecords(1));
+
+		CSVTokenizer blank = tokenizer("\r\n");
+		Assertions.assertTrue(blank.nextRecord());
+		Assertions.assertTrue(blank.isBlankRecord());
+	}
+
+	@Test
+	void testNationwideStatementReadAsIso88591() throws IOException {
+		String statement = "\"Account Name:\",\"FlexAccount ****00000\"\n" + "\"Account Balance:\",\"\u00a33169.43\"\n"
+				+ "\"Available Balance: \",\"\u00a33169.43\"\n" + "\n"
+				+ "\"Date\",\"Transaction type\",\"Description\",\"Paid out\",\"Paid in\",\"Balance\"\n"
+				+ "\"06 Jan 2023\",\"Visa purchase\",\"APPLE.COM/BILL 08001076285 IE\",\"\u00a31.49\",\"\",\"\u00a33169.43\"\n"
+				+ "\"07 Jan 2023\",\"Transfer from\",\"SMITH, J \"\"RENT\"\"\",\"\",\"\u00a31,250.00\",\"\u00a34419.43\"\n\n";
+		File file = tempFolder.resolve("statement.csv").toFile();
+		Files.write(file.toPath(), statement.getBytes(StandardCharsets.ISO_8859_1));
+
+		NationwideCSVReader reader = new NationwideCSVReader(mock(AppConfig.class));
+		reader.setDeferCategorisation(true);
+		// No categories are known, so nothing is read from a database
+		CategoryResolver resolver = mock(CategoryResolver.class);
+		when(resolver.isLoaded()).thenReturn(true);
+		reader.setCategoryResolver(resolver);
+		Transaction[] transactions = reader.convertStatement(file, mock(TableCategoryReader.class),
+				mock(TableCategoryWriter.class), new RegexMethods());
+
+		Assertions.assertEquals(2, transactions.length);
+		Assertions.assertEquals("2023-01-06", transactions[0].getDate());
+		Assertions.assertEquals("APPLE.COM/BILL 08001076285 IE", transactions[0].getRawDescription());
+		Assertions.assertEquals(1.49, transactions[0].getPaidOut());
+		Assertions.assertEquals(3169.43, transactions[0].getBalance());
+		// Embedded comma and escaped quotes stay within the description
+		Assertions.assertEquals("SMITH, J \"RENT\"", transactions[1].getRawDescription());
+		Assertions.assertEquals(1250.00, transactions[1].getPaidIn());
+	}
+}
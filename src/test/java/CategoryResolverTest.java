@@ -0,0 +1,80 @@
+import sqliteData.*;
+import sqliteData.tables.CategoryResolver;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.writers.TableCategoryWriter;
+import optionMenu.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CategoryResolverTest {
+
+	// Tests CategoryResolver against a real .db file
+
+	private static String dbName = "categoryResolverTests";
+	private Database DB;
+	private TableCategory tC;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		tC.createTable();
+		TableCategoryWriter tCW = new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false,
+				false);
+		tCW.insertEntry("TESCO STORES", "Groceries");
+		tCW.insertEntry("SALARY", "Income");
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testResolveFromMemory() {
+		CategoryResolver resolver = new CategoryResolver(tC);
+		resolver.load();
+		Assertions.assertTrue(resolver.isLoaded());
+		Assertions.assertEquals(2, resolver.size());
+		Assertions.assertEquals("Groceries", resolver.resolve("TESCO STORES"));
+		Assertions.assertEquals("Groceries", resolver.resolve("TESCO STORES"));
+		Assertions.assertNull(resolver.resolve("UNKNOWN"));
+		Assertions.assertEquals(2, resolver.getHitCount());
+		Assertions.assertEquals(1, resolver.getMissCount());
+	}
+
+	@Test
+	void testRecordWritesThroughInBatches() {
+		CategoryResolver resolver = new CategoryResolver(tC);
+		resolver.setBatchSize(2);
+		resolver.load();
+
+		resolver.record("AMAZON", "Shopping");
+		// Existing mappings are never overwritten or written again
+		resolver.record("TESCO STORES", "Shopping");
+		Assertions.assertEquals("Shopping", resolver.resolve("AMAZON"));
+		Assertions.assertEquals("Groceries", resolver.resolve("TESCO STORES"));
+		Assertions.assertEquals(0, resolver.getWriteCount());
+
+		TableCategoryReader tCR = new TableCategoryReader(tC);
+		Assertions.assertNull(tCR.readCategory("AMAZON"));
+
+		// Second new mapping fills the batch
+		resolver.record("NETFLIX", "Subscriptions");
+		Assertions.assertEquals(2, resolver.getWriteCount());
+		Assertions.assertEquals("Shopping", tCR.readCategory("AMAZON"));
+		Assertions.assertEquals("Subscriptions", tCR.readCategory("NETFLIX"));
+
+		resolver.record("SPOTIFY", "Subscriptions");
+		resolver.flush();
+		Assertions.assertEquals(3, resolver.getWriteCount());
+		Assertions.assertEquals("Subscriptions", tCR.readCategory("SPOTIFY"));
+	}
+}
@@ -0,0 +1,145 @@
+import excelWriter.workbook.CategorySheet;
+import excelWriter.workbook.load.CategorySheetInboundWriter;
+import excelWriter.workbook.load.CategorySheetOutboundWriter;
+import excelWriter.workbook.load.CategorySheetTable;
+import config.color.ColorCodingConfig;
+import transactions.Transaction;
+
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class CategorySheetStreamingTest {
+
+	// Tests that category sheets written in row order to a streaming workbook
+	// match those written to an in-memory workbook
+
+	private ColorCodingConfig colConfig;
+
+	@BeforeEach
+	void setup() {
+		colConfig = Mockito.mock(ColorCodingConfig.class);
+		XSSFColor color = new XSSFColor(new Color(200, 100, 50), null);
+		Mockito.when(colConfig.checkCategoryXSSFColor(Mockito.anyString())).thenReturn(color);
+		Mockito.when(colConfig.checkSumXSSFColor()).thenReturn(color);
+	}
+
+	private static Transaction[] createTransactions(int month, int count) {
+		Transaction[] transactions = new Transaction[count];
+		for (int i = 0; i < count; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setDate(String.format("2023-%02d-%02d", month, i + 1));
+			transaction.setProcessedDescription("DESCRIPTION " + i);
+			transaction.setPaidIn(i + 1);
+			transaction.setPaidOut(i + 2);
+			transaction.setBalance(100 + i);
+			transactions[i] = transaction;
+		}
+		return transactions;
+	}
+
+	private CategorySheet writeCategorySheet(Workbook workbook) {
+		CategorySheet categorySheet = new CategorySheet(workbook, colConfig, "Groceries", 2, 2);
+		categorySheet.loadEmptyMonthPaidInMap();
+		categorySheet.loadEmptyMonthPaidOutMap();
+		categorySheet.loadCellDataStyle();
+		categorySheet.loadCellSumStyle();
+		categorySheet.loadCellHeaderStyle("Groceries");
+		CategorySheetInboundWriter csIW = new CategorySheetInboundWriter(categorySheet);
+		CategorySheetOutboundWriter csOW = new CategorySheetOutboundWriter(categorySheet);
+
+		// Tables of different heights side by side
+		List<CategorySheetTable> tables = new ArrayList<>();
+		tables.add(csIW.createTable(YearMonth.of(2023, 1), Arrays.asList(createTransactions(1, 3)), 2, 2));
+		tables.add(csOW.createTable(YearMonth.of(2023, 1), Arrays.asList(createTransactions(1, 12)), 2, 7));
+		tables.add(csIW.createTable(YearMonth.of(2023, 2), Arrays.asList(createTransactions(2, 1)), 2, 12));
+		CategorySheetTable.writeInRowOrder(tables);
+		return categorySheet;
+	}
+
+	private static String describeCell(Cell cell) {
+		if (cell == null) {
+			return "";
+		}
+		if (cell.getCellType() == CellType.FORMULA) {
+			return "=" + cell.getCellFormula();
+		}
+		if (cell.getCellType() == CellType.NUMERIC) {
+			return Double.toString(cell.getNumericCellValue());
+		}
+		return cell.getStringCellValue();
+	}
+
+	@Test
+	void testStreamingMatchesInMemory() throws IOException {
+		XSSFWorkbook inMemory = new XSSFWorkbook();
+		CategorySheet expected = writeCategorySheet(inMemory);
+
+		// Window smaller than the tables, so rows are flushed while writing
+		SXSSFWorkbook streaming = new SXSSFWorkbook(2);
+		streaming.setCompressTempFiles(true);
+		CategorySheet actual = writeCategorySheet(streaming);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		streaming.write(out);
+		streaming.dispose();
+		streaming.close();
+
+		Assertions.assertEquals(expected.getmonthPaidInSumMap(), actual.getmonthPaidInSumMap());
+		Assertions.assertEquals(expected.getmonthPaidOutSumMap(), actual.getmonthPaidOutSumMap());
+
+		try (XSSFWorkbook readBack = new XSSFWorkbook(new ByteArrayInputStream(out.toByteArray()))) {
+			Sheet expectedSheet = expected.getSheet();
+			Sheet actualSheet = readBack.getSheet("Groceries");
+			Assertions.assertEquals(expectedSheet.getLastRowNum(), actualSheet.getLastRowNum());
+			for (int rowNum = 0; rowNum <= expectedSheet.getLastRowNum(); rowNum++) {
+				Row expectedRow = expectedSheet.getRow(rowNum);
+				Row actualRow = actualSheet.getRow(rowNum);
+				Assertions.assertEquals(expectedRow == null, actualRow == null, "Row " + rowNum);
+				if (expectedRow == null) {
+					continue;
+				}
+				for (int col = 0; col < expectedRow.getLastCellNum(); col++) {
+					Assertions.assertEquals(describeCell(expectedRow.getCell(col)), describeCell(actualRow.getCell(col)),
+							"Row " + rowNum + ", column " + col);
+				}
+			}
+		}
+		inMemory.close();
+	}
+
+	@Test
+	void testFlushedRowsAreNotRevisited() throws IOException {
+		SXSSFWorkbook streaming = new SXSSFWorkbook(2);
+		CategorySheet categorySheet = new CategorySheet(streaming, colConfig, "Groceries", 2, 2);
+		categorySheet.loadEmptyMonthPaidInMap();
+		categorySheet.loadCellDataStyle();
+		categorySheet.loadCellSumStyle();
+		categorySheet.loadCellHeaderStyle("Groceries");
+		CategorySheetInboundWriter csIW = new CategorySheetInboundWriter(categorySheet);
+
+		// Writing one table at a time revisits the title row of the second table
+		csIW.createTransactionTable(YearMonth.of(2023, 1), createTransactions(1, 5), 2, 2);
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> csIW.createTransactionTable(YearMonth.of(2023, 2), createTransactions(2, 5), 2, 7));
+		streaming.dispose();
+		streaming.close();
+	}
+}
@@ -0,0 +1,100 @@
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import excelWriter.workbook.ColumnWidthEstimator;
+import excelWriter.workbook.GlyphWidthTable;
+
+class ColumnWidthEstimatorTest {
+
+	// Tests estimating column widths from glyph widths while cells are written, without AWT
+
+	@Test
+	void testGlyphWidths() {
+		GlyphWidthTable table = GlyphWidthTable.forFont("Calibri", (short) 11, false);
+		Assertions.assertSame(table, GlyphWidthTable.forFont("Calibri", (short) 11, false));
+		// Column widths are measured in digits of the default font
+		Assertions.assertEquals(5.0, table.width("12345"), 0.001);
+		Assertions.assertTrue(table.width("WWWW") > table.width("iiii") * 3);
+		// Several lines are as wide as the widest line
+		Assertions.assertEquals(table.width("1234"), table.width("12\n1234\n1"), 0.001);
+
+		GlyphWidthTable larger = GlyphWidthTable.forFont("Calibri", (short) 22, true);
+		Assertions.assertTrue(larger.width("12345") > 10.0);
+	}
+
+	@Test
+	void testWidestCellKept() throws Exception {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			Sheet sheet = workbook.createSheet("Widths");
+			ColumnWidthEstimator widths = new ColumnWidthEstimator(workbook);
+			String[] descriptions = { "SALARY", "APPLE.COM/BILL 08001076285 IE", "COFFEE" };
+			for (int i = 0; i < descriptions.length; i++) {
+				Row row = sheet.createRow(i);
+				Cell description = row.createCell(0);
+				description.setCellValue(descriptions[i]);
+				widths.record(description);
+				Cell amount = row.createCell(1);
+				amount.setCellValue(1000.50);
+				widths.record(amount);
+			}
+			Cell total = sheet.getRow(0).createCell(2);
+			total.setCellFormula("SUM(B1:B3)");
+			widths.record(total);
+			sheet.getRow(0).createCell(3);
+			widths.record(sheet.getRow(0).getCell(3));
+
+			GlyphWidthTable table = GlyphWidthTable.forFont("Calibri", (short) 11, false);
+			Assertions.assertEquals(table.width("APPLE.COM/BILL 08001076285 IE"), widths.getWidth(0), 0.001);
+			// Numbers are measured as General format shows them
+			Assertions.assertEquals(table.width("1000.5"), widths.getWidth(1), 0.001);
+			Assertions.assertEquals(table.width(ColumnWidthEstimator.FORMULA_ESTIMATE), widths.getWidth(2), 0.001);
+			Assertions.assertEquals(0, widths.getWidth(3));
+
+			Assertions.assertEquals(3, widths.apply(sheet));
+			int expected = (int) Math.ceil((widths.getWidth(0) + ColumnWidthEstimator.PADDING) * 256);
+			Assertions.assertEquals(expected, sheet.getColumnWidth(0));
+			Assertions.assertTrue(sheet.getColumnWidth(0) > sheet.getColumnWidth(1));
+		}
+	}
+
+	@Test
+	void testBoldFontWiderAndFlushedRowsCounted() throws Exception {
+		SXSSFWorkbook workbook = new SXSSFWorkbook(1);
+		try {
+			Sheet sheet = workbook.createSheet("Streaming");
+			Font bold = workbook.createFont();
+			bold.setBold(true);
+			CellStyle boldStyle = workbook.createCellStyle();
+			boldStyle.setFont(bold);
+			ColumnWidthEstimator widths = new ColumnWidthEstimator(workbook);
+
+			Cell header = sheet.createRow(0).createCell(0);
+			header.setCellValue("Description");
+			header.setCellStyle(boldStyle);
+			widths.record(header);
+			Cell plain = sheet.createRow(1).createCell(1);
+			plain.setCellValue("Description");
+			widths.record(plain);
+			Assertions.assertTrue(widths.getWidth(0) > widths.getWidth(1));
+
+			// Row 0 has been flushed to disk, but its width was recorded as it was written
+			for (int i = 2; i < 10; i++) {
+				sheet.createRow(i).createCell(0).setCellValue("x");
+			}
+			Assertions.assertNull(sheet.getRow(0));
+			widths.apply(sheet);
+			Assertions.assertEquals((int) Math.ceil((widths.getWidth(0) + ColumnWidthEstimator.PADDING) * 256),
+					sheet.getColumnWidth(0));
+		} finally {
+			workbook.dispose();
+			workbook.close();
+		}
+	}
+}
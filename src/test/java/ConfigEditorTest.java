@@ -0,0 +1,67 @@
+import config.AppConfig;
+import config.ColorPalette;
+import config.ConfigEditor;
+import config.color.ColorCodingConfig;
+
+import java.awt.Color;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ConfigEditorTest {
+
+	// Tests that batches of config changes are written to the file once
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	void testAutoAssignWritesOnce() {
+		AppConfig config = new AppConfig(tempDir.resolve("config.properties"));
+		ColorCodingConfig colConfig = new ColorCodingConfig(config);
+		String[] categories = new String[100];
+		for (int i = 0; i < categories.length; i++) {
+			categories[i] = "Category" + i;
+		}
+		colConfig.autoAssignSettingColors(categories, new ColorPalette());
+
+		Assertions.assertEquals(1, config.getWriteCount());
+		Color[] colors = new ColorPalette().returnAutoAssigncolors();
+		Assertions.assertEquals(colors[99 % colors.length], colConfig.checkCategoryColor("Category99"));
+
+		// Read back from the file by a new AppConfig
+		AppConfig reloaded = new AppConfig(tempDir.resolve("config.properties"));
+		Assertions.assertEquals(colors[0], new ColorCodingConfig(reloaded).checkCategoryColor("Category0"));
+	}
+
+	@Test
+	void testChangesHiddenUntilCommit() {
+		AppConfig config = new AppConfig(tempDir.resolve("config.properties"));
+		ConfigEditor editor = config.edit();
+		editor.set("dbName", "first").set("dbFolder", "folder").set("dbName", "second");
+		Assertions.assertEquals(2, editor.size());
+		Assertions.assertNull(config.checkProperty("dbName"));
+		Assertions.assertEquals(0, config.getWriteCount());
+
+		Assertions.assertTrue(editor.commit());
+		Assertions.assertEquals("second", config.checkProperty("dbName"));
+		Assertions.assertEquals("folder", config.checkProperty("dbFolder"));
+		Assertions.assertEquals(1, config.getWriteCount());
+		Assertions.assertThrows(IllegalStateException.class, () -> editor.set("dbName", "third"));
+		Assertions.assertThrows(IllegalStateException.class, editor::commit);
+	}
+
+	@Test
+	void testEmptyAndDiscardedEditorsDoNotWrite() {
+		AppConfig config = new AppConfig(tempDir.resolve("config.properties"));
+		Assertions.assertTrue(config.edit().commit());
+
+		ConfigEditor editor = config.edit();
+		editor.set("dbName", "discarded");
+		editor.discard();
+		Assertions.assertNull(config.checkProperty("dbName"));
+		Assertions.assertEquals(0, config.getWriteCount());
+	}
+}
@@ -0,0 +1,141 @@
+import sqliteData.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConnectionProviderTest {
+
+	// Tests ConnectionProvider against a real .db file
+
+	private static String dbName = "connectionProviderTests";
+	private Database DB;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		DB.loadDB();
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testWriteConnectionIsReused() throws SQLException {
+		ConnectionProvider provider = DB.getConnectionProvider();
+		Connection first;
+		try (ConnectionLease lease = provider.borrowWrite()) {
+			first = lease.getConnection();
+		}
+		try (ConnectionLease lease = provider.borrowWrite()) {
+			Assertions.assertSame(first, lease.getConnection());
+			Assertions.assertFalse(lease.isReadOnly());
+		}
+		// loadDB opened the write connection, no further opens are needed
+		Assertions.assertEquals(1, provider.getOpenCount());
+		Assertions.assertEquals(3, provider.getBorrowCount());
+	}
+
+	@Test
+	void testReadConnectionsAreReadOnly() throws SQLException {
+		ConnectionProvider provider = DB.getConnectionProvider();
+		try (ConnectionLease lease = provider.borrowWrite(); Statement stmt = lease.getConnection().createStatement()) {
+			stmt.execute("CREATE TABLE IF NOT EXISTS Example (Name text);");
+		}
+		try (ConnectionLease lease = provider.borrowRead(); Statement stmt = lease.getConnection().createStatement()) {
+			Assertions.assertTrue(lease.isReadOnly());
+			Assertions.assertThrows(SQLException.class, () -> stmt.execute("INSERT INTO Example VALUES ('a');"));
+		}
+		Assertions.assertTrue(DB.checkTable("Example"));
+	}
+
+	@Test
+	void testStatementsAreCachedPerConnection() throws SQLException {
+		ConnectionProvider provider = DB.getConnectionProvider();
+		String query = "SELECT name FROM sqlite_master WHERE name = ?;";
+		PreparedStatement first;
+		try (ConnectionLease lease = provider.borrowRead()) {
+			first = lease.prepare(query);
+		}
+		try (ConnectionLease lease = provider.borrowRead()) {
+			Assertions.assertSame(first, lease.prepare(query));
+		}
+		Assertions.assertEquals(1, provider.getOpenReaderCount());
+	}
+
+	@Test
+	void testReadPoolIsBounded() throws SQLException {
+		ConnectionProvider provider = new ConnectionProvider(DB.getUrl(), 2);
+		List<ConnectionLease> leases = new ArrayList<>();
+		leases.add(provider.borrowRead());
+		leases.add(provider.borrowRead());
+		Assertions.assertEquals(2, provider.getOpenReaderCount());
+		leases.get(0).close();
+		leases.add(provider.borrowRead());
+		Assertions.assertEquals(2, provider.getOpenReaderCount());
+		for (ConnectionLease lease : leases) {
+			lease.close();
+		}
+		provider.close();
+		Assertions.assertThrows(SQLException.class, provider::borrowRead);
+	}
+
+	@Test
+	void testListenersAndWaits() throws Exception {
+		ConnectionProvider provider = new ConnectionProvider(DB.getUrl());
+		List<String> events = new ArrayList<>();
+		provider.addConnectionListener(new ConnectionListener() {
+			@Override
+			public void onOpen(Connection connection, boolean readOnly) {
+				events.add("open:" + readOnly);
+			}
+
+			@Override
+			public void onClose(Connection connection, boolean readOnly) {
+				events.add("close:" + readOnly);
+			}
+		});
+
+		CountDownLatch borrowed = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		Thread holder = new Thread(() -> {
+			try (ConnectionLease lease = provider.borrowWrite()) {
+				borrowed.countDown();
+				release.await();
+			} catch (SQLException | InterruptedException e) {
+				fail(e.getMessage());
+			}
+		});
+		holder.start();
+		borrowed.await();
+		Thread releaser = new Thread(() -> {
+			try {
+				Thread.sleep(100);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			release.countDown();
+		});
+		releaser.start();
+		try (ConnectionLease lease = provider.borrowWrite()) {
+			Assertions.assertEquals(1, provider.getWaitCount());
+		}
+		holder.join();
+		provider.close();
+		Assertions.assertEquals(List.of("open:false", "close:false"), events);
+	}
+}
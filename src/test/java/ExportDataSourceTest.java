@@ -0,0 +1,122 @@
+import sqliteData.*;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.readers.ExportDataSource;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.readers.TableInboundReader;
+import sqliteData.tables.readers.TableOutboundReader;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import transactions.Transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ExportDataSourceTest {
+
+	// Tests ExportDataSource against a real .db file
+
+	private static String dbName = "exportDataSourceTests";
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TableUtils util;
+	private ExportDataSource dataSource;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC);
+		util = new TableUtils(LogManager.getLogger(ExportDataSourceTest.class));
+		util.setDB(DB);
+		TableCategoryReader tCR = new TableCategoryReader(tC);
+		dataSource = new ExportDataSource(new TableInboundReader(tI, tCR, util), new TableOutboundReader(tO, tCR, util));
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testRowsAreBucketedByCategoryAndMonth() throws SQLException {
+		new TableInboundWriter(tI).importData(new Transaction[] {
+				TestTransaction.of("i3", "2023-02-10", "Income").paidIn(30).build(),
+				TestTransaction.of("i1", "2023-01-05", "Income").paidIn(10).build(),
+				TestTransaction.of("i2", "2023-01-20", "Income").paidIn(20).build(),
+				TestTransaction.of("i4", "2023-01-15", "Refunds").paidIn(5).build(),
+				TestTransaction.of("i5", "2022-12-31", "Income").paidIn(99).build() });
+		new TableOutboundWriter(tO).importData(new Transaction[] {
+				TestTransaction.of("o1", "2023-03-01", "Groceries").paidOut(12.5).build(),
+				TestTransaction.of("o2", "2023-03-31", "Groceries").paidOut(7.5).build(),
+				TestTransaction.of("o3", "2024-01-01", "Groceries").paidOut(1).build() });
+
+		dataSource.load("2023-01-01", "2023-12-31");
+		Assertions.assertTrue(dataSource.isLoaded());
+		Assertions.assertEquals(4, dataSource.getInboundRowCount());
+		Assertions.assertEquals(2, dataSource.getOutboundRowCount());
+		Assertions.assertEquals(Set.of("Income", "Refunds", "Groceries"), dataSource.getCategories());
+
+		YearMonth january = YearMonth.of(2023, 1);
+		Map<YearMonth, List<Transaction>> income = dataSource.getInboundTransactionMap("Income");
+		Assertions.assertEquals(Set.of(january, YearMonth.of(2023, 2)), income.keySet());
+		// Buckets keep the date order of the query
+		Assertions.assertEquals("2023-01-05", income.get(january).get(0).getDate());
+		Assertions.assertEquals("2023-01-20", income.get(january).get(1).getDate());
+		Assertions.assertEquals(20, income.get(january).get(1).getPaidIn());
+		Assertions.assertEquals("Income", income.get(YearMonth.of(2023, 2)).get(0).getCategory());
+
+		Map<YearMonth, List<Transaction>> groceries = dataSource.getOutboundTransactionMap("Groceries");
+		Assertions.assertEquals(2, groceries.get(YearMonth.of(2023, 3)).size());
+		Assertions.assertEquals(7.5, groceries.get(YearMonth.of(2023, 3)).get(1).getPaidOut());
+
+		// Categories without transactions on one side give an empty map
+		Assertions.assertTrue(dataSource.getOutboundTransactionMap("Income").isEmpty());
+		Assertions.assertTrue(dataSource.getInboundTransactionMap("Unknown").isEmpty());
+	}
+
+	@Test
+	void testFailedReadLeavesNothingLoaded() {
+		new TableInboundWriter(tI).importData(new Transaction[] {
+				TestTransaction.of("i1", "2023-01-05", "Income").paidIn(10).build() });
+		tO.deleteTable();
+
+		Assertions.assertThrows(SQLException.class, () -> dataSource.load("2023-01-01", "2023-12-31"));
+		Assertions.assertFalse(dataSource.isLoaded());
+		// The Inbound rows read before the failure are not kept
+		Assertions.assertTrue(dataSource.getCategories().isEmpty());
+		Assertions.assertEquals(0, dataSource.getInboundRowCount());
+	}
+
+	@Test
+	void testDateRangeQueryUsesIndex() {
+		for (String tableName : new String[] { tI.getTableName(), tO.getTableName() }) {
+			List<String> plan = util.explainQueryPlan(util.buildDateRangeQuery(tableName), "2023-01-01",
+					"2023-12-31");
+			Assertions.assertTrue(plan.stream().anyMatch(step -> step.contains("USING INDEX idx_" + tableName + "_Date")),
+					"Expected index to be used, plan was: " + plan);
+			Assertions.assertFalse(plan.stream().anyMatch(step -> step.contains("TEMP B-TREE")),
+					"Rows should be read in Date order from the index, plan was: " + plan);
+		}
+	}
+}
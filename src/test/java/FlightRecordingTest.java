@@ -0,0 +1,79 @@
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import metrics.jfr.CategoryResolvedEvent;
+import metrics.jfr.FlightRecording;
+import metrics.jfr.QueryExecutedEvent;
+import metrics.jfr.StatementParsedEvent;
+
+class FlightRecordingTest {
+
+	// Tests recording the application's Java Flight Recorder events to a file
+
+	@TempDir
+	Path recordingFolder;
+
+	@Test
+	void testQueryTableAndRangeFound() {
+		QueryExecutedEvent event = new QueryExecutedEvent();
+		event.setQuery("SELECT * FROM Inbound WHERE Category = ? AND Date BETWEEN ? AND ? ORDER BY Date ASC;", "Food",
+				"2023-01-01", "2023-03-31");
+		Assertions.assertEquals("Inbound", event.table);
+		Assertions.assertEquals("2023-01-01", event.startDate);
+		Assertions.assertEquals("2023-03-31", event.endDate);
+
+		QueryExecutedEvent noRange = new QueryExecutedEvent();
+		noRange.setQuery("SELECT Description, Category FROM Category;");
+		Assertions.assertEquals("Category", noRange.table);
+		Assertions.assertNull(noRange.startDate);
+	}
+
+	@Test
+	void testStopWithoutStart() {
+		FlightRecording recording = new FlightRecording(recordingFolder.resolve("unused.jfr"));
+		Assertions.assertFalse(recording.isRecording());
+		Assertions.assertFalse(recording.stop());
+		Assertions.assertFalse(Files.exists(recording.getDestination()));
+	}
+
+	@Test
+	void testEventsWrittenWhenStopped() throws IOException {
+		FlightRecording recording = new FlightRecording(recordingFolder.resolve("run.jfr"));
+		Assertions.assertTrue(recording.start());
+		Assertions.assertTrue(recording.isRecording());
+
+		StatementParsedEvent parsed = new StatementParsedEvent();
+		parsed.begin();
+		parsed.statement = "january.csv";
+		parsed.transactions = 2;
+		parsed.commit();
+		CategoryResolvedEvent resolved = new CategoryResolvedEvent();
+		resolved.description = "SALARY";
+		resolved.category = "Income";
+		resolved.hit = true;
+		resolved.commit();
+
+		Assertions.assertTrue(recording.stop());
+		Assertions.assertFalse(recording.isRecording());
+
+		List<RecordedEvent> events = RecordingFile.readAllEvents(recording.getDestination());
+		RecordedEvent parsedEvent = findEvent(events, FlightRecording.EVENT_PREFIX + "StatementParsed");
+		Assertions.assertEquals("january.csv", parsedEvent.getString("statement"));
+		Assertions.assertEquals(2, parsedEvent.getInt("transactions"));
+		RecordedEvent resolvedEvent = findEvent(events, FlightRecording.EVENT_PREFIX + "CategoryResolved");
+		Assertions.assertTrue(resolvedEvent.getBoolean("hit"));
+	}
+
+	private static RecordedEvent findEvent(List<RecordedEvent> events, String name) {
+		return events.stream().filter(event -> event.getEventType().getName().equals(name)).findFirst()
+				.orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+	}
+}
@@ -0,0 +1,78 @@
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.logging.log4j.Level;
+import org.apache.logging.log4j.core.LoggerContext;
+import org.apache.logging.log4j.core.appender.AsyncAppender;
+import org.apache.logging.log4j.core.appender.RollingFileAppender;
+import org.apache.logging.log4j.core.config.Configuration;
+import org.apache.logging.log4j.core.config.ConfigurationSource;
+import org.apache.logging.log4j.core.config.xml.XmlConfiguration;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import excelWriter.process.ExportStageTimer;
+import excelWriter.workbook.load.SummarySheetWriter;
+import sqliteData.tables.readers.TableCategoryReader;
+
+class LoggingConfigTest {
+
+	// Tests the default and quiet logging configurations, and the timing of export stages
+
+	private static Configuration loadConfiguration(String resource) throws IOException {
+		ConfigurationSource source = ConfigurationSource.fromResource(resource,
+				LoggingConfigTest.class.getClassLoader());
+		Configuration configuration = new XmlConfiguration(new LoggerContext(resource), source);
+		configuration.initialize();
+		return configuration;
+	}
+
+	private static void assertFilesWrittenAsync(Configuration configuration) {
+		int asyncAppenders = 0;
+		for (var appender : configuration.getAppenders().values()) {
+			if (appender instanceof AsyncAppender) {
+				asyncAppenders++;
+			}
+		}
+		long fileAppenders = configuration.getAppenders().values().stream()
+				.filter(appender -> appender instanceof RollingFileAppender).count();
+		Assertions.assertEquals(fileAppenders, asyncAppenders);
+		// Every logger writes files through an async appender
+		configuration.getLoggers().values().forEach(loggerConfig -> loggerConfig.getAppenders().values()
+				.forEach(appender -> Assertions.assertTrue(appender instanceof AsyncAppender, appender.getName())));
+	}
+
+	@Test
+	void testDefaultConfigurationLogsAsync() throws IOException {
+		Configuration configuration = loadConfiguration("log4j2.xml");
+		assertFilesWrittenAsync(configuration);
+		Assertions.assertEquals(Level.INFO,
+				configuration.getLoggerConfig(SummarySheetWriter.class.getName()).getLevel());
+	}
+
+	@Test
+	void testQuietConfigurationLogsStagesOnly() throws IOException {
+		Configuration configuration = loadConfiguration("log4j2-quiet.xml");
+		assertFilesWrittenAsync(configuration);
+		Assertions.assertEquals(Level.WARN,
+				configuration.getLoggerConfig(SummarySheetWriter.class.getName()).getLevel());
+		Assertions.assertEquals(Level.WARN,
+				configuration.getLoggerConfig(TableCategoryReader.class.getName()).getLevel());
+		Assertions.assertEquals(Level.INFO,
+				configuration.getLoggerConfig(ExportStageTimer.class.getName()).getLevel());
+	}
+
+	@Test
+	void testStageTimerCountsStages() {
+		ExportStageTimer timer = new ExportStageTimer();
+		AtomicInteger runs = new AtomicInteger();
+		Assertions.assertTrue(timer.time("First", runs::incrementAndGet) >= 0);
+		Assertions.assertThrows(IllegalStateException.class, () -> timer.time("Second", () -> {
+			throw new IllegalStateException("Stage failed");
+		}));
+		Assertions.assertEquals(1, runs.get());
+		// Failed stages are still timed
+		Assertions.assertEquals(2, timer.getStageCount());
+		Assertions.assertTrue(timer.getTotalMillis() >= 0);
+	}
+}
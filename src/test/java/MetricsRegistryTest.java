@@ -0,0 +1,101 @@
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import metrics.Histogram;
+import metrics.MetricsRegistry;
+import metrics.MetricsReport;
+import metrics.Timer;
+
+class MetricsRegistryTest {
+
+	// Tests the counters, timers and histograms of a run and the report taken from them
+
+	@TempDir
+	Path reportFolder;
+
+	@Test
+	void testMetricsCreatedOnceByName() {
+		MetricsRegistry registry = new MetricsRegistry();
+		Assertions.assertSame(registry.timer("export.test"), registry.timer("export.test"));
+		Assertions.assertSame(registry.counter("statements"), registry.counter("statements"));
+		Assertions.assertSame(registry.histogram("rows"), registry.histogram("rows"));
+		Assertions.assertEquals(1, registry.getTimers().size());
+	}
+
+	@Test
+	void testSampleRecordedOnce() {
+		Timer timer = new MetricsRegistry().timer("import.test");
+		Timer.Sample sample = timer.start();
+		sample.addRows(3);
+		sample.addRows(2);
+		sample.close();
+		sample.close();
+		timer.record(1_000_000, 5);
+
+		Assertions.assertEquals(2, timer.getCount());
+		Assertions.assertEquals(10, timer.getRows());
+		Assertions.assertTrue(timer.getTotalNanos() >= 1_000_000);
+		Assertions.assertTrue(timer.getMaxNanos() >= 1_000_000);
+	}
+
+	@Test
+	void testHistogramPercentiles() {
+		Histogram histogram = new MetricsRegistry().histogram("db.test");
+		for (int i = 1; i <= 100; i++) {
+			histogram.record(i);
+		}
+		Assertions.assertEquals(100, histogram.getCount());
+		Assertions.assertEquals(1, histogram.getMin());
+		Assertions.assertEquals(100, histogram.getMax());
+		Assertions.assertEquals(50.5, histogram.getMean(), 0.001);
+		// Percentiles are the upper bound of their power of two bucket
+		Assertions.assertEquals(63, histogram.getPercentile(50));
+		Assertions.assertEquals(100, histogram.getPercentile(95));
+		Assertions.assertEquals(1, histogram.getPercentile(0));
+	}
+
+	@Test
+	void testReportSkipsEmptyMetricsAndResets() {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.timer("export.unused");
+		registry.timer("export.write").record(2_000_000_000L, 1000);
+		registry.counter("statements").add(4);
+		registry.histogram("db.rows").record(12);
+
+		MetricsReport report = registry.reportAndReset("Export test");
+		Assertions.assertEquals(1, report.getStages().size());
+		Assertions.assertNull(report.getStage("export.unused"));
+		MetricsReport.Stage stage = report.getStage("export.write");
+		Assertions.assertEquals(2000.0, stage.getWallMillis(), 0.001);
+		Assertions.assertEquals(500.0, stage.getRowsPerSecond(), 0.001);
+		Assertions.assertEquals(4, report.getCount("statements"));
+		Assertions.assertTrue(report.format().contains("export.write"));
+
+		Assertions.assertTrue(registry.report("After reset").isEmpty());
+		Assertions.assertEquals(0, registry.timer("export.write").getCount());
+	}
+
+	@Test
+	void testReportWrittenAsJson() throws IOException {
+		MetricsRegistry registry = new MetricsRegistry();
+		registry.timer("import.\"quoted\"").record(1_500_000, 3, 2048);
+		registry.counter("statements").increment();
+
+		Path path = reportFolder.resolve("export-metrics.json");
+		Assertions.assertTrue(registry.report("Run \\ 1").writeJson(path));
+		String json = Files.readString(path, StandardCharsets.UTF_8);
+
+		Assertions.assertTrue(json.contains("\"title\": \"Run \\\\ 1\""), json);
+		Assertions.assertTrue(json.contains("\"name\": \"import.\\\"quoted\\\"\""), json);
+		Assertions.assertTrue(json.contains("\"wallMillis\": 1.500"), json);
+		Assertions.assertTrue(json.contains("\"allocatedBytes\": 2048"), json);
+		Assertions.assertTrue(json.contains("\"statements\": 1"), json);
+		Assertions.assertTrue(json.contains("\"histograms\": []"), json);
+	}
+}
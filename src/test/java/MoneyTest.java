@@ -0,0 +1,106 @@
+
+import java.sql.Statement;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import sqliteData.ConnectionLease;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.TableUtils;
+import transactions.Money;
+import transactions.Transaction;
+
+class MoneyTest {
+
+	// Tests amounts of money held as pence, and the migration of REAL columns to INTEGER pence
+
+	private static String dbName = "moneyTests";
+	private Database DB;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testParsePence() {
+		Assertions.assertEquals(149, Money.parsePence("\"\u00a31.49\""));
+		Assertions.assertEquals(125000, Money.parsePence("\u00a31,250.00"));
+		Assertions.assertEquals(1250, Money.parsePence("12.5"));
+		Assertions.assertEquals(1200, Money.parsePence("\u00a312"));
+		Assertions.assertEquals(101, Money.parsePence("1.005"));
+		Assertions.assertEquals(0, Money.parsePence(""));
+		Assertions.assertThrows(NumberFormatException.class, () -> Money.parsePence("1.2.3"));
+		Assertions.assertEquals("1234.56", Money.format(123456));
+		Assertions.assertEquals("0.05", Money.format(5));
+		// The same double as parsing the decimal, so transaction IDs are unchanged
+		Assertions.assertEquals(Double.parseDouble("3169.43"), Money.toPounds(Money.parsePence("\u00a33169.43")));
+	}
+
+	@Test
+	void testSumsAreExact() {
+		double doubleSum = 0;
+		long penceSum = 0;
+		for (int i = 0; i < 1000; i++) {
+			doubleSum += 0.10;
+			penceSum += Money.parsePence("0.10");
+		}
+		Assertions.assertNotEquals(100.0, doubleSum);
+		Assertions.assertEquals(10000, penceSum);
+	}
+
+	@Test
+	void testRealColumnsMigratedToPence() throws Exception {
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			// Schema written by earlier versions
+			stmt.execute("CREATE TABLE Inbound (ID text PRIMARY KEY, Date text NOT NULL, trType text, "
+					+ "RawDescription text NOT NULL, ProcessDescription text NOT NULL, Category text NOT NULL, "
+					+ "Paid_In REAL NOT NULL,Balance REAL NOT NULL);");
+			stmt.execute("INSERT INTO Inbound VALUES ('1', '2023-01-06', 'Transfer', 'SALARY', 'SALARY', 'Income', "
+					+ "1000.1, 3169.43);");
+			stmt.execute("INSERT INTO Inbound VALUES ('2', '2023-02-06', 'Transfer', 'SALARY', 'SALARY', 'Income', "
+					+ "0.29, 3169.72);");
+		}
+		TableInbound tI = new TableInbound(DB);
+		TableOutbound tO = new TableOutbound(DB);
+		TableCategory tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, new TablePendingCategory(DB));
+
+		Assertions.assertEquals("INTEGER", tI.columnType("Paid_In"));
+		Assertions.assertEquals("INTEGER", tI.columnType("Balance"));
+		Assertions.assertEquals("INTEGER", tO.columnType("Paid_Out"));
+
+		TableUtils util = new TableUtils(tI.getLogger());
+		util.setDB(DB);
+		List<Transaction> transactions = util.executeTransactionQuery(util.buildDateRangeQuery("Inbound"),
+				"2023-01-01", "2023-12-31");
+		Assertions.assertEquals(2, transactions.size());
+		Assertions.assertEquals(100010, transactions.get(0).getPaidInPence());
+		Assertions.assertEquals(316943, transactions.get(0).getBalancePence());
+		Assertions.assertEquals(29, transactions.get(1).getPaidInPence());
+		// Indexes dropped with the old table are created again
+		Assertions.assertTrue(util.explainQueryPlan(util.buildDateRangeQuery("Inbound"), "2023-01-01", "2023-12-31")
+				.stream().anyMatch(step -> step.contains("idx_Inbound_Date")));
+
+		// Already migrated, so nothing changes when checked again
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC);
+		Assertions.assertEquals(2, util.executeTransactionQuery(util.buildDateRangeQuery("Inbound"), "2023-01-01",
+				"2023-12-31").size());
+	}
+}
@@ -0,0 +1,244 @@
+
+import java.awt.Color;
+import java.io.File;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.poi.ss.usermodel.FormulaEvaluator;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import applicationStart.load.LoadTables;
+import config.AppConfig;
+import config.color.ColorCodingConfig;
+import excelWriter.process.WriteDBToExcel;
+import optionMenu.Menu;
+import optionMenu.MenuSelect;
+import regex.RegexMethods;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.readers.MonthlyTotal;
+import sqliteData.tables.readers.MonthlyTotalsReader;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.readers.TableInboundReader;
+import sqliteData.tables.readers.TableOutboundReader;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+class MonthlyTotalsReaderTest {
+
+	// Tests monthly totals summed by the database, and the Summary sheet exported from them
+
+	private static String dbName = "monthlyTotalsTests";
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TableUtils tU;
+	private SyntheticStatementGenerator generator;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, new TablePendingCategory(DB));
+		tU = new TableUtils(LogManager.getLogger(MonthlyTotalsReaderTest.class));
+		tU.setDB(DB);
+
+		generator = new SyntheticStatementGenerator(9);
+		generator.setStartYear(2022);
+		generator.setYears(2);
+		generator.setRowsPerMonth(60);
+		generator.setMerchantCount(40);
+		generator.fillDatabase(new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false, false),
+				new TableInboundWriter(tI), new TableOutboundWriter(tO));
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testTotalsMatchTransactions() {
+		Map<String, long[]> expected = new HashMap<>();
+		for (Transaction transaction : generator.generateTransactions()) {
+			if (!transaction.getDate().startsWith("2023")) {
+				continue;
+			}
+			String key = transaction.getCategory() + " " + transaction.getDate().substring(0, 7);
+			long[] total = expected.computeIfAbsent(key, k -> new long[3]);
+			total[0] += transaction.getPaidInPence();
+			total[1] += transaction.getPaidOutPence();
+			total[2]++;
+		}
+
+		tC.refreshCategoryOptions();
+		TableCategoryReader tCR = new TableCategoryReader(tC);
+		TableInboundReader tIR = new TableInboundReader(tI, tCR, tU);
+		TableOutboundReader tOR = new TableOutboundReader(tO, tCR, tU);
+		MonthlyTotalsReader reader = new MonthlyTotalsReader(tIR, tOR);
+		reader.load("2023-01-01", "2023-12-31");
+
+		int groups = 0;
+		for (Map<YearMonth, MonthlyTotal> months : reader.getTotals().values()) {
+			for (MonthlyTotal total : months.values()) {
+				long[] expectedTotal = expected.get(total.getCategory() + " " + total.getMonth());
+				Assertions.assertNotNull(expectedTotal, total.toString());
+				Assertions.assertEquals(expectedTotal[0], total.getPaidInPence(), total.toString());
+				Assertions.assertEquals(expectedTotal[1], total.getPaidOutPence(), total.toString());
+				Assertions.assertEquals(expectedTotal[2], total.getCount(), total.toString());
+				Assertions.assertEquals(2023, total.getMonth().getYear());
+				groups++;
+			}
+		}
+		Assertions.assertEquals(expected.size(), groups);
+	}
+
+	private static ColorCodingConfig mockColorConfig() {
+		ColorCodingConfig colConfig = Mockito.mock(ColorCodingConfig.class);
+		XSSFColor color = new XSSFColor(new Color(200, 100, 50), null);
+		Mockito.when(colConfig.checkCategoryXSSFColor(Mockito.anyString())).thenReturn(color);
+		Mockito.when(colConfig.checkSumXSSFColor()).thenReturn(color);
+		Mockito.when(colConfig.checkSummarySheetMonthColorXSSFColor()).thenReturn(color);
+		return colConfig;
+	}
+
+	private WriteDBToExcel exportFull(ColorCodingConfig colConfig, String startDate, String endDate) {
+		WriteDBToExcel full = new WriteDBToExcel(null, new RegexMethods(), colConfig, null, tO, tI, tC, tU);
+		full.workbookSetup(startDate, endDate);
+		full.writeCategorySheets();
+		full.writeSummarySheet();
+		return full;
+	}
+
+	private WriteDBToExcel exportSummaryOnly(ColorCodingConfig colConfig, String startDate, String endDate) {
+		WriteDBToExcel summaryOnly = new WriteDBToExcel(null, new RegexMethods(), colConfig, null, tO, tI, tC, tU);
+		summaryOnly.summaryWorkbookSetup(startDate, endDate);
+		summaryOnly.writeSummaryOnlySheet();
+		return summaryOnly;
+	}
+
+	/**
+	 * Returns the row index of the first row at or after fromRow whose category
+	 * column holds the given text, or -1 if there is none.
+	 */
+	private static int findRow(Sheet sheet, int fromRow, String text) {
+		for (int rowNum = fromRow; rowNum <= sheet.getLastRowNum(); rowNum++) {
+			Row row = sheet.getRow(rowNum);
+			if (row != null && row.getCell(2) != null && text.equals(row.getCell(2).getStringCellValue())) {
+				return rowNum;
+			}
+		}
+		return -1;
+	}
+
+	@Test
+	void testOutputExcelReportsFailedWrite() {
+		ColorCodingConfig colConfig = mockColorConfig();
+		AppConfig config = Mockito.mock(AppConfig.class);
+		// The parent folder does not exist, so the file cannot be written
+		String missingFolder = TestDatabase.TEST_FILE_PATH + "missing" + File.separator + "folder";
+		Mockito.when(config.checkProperty("outputFolder")).thenReturn(missingFolder);
+		Mockito.when(colConfig.getConfig()).thenReturn(config);
+		WriteDBToExcel full = exportFull(colConfig, "2023-01-01", "2023-01-31");
+
+		int stages = full.getStageTimer().getStageCount();
+		Assertions.assertFalse(full.outputExcel());
+		// The failed write is still timed as a stage
+		Assertions.assertEquals(stages + 1, full.getStageTimer().getStageCount());
+	}
+
+	@Test
+	void testSummaryOnlyMatchesFullExport() throws IOException {
+		ColorCodingConfig colConfig = mockColorConfig();
+		WriteDBToExcel full = exportFull(colConfig, "2023-01-01", "2023-12-31");
+		WriteDBToExcel summaryOnly = exportSummaryOnly(colConfig, "2023-01-01", "2023-12-31");
+
+		try (Workbook expectedWorkbook = full.getTransactionWorkbook().getWorkbook();
+				Workbook actualWorkbook = summaryOnly.getTransactionWorkbook().getWorkbook()) {
+			Assertions.assertEquals(1, actualWorkbook.getNumberOfSheets());
+			Sheet expected = expectedWorkbook.getSheet("Summary");
+			Sheet actual = actualWorkbook.getSheet("Summary");
+			FormulaEvaluator expectedEvaluator = expectedWorkbook.getCreationHelper().createFormulaEvaluator();
+			FormulaEvaluator actualEvaluator = actualWorkbook.getCreationHelper().createFormulaEvaluator();
+			Assertions.assertEquals(expected.getLastRowNum(), actual.getLastRowNum());
+			// A row for each category below the header row, then the totals row
+			for (int rowNum = 3; rowNum <= expected.getLastRowNum(); rowNum++) {
+				Row expectedRow = expected.getRow(rowNum);
+				Row actualRow = actual.getRow(rowNum);
+				Assertions.assertEquals(expectedRow.getCell(2).getStringCellValue(),
+						actualRow.getCell(2).getStringCellValue());
+				for (int col = 3; col <= 15; col++) {
+					double expectedValue = expectedEvaluator.evaluate(expectedRow.getCell(col)).getNumberValue();
+					double actualValue = actualEvaluator.evaluate(actualRow.getCell(col)).getNumberValue();
+					Assertions.assertEquals(expectedValue, actualValue, 0.001, "Row " + rowNum + ", column " + col);
+				}
+			}
+		}
+	}
+
+	@Test
+	void testMultiYearSummaryKeepsYearsApart() throws IOException {
+		ColorCodingConfig colConfig = mockColorConfig();
+		WriteDBToExcel full = exportFull(colConfig, "2022-01-01", "2023-12-31");
+		WriteDBToExcel summaryOnly = exportSummaryOnly(colConfig, "2022-01-01", "2023-12-31");
+		WriteDBToExcel singleYear = exportSummaryOnly(colConfig, "2023-01-01", "2023-12-31");
+
+		try (Workbook fullWorkbook = full.getTransactionWorkbook().getWorkbook();
+				Workbook summaryWorkbook = summaryOnly.getTransactionWorkbook().getWorkbook();
+				Workbook singleYearWorkbook = singleYear.getTransactionWorkbook().getWorkbook()) {
+			Sheet fullSheet = fullWorkbook.getSheet("Summary");
+			Sheet summarySheet = summaryWorkbook.getSheet("Summary");
+			Sheet singleYearSheet = singleYearWorkbook.getSheet("Summary");
+			FormulaEvaluator fullEvaluator = fullWorkbook.getCreationHelper().createFormulaEvaluator();
+			FormulaEvaluator summaryEvaluator = summaryWorkbook.getCreationHelper().createFormulaEvaluator();
+			FormulaEvaluator singleYearEvaluator = singleYearWorkbook.getCreationHelper().createFormulaEvaluator();
+
+			// One block per year, each titled with its year
+			int firstBlock = findRow(summarySheet, 0, "2022");
+			int secondBlock = findRow(summarySheet, firstBlock + 1, "2023");
+			Assertions.assertEquals(2, firstBlock);
+			Assertions.assertTrue(secondBlock > firstBlock);
+			Assertions.assertEquals(firstBlock, findRow(fullSheet, 0, "2022"));
+			Assertions.assertEquals(secondBlock, findRow(fullSheet, firstBlock + 1, "2023"));
+			Assertions.assertEquals(fullSheet.getLastRowNum(), summarySheet.getLastRowNum());
+
+			// The second block matches a summary of its year alone, so no month is added
+			// to the same month of another year
+			int totalsRow = findRow(summarySheet, secondBlock, "Totals");
+			int fullTotalsRow = findRow(fullSheet, secondBlock, "Totals");
+			int singleYearTotalsRow = findRow(singleYearSheet, 0, "Totals");
+			for (int col = 3; col <= 15; col++) {
+				double expectedValue = singleYearEvaluator
+						.evaluate(singleYearSheet.getRow(singleYearTotalsRow).getCell(col)).getNumberValue();
+				Assertions.assertEquals(expectedValue,
+						summaryEvaluator.evaluate(summarySheet.getRow(totalsRow).getCell(col)).getNumberValue(),
+						0.001, "Column " + col);
+				Assertions.assertEquals(expectedValue,
+						fullEvaluator.evaluate(fullSheet.getRow(fullTotalsRow).getCell(col)).getNumberValue(), 0.001,
+						"Column " + col);
+			}
+		}
+	}
+}
@@ -0,0 +1,163 @@
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import sqliteData.ConnectionLease;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableMonthlyTotals;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.readers.MonthlyTotal;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.readers.TableInboundReader;
+import sqliteData.tables.readers.TableMonthlyTotalsReader;
+import sqliteData.tables.readers.TableOutboundReader;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableMonthlyTotalsWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import sqliteData.tables.writers.TablePendingCategoryWriter;
+import transactions.Transaction;
+
+class MonthlyTotalsTableTest {
+
+	// Tests the MonthlyTotals table kept up to date by imports and categorisation
+
+	private static String dbName = "monthlyTotalsTableTests";
+	private static final String PENDING = TablePendingCategory.UNCATEGORISED;
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TablePendingCategory tP;
+	private TableMonthlyTotals tM;
+	private TableMonthlyTotalsReader tMR;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		tP = new TablePendingCategory(DB);
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, tP);
+		tM = new TableMonthlyTotals(DB);
+		tMR = new TableMonthlyTotalsReader(tM);
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+	// Deletes the files at the path Database builds, folder\\name.db, so every test starts from an empty database
+
+	private Transaction[] transactions() {
+		return new Transaction[] {
+				TestTransaction.of("1", "2023-01-10", "Eating Out").description("COFFEE").paidOut(3).build(),
+				TestTransaction.of("2", "2023-01-31", "Eating Out").description("COFFEE").paidOut(2.5).build(),
+				TestTransaction.of("3", "2023-02-01", "Eating Out").description("COFFEE").paidIn(1).build(),
+				TestTransaction.of("4", "2023-01-05", "Income").description("SALARY").paidIn(1000).build(),
+				TestTransaction.of("5", "2023-01-20", PENDING).description("MARKET").paidOut(7.25).build(),
+				TestTransaction.of("6", "2023-02-20", PENDING).description("MARKET").paidOut(4).build() };
+	}
+
+	private void importTransactions(Transaction[] transactions) {
+		new TableInboundWriter(tI).importData(transactions);
+		new TableOutboundWriter(tO).importData(transactions);
+	}
+
+	private Map<String, Map<YearMonth, MonthlyTotal>> readTotals() throws SQLException {
+		return tMR.readTotals(YearMonth.of(2000, 1), YearMonth.of(2099, 12));
+	}
+
+	private static void assertTotal(Map<String, Map<YearMonth, MonthlyTotal>> totals, String category, String month,
+			long paidInPence, long paidOutPence, int count) {
+		MonthlyTotal total = totals.getOrDefault(category, Map.of()).get(YearMonth.parse(month));
+		Assertions.assertNotNull(total, category + " " + month);
+		Assertions.assertEquals(paidInPence, total.getPaidInPence(), total.toString());
+		Assertions.assertEquals(paidOutPence, total.getPaidOutPence(), total.toString());
+		Assertions.assertEquals(count, total.getCount(), total.toString());
+	}
+
+	private TableUtils tableUtils() {
+		TableUtils tU = new TableUtils(LogManager.getLogger(MonthlyTotalsTableTest.class));
+		tU.setDB(DB);
+		return tU;
+	}
+
+	private int countDifferences() {
+		TableCategoryReader tCR = new TableCategoryReader(tC);
+		TableUtils tU = tableUtils();
+		return tMR.checkConsistency(new TableInboundReader(tI, tCR, tU), new TableOutboundReader(tO, tCR, tU)).size();
+	}
+
+	@Test
+	void testImportsUpdateTotalsOnce() throws SQLException {
+		importTransactions(transactions());
+		// Importing the same statement again inserts nothing, so adds nothing to the totals
+		importTransactions(transactions());
+
+		Map<String, Map<YearMonth, MonthlyTotal>> totals = readTotals();
+		assertTotal(totals, "Eating Out", "2023-01", 0, 550, 2);
+		assertTotal(totals, "Eating Out", "2023-02", 100, 0, 1);
+		assertTotal(totals, "Income", "2023-01", 100000, 0, 1);
+		assertTotal(totals, TablePendingCategory.UNCATEGORISED, "2023-01", 0, 725, 1);
+		Assertions.assertEquals(0, countDifferences());
+	}
+
+	@Test
+	void testApplyCategoryMovesTotals() throws SQLException {
+		importTransactions(transactions());
+		TablePendingCategoryWriter tPW = new TablePendingCategoryWriter(tP, tI, tO, tC);
+		Assertions.assertEquals(2, tPW.applyCategory("MARKET", "Groceries"));
+
+		Map<String, Map<YearMonth, MonthlyTotal>> totals = readTotals();
+		assertTotal(totals, "Groceries", "2023-01", 0, 725, 1);
+		assertTotal(totals, "Groceries", "2023-02", 0, 400, 1);
+		// Totals left with no transactions are removed
+		Assertions.assertFalse(totals.containsKey(TablePendingCategory.UNCATEGORISED));
+		Assertions.assertEquals(0, countDifferences());
+	}
+
+	@Test
+	void testCheckFindsDifferencesAndRebuildFixesThem() throws SQLException {
+		importTransactions(transactions());
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			stmt.executeUpdate("UPDATE MonthlyTotals SET Paid_Out = Paid_Out + 1 WHERE Category = 'Eating Out';");
+			stmt.executeUpdate("DELETE FROM MonthlyTotals WHERE Category = 'Income';");
+		}
+		Assertions.assertEquals(3, countDifferences());
+
+		Assertions.assertTrue(new TableMonthlyTotalsWriter(tM, tI, tO).rebuild());
+		Assertions.assertEquals(0, countDifferences());
+		Map<String, Map<YearMonth, MonthlyTotal>> totals = readTotals();
+		assertTotal(totals, "Eating Out", "2023-01", 0, 550, 2);
+		assertTotal(totals, "Income", "2023-01", 100000, 0, 1);
+	}
+
+	@Test
+	void testLoadTablesBuildsMissingTable() throws SQLException {
+		importTransactions(transactions());
+		tM.deleteTable();
+		Assertions.assertFalse(DB.checkTable(tM.getTableName()));
+
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, tP);
+		Assertions.assertTrue(DB.checkTable(tM.getTableName()));
+		assertTotal(readTotals(), "Eating Out", "2023-01", 0, 550, 2);
+		Assertions.assertEquals(0, countDifferences());
+	}
+}
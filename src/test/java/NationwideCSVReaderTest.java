@@ -96,7 +96,6 @@ class NationwideCSVReaderTest {
 //		BufferedReader mockBufferedReader = mock(BufferedReader.class);
 //		TableCategoryReader mockTableReader = mock(TableCategoryReader.class);
 //		TableCategoryWriter mockTableWriter = mock(TableCategoryWriter.class);
-//		Mockito.doReturn(mockBufferedReader).when(reader).createNewBufferedReader(mockStatement);
 //
 //		try {
 //			doNothing().when(mockBufferedReader).readLine();
@@ -0,0 +1,164 @@
+import sqliteData.*;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.readers.PendingDescription;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.readers.TablePendingCategoryReader;
+import sqliteData.tables.writers.ImportResult;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import sqliteData.tables.writers.TablePendingCategoryWriter;
+import statementReaders.NationwideCSVReader;
+import applicationStart.load.LoadTables;
+import config.AppConfig;
+import optionMenu.Menu;
+import regex.RegexMethods;
+import transactions.Transaction;
+
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PendingCategoryTest {
+
+	// Tests the PendingCategory queue used by imports that defer categorisation
+
+	private static String dbName = "pendingCategoryTests";
+	private static final String PENDING = TablePendingCategory.UNCATEGORISED;
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TablePendingCategory tP;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		tP = new TablePendingCategory(DB);
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, tP);
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testQueueIsGroupedAndCategoryAppliedToEveryRow() {
+		Transaction[] transactions = {
+				TestTransaction.of("1", "2023-01-10", PENDING).description("COFFEE").paidOut(3).build(),
+				TestTransaction.of("2", "2023-01-02", PENDING).description("COFFEE").paidOut(2.5).build(),
+				TestTransaction.of("3", "2023-02-01", PENDING).description("COFFEE").paidIn(1).build(),
+				TestTransaction.of("4", "2023-01-05", PENDING).description("SALARY").paidIn(1000).build() };
+		new TableInboundWriter(tI).importData(transactions);
+		new TableOutboundWriter(tO).importData(transactions);
+
+		TablePendingCategoryWriter tPW = new TablePendingCategoryWriter(tP, tI, tO, tC);
+		Assertions.assertEquals(4, tPW.enqueue(Arrays.asList(transactions)));
+		// Queueing the same transactions again adds nothing
+		Assertions.assertEquals(0, tPW.enqueue(Arrays.asList(transactions)));
+
+		TablePendingCategoryReader tPR = new TablePendingCategoryReader(tP);
+		List<PendingDescription> pending = tPR.readPendingDescriptions();
+		Assertions.assertEquals(2, pending.size());
+		Assertions.assertEquals(2, tPR.countPendingDescriptions());
+		PendingDescription coffee = pending.get(0);
+		Assertions.assertEquals("COFFEE", coffee.getDescription());
+		Assertions.assertEquals(3, coffee.getCount());
+		Assertions.assertEquals(TablePendingCategory.OUTGOING, coffee.getDirection());
+		// Date and amount of the earliest transaction
+		Assertions.assertEquals("2023-01-02", coffee.getFirstDate());
+		Assertions.assertEquals(2.5, coffee.getFirstAmount());
+		Assertions.assertEquals(TablePendingCategory.INCOMING, pending.get(1).getDirection());
+
+		// One answer updates the inbound and outbound rows together
+		Assertions.assertEquals(3, tPW.applyCategory("COFFEE", "Eating Out"));
+		Assertions.assertEquals("Eating Out", new TableCategoryReader(tC).readCategory("COFFEE"));
+		Assertions.assertEquals(1, tPR.countPendingDescriptions());
+		Assertions.assertEquals("SALARY", tPR.readPendingDescriptions().get(0).getDescription());
+		Assertions.assertEquals(0, tPW.applyCategory("COFFEE", "Other"));
+		Assertions.assertEquals("Eating Out", new TableCategoryReader(tC).readCategory("COFFEE"));
+	}
+
+	@Test
+	void testImportQueuesOnlyInsertedPendingTransactions() {
+		Transaction[] transactions = {
+				TestTransaction.of("1", "2023-01-10", PENDING).description("COFFEE").paidOut(3).build(),
+				TestTransaction.of("2", "2023-01-05", PENDING).description("SALARY").paidIn(1000).build(),
+				TestTransaction.of("3", "2023-01-06", PENDING).description("RENT").paidOut(500).build() };
+		// Only COFFEE and SALARY were left without a category
+		List<Transaction> pending = List.of(transactions[0], transactions[1]);
+		TablePendingCategoryWriter tPW = new TablePendingCategoryWriter(tP, tI, tO, tC);
+		TableInboundWriter tIW = new TableInboundWriter(tI);
+		TableOutboundWriter tOW = new TableOutboundWriter(tO);
+
+		Assertions.assertEquals(1, tIW.importData(transactions, pending, tPW).getQueued());
+		Assertions.assertEquals(1, tOW.importData(transactions, pending, tPW).getQueued());
+		TablePendingCategoryReader tPR = new TablePendingCategoryReader(tP);
+		Assertions.assertEquals(2, tPR.countPendingDescriptions());
+
+		// Categorised, then imported again: the rows are ignored, so they are not queued again
+		tPW.applyCategory("COFFEE", "Eating Out");
+		Assertions.assertEquals(0, tOW.importData(transactions, pending, tPW).getQueued());
+		Assertions.assertEquals(1, tPR.countPendingDescriptions());
+	}
+
+	@Test
+	void testRowsRolledBackIfTheyCannotBeQueued() {
+		Transaction[] transactions = {
+				TestTransaction.of("1", "2023-01-10", PENDING).description("COFFEE").paidOut(3).build() };
+		List<Transaction> pending = List.of(transactions[0]);
+		TablePendingCategoryWriter tPW = new TablePendingCategoryWriter(tP, tI, tO, tC);
+		TableOutboundWriter tOW = new TableOutboundWriter(tO);
+
+		tP.deleteTable();
+		ImportResult failed = tOW.importData(transactions, pending, tPW);
+		Assertions.assertTrue(failed.isFailed());
+		Assertions.assertEquals(0, failed.getQueued());
+
+		// The row was rolled back with its place in the queue, so it is imported and queued next time
+		tP.createTable();
+		ImportResult retried = tOW.importData(transactions, pending, tPW);
+		Assertions.assertFalse(retried.isFailed());
+		Assertions.assertEquals(1, retried.getInserted());
+		Assertions.assertEquals(1, retried.getQueued());
+	}
+
+	@Test
+	void testDeferredImportDoesNotPrompt() {
+		AppConfig mockConfig = mock(AppConfig.class);
+		TableCategoryReader mockTableReader = mock(TableCategoryReader.class);
+		TableCategoryWriter mockTableWriter = mock(TableCategoryWriter.class);
+		NationwideCSVReader reader = new NationwideCSVReader(mockConfig);
+		reader.setDeferCategorisation(true);
+
+		String[] fields = { "06 Jan 2023", "Visa purchase", "APPLE.COM/BILL 08001076285 IE", "£1.49", "",
+				"£3169.43" };
+		Transaction transaction = reader.manualProcessNationwideTransaction(fields, mockTableReader, mockTableWriter,
+				new RegexMethods());
+
+		Assertions.assertEquals(TablePendingCategory.UNCATEGORISED, transaction.getCategory());
+		Assertions.assertEquals(List.of(transaction), reader.getPendingTransactions());
+		verify(mockTableWriter, never()).assignCategoryToTransaction(anyString(), anyString(), anyDouble(),
+				anyString());
+		// Uncategorised is not recorded as the description's category
+		verify(mockTableWriter, never()).insertEntry(anyString(), anyString());
+	}
+}
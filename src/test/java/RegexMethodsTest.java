@@ -1,8 +1,10 @@
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import java.util.List;
 import java.util.Random;
 import java.text.DecimalFormat;
 
+import regex.DescriptionStage;
 import regex.RegexMethods;
 
 class RegexMethodsTest {
@@ -85,4 +87,43 @@ class RegexMethodsTest {
 		
 		Assertions.assertEquals(output, expected);
 	}
+
+	@Test
+	void testScannerStagesMatchPatterns() {
+		// Scanner fast paths must produce exactly what the precompiled patterns do
+		String alphabet = "ab XYZ019_\t\n.-*\"'\u00e9\u0301\u00a3";
+		Random seeded = new Random(42);
+		for (int i = 0; i < 20000; i++) {
+			int length = seeded.nextInt(0, 16);
+			StringBuilder sb = new StringBuilder(length);
+			for (int j = 0; j < length; j++) {
+				sb.append(alphabet.charAt(seeded.nextInt(alphabet.length())));
+			}
+			String input = sb.toString();
+			for (DescriptionStage stage : DescriptionStage.values()) {
+				Assertions.assertEquals(stage.applyPattern(input), stage.apply(input),
+						stage + " differs for input: " + input);
+			}
+		}
+	}
+
+	@Test
+	void testConfigurableStageOrder() {
+		RegexMethods numbersOnly = new RegexMethods(List.of(DescriptionStage.CONSECUTIVE_NUMBERS));
+		Assertions.assertEquals("TESCO STORES  COVENTRY CV4 8EY GB",
+				numbersOnly.processDescription("TESCO STORES 2325 COVENTRY CV4 8EY GB"));
+
+		RegexMethods reordered = new RegexMethods(List.of(DescriptionStage.POSTCODES,
+				DescriptionStage.CONSECUTIVE_NUMBERS));
+		Assertions.assertEquals("Coventry   CV", reordered.processDescription("Coventry 12 CV4 7EY CV"));
+		Assertions.assertEquals(List.of(DescriptionStage.POSTCODES, DescriptionStage.CONSECUTIVE_NUMBERS),
+				reordered.getDescriptionStages());
+	}
+
+	@Test
+	void testParseAmount() {
+		Assertions.assertEquals(1.49, regex.parseAmount("\"\u00a31.49\""));
+		Assertions.assertEquals(1234.5, regex.parseAmount("\u00a31,234.50"));
+		Assertions.assertEquals(0, regex.parseAmount(""));
+	}
 }
@@ -0,0 +1,150 @@
+import sqliteData.*;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.readers.TablePendingCategoryReader;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import sqliteData.tables.writers.TablePendingCategoryWriter;
+import statementReaders.process.FolderImportResult;
+import statementReaders.process.StatementFolderImporter;
+import applicationStart.load.LoadTables;
+import config.AppConfig;
+import metrics.MetricsRegistry;
+import metrics.MetricsReport;
+import optionMenu.Menu;
+import optionMenu.MenuSelect;
+import regex.RegexMethods;
+
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StatementFolderImporterTest {
+
+	// Tests importing a folder of statements with parallel readers and a single database writer
+
+	private static String dbName = "folderImportTests";
+	private static final String HEADER = "\"Date\",\"Transaction type\",\"Description\",\"Paid out\",\"Paid in\",\"Balance\"";
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TablePendingCategory tP;
+
+	@TempDir
+	Path statementFolder;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		tP = new TablePendingCategory(DB);
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, tP);
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	private void writeStatement(String fileName, String header, String... rows) throws IOException {
+		StringBuilder statement = new StringBuilder();
+		statement.append("\"Account Name:\",\"FlexAccount\"\n");
+		statement.append("\"Account Balance:\",\"\u00a33169.43\"\n");
+		statement.append("\"Available Balance: \",\"\u00a33169.43\"\n");
+		statement.append("\n");
+		statement.append(header).append("\n");
+		for (String row : rows) {
+			statement.append(row).append("\n");
+		}
+		Files.write(statementFolder.resolve(fileName), statement.toString().getBytes(StandardCharsets.UTF_8));
+	}
+
+	private StatementFolderImporter createImporter() {
+		TableCategoryReader tCR = new TableCategoryReader(tC);
+		return new StatementFolderImporter(mock(AppConfig.class), new RegexMethods(), tCR,
+				new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false, false), new TableInboundWriter(tI), new TableOutboundWriter(tO),
+				new TablePendingCategoryWriter(tP, tI, tO, tC));
+	}
+
+	@Test
+	void testFolderImportedWithoutPrompting() throws IOException {
+		TableCategoryReader tCR = new TableCategoryReader(tC);
+		new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false, false).insertEntry("SALARY", "Income");
+
+		String salary = "\"01 Jan 2023\",\"Transfer\",\"SALARY\",\"\",\"\u00a31000.00\",\"\u00a33171.92\"";
+		String apple = "\"06 Jan 2023\",\"Visa purchase\",\"APPLE.COM/BILL 08001076285 IE\",\"\u00a31.49\",\"\",\"\u00a33170.43\"";
+		String coffee = "\"07 Jan 2023\",\"Visa purchase\",\"COFFEE SHOP\",\"\u00a31.00\",\"\",\"\u00a33169.43\"";
+		writeStatement("january.csv", HEADER, salary, apple);
+		// Overlapping statement, the salary and apple transactions are already imported
+		writeStatement("january-overlap.csv", HEADER, salary, apple, coffee);
+		writeStatement("broken.csv", "\"Not\",\"A\",\"Nationwide\",\"Statement\"", apple);
+		Files.write(statementFolder.resolve("notes.txt"), "ignored".getBytes(StandardCharsets.UTF_8));
+
+		StatementFolderImporter importer = createImporter();
+		importer.setParserThreads(3);
+		importer.setQueueCapacity(1);
+		Assertions.assertEquals(3, importer.listStatements(statementFolder.toFile()).size());
+
+		FolderImportResult result = importer.importFolder(statementFolder.toFile());
+
+		Assertions.assertEquals(3, result.getFileResults().size());
+		Assertions.assertEquals(1, result.getFailedFiles());
+		Assertions.assertEquals(5, result.getParsed());
+		Assertions.assertEquals(3, result.getInserted());
+		Assertions.assertEquals(2, result.getDuplicates());
+		// Only descriptions without a known category are queued
+		Assertions.assertEquals(2, new TablePendingCategoryReader(tP).countPendingDescriptions());
+		for (FolderImportResult.FileResult fileResult : result.getFileResults()) {
+			if (fileResult.getFileName().equals("broken.csv")) {
+				Assertions.assertTrue(fileResult.isFailed());
+			} else {
+				Assertions.assertFalse(fileResult.isFailed());
+			}
+		}
+	}
+
+	@Test
+	void testImportStagesTimed() throws IOException {
+		String salary = "\"01 Jan 2023\",\"Transfer\",\"SALARY\",\"\",\"\u00a31000.00\",\"\u00a33171.92\"";
+		String coffee = "\"07 Jan 2023\",\"Visa purchase\",\"COFFEE SHOP\",\"\u00a31.00\",\"\",\"\u00a33169.43\"";
+		writeStatement("january.csv", HEADER, salary, coffee);
+
+		MetricsRegistry.getDefault().reset();
+		createImporter().importFolder(statementFolder.toFile());
+		MetricsReport report = MetricsRegistry.getDefault().reportAndReset("Import test");
+
+		for (String stage : new String[] { MetricsRegistry.IMPORT_PARSE, MetricsRegistry.IMPORT_NORMALISE,
+				MetricsRegistry.IMPORT_CATEGORISE, MetricsRegistry.IMPORT_CONVERT_STATEMENT }) {
+			Assertions.assertEquals(1, report.getStage(stage).getRuns(), stage);
+			Assertions.assertEquals(2, report.getStage(stage).getRows(), stage);
+		}
+		Assertions.assertEquals(2, report.getStage(MetricsRegistry.DB_INBOUND_IMPORT).getRows());
+		Assertions.assertEquals(2, report.getStage(MetricsRegistry.DB_OUTBOUND_IMPORT).getRows());
+		Assertions.assertTrue(MetricsRegistry.getDefault().report("After reset").isEmpty());
+	}
+
+	@Test
+	void testEmptyFolder() {
+		FolderImportResult result = createImporter().importFolder(statementFolder.toFile());
+		Assertions.assertEquals(List.of(), result.getFileResults());
+		Assertions.assertEquals(0, result.getParsed());
+	}
+}
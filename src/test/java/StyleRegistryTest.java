@@ -0,0 +1,129 @@
+import excelWriter.workbook.CategorySheet;
+import excelWriter.workbook.StyleDescriptor;
+import excelWriter.workbook.StyleRegistry;
+import excelWriter.workbook.SummarySheet;
+import excelWriter.workbook.TransactionWorkbook;
+import excelWriter.workbook.load.CategorySheetInboundWriter;
+import excelWriter.workbook.load.CategorySheetOutboundWriter;
+import excelWriter.workbook.load.SummarySheetWriter;
+import config.color.ColorCodingConfig;
+import transactions.Transaction;
+
+import java.awt.Color;
+import java.io.IOException;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+class StyleRegistryTest {
+
+	// Tests that cell styles and fonts are shared across a workbook
+
+	private ColorCodingConfig colConfig;
+
+	@BeforeEach
+	void setup() {
+		colConfig = Mockito.mock(ColorCodingConfig.class);
+		// A new XSSFColor is returned on every call, as when read from the config file.
+		// Categories share one of three colours, picked by their last digit
+		Mockito.when(colConfig.checkCategoryXSSFColor(Mockito.anyString())).thenAnswer(invocation -> {
+			String category = invocation.getArgument(0);
+			int shade = Character.getNumericValue(category.charAt(category.length() - 1)) % 3;
+			return new XSSFColor(new Color(shade * 50, 0, 0), null);
+		});
+		Mockito.when(colConfig.checkSumXSSFColor()).thenAnswer(invocation -> new XSSFColor(Color.YELLOW, null));
+		Mockito.when(colConfig.checkSummarySheetMonthColorXSSFColor())
+				.thenAnswer(invocation -> new XSSFColor(Color.CYAN, null));
+	}
+
+	private static Transaction[] createTransactions(int count) {
+		Transaction[] transactions = new Transaction[count];
+		for (int i = 0; i < count; i++) {
+			Transaction transaction = new Transaction();
+			transaction.setDate(String.format("2023-01-%02d", i % 28 + 1));
+			transaction.setProcessedDescription("DESCRIPTION " + i);
+			transaction.setPaidIn(i);
+			transaction.setPaidOut(i);
+			transaction.setBalance(i);
+			transactions[i] = transaction;
+		}
+		return transactions;
+	}
+
+	/**
+	 * Writes a workbook with the given number of categories and transactions per
+	 * table, returning the number of cell styles in the workbook.
+	 */
+	private int writeWorkbook(int numCategories, int numTransactions) throws IOException {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			TransactionWorkbook tw = new TransactionWorkbook(workbook, colConfig, "2023-01-01", "2023-12-31", null,
+					null, null);
+			List<CategorySheet> categorySheets = new ArrayList<>();
+			for (int i = 0; i < numCategories; i++) {
+				String category = "Category" + (i % 3);
+				CategorySheet categorySheet = new CategorySheet(workbook, colConfig, "Sheet" + i, 2, 2);
+				categorySheet.setStyleRegistry(tw.getStyleRegistry());
+				categorySheet.loadEmptyMonthPaidInMap();
+				categorySheet.loadEmptyMonthPaidOutMap();
+				categorySheet.loadCellDataStyle();
+				categorySheet.loadCellSumStyle();
+				categorySheet.loadCellHeaderStyle(category);
+				for (int month = 1; month <= 12; month++) {
+					new CategorySheetInboundWriter(categorySheet).createTransactionTable(YearMonth.of(2023, month),
+							createTransactions(numTransactions), 2, 2 + (month - 1) * 10);
+					new CategorySheetOutboundWriter(categorySheet).createTransactionTable(YearMonth.of(2023, month),
+							createTransactions(numTransactions), 2, 7 + (month - 1) * 10);
+				}
+				categorySheets.add(categorySheet);
+			}
+			SummarySheet summarySheet = new SummarySheet(workbook, colConfig, categorySheets, "2023-01-01",
+					"2023-12-31");
+			summarySheet.setStyleRegistry(tw.getStyleRegistry());
+			summarySheet.loadTitleStyle();
+			summarySheet.loadtotalStyle();
+			summarySheet.loadMonthStyle();
+			summarySheet.loadCellDataStyle();
+			summarySheet.loadCellSumStyle();
+			summarySheet.loadEmptyTotalSheet();
+			new SummarySheetWriter(summarySheet).createSummaryTable(2, 2);
+
+			// data, sum, title, total, month and one header per category colour
+			Assertions.assertEquals(8, tw.getStyleRegistry().getStyleCount());
+			// bold, and large bold
+			Assertions.assertEquals(2, tw.getStyleRegistry().getFontCount());
+			return workbook.getNumCellStyles();
+		}
+	}
+
+	@Test
+	void testStyleCountDoesNotGrowWithRows() throws IOException {
+		int small = writeWorkbook(3, 2);
+		int large = writeWorkbook(12, 50);
+		Assertions.assertEquals(small, large);
+	}
+
+	@Test
+	void testEqualDescriptorsShareStyle() throws IOException {
+		try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+			StyleRegistry registry = new StyleRegistry(workbook);
+			XSSFColor first = new XSSFColor(new Color(10, 20, 30), null);
+			XSSFColor second = new XSSFColor(new Color(10, 20, 30), null);
+			Assertions.assertSame(registry.getStyle(StyleDescriptor.header(first)),
+					registry.getStyle(StyleDescriptor.header(second)));
+			Assertions.assertNotSame(registry.getStyle(StyleDescriptor.header(first)),
+					registry.getStyle(StyleDescriptor.sum(first)));
+			Assertions.assertNotSame(registry.getStyle(StyleDescriptor.title()),
+					registry.getStyle(StyleDescriptor.total()));
+			Assertions.assertEquals(4, registry.getStyleCount());
+			// Title and total share the large bold font, header and sum the bold font
+			Assertions.assertEquals(2, registry.getFontCount());
+		}
+	}
+}
@@ -0,0 +1,154 @@
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import config.AppConfig;
+import regex.RegexMethods;
+import sqliteData.Database;
+import sqliteData.tables.CategoryResolver;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.readers.TableCategoryReader;
+import sqliteData.tables.writers.TableCategoryWriter;
+import statementReaders.NationwideCSVReader;
+import syntheticData.SyntheticDataTool;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+class SyntheticStatementGeneratorTest {
+
+	// Tests generating statements and databases of made up transactions
+
+	private static String dbName = "syntheticTests";
+
+	@TempDir
+	Path tempFolder;
+
+
+	private static Transaction[] readStatement(File file, Map<String, String> categories) {
+		CategoryResolver resolver = mock(CategoryResolver.class);
+		when(resolver.isLoaded()).thenReturn(true);
+		when(resolver.resolve(anyString())).thenAnswer(invocation -> categories.get(invocation.getArgument(0)));
+		NationwideCSVReader reader = new NationwideCSVReader(mock(AppConfig.class));
+		reader.setDeferCategorisation(true);
+		reader.setCategoryResolver(resolver);
+		return reader.convertStatement(file, mock(TableCategoryReader.class), mock(TableCategoryWriter.class),
+				new RegexMethods());
+	}
+
+	@Test
+	void testSameSeedGeneratesSameStatement() {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(7);
+		String statement = generator.toNationwideCSV(generator.generateTransactions(500, 2023));
+		SyntheticStatementGenerator same = new SyntheticStatementGenerator(7);
+		Assertions.assertEquals(statement, same.toNationwideCSV(same.generateTransactions(500, 2023)));
+		SyntheticStatementGenerator other = new SyntheticStatementGenerator(8);
+		Assertions.assertNotEquals(statement, other.toNationwideCSV(other.generateTransactions(500, 2023)));
+	}
+
+	@Test
+	void testGeneratedStatementReadsBackIdentically() throws IOException {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(42);
+		Transaction[] generated = generator.generateTransactions(1000, 2024);
+		File file = tempFolder.resolve("statement.csv").toFile();
+		generator.writeNationwideCSV(generated, file);
+
+		Transaction[] read = readStatement(file, generator.getCategories());
+
+		Assertions.assertEquals(generated.length, read.length);
+		for (int i = 0; i < generated.length; i++) {
+			Assertions.assertEquals(generated[i].getID(), read[i].getID(), "Transaction " + i);
+			Assertions.assertEquals(generated[i].getDate(), read[i].getDate());
+			Assertions.assertEquals(generated[i].getRawDescription(), read[i].getRawDescription());
+			Assertions.assertEquals(generated[i].getCategory(), read[i].getCategory());
+			Assertions.assertEquals(generated[i].getPaidOutPence(), read[i].getPaidOutPence());
+			Assertions.assertEquals(generated[i].getPaidInPence(), read[i].getPaidInPence());
+			Assertions.assertEquals(generated[i].getBalancePence(), read[i].getBalancePence());
+		}
+	}
+
+	@Test
+	void testMerchantsPickedWithZipfDistribution() {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(3);
+		generator.setMerchantCount(500);
+		generator.setCategoryCount(20);
+		generator.setRowsPerMonth(1000);
+		Map<String, String> categories = generator.getCategories();
+		// Every merchant has its own description, plus the income description
+		Assertions.assertEquals(501, categories.size());
+		Assertions.assertEquals(21, new HashSet<>(categories.values()).size());
+
+		Map<String, Integer> counts = new HashMap<>();
+		for (Transaction transaction : generator.generateTransactions()) {
+			counts.merge(transaction.getProcessedDescription(), 1, Integer::sum);
+			Assertions.assertEquals(categories.get(transaction.getProcessedDescription()), transaction.getCategory());
+		}
+		List<String> merchants = new ArrayList<>(categories.keySet());
+		int first = counts.getOrDefault(merchants.get(0), 0);
+		int tenth = counts.getOrDefault(merchants.get(9), 0);
+		// With an exponent of 1 the first merchant is picked about ten times as often as the tenth
+		Assertions.assertTrue(first > 5 * tenth, first + " vs " + tenth);
+	}
+
+	@Test
+	void testBalanceFollowsOnAcrossMonthlyStatements() throws IOException {
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(11);
+		generator.setStartYear(2022);
+		generator.setYears(2);
+		generator.setRowsPerMonth(40);
+		List<File> statements = generator.writeNationwideCSVs(tempFolder.toFile());
+		Assertions.assertEquals(24, statements.size());
+		Assertions.assertEquals("nationwide-2022-01.csv", statements.get(0).getName());
+
+		Transaction[] generated = generator.generateTransactions();
+		long balance = generator.getOpeningBalancePence();
+		int i = 0;
+		for (File statement : statements) {
+			for (Transaction transaction : readStatement(statement, generator.getCategories())) {
+				balance += transaction.getPaidInPence() - transaction.getPaidOutPence();
+				Assertions.assertEquals(balance, transaction.getBalancePence());
+				Assertions.assertEquals(generated[i++].getID(), transaction.getID());
+			}
+		}
+		Assertions.assertEquals(generated.length, i);
+		Assertions.assertEquals("2023-12", generated[generated.length - 1].getDate().substring(0, 7));
+	}
+
+	@Test
+	void testToolFillsDatabase() {
+		new File(TestDatabase.TEST_FILE_PATH).mkdirs();
+		TestDatabase.delete(dbName);
+		SyntheticDataTool tool = new SyntheticDataTool(new String[] { "--seed", "5", "--start-year", "2021",
+				"--rows-per-month", "30", "--db-folder", TestDatabase.TEST_FILE_PATH, "--db-name", dbName });
+		Assertions.assertTrue(tool.run());
+
+		Database DB = new Database(dbName, TestDatabase.TEST_FILE_PATH);
+		try {
+			TableUtils tU = new TableUtils(LogManager.getLogger(SyntheticStatementGeneratorTest.class));
+			tU.setDB(DB);
+			int inbound = tU.countTransactionsInRange("Inbound", "2021-01-01", "2021-12-31");
+			int outbound = tU.countTransactionsInRange("Outbound", "2021-01-01", "2021-12-31");
+			Assertions.assertEquals(12 * 30, inbound + outbound);
+			Assertions.assertTrue(inbound > 0);
+		} finally {
+			TestDatabase.close(DB);
+		}
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new SyntheticDataTool(new String[] { "--db-name", dbName }));
+		Assertions.assertThrows(IllegalArgumentException.class,
+				() -> new SyntheticDataTool(new String[] { "--years", "two", "--csv-folder", "x" }));
+	}
+}
@@ -5,10 +5,12 @@ import sqliteData.tables.writers.TableCategoryWriter;
 import optionMenu.*;
 
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -19,8 +21,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.Properties;
 
 import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
@@ -32,6 +36,7 @@ class TableCategoryTest {
 	//Test for TableCategory, TableCategoryReader and TableCategoryWriter
 	
 	private Database mockDB;
+	private ConnectionProvider provider;
 	private Menu mockMenu;
 	private static MockedStatic<DriverManager> mockedDriverManager;
 
@@ -40,6 +45,11 @@ class TableCategoryTest {
 		// Create mock objects for Database and Input
 		mockDB = mock(Database.class);
 		mockMenu = mock(Menu.class);
+
+		// Connections are borrowed through the Database's ConnectionProvider, which
+		// opens them through the mocked DriverManager
+		provider = new ConnectionProvider("jdbc:mock");
+		when(mockDB.getConnectionProvider()).thenReturn(provider);
 	}
 
 	@BeforeAll
@@ -48,6 +58,11 @@ class TableCategoryTest {
 		mockedDriverManager = mockStatic(DriverManager.class);
 	}
 
+	@AfterEach
+	public void cleanup() {
+		provider.close();
+	}
+
 	@AfterAll
 	public static void cleanupClass() {
 		// Reset static mocking for DriverManager
@@ -68,7 +83,7 @@ class TableCategoryTest {
 			when(mockDB.getUrl()).thenReturn("jdbc:mock");
 
 			// Stub the DriverManager.getConnection() method to return the mock Connection
-			when(DriverManager.getConnection(anyString())).thenReturn(mockConnection);
+			when(DriverManager.getConnection(anyString(), any(Properties.class))).thenReturn(mockConnection);
 
 			// Stub the Connection.createStatement() method to return the mock Statement
 			when(mockConnection.createStatement()).thenReturn(mockStatement);
@@ -77,8 +92,13 @@ class TableCategoryTest {
 			tableCategory.createTable();
 
 			// Verify that the appropriate methods were called on the mock objects
-			verify(mockDB).getUrl();
+			verify(mockDB).getConnectionProvider();
 			verify(mockStatement).execute(anyString());
+			verify(mockStatement).close();
+
+			// The write connection is kept open until the provider is closed
+			verify(mockConnection, never()).close();
+			provider.close();
 			verify(mockConnection).close();
 		} catch (SQLException e) {
 			fail("Exception occurred: " + e.getMessage());
@@ -113,7 +133,7 @@ class TableCategoryTest {
 			when(mockDB.getUrl()).thenReturn("jdbc:mock");
 
 			// Stub driverManager.getConnection() method to return a mock connection
-			when(DriverManager.getConnection(anyString())).thenReturn(mockConnection);
+			when(DriverManager.getConnection(anyString(), any(Properties.class))).thenReturn(mockConnection);
 
 			// Stub the Connection.prepareStatement() method to return the mock Statement
 			when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
@@ -152,7 +172,7 @@ class TableCategoryTest {
 			when(mockDB.getUrl()).thenReturn("jdbc:mock");
 
 			// Stub driverManager.getConnection() method to return a mock connection
-			when(DriverManager.getConnection(anyString())).thenReturn(mockConnection);
+			when(DriverManager.getConnection(anyString(), any(Properties.class))).thenReturn(mockConnection);
 
 			// Stub the Connection.createStatement() method to return the mock Statement
 			when(mockConnection.createStatement()).thenReturn(mockStatement);
@@ -172,7 +192,7 @@ class TableCategoryTest {
 
 			// Verify that the expected methods were called
 			verify(mockTableCategory).getDB();
-			verify(mockDB).getUrl();
+			verify(mockDB).getConnectionProvider();
 			verify(mockConnection).createStatement();
 			verify(mockStatement).executeQuery("SELECT DISTINCT Category FROM Category;");
 			verify(mockResultSet, times(3)).next();
@@ -213,7 +233,7 @@ class TableCategoryTest {
 			when(mockDB.getUrl()).thenReturn("jdbc:mock");
 
 			// Stub driverManager.getConnection() method to return a mock connection
-			when(DriverManager.getConnection(anyString())).thenReturn(mockConnection);
+			when(DriverManager.getConnection(anyString(), any(Properties.class))).thenReturn(mockConnection);
 
 			// Stub the Connection.createStatement() method to return the mock Statement
 			when(mockConnection.createStatement()).thenReturn(mockStatement);
@@ -267,7 +287,7 @@ class TableCategoryTest {
 
 		try {
 			// Stub driverManager.getConnection() method to return a mock connection
-			when(DriverManager.getConnection(anyString())).thenReturn(mockConnection);
+			when(DriverManager.getConnection(anyString(), any(Properties.class))).thenReturn(mockConnection);
 
 			// Stub mockConnection.prepareStatement()
 			when(mockConnection.prepareStatement(anyString())).thenReturn(mockStatement);
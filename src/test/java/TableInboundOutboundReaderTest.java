@@ -51,7 +51,7 @@ public class TableInboundOutboundReaderTest {
 		//Stubbing checkCategoryOption to always return true
 		when(tCR.checkCategoryOption(anyString())).thenReturn(true);
 		//Stubbing buildTransactionQuery String
-		when(testUtil.buildTransactionQuery(anyString(), anyString(), anyString(), anyString())).thenReturn("SELECT * FROM Inbound;");
+		when(testUtil.buildTransactionQuery(anyString())).thenReturn("SELECT * FROM Inbound;");
 		//Stubbing executeTransactionQuery
 		List<Transaction> transactions = new ArrayList<>();
 		when(testUtil.executeTransactionQuery("SELECT * FROM Inbound;")).thenReturn(transactions);
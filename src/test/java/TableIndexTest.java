@@ -0,0 +1,92 @@
+import sqliteData.*;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.writers.TableInboundWriter;
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import transactions.Transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class TableIndexTest {
+
+	// Tests that date range queries are able to use the (Category, Date) indexes
+
+	private static String dbName = "tableIndexTests";
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TableUtils util;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		util = new TableUtils(LogManager.getLogger(TableIndexTest.class));
+		util.setDB(DB);
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+
+	@Test
+	void testCreatedTablesUseIndex() {
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC);
+		for (String tableName : new String[] { tI.getTableName(), tO.getTableName() }) {
+			String query = util.buildTransactionQuery(tableName);
+			Object[] parameters = util.buildTransactionQueryParameters("2023-01-01", "2023-12-31", "Income");
+			List<String> plan = util.explainQueryPlan(query, parameters);
+			Assertions.assertTrue(plan.stream().anyMatch(step -> step.contains("USING INDEX idx_" + tableName + "_Category_Date")),
+					"Expected index to be used, plan was: " + plan);
+			Assertions.assertFalse(plan.stream().anyMatch(step -> step.contains("TEMP B-TREE")),
+					"Rows should be read in Date order from the index, plan was: " + plan);
+		}
+	}
+
+	@Test
+	void testExistingTablesAreMigrated() throws SQLException {
+		// A table created before the index existed
+		try (ConnectionLease lease = DB.getConnectionProvider().borrowWrite();
+				Statement stmt = lease.getConnection().createStatement()) {
+			stmt.execute("CREATE TABLE Inbound (ID text PRIMARY KEY, Date text NOT NULL, trType text, "
+					+ "RawDescription text NOT NULL, ProcessDescription text NOT NULL, Category text NOT NULL, "
+					+ "Paid_In REAL NOT NULL,Balance REAL NOT NULL);");
+		}
+		String query = util.buildTransactionQuery(tI.getTableName());
+		Object[] parameters = util.buildTransactionQueryParameters("2023-01-01", "2023-12-31", "Income");
+		Assertions.assertFalse(util.explainQueryPlan(query, parameters).toString().contains("idx_Inbound_Category_Date"));
+
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC);
+		Assertions.assertTrue(util.explainQueryPlan(query, parameters).toString().contains("idx_Inbound_Category_Date"));
+
+		// Range is inclusive and results come back in date order
+		new TableInboundWriter(tI).importData(new Transaction[] {
+				TestTransaction.of("3", "2023-03-01", "Income").description("SALARY").paidIn(3).build(),
+				TestTransaction.of("1", "2023-01-01", "Income").description("SALARY").paidIn(1).build(),
+				TestTransaction.of("4", "2024-01-01", "Income").description("SALARY").paidIn(4).build(),
+				TestTransaction.of("2", "2023-12-31", "Income").description("SALARY").paidIn(2).build() });
+		List<Transaction> transactions = util.executeTransactionQuery(query, parameters);
+		Assertions.assertEquals(3, transactions.size());
+		Assertions.assertEquals("2023-01-01", transactions.get(0).getDate());
+		Assertions.assertEquals("2023-03-01", transactions.get(1).getDate());
+		Assertions.assertEquals("2023-12-31", transactions.get(2).getDate());
+	}
+}
@@ -4,14 +4,10 @@ import sqliteData.tables.TableOutbound;
 
 import static org.junit.jupiter.api.Assertions.*;
 
-import java.io.File;
-import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.util.List;
 
 import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 
@@ -22,44 +18,18 @@ class TableTest {
 	private static Database DB;
 	private static TableInbound tI;
 	private static TableOutbound tO; 
-	private static String testFilePath = System.getProperty("user.dir")+"\\fileTest\\";
 	private static String dbName = "tableTests";
 	
 	@BeforeAll
 	static void setup() {
-		File folder = new File(testFilePath);
-		
-		if(!folder.exists()) {
-            // If the folder does not exist, create it
-            boolean folderCreated = folder.mkdirs();
-            if (folderCreated) {
-                System.out.println("Folder created successfully.");
-            } else {
-                System.out.println("Failed to create the folder.");
-            }
-        } else {
-            System.out.println("Folder already exists.");
-        }
-		
-		undoTest();
-		DB = new Database(dbName,testFilePath);
+		DB = TestDatabase.create(dbName);
 		tI = new TableInbound(DB);
 		tO = new TableOutbound(DB);
 	}
 
-	static void undoTest() {
-		String filePath = testFilePath+dbName+".db";
-		Path path = Paths.get(filePath);
-		File file = new File(filePath);
-		if(file.exists()) {
-			try {
-				Files.delete(path);
-				System.out.printf("Deleted %s \n", filePath);
-			} catch (IOException e) {
-				System.out.println("Failed to delete file:" + filePath + e.getMessage());
-				fail("Error occurred");
-			}
-		}
+	@AfterAll
+	static void cleanup() {
+		TestDatabase.close(DB);
 	}
 		
 	@Test
@@ -0,0 +1,109 @@
+import sqliteData.*;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.writers.ImportResult;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import transactions.Transaction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+class TableWriterTest {
+
+	// TableWriterTest tests the batched imports of TableInboundWriter and
+	// TableOutboundWriter.
+
+	private static Database DB;
+	private static TableInbound tI;
+	private static TableOutbound tO;
+	private static String dbName = "tableWriterTests";
+
+	@BeforeAll
+	static void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tI.createTable();
+		tO.createTable();
+	}
+
+	@AfterAll
+	static void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+	private static int countRows(String tableName) {
+		try (Connection conn = DriverManager.getConnection(DB.getUrl());
+				Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + tableName + ";")) {
+			return rs.getInt(1);
+		} catch (SQLException e) {
+			fail(e.getMessage());
+			return -1;
+		}
+	}
+
+	@Test
+	public void testImportDataBatchesAndReportsIgnored() {
+		TableInboundWriter tIW = new TableInboundWriter(tI);
+		TableOutboundWriter tOW = new TableOutboundWriter(tO);
+		tIW.setCommitInterval(2);
+		tOW.setCommitInterval(2);
+
+		Transaction[] transactions = new Transaction[] {
+				TestTransaction.of("in-1", "2023-01-06", "Food").description("O'NEILLS BAR").paidIn(5.0).build(),
+				TestTransaction.of("in-2", "2023-01-06", "Food").description("SALARY \"BONUS\"").paidIn(1000.0).build(),
+				TestTransaction.of("in-3", "2023-01-06", "Food").description("REFUND").paidIn(1.5).build(),
+				TestTransaction.of("out-1", "2023-01-06", "Food").description("TESCO STORES").paidOut(12.34).build(),
+				TestTransaction.of("out-2", "2023-01-06", "Food").description("MCDONALD'S").paidOut(4.99).build() };
+
+		ImportResult inbound = tIW.importData(transactions);
+		ImportResult outbound = tOW.importData(transactions);
+		Assertions.assertEquals(3, inbound.getInserted());
+		Assertions.assertEquals(0, inbound.getIgnored());
+		Assertions.assertEquals(2, inbound.getSkipped());
+		Assertions.assertEquals(2, inbound.getBatches());
+		Assertions.assertEquals(2, outbound.getInserted());
+		Assertions.assertEquals(3, outbound.getSkipped());
+
+		// Re-importing the same statement should ignore every row
+		ImportResult inboundAgain = tIW.importData(transactions);
+		ImportResult outboundAgain = tOW.importData(transactions);
+		Assertions.assertEquals(0, inboundAgain.getInserted());
+		Assertions.assertEquals(3, inboundAgain.getIgnored());
+		Assertions.assertEquals(0, outboundAgain.getInserted());
+		Assertions.assertEquals(2, outboundAgain.getIgnored());
+
+		Assertions.assertEquals(3, countRows(tI.getTableName()));
+		Assertions.assertEquals(2, countRows(tO.getTableName()));
+	}
+
+	@Test
+	public void testFailedImportIsReported() {
+		TableInbound missing = new TableInbound(DB);
+		missing.setTableName("MissingInbound");
+		TableInboundWriter tIW = new TableInboundWriter(missing);
+
+		ImportResult result = tIW.importData(new Transaction[] {
+				TestTransaction.of("missing-1", "2023-01-06", "Food").description("TESCO STORES").paidIn(5.0).build() });
+		Assertions.assertTrue(result.isFailed());
+		Assertions.assertNotNull(result.getFailure());
+		Assertions.assertEquals(0, result.getInserted());
+		Assertions.assertTrue(result.toString().contains("FAILED"));
+
+		ImportResult combined = new ImportResult("Inbound");
+		combined.add(result);
+		Assertions.assertTrue(combined.isFailed());
+	}
+}
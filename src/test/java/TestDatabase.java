@@ -0,0 +1,64 @@
+import static org.junit.jupiter.api.Assertions.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import sqliteData.Database;
+
+/**
+ * TestDatabase creates the SQLite database files used by tests in the test
+ * folder, and deletes them along with their WAL and shared memory files. The
+ * path of each file is built by {@link Database#buildDBFilePath}, so it is
+ * always the file the Database opens.
+ */
+final class TestDatabase {
+
+	static final String TEST_FILE_PATH = System.getProperty("user.dir") + "\\fileTest\\";
+
+	private static final String[] SUFFIXES = { "", "-wal", "-shm" };
+
+	private TestDatabase() {
+	}
+
+	/**
+	 * Deletes any database left by an earlier run and returns a Database for a
+	 * new one in the test folder.
+	 *
+	 * @param dbName - the name of the database
+	 * @return the Database
+	 */
+	static Database create(String dbName) {
+		new File(TEST_FILE_PATH).mkdirs();
+		delete(dbName);
+		return new Database(dbName, TEST_FILE_PATH);
+	}
+
+	/**
+	 * Closes the connections of a Database created by {@link #create(String)},
+	 * then deletes its files.
+	 *
+	 * @param DB - the Database
+	 */
+	static void close(Database DB) {
+		DB.closeConnections();
+		delete(DB.getDbName());
+	}
+
+	/**
+	 * Deletes the files of a database in the test folder, if there are any.
+	 *
+	 * @param dbName - the name of the database
+	 */
+	static void delete(String dbName) {
+		String dbFile = Database.buildDBFilePath(TEST_FILE_PATH, dbName);
+		for (String suffix : SUFFIXES) {
+			try {
+				Files.deleteIfExists(Paths.get(dbFile + suffix));
+			} catch (IOException e) {
+				fail("Failed to delete file:" + dbFile + suffix + e.getMessage());
+			}
+		}
+	}
+}
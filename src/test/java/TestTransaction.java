@@ -0,0 +1,94 @@
+import transactions.Transaction;
+
+/**
+ * TestTransaction builds the transactions written to the test databases.
+ * Anything not set is given a default: a "Transfer" with a description made
+ * from its ID, nothing paid in or out and a balance of 100.0.
+ */
+final class TestTransaction {
+
+	private final String id;
+	private final String date;
+	private final String category;
+	private String trType = "Transfer";
+	private String description;
+	private double paidIn;
+	private double paidOut;
+	private double balance = 100.0;
+
+	private TestTransaction(String id, String date, String category) {
+		this.id = id;
+		this.date = date;
+		this.category = category;
+		this.description = "DESCRIPTION " + id;
+	}
+
+	/**
+	 * Starts building a transaction.
+	 *
+	 * @param id       - the ID of the transaction
+	 * @param date     - the date of the transaction, YYYY-MM-DD
+	 * @param category - the category of the transaction
+	 * @return the builder
+	 */
+	static TestTransaction of(String id, String date, String category) {
+		return new TestTransaction(id, date, category);
+	}
+
+	/**
+	 * @param trType - the transaction type
+	 */
+	TestTransaction trType(String trType) {
+		this.trType = trType;
+		return this;
+	}
+
+	/**
+	 * @param description - the raw and processed description
+	 */
+	TestTransaction description(String description) {
+		this.description = description;
+		return this;
+	}
+
+	/**
+	 * @param paidIn - the amount paid in
+	 */
+	TestTransaction paidIn(double paidIn) {
+		this.paidIn = paidIn;
+		return this;
+	}
+
+	/**
+	 * @param paidOut - the amount paid out
+	 */
+	TestTransaction paidOut(double paidOut) {
+		this.paidOut = paidOut;
+		return this;
+	}
+
+	/**
+	 * @param balance - the balance after the transaction
+	 */
+	TestTransaction balance(double balance) {
+		this.balance = balance;
+		return this;
+	}
+
+	/**
+	 * @return a new Transaction with the values set so far
+	 */
+	Transaction build() {
+		Transaction transaction = new Transaction();
+		transaction.setID(id);
+		transaction.setDate(date);
+		transaction.setTrType(trType);
+		transaction.setRawDescription(description);
+		transaction.setProcessedDescription(description);
+		transaction.setCategory(category);
+		transaction.setPaidIn(paidIn);
+		transaction.setPaidOut(paidOut);
+		transaction.setBalance(balance);
+		return transaction;
+	}
+}
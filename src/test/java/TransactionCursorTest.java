@@ -0,0 +1,112 @@
+
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.logging.log4j.LogManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import applicationStart.load.LoadTables;
+import optionMenu.Menu;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.TransactionCursor;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import syntheticData.SyntheticStatementGenerator;
+import transactions.Transaction;
+
+class TransactionCursorTest {
+
+	// Tests reading transactions a row at a time through a TransactionCursor
+
+	private static String dbName = "transactionCursorTests";
+	private Database DB;
+	private TableOutbound tO;
+	private TableUtils util;
+	private String query;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		TableInbound tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		TableCategory tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, new TablePendingCategory(DB));
+		Transaction[] transactions = new SyntheticStatementGenerator(5).generateTransactions(600, 2023);
+		new TableInboundWriter(tI).importData(transactions);
+		new TableOutboundWriter(tO).importData(transactions);
+		util = new TableUtils(LogManager.getLogger(TransactionCursorTest.class));
+		util.setDB(DB);
+		query = util.buildDateRangeQuery(tO.getTableName());
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+	// Deletes the files at the path Database builds, folder\\name.db, so every test starts from an empty database
+
+	@Test
+	void testStreamMatchesList() throws SQLException {
+		List<Transaction> expected = util.executeTransactionQuery(query, "2023-01-01", "2023-12-31");
+		Assertions.assertFalse(expected.isEmpty());
+		List<Transaction> streamed;
+		try (Stream<Transaction> stream = util.streamTransactions(query, "2023-01-01", "2023-12-31")) {
+			streamed = stream.collect(Collectors.toList());
+		}
+		Assertions.assertEquals(expected.size(), streamed.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Assertions.assertEquals(expected.get(i).getDate(), streamed.get(i).getDate());
+			Assertions.assertEquals(expected.get(i).getProcessedDescription(),
+					streamed.get(i).getProcessedDescription());
+			Assertions.assertEquals(expected.get(i).getPaidOutPence(), streamed.get(i).getPaidOutPence());
+			Assertions.assertEquals(expected.get(i).getBalancePence(), streamed.get(i).getBalancePence());
+		}
+		// Streamed rows are not shared
+		Assertions.assertNotSame(streamed.get(0), streamed.get(1));
+	}
+
+	@Test
+	void testVisitorReusesRow() {
+		Set<Transaction> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		long[] total = new long[1];
+		int visited = util.visitTransactions(query, transaction -> {
+			seen.add(transaction);
+			total[0] += transaction.getPaidOutPence();
+		}, "2023-01-01", "2023-12-31");
+
+		long expectedTotal = 0;
+		List<Transaction> expected = util.executeTransactionQuery(query, "2023-01-01", "2023-12-31");
+		for (Transaction transaction : expected) {
+			expectedTotal += transaction.getPaidOutPence();
+		}
+		Assertions.assertEquals(expected.size(), visited);
+		Assertions.assertEquals(expectedTotal, total[0]);
+		// Every row was read into the same Transaction
+		Assertions.assertEquals(1, seen.size());
+	}
+
+	@Test
+	void testCursorReturnsItsLease() throws SQLException {
+		// Each cursor returns its connection when closed, so the pool never runs dry
+		for (int i = 0; i < 10; i++) {
+			try (TransactionCursor cursor = util.openTransactionCursor(query, 1, true, "2023-01-01", "2023-12-31")) {
+				Assertions.assertTrue(cursor.next());
+			}
+		}
+		Assertions.assertEquals(0, DB.getConnectionProvider().getWaitCount());
+	}
+}
@@ -0,0 +1,187 @@
+import java.awt.Color;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import applicationStart.load.LoadTables;
+import config.color.ColorCodingConfig;
+import excelWriter.process.WriteDBToExcel;
+import excelWriter.workbook.load.TransactionWorkbookCategoryLoader;
+import optionMenu.Menu;
+import optionMenu.MenuSelect;
+import regex.RegexMethods;
+import sqliteData.ConnectionProvider;
+import sqliteData.Database;
+import sqliteData.tables.TableCategory;
+import sqliteData.tables.TableInbound;
+import sqliteData.tables.TableOutbound;
+import sqliteData.tables.TablePendingCategory;
+import sqliteData.tables.TableUtils;
+import sqliteData.tables.writers.TableCategoryWriter;
+import sqliteData.tables.writers.TableInboundWriter;
+import sqliteData.tables.writers.TableOutboundWriter;
+import syntheticData.SyntheticStatementGenerator;
+
+class TransactionWorkbookCategoryLoaderTest {
+
+	// Tests the category sheets loaded on a pool of threads, reading through the database's read pool
+
+	private static String dbName = "categoryLoaderTests";
+	private Database DB;
+	private TableInbound tI;
+	private TableOutbound tO;
+	private TableCategory tC;
+	private TableUtils tU;
+
+	@BeforeEach
+	void setup() {
+		DB = TestDatabase.create(dbName);
+		tI = new TableInbound(DB);
+		tO = new TableOutbound(DB);
+		tC = new TableCategory(DB, new Menu("CategoryMenu", new String[0], null));
+		new LoadTables().checkAndCreateTables(DB, tI, tO, tC, new TablePendingCategory(DB));
+		tU = new TableUtils(LogManager.getLogger(TransactionWorkbookCategoryLoaderTest.class));
+		tU.setDB(DB);
+
+		SyntheticStatementGenerator generator = new SyntheticStatementGenerator(9);
+		generator.setStartYear(2022);
+		generator.setYears(2);
+		generator.setRowsPerMonth(60);
+		generator.setMerchantCount(40);
+		generator.fillDatabase(new TableCategoryWriter(tC, new MenuSelect(tC.getCategoryMenu()), false, false, false),
+				new TableInboundWriter(tI), new TableOutboundWriter(tO));
+	}
+
+	@AfterEach
+	void cleanup() {
+		TestDatabase.close(DB);
+	}
+
+	private static ColorCodingConfig mockColorConfig() {
+		ColorCodingConfig colConfig = Mockito.mock(ColorCodingConfig.class);
+		XSSFColor color = new XSSFColor(new Color(200, 100, 50), null);
+		Mockito.when(colConfig.checkCategoryXSSFColor(Mockito.anyString())).thenReturn(color);
+		Mockito.when(colConfig.checkSumXSSFColor()).thenReturn(color);
+		Mockito.when(colConfig.checkSummarySheetMonthColorXSSFColor()).thenReturn(color);
+		return colConfig;
+	}
+
+	private WriteDBToExcel exportFull(ColorCodingConfig colConfig, String startDate, String endDate,
+			int parallelism) {
+		WriteDBToExcel full = new WriteDBToExcel(null, new RegexMethods(), colConfig, null, tO, tI, tC, tU);
+		full.workbookSetup(startDate, endDate);
+		full.getWorkbookCategoryLoader().setParallelism(parallelism);
+		Assertions.assertTrue(full.writeCategorySheets());
+		full.writeSummarySheet();
+		return full;
+	}
+
+	/**
+	 * Writes a workbook and returns the content of each part of the file, by name.
+	 * The document properties are left out, as they hold the time the workbook was
+	 * created.
+	 */
+	private static Map<String, byte[]> writeParts(Workbook workbook) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		workbook.write(bytes);
+		Map<String, byte[]> parts = new LinkedHashMap<>();
+		try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			ZipEntry entry;
+			while ((entry = zip.getNextEntry()) != null) {
+				if (!entry.getName().startsWith("docProps/")) {
+					parts.put(entry.getName(), zip.readAllBytes());
+				}
+			}
+		}
+		return parts;
+	}
+
+	/**
+	 * Exports the same date range serially and with the given parallelism, and
+	 * checks every part of the two workbooks is byte for byte the same.
+	 */
+	private void assertSameAsSerial(int parallelism) throws IOException {
+		ColorCodingConfig colConfig = mockColorConfig();
+		WriteDBToExcel serial = exportFull(colConfig, "2022-01-01", "2023-12-31", 1);
+		WriteDBToExcel parallel = exportFull(colConfig, "2022-01-01", "2023-12-31", parallelism);
+
+		try (Workbook serialWorkbook = serial.getTransactionWorkbook().getWorkbook();
+				Workbook parallelWorkbook = parallel.getTransactionWorkbook().getWorkbook()) {
+			Assertions.assertTrue(serialWorkbook.getNumberOfSheets() > 2);
+			Map<String, byte[]> expected = writeParts(serialWorkbook);
+			Map<String, byte[]> actual = writeParts(parallelWorkbook);
+			Assertions.assertEquals(expected.keySet(), actual.keySet());
+			for (Map.Entry<String, byte[]> part : expected.entrySet()) {
+				Assertions.assertArrayEquals(part.getValue(), actual.get(part.getKey()), part.getKey());
+			}
+		}
+	}
+
+	@Test
+	void testCategorySheetsSameForAnyParallelism() throws IOException {
+		assertSameAsSerial(2);
+		assertSameAsSerial(0);
+	}
+
+	@Test
+	void testCategorySheetsSameWithMoreThreadsThanReadConnections() throws IOException {
+		// More threads than the read pool has connections, as building models needs none
+		assertSameAsSerial(ConnectionProvider.DEFAULT_READ_POOL_SIZE * 4);
+	}
+
+	@Test
+	void testDateRangeReadOncePerTable() {
+		WriteDBToExcel export = new WriteDBToExcel(null, new RegexMethods(), mockColorConfig(), null, tO, tI, tC, tU);
+		export.workbookSetup("2022-01-01", "2023-12-31");
+		long borrows = DB.getConnectionProvider().getBorrowCount();
+
+		Assertions.assertTrue(export.writeCategorySheets());
+		int categories = tC.getCategoryMenu().getOptions().length;
+		Assertions.assertTrue(categories > 3);
+		// One read per table and one for the category options, not one per category
+		Assertions.assertEquals(3, DB.getConnectionProvider().getBorrowCount() - borrows);
+	}
+
+	@Test
+	void testParallelismDefaultsToAvailableProcessors() {
+		WriteDBToExcel export = new WriteDBToExcel(null, new RegexMethods(), mockColorConfig(), null, tO, tI, tC, tU);
+		export.workbookSetup("2023-01-01", "2023-12-31");
+		TransactionWorkbookCategoryLoader loader = export.getWorkbookCategoryLoader();
+
+		loader.setParallelism(0);
+		Assertions.assertEquals(Runtime.getRuntime().availableProcessors(), loader.getEffectiveParallelism());
+		loader.setParallelism(-1);
+		Assertions.assertEquals(0, loader.getParallelism());
+		// Models are built without connections, so the read pool does not limit the threads
+		loader.setParallelism(ConnectionProvider.DEFAULT_READ_POOL_SIZE * 4);
+		Assertions.assertEquals(ConnectionProvider.DEFAULT_READ_POOL_SIZE * 4, loader.getEffectiveParallelism());
+	}
+
+	@Test
+	void testFailedReadFailsCategorySheets() {
+		WriteDBToExcel export = new WriteDBToExcel(null, new RegexMethods(), mockColorConfig(), null, tO, tI, tC, tU);
+		export.workbookSetup("2023-01-01", "2023-12-31");
+		// The categories exist, but their inbound transactions cannot be read
+		tI.deleteTable();
+		export.getWorkbookCategoryLoader().setParallelism(2);
+		int stages = export.getStageTimer().getStageCount();
+
+		Assertions.assertFalse(export.writeCategorySheets());
+		Assertions.assertEquals(stages + 1, export.getStageTimer().getStageCount());
+		Assertions.assertThrows(IllegalStateException.class,
+				() -> export.getWorkbookCategoryLoader().loadCategorySheets(5));
+	}
+}